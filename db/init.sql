@@ -66,9 +66,14 @@ CREATE TABLE game (
     turn_player_id BIGINT NULL,
     winner_id BIGINT NULL,
     card_set_exchange_count INTEGER NOT NULL DEFAULT 0,
-    created_at TIMESTAMP NOT NULL DEFAULT NOW()
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    started_at TIMESTAMP NULL,
+    finished_at TIMESTAMP NULL
 );
 
+-- Histórico paginado por (created_at, pk_id) dentro de cada status
+CREATE INDEX idx_game_status_created_at ON game (status, created_at DESC, pk_id DESC);
+
 -- Tabela de relacionamento entre jogadores e jogos
 CREATE TABLE player_game (
     pk_id BIGSERIAL PRIMARY KEY,
@@ -88,6 +93,9 @@ CREATE TABLE player_game (
     CONSTRAINT fk_objective FOREIGN KEY (objective_id) REFERENCES objective(pk_id)
 );
 
+-- Partidas de um jogador (filtro do histórico)
+CREATE INDEX idx_player_game_player_game ON player_game (player_id, game_id);
+
 -- Chaves Estrangeiras para a tabela Game
 ALTER TABLE Game
 ADD CONSTRAINT fk_turn_player FOREIGN KEY (turn_player_id) REFERENCES player_game(pk_id),
@@ -131,6 +139,29 @@ CREATE TABLE troop_movement (
     CONSTRAINT fk_player_game_troop FOREIGN KEY (player_game_id) REFERENCES player_game(pk_id)
 );
 
+-- Log de eventos das partidas (somente inserção), em lotes com os eventos em JSON
+CREATE TABLE game_event_batch (
+    pk_id BIGSERIAL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    first_seq BIGINT NOT NULL,
+    last_seq BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    payload TEXT NOT NULL,
+    CONSTRAINT fk_game_event_batch FOREIGN KEY (game_id) REFERENCES game(pk_id)
+);
+CREATE INDEX idx_game_event_batch_game_seq ON game_event_batch (game_id, last_seq);
+
+-- Snapshots periódicos do estado das partidas, ponto de partida para reaplicar os eventos
+CREATE TABLE game_snapshot (
+    pk_id BIGSERIAL PRIMARY KEY,
+    game_id BIGINT NOT NULL,
+    seq BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+    payload TEXT NOT NULL,
+    CONSTRAINT fk_game_snapshot FOREIGN KEY (game_id) REFERENCES game(pk_id)
+);
+CREATE INDEX idx_game_snapshot_game_seq ON game_snapshot (game_id, seq);
+
 --INICIALIZANDO OS BOTS
 
 INSERT INTO player (username, email, password_hash, type) VALUES 
@@ -139,9 +170,9 @@ INSERT INTO player (username, email, password_hash, type) VALUES
 ('PedroBOT', 'pedro.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_EASY');
 
 INSERT INTO player (username, email, password_hash, type) VALUES 
-('SofiaBOT', 'sofia.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_EASY'),
-('JuliaBOT', 'julia.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_EASY'),
-('LauraBOT', 'laura.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_EASY');
+('SofiaBOT', 'sofia.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_HARD'),
+('JuliaBOT', 'julia.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_HARD'),
+('LauraBOT', 'laura.bot@war.com', '$2a$10$C8.q9A1X9pQ4z6n.v3A6W.F7d4vBf3eP2vV8e/jM.n2', 'AI_HARD');
 
 -- Insere todas as IAs na role 'ROLE_USER' (Assumindo que IAs devem ter a mesma role base)
 INSERT INTO player_role (player_id, role_id)
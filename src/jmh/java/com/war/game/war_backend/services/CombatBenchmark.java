@@ -0,0 +1,48 @@
+package com.war.game.war_backend.services;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.war.game.war_backend.engine.CombatKernel;
+
+/** Rolagem e resolução de uma rodada de combate, e de um cerco completo (blitz). */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CombatBenchmark {
+
+  @Param({"1", "2", "3"})
+  int attackDice;
+
+  private SplittableRandom random;
+
+  @Setup
+  public void setUp() {
+    random = new SplittableRandom(42);
+  }
+
+  @Benchmark
+  public long roll() {
+    return CombatKernel.roll(random, attackDice, 3);
+  }
+
+  @Benchmark
+  public long blitz() {
+    return CombatKernel.blitz(random, 30, 20, 0);
+  }
+}
@@ -0,0 +1,67 @@
+package com.war.game.war_backend.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.HeuristicBotStrategy;
+import com.war.game.war_backend.engine.bot.MonteCarloBotStrategy;
+import com.war.game.war_backend.model.PlayerGame;
+
+/**
+ * Cálculos feitos sobre o mapa inteiro a cada turno: reforços do jogador e escolha do ataque do
+ * bot, nos dois níveis.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameRulesBenchmark {
+
+  private GameService gameService;
+  private GameState state;
+  private PlayerGame player;
+  private final BotStrategy heuristic = new HeuristicBotStrategy();
+  private final BotStrategy monteCarlo = new MonteCarloBotStrategy(20, 2000, 0.6);
+
+  @Setup
+  public void setUp() {
+    SyntheticGame game = new SyntheticGame(42);
+    gameService = game.gameService();
+    state = game.state;
+    player = game.player(0);
+  }
+
+  @Benchmark
+  public int calculateReinforcementTroops() {
+    return gameService.calculateReinforcementTroops(state, player);
+  }
+
+  // Inclui a leitura do snapshot, feita a cada decisão do bot
+  @Benchmark
+  public void chooseAttackHeuristic(Blackhole blackhole) {
+    blackhole.consume(
+        heuristic.chooseAttack(BotSnapshot.of(state.getGraph(), state.getTerritories(), player)));
+  }
+
+  @Benchmark
+  public void chooseAttackMonteCarlo(Blackhole blackhole) {
+    blackhole.consume(
+        monteCarlo.chooseAttack(BotSnapshot.of(state.getGraph(), state.getTerritories(), player)));
+  }
+}
@@ -0,0 +1,61 @@
+package com.war.game.war_backend.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
+import com.war.game.war_backend.model.Game;
+
+/**
+ * Montagem do estado completo de uma partida em andamento e sua serialização em JSON, como feito
+ * nas respostas REST e no envio inicial pelo WebSocket.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateSerializationBenchmark {
+
+  private GameStateAssembler gameStateAssembler;
+  private ObjectMapper objectMapper;
+  private Game game;
+
+  @Setup
+  public void setUp() {
+    SyntheticGame syntheticGame = new SyntheticGame(42);
+    gameStateAssembler =
+        new GameStateAssembler(
+            syntheticGame.gameStateStore(),
+            new GameCommandExecutor(syntheticGame.gameStateStore(), null, 10_000L),
+            null,
+            null,
+            null);
+    // Mesma configuração do ObjectMapper da aplicação
+    objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    game = syntheticGame.state.getGame();
+  }
+
+  @Benchmark
+  public GameStateResponseDto assemble() {
+    return gameStateAssembler.assemble(game);
+  }
+
+  @Benchmark
+  public byte[] assembleAndSerialize() throws Exception {
+    return objectMapper.writeValueAsBytes(gameStateAssembler.assemble(game));
+  }
+}
@@ -0,0 +1,51 @@
+package com.war.game.war_backend.services;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.HeuristicBotStrategy;
+import com.war.game.war_backend.engine.simulation.SimulatedGame;
+import com.war.game.war_backend.engine.simulation.SimulationMap;
+import com.war.game.war_backend.engine.simulation.SimulationRunner;
+
+/** Partidas completas entre bots heurísticos no simulador, uma por operação. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SimulationBenchmark {
+
+  @Param({"2", "4", "6"})
+  int players;
+
+  private SimulationMap map;
+  private BotStrategy[] bots;
+  private long seed;
+
+  @Setup
+  public void setUp() {
+    SyntheticGame game = new SyntheticGame(42);
+    map = SimulationMap.of(game.rulesCatalogService().getCatalog());
+    bots = Collections.nCopies(players, new HeuristicBotStrategy()).toArray(BotStrategy[]::new);
+  }
+
+  @Benchmark
+  public SimulatedGame.Result playGame() {
+    return new SimulatedGame(map, bots, null, seed++).play(SimulationRunner.DEFAULT_MAX_TURNS);
+  }
+}
@@ -0,0 +1,249 @@
+package com.war.game.war_backend.services;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.model.Card;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.Objective;
+import com.war.game.war_backend.model.Player;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.model.Territory;
+import com.war.game.war_backend.model.enums.CardType;
+import com.war.game.war_backend.model.enums.GameStatus;
+import com.war.game.war_backend.repository.ObjectiveRepository;
+import com.war.game.war_backend.repository.TerritoryBorderRepository;
+import com.war.game.war_backend.repository.TerritoryRepository;
+
+/**
+ * Partida sintética para os benchmarks: o mapa de 42 territórios (mesmos continentes e tamanhos do
+ * jogo), 6 jogadores com objetivos dos três tipos, territórios e cartas distribuídos com semente
+ * fixa. Nada toca o banco: os repositórios usados pelos serviços são stubs em memória, então os
+ * números medem só o custo em CPU e alocação.
+ */
+final class SyntheticGame {
+
+  static final long GAME_ID = 1L;
+
+  static final Map<String, Integer> CONTINENTS = new LinkedHashMap<>();
+
+  static {
+    CONTINENTS.put("América do Norte", 9);
+    CONTINENTS.put("América do Sul", 4);
+    CONTINENTS.put("Europa", 7);
+    CONTINENTS.put("África", 6);
+    CONTINENTS.put("Ásia", 12);
+    CONTINENTS.put("Oceania", 4);
+  }
+
+  private static final String[] COLORS = {"green", "blue", "red", "#bfa640", "black", "purple"};
+
+  private static final String[][] OBJECTIVES = {
+    {"CONQUER_CONTINENT", "Conquistar a Ásia e a África"},
+    {"CONQUER_TERRITORIES", "Conquistar 24 territórios à sua escolha"},
+    {"ELIMINATE_PLAYER", "Destruir totalmente os exércitos azuis"},
+    {
+      "CONQUER_CONTINENT",
+      "Conquistar a Europa, a América do Sul e mais um continente à sua escolha"
+    },
+    {"CONQUER_TERRITORIES", "Conquistar 18 territórios com pelo menos 2 exércitos em cada"},
+    {"ELIMINATE_PLAYER", "Destruir totalmente os exércitos vermelhos"}
+  };
+
+  final List<Territory> territories = new ArrayList<>();
+  final List<long[]> borders = new ArrayList<>();
+  final List<Card> cards = new ArrayList<>();
+  final GameState state;
+
+  SyntheticGame(long seed) {
+    Random random = new Random(seed);
+
+    long territoryId = 1;
+    for (Map.Entry<String, Integer> continent : CONTINENTS.entrySet()) {
+      long first = territoryId;
+      for (int i = 0; i < continent.getValue(); i++, territoryId++) {
+        Territory territory = new Territory();
+        territory.setId(territoryId);
+        territory.setName("T" + territoryId);
+        territory.setContinent(continent.getKey());
+        territories.add(territory);
+
+        // Dentro do continente: cada território faz fronteira com os dois seguintes
+        if (territoryId > first) borders.add(new long[] {territoryId - 1, territoryId});
+        if (territoryId > first + 1) borders.add(new long[] {territoryId - 2, territoryId});
+      }
+      // Entre continentes: o último de um faz fronteira com o primeiro do próximo
+      if (first > 1) borders.add(new long[] {first - 1, first});
+    }
+
+    long cardId = 1;
+    for (Territory territory : territories) {
+      cards.add(card(cardId++, CardType.values()[(int) (cardId % 3)], territory));
+    }
+    cards.add(card(cardId++, CardType.WILD, null));
+    cards.add(card(cardId, CardType.WILD, null));
+
+    Game game = new Game();
+    game.setId(GAME_ID);
+    game.setName("Benchmark");
+    game.setStatus(GameStatus.ATTACK.name());
+    game.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+    game.setCardSetExchangeCount(0);
+
+    List<PlayerGame> players = new ArrayList<>();
+    for (int i = 0; i < COLORS.length; i++) {
+      Player player = new Player();
+      player.setId((long) i + 1);
+      player.setUsername("bot" + (i + 1));
+      player.setRoles(new HashSet<>());
+
+      Objective objective = new Objective((long) i + 1, OBJECTIVES[i][1], OBJECTIVES[i][0]);
+
+      PlayerGame pg = new PlayerGame();
+      pg.setId((long) i + 1);
+      pg.setGame(game);
+      pg.setPlayer(player);
+      pg.setUsername(player.getUsername());
+      pg.setColor(COLORS[i]);
+      pg.setTurnOrder(i + 1);
+      pg.setObjective(objective);
+      pg.setStillInGame(true);
+      players.add(pg);
+    }
+    game.setTurnPlayer(players.get(0));
+
+    List<GameTerritory> gameTerritories = new ArrayList<>();
+    for (int i = 0; i < territories.size(); i++) {
+      GameTerritory gt = new GameTerritory();
+      gt.setId((long) i + 1);
+      gt.setGame(game);
+      gt.setTerritory(territories.get(i));
+      gt.setOwner(players.get(random.nextInt(players.size())));
+      gt.setStaticArmies(1 + random.nextInt(6));
+      gt.setMovedInArmies(0);
+      gameTerritories.add(gt);
+    }
+
+    List<PlayerCard> playerCards = new ArrayList<>();
+    for (int i = 0; i < players.size() * 2; i++) {
+      playerCards.add(new PlayerCard((long) i + 1, players.get(i / 2), cards.get(i)));
+    }
+
+    state =
+        GameState.hydrate(
+            territoryGraphService().getGraph(), game, players, gameTerritories, playerCards, cards);
+  }
+
+  PlayerGame player(int index) {
+    return state.getPlayers().get(index);
+  }
+
+  TerritoryGraphService territoryGraphService() {
+    TerritoryGraphService service =
+        new TerritoryGraphService(territoryRepository(), territoryBorderRepository());
+    service.reload();
+    return service;
+  }
+
+  RulesCatalogService rulesCatalogService() {
+    List<Objective> objectives = state.getPlayers().stream().map(PlayerGame::getObjective).toList();
+    ObjectiveRepository objectiveRepository =
+        stub(
+            ObjectiveRepository.class,
+            (method, args) -> {
+              if (method.equals("findAll")) return objectives;
+              throw new UnsupportedOperationException(method);
+            });
+    RulesCatalogService service =
+        new RulesCatalogService(territoryGraphService(), objectiveRepository);
+    service.reload();
+    return service;
+  }
+
+  /** GameService só com o que os cálculos medidos usam; o restante fica nulo. */
+  GameService gameService() {
+    return new GameService(
+        null,
+        null,
+        territoryRepository(),
+        null,
+        null,
+        null,
+        null,
+        territoryGraphService(),
+        rulesCatalogService(),
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        null,
+        event -> {},
+        null,
+        null,
+        null);
+  }
+
+  /** Store que já tem a partida sintética em memória, como uma partida em andamento. */
+  GameStateStore gameStateStore() {
+    return new GameStateStore(null, null, null, null, null, null, null, null) {
+      @Override
+      public Optional<GameState> find(Long gameId) {
+        return GAME_ID == gameId ? Optional.of(state) : Optional.empty();
+      }
+    };
+  }
+
+  TerritoryRepository territoryRepository() {
+    return stub(
+        TerritoryRepository.class,
+        (method, args) ->
+            switch (method) {
+              case "findAll" -> territories;
+              default -> throw new UnsupportedOperationException(method);
+            });
+  }
+
+  TerritoryBorderRepository territoryBorderRepository() {
+    List<Object[]> pairs = borders.stream().map(b -> new Object[] {b[0], b[1]}).toList();
+    return stub(
+        TerritoryBorderRepository.class,
+        (method, args) -> {
+          if (method.equals("findAllTerritoryIdPairs")) return pairs;
+          throw new UnsupportedOperationException(method);
+        });
+  }
+
+  private static Card card(long id, CardType type, Territory territory) {
+    Card card = new Card();
+    card.setId(id);
+    card.setType(type);
+    card.setTerritory(territory);
+    card.setImageName(type.name().toLowerCase() + id + ".png");
+    return card;
+  }
+
+  private interface Answer {
+    Object answer(String method, Object[] args);
+  }
+
+  // Implementa só os métodos de consulta usados nos benchmarks, sem o custo de um mock
+  private static <T> T stub(Class<T> type, Answer answer) {
+    return type.cast(
+        Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[] {type},
+            (proxy, method, args) -> answer.answer(method.getName(), args)));
+  }
+}
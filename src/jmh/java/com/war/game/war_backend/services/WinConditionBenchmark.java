@@ -0,0 +1,73 @@
+package com.war.game.war_backend.services;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.model.PlayerGame;
+
+/**
+ * Checagem de vitória: o objetivo de um jogador, por tipo, e a checagem completa feita após cada
+ * ação (todos os jogadores ativos).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WinConditionBenchmark {
+
+  @Param({"CONQUER_CONTINENT", "CONQUER_TERRITORIES", "ELIMINATE_PLAYER"})
+  String objectiveType;
+
+  private WinConditionService winConditionService;
+  private GameState state;
+  private PlayerGame player;
+  private PrintStream originalOut;
+
+  @Setup
+  public void setUp() {
+    SyntheticGame syntheticGame = new SyntheticGame(42);
+    winConditionService = new WinConditionService(event -> {}, syntheticGame.rulesCatalogService());
+    state = syntheticGame.state;
+    player =
+        syntheticGame.state.getPlayers().stream()
+            .filter(pg -> pg.getObjective().getType().equals(objectiveType))
+            .findFirst()
+            .orElseThrow();
+
+    // O serviço registra cada checagem no console; o log não faz parte da medição
+    originalOut = System.out;
+    System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+  }
+
+  @TearDown
+  public void tearDown() {
+    System.setOut(originalOut);
+  }
+
+  @Benchmark
+  public boolean checkObjectiveCompletion() {
+    return winConditionService.checkObjectiveCompletion(state, player);
+  }
+
+  @Benchmark
+  public boolean checkWinConditions() {
+    return winConditionService.checkWinConditions(state, player);
+  }
+}
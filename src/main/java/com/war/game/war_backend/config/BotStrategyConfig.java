@@ -0,0 +1,27 @@
+package com.war.game.war_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.HeuristicBotStrategy;
+import com.war.game.war_backend.engine.bot.MonteCarloBotStrategy;
+
+/** Um {@link BotStrategy} por nível de dificuldade dos bots. */
+@Configuration
+public class BotStrategyConfig {
+
+  @Bean
+  public BotStrategy heuristicBotStrategy() {
+    return new HeuristicBotStrategy();
+  }
+
+  @Bean
+  public BotStrategy monteCarloBotStrategy(
+      @Value("${app.ai.hard.decision-budget-ms:20}") long budgetMillis,
+      @Value("${app.ai.hard.max-rollouts:2000}") int maxRollouts,
+      @Value("${app.ai.hard.min-win-probability:0.6}") double minWinProbability) {
+    return new MonteCarloBotStrategy(budgetMillis, maxRollouts, minWinProbability);
+  }
+}
@@ -0,0 +1,186 @@
+package com.war.game.war_backend.config;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+/**
+ * Fila de saída limitada de uma sessão WebSocket.
+ *
+ * <p>{@link #sendMessage} só enfileira e retorna; os quadros são escritos na conexão por uma tarefa
+ * do {@code executor}, uma de cada vez por sessão. Assim uma conexão lenta não prende as threads do
+ * clientOutboundChannel, que apenas repassam os quadros.
+ *
+ * <p>Quadros MESSAGE de destinos conflacionáveis (o estado completo da partida) substituem o quadro
+ * ainda não enviado da mesma inscrição: só o mais novo importa. Os demais (deltas, chat) nunca são
+ * descartados isoladamente; se a fila passar de {@code maxQueuedFrames}, a sessão é fechada e o
+ * cliente reconecta e recebe um snapshot novo.
+ *
+ * <p>Como no {@link org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator}, um
+ * envio que passa de {@code sendTimeLimitMs} também fecha a sessão: o próximo {@link #sendMessage}
+ * percebe a escrita travada e fecha a conexão na hora, sem depender das threads de envio.
+ */
+class ConflatingSessionDecorator extends WebSocketSessionDecorator {
+
+  private final Executor executor;
+  private final Predicate<String> conflated;
+  private final int maxQueuedFrames;
+  private final long sendTimeLimitMs;
+  private final OutboundQueueDecoratorFactory metrics;
+
+  // Início da escrita em andamento na conexão; 0 quando nenhuma
+  private volatile long sendStartedAt;
+
+  // Guardados pelo monitor da sessão
+  private final Deque<Frame> queue = new ArrayDeque<>();
+  private boolean draining;
+  private boolean closed;
+
+  private record Frame(String conflationKey, WebSocketMessage<?> message) {}
+
+  ConflatingSessionDecorator(
+      WebSocketSession session,
+      Executor executor,
+      Predicate<String> conflated,
+      int maxQueuedFrames,
+      long sendTimeLimitMs,
+      OutboundQueueDecoratorFactory metrics) {
+    super(session);
+    this.executor = executor;
+    this.conflated = conflated;
+    this.maxQueuedFrames = maxQueuedFrames;
+    this.sendTimeLimitMs = sendTimeLimitMs;
+    this.metrics = metrics;
+  }
+
+  @Override
+  public void sendMessage(WebSocketMessage<?> message) throws IOException {
+    String key = conflationKey(message);
+    boolean replaced = false;
+    int overflow = 0;
+    boolean startDrain = false;
+    boolean stuck = false;
+
+    synchronized (this) {
+      if (closed) return;
+
+      if (sendTimeExceeded()) {
+        closed = true;
+        stuck = true;
+        overflow = queue.size() + 1;
+        queue.clear();
+      } else {
+        if (key != null) {
+          replaced = queue.removeIf(frame -> key.equals(frame.conflationKey()));
+        }
+        queue.addLast(new Frame(key, message));
+
+        if (queue.size() > maxQueuedFrames) {
+          closed = true;
+          overflow = queue.size();
+          queue.clear();
+        } else if (!draining) {
+          draining = true;
+          startDrain = true;
+        }
+      }
+    }
+
+    if (replaced) {
+      metrics.recordConflated();
+    }
+    if (stuck) {
+      metrics.recordOverflow(overflow);
+      metrics.recordSlowConsumerClosed();
+      // As threads de envio podem estar todas presas nesta conexão
+      closeSlowConsumer();
+    } else if (overflow > 0) {
+      metrics.recordOverflow(overflow);
+      metrics.recordSlowConsumerClosed();
+      executor.execute(this::closeSlowConsumer);
+    } else if (startDrain) {
+      executor.execute(this::drain);
+    }
+  }
+
+  /** Quadros aguardando envio. */
+  synchronized int queued() {
+    return queue.size();
+  }
+
+  private void drain() {
+    while (true) {
+      Frame frame;
+      synchronized (this) {
+        frame = queue.pollFirst();
+        if (frame == null || closed) {
+          draining = false;
+          return;
+        }
+      }
+
+      sendStartedAt = System.currentTimeMillis();
+      try {
+        getDelegate().sendMessage(frame.message());
+      } catch (IOException | RuntimeException e) {
+        synchronized (this) {
+          closed = true;
+          queue.clear();
+          draining = false;
+        }
+        return;
+      } finally {
+        sendStartedAt = 0;
+      }
+    }
+  }
+
+  private boolean sendTimeExceeded() {
+    long startedAt = sendStartedAt;
+    return startedAt > 0 && System.currentTimeMillis() - startedAt > sendTimeLimitMs;
+  }
+
+  private void closeSlowConsumer() {
+    try {
+      getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+    } catch (IOException | RuntimeException e) {
+      System.err.println(
+          "WebSocket - Falha ao fechar sessão lenta " + getId() + ": " + e.getMessage());
+    }
+  }
+
+  // "destino|inscrição" para quadros MESSAGE de destinos conflacionáveis; nulo para os demais
+  private String conflationKey(WebSocketMessage<?> message) {
+    if (!(message instanceof TextMessage text)) return null;
+
+    String frame = text.getPayload();
+    if (!frame.startsWith("MESSAGE\n")) return null;
+
+    String destination = null;
+    String subscription = null;
+    int start = "MESSAGE\n".length();
+    while (start < frame.length()) {
+      int end = frame.indexOf('\n', start);
+      if (end <= start) break; // Linha vazia: fim dos cabeçalhos
+
+      String header = frame.substring(start, end);
+      if (header.startsWith("destination:")) {
+        destination = header.substring("destination:".length());
+      } else if (header.startsWith("subscription:")) {
+        subscription = header.substring("subscription:".length());
+      }
+      start = end + 1;
+    }
+
+    if (destination == null || !conflated.test(destination)) return null;
+    return destination + "|" + subscription;
+  }
+}
@@ -0,0 +1,133 @@
+package com.war.game.war_backend.config;
+
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Executores dedicados da aplicação, cada um com nome, threads e fila limitados.
+ *
+ * <ul>
+ *   <li>{@code aiTaskExecutor}: ações dos bots. Cheio, recusa a tarefa e o {@code AITurnScheduler}
+ *       tenta de novo mais tarde, então uma enxurrada de partidas só de bots não ocupa as threads
+ *       das partidas com jogadores.
+ *   <li>clientInboundChannel do STOMP (registrado no {@link WebSocketConfig}). Cheio, a própria
+ *       thread que publicou executa a tarefa, o que segura só quem está mandando demais.
+ *   <li>clientOutboundChannel do STOMP. Cheio, recusa a mensagem: rodar na thread de quem publicou
+ *       passaria a mensagem na frente das que estão na fila e embaralharia os deltas. A memória já
+ *       é limitada pela fila de cada sessão ({@link OutboundQueueDecoratorFactory}).
+ * </ul>
+ *
+ * <p>Tarefas recusadas pelos pools que recusam são contadas em {@code executor.rejected} (tag
+ * {@code name} com o nome do bean). Com {@code spring.threads.virtual.enabled=true} em JDK 21+, as
+ * threads dos pools passam a ser virtuais; os limites continuam os mesmos. As métricas {@code
+ * executor.*} (tag {@code name} com o nome do bean) vêm do actuator, que instrumenta todo {@link
+ * ThreadPoolTaskExecutor} do contexto.
+ */
+@Configuration
+public class ExecutorConfig {
+
+  public static final String AI_TASK_EXECUTOR = "aiTaskExecutor";
+
+  private final boolean virtualThreads;
+
+  @Value("${app.executors.broker-inbound.threads:0}")
+  private int brokerInboundThreads;
+
+  @Value("${app.executors.broker-inbound.queue-capacity:1000}")
+  private int brokerInboundQueueCapacity;
+
+  @Value("${app.executors.broker-outbound.threads:0}")
+  private int brokerOutboundThreads;
+
+  @Value("${app.executors.broker-outbound.queue-capacity:1000}")
+  private int brokerOutboundQueueCapacity;
+
+  private final MeterRegistry meterRegistry;
+
+  public ExecutorConfig(Environment environment, MeterRegistry meterRegistry) {
+    this.virtualThreads = Threading.VIRTUAL.isActive(environment);
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Bean(name = AI_TASK_EXECUTOR)
+  public ThreadPoolTaskExecutor aiTaskExecutor(
+      @Value("${app.executors.ai.threads:0}") int threads,
+      @Value("${app.executors.ai.queue-capacity:1000}") int queueCapacity) {
+    return boundedExecutor(
+        "ai-turn-",
+        threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+        queueCapacity,
+        abortAndCount(AI_TASK_EXECUTOR),
+        virtualThreads);
+  }
+
+  /** Pool do clientInboundChannel; o Spring o registra como bean clientInboundChannelExecutor. */
+  public ThreadPoolTaskExecutor brokerInboundExecutor() {
+    return boundedExecutor(
+        "broker-inbound-",
+        brokerInboundThreads > 0
+            ? brokerInboundThreads
+            : Runtime.getRuntime().availableProcessors() * 2,
+        brokerInboundQueueCapacity,
+        new ThreadPoolExecutor.CallerRunsPolicy(),
+        virtualThreads);
+  }
+
+  /** Pool do clientOutboundChannel; o Spring o registra como bean clientOutboundChannelExecutor. */
+  public ThreadPoolTaskExecutor brokerOutboundExecutor() {
+    return boundedExecutor(
+        "broker-outbound-",
+        brokerOutboundThreads > 0
+            ? brokerOutboundThreads
+            : Runtime.getRuntime().availableProcessors() * 2,
+        brokerOutboundQueueCapacity,
+        abortAndCount("clientOutboundChannelExecutor"),
+        virtualThreads);
+  }
+
+  // Recusa com TaskRejectedException para quem enviou e conta a recusa
+  private RejectedExecutionHandler abortAndCount(String name) {
+    Counter rejected =
+        Counter.builder("executor.rejected")
+            .tag("name", name)
+            .description("Tarefas recusadas com as threads e a fila do pool cheias")
+            .register(meterRegistry);
+    RejectedExecutionHandler abort = new ThreadPoolExecutor.AbortPolicy();
+    return (task, pool) -> {
+      rejected.increment();
+      abort.rejectedExecution(task, pool);
+    };
+  }
+
+  /**
+   * Pool de {@code threads} fixas e até {@code queueCapacity} tarefas aguardando. Cheio, a tarefa
+   * vai para {@code whenFull}; uma recusa chega a quem enviou como {@link
+   * org.springframework.core.task.TaskRejectedException}. A inicialização fica com o Spring.
+   */
+  static ThreadPoolTaskExecutor boundedExecutor(
+      String threadNamePrefix,
+      int threads,
+      int queueCapacity,
+      RejectedExecutionHandler whenFull,
+      boolean virtualThreads) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix(threadNamePrefix);
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.setAllowCoreThreadTimeOut(true);
+    executor.setVirtualThreads(virtualThreads);
+    executor.setRejectedExecutionHandler(whenFull);
+    return executor;
+  }
+}
@@ -0,0 +1,136 @@
+package com.war.game.war_backend.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Coloca cada sessão WebSocket atrás de um {@link ConflatingSessionDecorator}, com fila de saída
+ * limitada e conflação dos destinos de {@code app.websocket.outbound.conflated-destinations}.
+ *
+ * <p>Métricas: {@code websocket.outbound.dropped} (quadros descartados, por {@code reason}: {@code
+ * conflated} ou {@code overflow}), {@code websocket.outbound.slow_consumer.closed} (sessões
+ * fechadas por não acompanhar) e {@code websocket.outbound.queued} (quadros aguardando envio).
+ */
+@Component
+public class OutboundQueueDecoratorFactory implements WebSocketHandlerDecoratorFactory {
+
+  private final List<String> conflatedPatterns;
+  private final int maxQueuedFrames;
+  private final long sendTimeLimitMs;
+  private final ExecutorService senders;
+
+  private final AntPathMatcher pathMatcher = new AntPathMatcher();
+  private final Map<String, ConflatingSessionDecorator> sessions = new ConcurrentHashMap<>();
+
+  private final Counter conflatedDrops;
+  private final Counter overflowDrops;
+  private final Counter slowConsumersClosed;
+
+  public OutboundQueueDecoratorFactory(
+      MeterRegistry meterRegistry,
+      @Value("${app.websocket.outbound.conflated-destinations:/topic/game/*/state}")
+          List<String> conflatedPatterns,
+      @Value("${app.websocket.outbound.max-queued-frames:256}") int maxQueuedFrames,
+      @Value("${app.websocket.outbound.sender-threads:0}") int threads,
+      @Value("${app.websocket.outbound.send-time-limit-ms:10000}") long sendTimeLimitMs) {
+    this.conflatedPatterns = conflatedPatterns;
+    this.maxQueuedFrames = maxQueuedFrames;
+    this.sendTimeLimitMs = sendTimeLimitMs;
+
+    AtomicInteger counter = new AtomicInteger();
+    this.senders =
+        Executors.newFixedThreadPool(
+            threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+            r -> {
+              Thread thread = new Thread(r, "ws-outbound-" + counter.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    this.conflatedDrops =
+        Counter.builder("websocket.outbound.dropped")
+            .tag("reason", "conflated")
+            .description("Quadros substituídos por um mais novo do mesmo destino")
+            .register(meterRegistry);
+    this.overflowDrops =
+        Counter.builder("websocket.outbound.dropped")
+            .tag("reason", "overflow")
+            .description("Quadros descartados ao fechar uma sessão lenta")
+            .register(meterRegistry);
+    this.slowConsumersClosed =
+        Counter.builder("websocket.outbound.slow_consumer.closed")
+            .description("Sessões fechadas por não acompanhar os envios")
+            .register(meterRegistry);
+    Gauge.builder("websocket.outbound.queued", this, OutboundQueueDecoratorFactory::queued)
+        .description("Quadros aguardando envio em todas as sessões")
+        .register(meterRegistry);
+  }
+
+  @Override
+  public WebSocketHandler decorate(WebSocketHandler handler) {
+    return new WebSocketHandlerDecorator(handler) {
+      @Override
+      public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        ConflatingSessionDecorator decorated = decorateSession(session);
+        sessions.put(session.getId(), decorated);
+        super.afterConnectionEstablished(decorated);
+      }
+
+      @Override
+      public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus)
+          throws Exception {
+        sessions.remove(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+      }
+    };
+  }
+
+  ConflatingSessionDecorator decorateSession(WebSocketSession session) {
+    return new ConflatingSessionDecorator(
+        session, senders, this::isConflated, maxQueuedFrames, sendTimeLimitMs, this);
+  }
+
+  boolean isConflated(String destination) {
+    return conflatedPatterns.stream().anyMatch(pattern -> pathMatcher.match(pattern, destination));
+  }
+
+  void recordConflated() {
+    conflatedDrops.increment();
+  }
+
+  void recordOverflow(int frames) {
+    overflowDrops.increment(frames);
+  }
+
+  void recordSlowConsumerClosed() {
+    slowConsumersClosed.increment();
+  }
+
+  private double queued() {
+    return sessions.values().stream().mapToInt(ConflatingSessionDecorator::queued).sum();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    senders.shutdownNow();
+  }
+}
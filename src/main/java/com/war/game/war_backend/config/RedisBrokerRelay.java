@@ -0,0 +1,170 @@
+package com.war.game.war_backend.config;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replica entre os nós, via pub/sub do Redis, as mensagens enviadas aos tópicos das partidas e de
+ * cada lobby.
+ *
+ * <p>Cada nó continua com o seu broker simples, que entrega às sessões conectadas nele. Este
+ * interceptor fica no brokerChannel: toda mensagem local para um destino replicado segue para o
+ * broker local e também é publicada no canal do Redis. As mensagens que chegam do Redis vindas de
+ * outros nós entram no brokerChannel marcadas como replicadas, e por isso não são publicadas de
+ * novo. A publicação roda em uma única thread, então a ordem dos envios de cada nó se mantém.
+ *
+ * <p>A lista de lobbies (/topic/lobbies/) não é replicada: o {@code LobbyIndex} é de cada nó, com
+ * snapshot e versões próprios, e diffs de outro nó deixariam a lista do cliente errada.
+ *
+ * <p>Ativado com {@code app.websocket.broker=redis}; exige o Redis ({@code app.redis.enabled}).
+ */
+@Component
+@ConditionalOnProperty(name = "app.websocket.broker", havingValue = "redis")
+public class RedisBrokerRelay implements ChannelInterceptor, MessageListener {
+
+  static final String RELAYED_HEADER = "warRelayedFrom";
+
+  private final String nodeId = UUID.randomUUID().toString();
+
+  private final StringRedisTemplate redisTemplate;
+  private final RedisMessageListenerContainer listenerContainer;
+  private final MessageChannel brokerChannel;
+  private final ObjectMapper objectMapper;
+  private final String channel;
+  private final List<String> destinationPrefixes;
+
+  private final ExecutorService publisher =
+      Executors.newSingleThreadExecutor(
+          r -> {
+            Thread thread = new Thread(r, "broker-relay-publisher");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  /** Mensagem como trafega no Redis. */
+  record RelayedMessage(String node, String destination, String contentType, byte[] payload) {}
+
+  public RedisBrokerRelay(
+      RedisConnectionFactory connectionFactory,
+      RedisMessageListenerContainer listenerContainer,
+      @Lazy @Qualifier("brokerChannel") MessageChannel brokerChannel,
+      ObjectMapper objectMapper,
+      @Value("${app.websocket.relay.channel:war:broker}") String channel,
+      @Value("${app.websocket.relay.destinations:/topic/game/,/topic/lobby/}")
+          List<String> destinationPrefixes) {
+    this.redisTemplate = new StringRedisTemplate(connectionFactory);
+    this.listenerContainer = listenerContainer;
+    this.brokerChannel = brokerChannel;
+    this.objectMapper = objectMapper;
+    this.channel = channel;
+    this.destinationPrefixes = destinationPrefixes;
+  }
+
+  @PostConstruct
+  public void subscribe() {
+    listenerContainer.addMessageListener(this, new ChannelTopic(channel));
+    System.out.println("Broker - Replicando " + destinationPrefixes + " pelo canal " + channel);
+  }
+
+  // SAÍDA: mensagens enviadas neste nó ========
+
+  @Override
+  public Message<?> preSend(Message<?> message, MessageChannel channel) {
+    MessageHeaders headers = message.getHeaders();
+    if (headers.containsKey(RELAYED_HEADER)
+        || SimpMessageHeaderAccessor.getMessageType(headers) != SimpMessageType.MESSAGE
+        || !(message.getPayload() instanceof byte[] payload)) {
+      return message;
+    }
+
+    String destination = SimpMessageHeaderAccessor.getDestination(headers);
+    if (!isRelayed(destination)) {
+      return message;
+    }
+
+    MimeType contentType = headers.get(MessageHeaders.CONTENT_TYPE, MimeType.class);
+    RelayedMessage relayed =
+        new RelayedMessage(
+            nodeId, destination, contentType != null ? contentType.toString() : null, payload);
+    publisher.execute(() -> publish(relayed));
+    return message;
+  }
+
+  private void publish(RelayedMessage relayed) {
+    try {
+      redisTemplate.convertAndSend(channel, objectMapper.writeValueAsString(relayed));
+    } catch (IOException | RuntimeException e) {
+      System.err.println(
+          "Broker - Falha ao replicar " + relayed.destination() + ": " + e.getMessage());
+    }
+  }
+
+  boolean isRelayed(String destination) {
+    return destination != null && destinationPrefixes.stream().anyMatch(destination::startsWith);
+  }
+
+  // ENTRADA: mensagens de outros nós ==========
+
+  @Override
+  public void onMessage(org.springframework.data.redis.connection.Message message, byte[] pattern) {
+    RelayedMessage relayed;
+    try {
+      relayed = objectMapper.readValue(message.getBody(), RelayedMessage.class);
+    } catch (IOException e) {
+      System.err.println("Broker - Mensagem replicada inválida: " + e.getMessage());
+      return;
+    }
+
+    // O próprio nó já entregou a mensagem às suas sessões
+    if (nodeId.equals(relayed.node())) {
+      return;
+    }
+
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setDestination(relayed.destination());
+    if (relayed.contentType() != null) {
+      accessor.setContentType(MimeType.valueOf(relayed.contentType()));
+    }
+    accessor.setHeader(RELAYED_HEADER, relayed.node());
+
+    brokerChannel.send(
+        MessageBuilder.createMessage(relayed.payload(), accessor.getMessageHeaders()));
+  }
+
+  String getNodeId() {
+    return nodeId;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    listenerContainer.removeMessageListener(this);
+    publisher.shutdown();
+  }
+}
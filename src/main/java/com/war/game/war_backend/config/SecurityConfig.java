@@ -2,6 +2,8 @@ package com.war.game.war_backend.config;
 
 import java.util.Arrays;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -63,6 +65,10 @@ public class SecurityConfig {
         .authorizeHttpRequests(
             authorize ->
                 authorize
+                    // O despacho assíncrono (respostas em streaming, como o replay) continua uma
+                    // requisição que já foi autorizada
+                    .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                    .permitAll()
                     .requestMatchers(
                         "/api/v1/players/register",
                         "/api/v1/players/login",
@@ -1,5 +1,6 @@
 package com.war.game.war_backend.config;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.ChannelRegistration;
@@ -7,6 +8,7 @@ import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 
 import com.war.game.war_backend.security.websocket.JwtChannelInterceptor;
 
@@ -15,11 +17,21 @@ import com.war.game.war_backend.security.websocket.JwtChannelInterceptor;
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
   private final JwtChannelInterceptor jwtChannelInterceptor;
+  private final ObjectProvider<RedisBrokerRelay> brokerRelay;
+  private final OutboundQueueDecoratorFactory outboundQueue;
+  private final ExecutorConfig executorConfig;
 
   // Injeção de Dependência do Interceptor
   @Autowired
-  public WebSocketConfig(JwtChannelInterceptor jwtChannelInterceptor) {
+  public WebSocketConfig(
+      JwtChannelInterceptor jwtChannelInterceptor,
+      ObjectProvider<RedisBrokerRelay> brokerRelay,
+      OutboundQueueDecoratorFactory outboundQueue,
+      ExecutorConfig executorConfig) {
     this.jwtChannelInterceptor = jwtChannelInterceptor;
+    this.brokerRelay = brokerRelay;
+    this.outboundQueue = outboundQueue;
+    this.executorConfig = executorConfig;
   }
 
   @Override
@@ -28,6 +40,14 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     // cliente
     registry.enableSimpleBroker("/topic", "/queue");
 
+    // Os deltas de uma partida são aplicados pela versão: cada sessão recebe as mensagens na
+    // ordem em que foram publicadas, mesmo com o pool do canal de saída
+    registry.setPreservePublishOrder(true);
+
+    // Com app.websocket.broker=redis, o broker local de cada nó também recebe as mensagens dos
+    // outros nós
+    brokerRelay.ifAvailable(relay -> registry.configureBrokerChannel().interceptors(relay));
+
     // Define o prefixo para o destino das mensagens enviadas do cliente para o
     // servidor
     registry.setApplicationDestinationPrefixes("/app");
@@ -39,6 +59,20 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     // Adiciona o interceptor para processar a autenticação de mensagens de entrada
     // (incluindo CONNECT)
     registration.interceptors(jwtChannelInterceptor);
+
+    // Pool próprio e limitado, separado das ações dos bots (ver ExecutorConfig)
+    registration.taskExecutor(executorConfig.brokerInboundExecutor());
+  }
+
+  @Override
+  public void configureClientOutboundChannel(ChannelRegistration registration) {
+    registration.taskExecutor(executorConfig.brokerOutboundExecutor());
+  }
+
+  // Fila de saída limitada por sessão: uma conexão lenta não segura as threads de envio
+  @Override
+  public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+    registration.addDecoratorFactory(outboundQueue);
   }
 
   @Override
@@ -1,38 +1,59 @@
 package com.war.game.war_backend.controller;
 
 import java.security.Principal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 import jakarta.validation.Valid;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.war.game.war_backend.controller.dto.request.AttackRequestDto;
+import com.war.game.war_backend.controller.dto.request.BlitzAttackRequestDto;
 import com.war.game.war_backend.controller.dto.request.LobbyCreationRequestDto;
 import com.war.game.war_backend.controller.dto.response.AttackResponseDto;
+import com.war.game.war_backend.controller.dto.response.BlitzAttackResponseDto;
 import com.war.game.war_backend.controller.dto.response.CurrentTurnInfoDto;
 import com.war.game.war_backend.controller.dto.response.GameLobbyDetailsDto;
 import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
 import com.war.game.war_backend.controller.dto.response.LobbyCreationResponseDto;
+import com.war.game.war_backend.controller.dto.response.LobbyListDiffDto;
 import com.war.game.war_backend.controller.dto.response.LobbyListResponseDto;
 import com.war.game.war_backend.controller.dto.response.PlayerLobbyDtoResponse;
+import com.war.game.war_backend.engine.CombatKernel;
+import com.war.game.war_backend.engine.GameStateSnapshot;
 import com.war.game.war_backend.exceptions.InvalidGamePhaseException;
 import com.war.game.war_backend.model.Game;
 import com.war.game.war_backend.model.Player;
 import com.war.game.war_backend.model.PlayerGame;
 import com.war.game.war_backend.model.enums.GameStatus;
+import com.war.game.war_backend.services.GameHistoryService;
+import com.war.game.war_backend.services.GameReplayService;
 import com.war.game.war_backend.services.GameService;
 import com.war.game.war_backend.services.GameService.AttackResult;
+import com.war.game.war_backend.services.GameService.BlitzResult;
+import com.war.game.war_backend.services.GameStateAssembler;
+import com.war.game.war_backend.services.GameStateBroadcaster;
+import com.war.game.war_backend.services.GameStateViewCache;
+import com.war.game.war_backend.services.LobbyIndex;
 import com.war.game.war_backend.services.PlayerService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -56,6 +77,13 @@ public class GameController {
   private final GameService gameService;
   private final PlayerService playerService;
   private final SimpMessagingTemplate messagingTemplate;
+  private final GameStateAssembler gameStateAssembler;
+  private final GameStateViewCache gameStateViewCache;
+  private final GameStateBroadcaster gameStateBroadcaster;
+  private final GameReplayService gameReplayService;
+  private final GameHistoryService gameHistoryService;
+  private final LobbyIndex lobbyIndex;
+  private final ObjectMapper objectMapper;
 
   // --- LOBBY MANAGEMENT ---
 
@@ -88,21 +116,6 @@ public class GameController {
     LobbyCreationResponseDto response =
         new LobbyCreationResponseDto(newGame.getId(), newGame.getName(), playerDtos);
 
-    // Notifica todos os clientes sobre a atualização da lista de lobbies
-    List<Game> allLobbies = gameService.findAllLobbies();
-    List<LobbyListResponseDto> lobbyListDtos =
-        allLobbies.stream()
-            .map(
-                lobby ->
-                    new LobbyListResponseDto(
-                        lobby.getId(),
-                        lobby.getName(),
-                        lobby.getStatus(),
-                        lobby.getPlayerGames().size()))
-            .collect(Collectors.toList());
-
-    messagingTemplate.convertAndSend("/topic/lobbies/list", lobbyListDtos);
-
     return new ResponseEntity<>(response, HttpStatus.CREATED);
   }
 
@@ -113,47 +126,96 @@ public class GameController {
   @SecurityRequirement(name = "bearerAuth")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<List<LobbyListResponseDto>> getAllLobbies() {
-    List<Game> lobbies = gameService.findAllLobbies();
-
-    List<LobbyListResponseDto> lobbyDtos =
-        lobbies.stream()
-            .map(
-                lobby ->
-                    new LobbyListResponseDto(
-                        lobby.getId(),
-                        lobby.getName(),
-                        lobby.getStatus(),
-                        lobby.getPlayerGames().size()))
-            .collect(Collectors.toList());
+    return ResponseEntity.ok(lobbyIndex.list());
+  }
 
-    return ResponseEntity.ok(lobbyDtos);
+  // Lista inteira para quem se inscreve em /app/lobbies/list; daí em diante o cliente aplica as
+  // alterações de /topic/lobbies/list
+  @SubscribeMapping("/lobbies/list")
+  public LobbyListDiffDto subscribeLobbyList() {
+    return lobbyIndex.snapshot();
   }
 
   @GetMapping("/history")
   @Operation(
-      summary = "Lista partidas finalizadas.",
-      description = "Retorna jogos com status 'FINISHED'.")
+      summary = "Lista partidas finalizadas, paginadas.",
+      description =
+          "Retorna um resumo (vencedor, duração e jogadores) das partidas com status 'FINISHED',"
+              + " da mais recente para a mais antiga. Para a próxima página, envie o 'nextCursor'"
+              + " recebido como 'cursor'.")
   @SecurityRequirement(name = "bearerAuth")
   @PreAuthorize("isAuthenticated()")
-  public ResponseEntity<List<GameStateResponseDto>> getFinishedGames() {
-    List<Game> finished = gameService.findFinishedGames();
+  public ResponseEntity<?> getFinishedGames(
+      @Parameter(description = "Cursor da página anterior") @RequestParam(required = false)
+          String cursor,
+      @Parameter(description = "Partidas por página (máximo 100)")
+          @RequestParam(defaultValue = "20")
+          int size,
+      @Parameter(description = "Só partidas deste jogador") @RequestParam(required = false)
+          Long playerId) {
+    try {
+      return ResponseEntity.ok(gameHistoryService.findFinished(cursor, size, playerId));
+    } catch (RuntimeException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
 
-    List<GameStateResponseDto> dtos =
-        finished.stream().map(this::convertToGameStateDto).collect(Collectors.toList());
+  @GetMapping("/{gameId}/replay")
+  @Operation(
+      summary = "Reproduz uma partida finalizada, ação por ação.",
+      description =
+          "Envia a partida aos poucos como NDJSON (uma linha JSON por quadro): primeiro o estado no"
+              + " início do turno pedido, depois cada ação com as linhas que ela alterou. O turno 0"
+              + " é o início da partida; cada troca de jogador da vez abre um novo turno.")
+  @SecurityRequirement(name = "bearerAuth")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<?> replayGame(
+      @Parameter(description = "ID da partida") @PathVariable Long gameId,
+      @Parameter(description = "Turno inicial") @RequestParam(defaultValue = "0") int fromTurn,
+      @Parameter(description = "Turno final (inclusive)") @RequestParam(required = false)
+          Integer toTurn) {
+    GameStateSnapshot start;
+    try {
+      start = gameReplayService.start(gameId);
+    } catch (RuntimeException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
 
-    return ResponseEntity.ok(dtos);
+    StreamingResponseBody body =
+        out ->
+            gameReplayService.stream(
+                start,
+                fromTurn,
+                toTurn,
+                frame -> {
+                  out.write(objectMapper.writeValueAsBytes(frame));
+                  out.write('\n');
+                  out.flush();
+                });
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType("application/x-ndjson"))
+        .body(body);
   }
 
   @GetMapping("/current-game")
   @Operation(
       summary = "Retorna o jogo/lobby ativo do jogador.",
       description =
-          "Retorna o jogo em que o jogador está participando (seja lobby ou partida em andamento). Retorna 404 se não estiver em nenhum jogo.")
+          "Retorna o jogo em que o jogador está participando (seja lobby ou partida em andamento). Retorna 404 se não estiver em nenhum jogo. Partidas em andamento trazem ETag; com If-None-Match atual, retorna 304.")
   @SecurityRequirement(name = "bearerAuth")
   @PreAuthorize("isAuthenticated()")
-  public ResponseEntity<?> getCurrentGame(Principal principal) {
+  public ResponseEntity<?> getCurrentGame(
+      Principal principal,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
     String username = principal.getName();
 
+    // A ETag indica a partida; se o jogador continua nela e nada mudou, o banco nem é consultado
+    Optional<String> unchanged = gameStateViewCache.findCurrentEtagForPlayer(ifNoneMatch, username);
+    if (unchanged.isPresent()) {
+      return notModified(unchanged.get());
+    }
+
     try {
       Player player = playerService.getPlayerByUsername(username);
       Game currentGame = gameService.findCurrentGameForPlayer(player);
@@ -182,7 +244,11 @@ public class GameController {
       }
 
       // Se for jogo ativo, retorna estado completo
-      GameStateResponseDto gameState = convertToGameStateDto(currentGame);
+      Optional<GameStateViewCache.View> view = gameStateViewCache.view(currentGame.getId());
+      if (view.isPresent()) {
+        return ok(view.get());
+      }
+      GameStateResponseDto gameState = gameStateAssembler.assemble(currentGame);
       return ResponseEntity.ok(gameState);
 
     } catch (RuntimeException e) {
@@ -194,31 +260,59 @@ public class GameController {
   @Operation(
       summary = "Retorna todas as informações de um jogo específico.",
       description =
-          "Retorna o estado completo de um jogo, seja ele um lobby ou uma partida em andamento.")
+          "Retorna o estado completo de um jogo, seja ele um lobby ou uma partida em andamento. Partidas em andamento trazem ETag; com If-None-Match atual, retorna 304.")
   @SecurityRequirement(name = "bearerAuth")
   @PreAuthorize("isAuthenticated()")
-  public ResponseEntity<?> getGameById(@PathVariable Long gameId) {
+  public ResponseEntity<?> getGameById(
+      @PathVariable Long gameId,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    Optional<String> etag = gameStateViewCache.etag(gameId);
+    if (etag.isPresent() && GameStateViewCache.matches(ifNoneMatch, etag.get())) {
+      return notModified(etag.get());
+    }
+
     try {
+      // Partidas em andamento passam a ficar em memória aqui, e daí em diante têm ETag
       Game game = gameService.findGameById(gameId);
-      GameStateResponseDto gameState = convertToGameStateDto(game);
+      Optional<GameStateViewCache.View> view = gameStateViewCache.view(gameId);
+      if (view.isPresent()) {
+        return ok(view.get());
+      }
+      GameStateResponseDto gameState = gameStateAssembler.assemble(game);
       return ResponseEntity.ok(gameState);
     } catch (RuntimeException e) {
       return ResponseEntity.badRequest().body(e.getMessage());
     }
   }
 
+  // Snapshot inicial para quem se inscreve em /app/game/{id}/state; daí em diante o cliente aplica
+  // os deltas de /topic/game/{id}/delta e pede um novo snapshot se detectar uma versão faltando
+  @SubscribeMapping("/game/{gameId}/state")
+  public GameStateResponseDto subscribeGameState(@DestinationVariable Long gameId) {
+    return gameStateAssembler.assemble(gameService.findGameById(gameId));
+  }
+
   @GetMapping("/{gameId}/current-turn")
   @Operation(
       summary = "Retorna informações sobre o turno atual da partida.",
       description =
-          "Retorna quem está jogando no momento, se é o turno do jogador autenticado e outras informações relevantes.")
+          "Retorna quem está jogando no momento, se é o turno do jogador autenticado e outras informações relevantes. Traz ETag; com If-None-Match atual, retorna 304.")
   @SecurityRequirement(name = "bearerAuth")
   @PreAuthorize("isAuthenticated()")
   public ResponseEntity<?> getCurrentTurnInfo(
-      @Parameter(description = "ID da partida") @PathVariable Long gameId, Principal principal) {
+      @Parameter(description = "ID da partida") @PathVariable Long gameId,
+      Principal principal,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
 
     String username = principal.getName();
 
+    // Só responde 304 a quem ainda está na partida; os demais seguem para o 403 abaixo
+    Optional<String> etag =
+        gameStateViewCache.findCurrentEtagForMember(gameId, ifNoneMatch, username);
+    if (etag.isPresent()) {
+      return notModified(etag.get());
+    }
+
     try {
       Player player = playerService.getPlayerByUsername(username);
       Game game = gameService.findGameById(gameId);
@@ -275,7 +369,9 @@ public class GameController {
               totalPlayers,
               (int) activePlayers);
 
-      return ResponseEntity.ok(response);
+      return etag.map(tag -> ResponseEntity.ok().eTag(tag))
+          .orElse(ResponseEntity.ok())
+          .body(response);
 
     } catch (RuntimeException e) {
       return ResponseEntity.badRequest().body(e.getMessage());
@@ -316,20 +412,6 @@ public class GameController {
     // Envia notificação WebSocket com o sufixo /state
     messagingTemplate.convertAndSend("/topic/lobby/" + lobbyId + "/state", playerDtos);
 
-    // Notifica sobre a atualização da lista global de lobbies (contagem de jogadores)
-    List<Game> allLobbies = gameService.findAllLobbies();
-    List<LobbyListResponseDto> lobbyListDtos =
-        allLobbies.stream()
-            .map(
-                lobby ->
-                    new LobbyListResponseDto(
-                        lobby.getId(),
-                        lobby.getName(),
-                        lobby.getStatus(),
-                        lobby.getPlayerGames().size()))
-            .collect(Collectors.toList());
-    messagingTemplate.convertAndSend("/topic/lobbies/list", lobbyListDtos);
-
     return ResponseEntity.ok(responseDto);
   }
 
@@ -353,20 +435,6 @@ public class GameController {
       // Envia notificação WebSocket com o sufixo /state (lobby excluído)
       messagingTemplate.convertAndSend("/topic/lobby/" + lobbyId + "/state", List.of());
 
-      // Notifica sobre a atualização da lista global de lobbies
-      List<Game> allLobbies = gameService.findAllLobbies();
-      List<LobbyListResponseDto> lobbyListDtos =
-          allLobbies.stream()
-              .map(
-                  lobby ->
-                      new LobbyListResponseDto(
-                          lobby.getId(),
-                          lobby.getName(),
-                          lobby.getStatus(),
-                          lobby.getPlayerGames().size()))
-              .collect(Collectors.toList());
-      messagingTemplate.convertAndSend("/topic/lobbies/list", lobbyListDtos);
-
       return ResponseEntity.ok(List.of());
     }
 
@@ -385,20 +453,6 @@ public class GameController {
     // Envia notificação WebSocket com o sufixo /state
     messagingTemplate.convertAndSend("/topic/lobby/" + lobbyId + "/state", playerDtos);
 
-    // Notifica sobre a atualização da lista global de lobbies
-    List<Game> allLobbies = gameService.findAllLobbies();
-    List<LobbyListResponseDto> lobbyListDtos =
-        allLobbies.stream()
-            .map(
-                lobby ->
-                    new LobbyListResponseDto(
-                        lobby.getId(),
-                        lobby.getName(),
-                        lobby.getStatus(),
-                        lobby.getPlayerGames().size()))
-            .collect(Collectors.toList());
-    messagingTemplate.convertAndSend("/topic/lobbies/list", lobbyListDtos);
-
     return ResponseEntity.ok(playerDtos);
   }
 
@@ -418,13 +472,8 @@ public class GameController {
 
     Game updatedGame = gameService.removePlayerFromGame(gameId, player);
 
-    // Converte para DTO
-    GameStateResponseDto gameStateDto = convertToGameStateDto(updatedGame);
-
-    // Notifica todos os jogadores via WebSocket
-    messagingTemplate.convertAndSend("/topic/game/" + gameId + "/state", gameStateDto);
-
-    return ResponseEntity.ok(gameStateDto);
+    // Os demais jogadores recebem o delta em /topic/game/{id}/delta
+    return ResponseEntity.ok(gameStateAssembler.assemble(updatedGame));
   }
 
   // --- IA ---
@@ -466,20 +515,6 @@ public class GameController {
     // NOTIFICAÇÃO WEB SOCKET
     messagingTemplate.convertAndSend("/topic/lobby/" + lobbyId + "/state", playerDtos);
 
-    // Notifica sobre a atualização da lista global de lobbies
-    List<Game> allLobbies = gameService.findAllLobbies();
-    List<LobbyListResponseDto> lobbyListDtos =
-        allLobbies.stream()
-            .map(
-                lobby ->
-                    new LobbyListResponseDto(
-                        lobby.getId(),
-                        lobby.getName(),
-                        lobby.getStatus(),
-                        lobby.getPlayerGames().size()))
-            .collect(Collectors.toList());
-    messagingTemplate.convertAndSend("/topic/lobbies/list", lobbyListDtos);
-
     return ResponseEntity.ok(responseDto);
   }
 
@@ -519,20 +554,6 @@ public class GameController {
     // NOTIFICAÇÃO WEB SOCKET
     messagingTemplate.convertAndSend("/topic/lobby/" + lobbyId + "/state", playerDtos);
 
-    // Notifica sobre a atualização da lista global de lobbies
-    List<Game> allLobbies = gameService.findAllLobbies();
-    List<LobbyListResponseDto> lobbyListDtos =
-        allLobbies.stream()
-            .map(
-                lobby ->
-                    new LobbyListResponseDto(
-                        lobby.getId(),
-                        lobby.getName(),
-                        lobby.getStatus(),
-                        lobby.getPlayerGames().size()))
-            .collect(Collectors.toList());
-    messagingTemplate.convertAndSend("/topic/lobbies/list", lobbyListDtos);
-
     return ResponseEntity.ok(playerDtos);
   }
 
@@ -552,10 +573,10 @@ public class GameController {
 
     try {
       Game startedGame = gameService.startGame(lobbyId, username);
-      GameStateResponseDto gameState = convertToGameStateDto(startedGame);
 
-      messagingTemplate.convertAndSend("/topic/game/" + lobbyId + "/state", gameState);
-      return ResponseEntity.ok(gameState);
+      // O envio e a resposta usam o mesmo JSON, serializado uma vez
+      gameStateBroadcaster.publishState(startedGame);
+      return stateResponse(startedGame);
 
     } catch (RuntimeException e) {
       return ResponseEntity.badRequest().body(e.getMessage());
@@ -581,11 +602,8 @@ public class GameController {
 
     try {
       Game updatedGame = gameService.allocateTroops(gameId, username, territoryId, count);
-      GameStateResponseDto gameState = convertToGameStateDto(updatedGame);
-
-      // Sempre envia estado atualizado via WebSocket, mesmo se o jogo terminou
-      messagingTemplate.convertAndSend("/topic/game/" + gameId + "/state", gameState);
-      return ResponseEntity.ok(gameState);
+      // Os demais jogadores recebem o delta em /topic/game/{id}/delta
+      return stateResponse(updatedGame);
 
     } catch (InvalidGamePhaseException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
@@ -607,12 +625,8 @@ public class GameController {
 
     try {
       Game updatedGame = gameService.startNextTurn(gameId, username);
-      GameStateResponseDto gameState = convertToGameStateDto(updatedGame);
-
-      // Sempre envia estado atualizado via WebSocket, mesmo se o jogo terminou
-      messagingTemplate.convertAndSend("/topic/game/" + gameId + "/state", gameState);
-
-      return ResponseEntity.ok(gameState);
+      // Os demais jogadores recebem o delta em /topic/game/{id}/delta
+      return stateResponse(updatedGame);
 
     } catch (InvalidGamePhaseException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
@@ -648,10 +662,8 @@ public class GameController {
 
     try {
       Game updatedGame = gameService.tradeCardsForReinforcements(gameId, username, playerCardIds);
-      GameStateResponseDto gameState = convertToGameStateDto(updatedGame);
-
-      messagingTemplate.convertAndSend("/topic/game/" + gameId + "/state", gameState);
-      return ResponseEntity.ok(gameState);
+      // Os demais jogadores recebem o delta em /topic/game/{id}/delta
+      return stateResponse(updatedGame);
     } catch (InvalidGamePhaseException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
     } catch (RuntimeException e) {
@@ -680,12 +692,49 @@ public class GameController {
 
     try {
       AttackResult attackResult = gameService.attackTerritory(gameId, username, attackRequest);
-      GameStateResponseDto gameState = convertToGameStateDto(attackResult.game);
+      GameStateResponseDto gameState = gameStateAssembler.assemble(attackResult.game);
 
       AttackResponseDto response =
           new AttackResponseDto(attackResult.attackerDice, attackResult.defenderDice, gameState);
 
-      messagingTemplate.convertAndSend("/topic/game/" + gameId + "/state", gameState);
+      // Os demais jogadores recebem o delta em /topic/game/{id}/delta
+      return ResponseEntity.ok(response);
+
+    } catch (InvalidGamePhaseException e) {
+      return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    } catch (RuntimeException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    }
+  }
+
+  @PostMapping("/{gameId}/blitz")
+  @Operation(
+      summary = "Ataca em cerco até conquistar o território ou atingir o limite de parada.",
+      description =
+          "Repete as rodadas de ataque no servidor, sempre com o máximo de dados, e devolve os dados de cada rodada. O resumo do cerco é enviado aos jogadores em /topic/game/{gameId}/blitz.")
+  @SecurityRequirement(name = "bearerAuth")
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<?> blitzAttack(
+      @Parameter(description = "ID da partida.") @PathVariable Long gameId,
+      @RequestBody(
+              description = "Territórios do cerco e limite de parada do atacante.",
+              required = true,
+              content = @Content(schema = @Schema(implementation = BlitzAttackRequestDto.class)))
+          @Valid
+          @org.springframework.web.bind.annotation.RequestBody
+          BlitzAttackRequestDto blitzRequest,
+      Principal principal) {
+
+    String username = principal.getName();
+
+    try {
+      BlitzResult blitzResult = gameService.blitzAttack(gameId, username, blitzRequest);
+
+      // O resumo é serializado no envio, antes de receber o estado completo da resposta
+      BlitzAttackResponseDto response = toBlitzResponse(gameId, blitzRequest, blitzResult);
+      messagingTemplate.convertAndSend("/topic/game/" + gameId + "/blitz", response);
+
+      response.setGameState(gameStateAssembler.assemble(blitzResult.game));
       return ResponseEntity.ok(response);
 
     } catch (InvalidGamePhaseException e) {
@@ -695,6 +744,30 @@ public class GameController {
     }
   }
 
+  private BlitzAttackResponseDto toBlitzResponse(
+      Long gameId, BlitzAttackRequestDto request, BlitzResult result) {
+    int attackerLosses = 0;
+    int defenderLosses = 0;
+    List<BlitzAttackResponseDto.RoundDto> rounds = new ArrayList<>(result.rounds.size());
+    for (long round : result.rounds) {
+      attackerLosses += CombatKernel.attackerLosses(round);
+      defenderLosses += CombatKernel.defenderLosses(round);
+      rounds.add(
+          new BlitzAttackResponseDto.RoundDto(
+              CombatKernel.attackRolls(round), CombatKernel.defenseRolls(round)));
+    }
+
+    return new BlitzAttackResponseDto(
+        gameId,
+        request.getSourceTerritoryId(),
+        request.getTargetTerritoryId(),
+        result.conquered,
+        attackerLosses,
+        defenderLosses,
+        rounds,
+        null);
+  }
+
   @PostMapping("/{gameId}/move")
   @Operation(
       summary = "Move tropas entre territórios adjacentes do mesmo jogador.",
@@ -731,11 +804,8 @@ public class GameController {
               moveRequest.getTargetTerritoryId(),
               moveRequest.getTroopCount());
 
-      GameStateResponseDto gameState = convertToGameStateDto(updatedGame);
-
-      // Broadcast para todos os jogadores
-      messagingTemplate.convertAndSend("/topic/game/" + gameId + "/state", gameState);
-      return ResponseEntity.ok(gameState);
+      // Os demais jogadores recebem o delta em /topic/game/{id}/delta
+      return stateResponse(updatedGame);
 
     } catch (InvalidGamePhaseException e) {
       return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
@@ -744,123 +814,23 @@ public class GameController {
     }
   }
 
-  // Método auxiliar para converter Game em GameStateResponseDto (evita referências circulares)
-  private GameStateResponseDto convertToGameStateDto(Game game) {
-    GameStateResponseDto dto = new GameStateResponseDto();
-    dto.setId(game.getId());
-    dto.setStatus(game.getStatus());
-    dto.setCreatedAt(game.getCreatedAt());
-    dto.setName(game.getName());
-    dto.setCardSetExchangeCount(game.getCardSetExchangeCount());
-
-    // Converter turnPlayer
-    if (game.getTurnPlayer() != null) {
-      dto.setTurnPlayer(convertToPlayerGameDto(game.getTurnPlayer()));
-    }
-
-    // Converter winner
-    if (game.getWinner() != null) {
-      dto.setWinner(convertToPlayerGameDto(game.getWinner()));
-    }
-
-    // Converter playerGames
-    if (game.getPlayerGames() != null) {
-      dto.setPlayerGames(
-          game.getPlayerGames().stream()
-              .map(this::convertToPlayerGameDto)
-              .collect(Collectors.toList()));
-    }
-
-    // Converter gameTerritories
-    if (game.getGameTerritories() != null) {
-      dto.setGameTerritories(
-          game.getGameTerritories().stream()
-              .map(this::convertToGameTerritoryDto)
-              .collect(Collectors.toList()));
+  // Partidas em memória respondem com o JSON da versão atual, serializado uma vez por versão
+  private ResponseEntity<?> stateResponse(Game game) {
+    Optional<GameStateViewCache.View> view = gameStateViewCache.view(game.getId());
+    if (view.isPresent()) {
+      return ok(view.get());
     }
-
-    return dto;
+    return ResponseEntity.ok(gameStateAssembler.assemble(game));
   }
 
-  private GameStateResponseDto.PlayerGameDto convertToPlayerGameDto(
-      com.war.game.war_backend.model.PlayerGame pg) {
-    GameStateResponseDto.PlayerGameDto dto = new GameStateResponseDto.PlayerGameDto();
-    dto.setId(pg.getId());
-    dto.setTurnOrder(pg.getTurnOrder());
-    dto.setColor(pg.getColor());
-    dto.setIsOwner(pg.getIsOwner());
-    dto.setUnallocatedArmies(pg.getUnallocatedArmies());
-    dto.setConqueredTerritoryThisTurn(pg.getConqueredTerritoryThisTurn());
-    dto.setStillInGame(pg.getStillInGame());
-
-    if (pg.getObjective() != null) {
-      GameStateResponseDto.ObjectiveDto objDto = new GameStateResponseDto.ObjectiveDto();
-      objDto.setId(pg.getObjective().getId());
-      objDto.setDescription(pg.getObjective().getDescription());
-      objDto.setType(pg.getObjective().getType());
-      dto.setObjective(objDto);
-    }
-
-    if (pg.getPlayer() != null) {
-      GameStateResponseDto.PlayerDto playerDto = new GameStateResponseDto.PlayerDto();
-      playerDto.setId(pg.getPlayer().getId());
-      playerDto.setUsername(pg.getPlayer().getUsername());
-      playerDto.setImageUrl(pg.getPlayer().getImageUrl());
-      dto.setPlayer(playerDto);
-    }
-
-    // Adiciona as cartas do jogador via service
-    List<com.war.game.war_backend.model.PlayerCard> playerCards = gameService.getPlayerCards(pg);
-    List<GameStateResponseDto.PlayerCardDto> cardDtos =
-        playerCards.stream()
-            .map(
-                pc -> {
-                  GameStateResponseDto.PlayerCardDto pcDto =
-                      new GameStateResponseDto.PlayerCardDto();
-                  pcDto.setId(pc.getId());
-                  if (pc.getCard() != null) {
-                    GameStateResponseDto.CardDto cardDto = new GameStateResponseDto.CardDto();
-                    cardDto.setId(pc.getCard().getId());
-                    cardDto.setType(pc.getCard().getType().name());
-                    cardDto.setImageName(pc.getCard().getImageName());
-                    if (pc.getCard().getTerritory() != null) {
-                      GameStateResponseDto.TerritoryDto terrDto =
-                          new GameStateResponseDto.TerritoryDto();
-                      terrDto.setId(pc.getCard().getTerritory().getId());
-                      terrDto.setName(pc.getCard().getTerritory().getName());
-                      terrDto.setContinent(pc.getCard().getTerritory().getContinent());
-                      cardDto.setTerritory(terrDto);
-                    }
-                    pcDto.setCard(cardDto);
-                  }
-                  return pcDto;
-                })
-            .collect(java.util.stream.Collectors.toList());
-    dto.setPlayerCards(cardDtos);
-
-    return dto;
+  private static ResponseEntity<byte[]> ok(GameStateViewCache.View view) {
+    return ResponseEntity.ok()
+        .eTag(view.etag())
+        .contentType(MediaType.APPLICATION_JSON)
+        .body(view.body());
   }
 
-  private GameStateResponseDto.GameTerritoryDto convertToGameTerritoryDto(
-      com.war.game.war_backend.model.GameTerritory gt) {
-    GameStateResponseDto.GameTerritoryDto dto = new GameStateResponseDto.GameTerritoryDto();
-    dto.setId(gt.getTerritory() != null ? gt.getTerritory().getId() : null);
-    dto.setStaticArmies(gt.getStaticArmies());
-    dto.setMovedInArmies(gt.getMovedInArmies());
-    dto.setUnallocatedArmies(gt.getUnallocatedArmies());
-
-    if (gt.getOwner() != null) {
-      dto.setOwnerId(gt.getOwner().getId());
-    }
-
-    if (gt.getTerritory() != null) {
-      GameStateResponseDto.TerritoryDto terrDto = new GameStateResponseDto.TerritoryDto();
-      terrDto.setId(gt.getTerritory().getId());
-      terrDto.setName(gt.getTerritory().getName());
-      terrDto.setContinent(gt.getTerritory().getContinent());
-      dto.setTerritory(terrDto);
-    }
-
-    return dto;
+  private static ResponseEntity<?> notModified(String etag) {
+    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
   }
 }
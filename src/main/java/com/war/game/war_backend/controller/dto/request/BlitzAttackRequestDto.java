@@ -0,0 +1,32 @@
+package com.war.game.war_backend.controller.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Requisição de ataque em cerco, resolvido por completo no servidor")
+public class BlitzAttackRequestDto {
+
+  @NotNull(message = "O ID do território atacante é obrigatório.")
+  @Schema(description = "ID do território atacante", example = "6")
+  private Long sourceTerritoryId;
+
+  @NotNull(message = "O ID do território defensor é obrigatório.")
+  @Schema(description = "ID do território defensor", example = "3")
+  private Long targetTerritoryId;
+
+  @Min(value = 1, message = "O limite de parada deve ser de pelo menos 1 exército.")
+  @Schema(
+      description =
+          "O cerco para quando o território atacante ficar com esta quantidade de exércitos estáticos ou menos (padrão: 1, ataca até não poder mais)",
+      example = "1",
+      minimum = "1")
+  private Integer stopAtArmies;
+}
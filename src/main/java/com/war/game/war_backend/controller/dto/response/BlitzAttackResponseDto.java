@@ -0,0 +1,31 @@
+package com.war.game.war_backend.controller.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BlitzAttackResponseDto {
+  private Long gameId;
+  private Long sourceTerritoryId;
+  private Long targetTerritoryId;
+  private boolean conquered;
+  private int attackerLosses;
+  private int defenderLosses;
+  private List<RoundDto> rounds;
+
+  // Ausente no resumo enviado pelo WebSocket: os jogadores recebem o estado pelo delta
+  private GameStateResponseDto gameState;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class RoundDto {
+    private List<Integer> attackerDice;
+    private List<Integer> defenderDice;
+  }
+}
@@ -0,0 +1,46 @@
+package com.war.game.war_backend.controller.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página do histórico de partidas finalizadas, da mais recente para a mais antiga. Para a página
+ * seguinte, repita a consulta com {@code cursor = nextCursor}; {@code nextCursor} nulo indica o
+ * fim.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameHistoryPageDto {
+  private List<GameSummaryDto> games;
+  private String nextCursor;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class GameSummaryDto {
+    private Long id;
+    private String name;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private Long durationSeconds; // Do início ao fim da partida; nulo se não registrado
+    private PlayerSummaryDto winner;
+    private List<PlayerSummaryDto> players;
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class PlayerSummaryDto {
+    private Long id; // ID do PlayerGame
+    private Long playerId;
+    private String username;
+    private String color;
+    private Boolean stillInGame;
+  }
+}
@@ -0,0 +1,48 @@
+package com.war.game.war_backend.controller.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delta enviado em /topic/game/{id}/delta após cada ação. Traz só o que mudou, com valores
+ * absolutos. Se {@code version} não for a seguinte à última aplicada, o cliente deve pedir o estado
+ * completo (inscrição em /app/game/{id}/state ou GET /api/games/{id}).
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameStateDeltaDto {
+  private Long gameId;
+  private Long version;
+  private String status; // Campos da partida: nulos quando a partida não mudou
+  private Long turnPlayerId;
+  private Long winnerId;
+  private Integer cardSetExchangeCount;
+  private List<PlayerPatchDto> players;
+  private List<TerritoryPatchDto> territories;
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class PlayerPatchDto {
+    private Long id;
+    private Integer unallocatedArmies;
+    private Boolean conqueredTerritoryThisTurn;
+    private Boolean stillInGame;
+    private List<GameStateResponseDto.PlayerCardDto> playerCards; // Nulo se a mão não mudou
+  }
+
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  public static class TerritoryPatchDto {
+    private Long id; // ID do território do mapa, como em GameStateResponseDto.GameTerritoryDto
+    private Long ownerId;
+    private Integer staticArmies;
+    private Integer movedInArmies;
+    private Integer unallocatedArmies;
+  }
+}
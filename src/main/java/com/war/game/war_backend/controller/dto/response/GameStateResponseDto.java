@@ -20,6 +20,7 @@ public class GameStateResponseDto {
   private Integer cardSetExchangeCount;
   private List<PlayerGameDto> playerGames;
   private List<GameTerritoryDto> gameTerritories;
+  private Long version; // Versão do estado; os deltas seguintes começam em version + 1
 
   @Data
   @NoArgsConstructor
@@ -0,0 +1,24 @@
+package com.war.game.war_backend.controller.dto.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Alterações da lista de lobbies enviadas em /topic/lobbies/list. Cada envio reúne o que mudou
+ * desde o anterior: lobbies criados ou alterados em {@code upserted} e lobbies que saíram da lista
+ * (excluídos ou iniciados) em {@code removed}. Com {@code full} verdadeiro, {@code upserted} é a
+ * lista inteira (inscrição em /app/lobbies/list). Se {@code version} não for a seguinte à última
+ * aplicada, o cliente deve pedir a lista inteira de novo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobbyListDiffDto {
+  private Long version;
+  private boolean full;
+  private List<LobbyListResponseDto> upserted;
+  private List<Long> removed;
+}
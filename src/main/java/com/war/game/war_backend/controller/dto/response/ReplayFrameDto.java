@@ -0,0 +1,32 @@
+package com.war.game.war_backend.controller.dto.response;
+
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameStateSnapshot;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Um quadro da reprodução de uma partida (GET /api/games/{id}/replay), uma linha JSON por quadro.
+ * {@code STATE} traz o estado completo de onde a reprodução começa; cada {@code EVENT} traz uma
+ * ação com as linhas que ela alterou, que o cliente aplica sobre o estado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplayFrameDto {
+  private String type; // STATE ou EVENT
+  private Integer turn;
+  private Long seq;
+  private GameStateSnapshot state; // Só em STATE
+  private GameEvent event; // Só em EVENT
+
+  public static ReplayFrameDto state(int turn, GameStateSnapshot state) {
+    return new ReplayFrameDto("STATE", turn, state.seq(), state, null);
+  }
+
+  public static ReplayFrameDto event(int turn, GameEvent event) {
+    return new ReplayFrameDto("EVENT", turn, event.seq(), null, event);
+  }
+}
@@ -0,0 +1,68 @@
+package com.war.game.war_backend.engine;
+
+import java.util.Collection;
+
+import com.war.game.war_backend.model.GameTerritory;
+
+/**
+ * Operações sobre máscaras de territórios do {@link TerritoryGraph} (bit {@code i} = território de
+ * ordinal {@code i}).
+ *
+ * <p>A posse de um jogador vira um único {@code long}: contar territórios é um {@link
+ * Long#bitCount}, controlar um continente é {@code (posse & continente) == continente} e achar
+ * fronteiras é um AND com a máscara de vizinhos.
+ */
+public final class Bitboards {
+
+  private Bitboards() {}
+
+  /**
+   * Territórios do jogador com pelo menos {@code minArmies} exércitos (estáticos mais os que
+   * entraram no turno), em uma única passada. Territórios fora do grafo são ignorados.
+   */
+  public static long ownedBy(
+      TerritoryGraph graph,
+      Collection<GameTerritory> territories,
+      Long playerGameId,
+      int minArmies) {
+    long mask = 0L;
+    for (GameTerritory gt : territories) {
+      if (gt.getOwner() == null || !gt.getOwner().getId().equals(playerGameId)) continue;
+      if (armies(gt) < minArmies) continue;
+      int ordinal = graph.ordinalOf(gt.getTerritory().getId());
+      if (ordinal >= 0) {
+        mask |= 1L << ordinal;
+      }
+    }
+    return mask;
+  }
+
+  public static long ownedBy(
+      TerritoryGraph graph, Collection<GameTerritory> territories, Long playerGameId) {
+    return ownedBy(graph, territories, playerGameId, 0);
+  }
+
+  public static int count(long mask) {
+    return Long.bitCount(mask);
+  }
+
+  /** Se a máscara contém todo o continente (um continente vazio nunca é controlado). */
+  public static boolean controls(long owned, long continentMask) {
+    return continentMask != 0 && (owned & continentMask) == continentMask;
+  }
+
+  /** Quantos continentes do grafo a máscara controla. */
+  public static int controlledContinents(TerritoryGraph graph, long owned) {
+    int count = 0;
+    for (String continent : graph.continents()) {
+      if (controls(owned, graph.continentMask(continent))) count++;
+    }
+    return count;
+  }
+
+  static int armies(GameTerritory gt) {
+    int staticArmies = gt.getStaticArmies() != null ? gt.getStaticArmies() : 0;
+    int movedIn = gt.getMovedInArmies() != null ? gt.getMovedInArmies() : 0;
+    return staticArmies + movedIn;
+  }
+}
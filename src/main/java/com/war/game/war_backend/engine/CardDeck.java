@@ -0,0 +1,106 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+
+import com.war.game.war_backend.model.Card;
+
+/**
+ * Baralho de uma partida.
+ *
+ * <p>As cartas são embaralhadas uma vez, no início da partida, e compradas em ordem a partir da
+ * posição atual, em tempo constante. Cartas trocadas vão para o descarte e só voltam, embaralhadas,
+ * quando a pilha de compra acaba. A ordem, a posição e o descarte são gravados com a partida
+ * ({@link GameStateChanges.DeckRow}) e o baralho é remontado deles com {@link #restore}, então uma
+ * recarga não muda as próximas cartas. Não é thread-safe: só é usado dentro dos comandos da
+ * partida, que já são serializados.
+ */
+public class CardDeck {
+
+  private List<Card> order;
+  private int position;
+  private final List<Card> discardPile;
+  private final SplittableRandom random;
+
+  private CardDeck(
+      List<Card> order, int position, List<Card> discardPile, SplittableRandom random) {
+    this.order = order;
+    this.position = position;
+    this.discardPile = discardPile;
+    this.random = random;
+  }
+
+  /** Monta o baralho embaralhado com as cartas informadas (as que não estão na mão de ninguém). */
+  public static CardDeck shuffled(Collection<Card> cards, SplittableRandom random) {
+    return new CardDeck(shuffle(new ArrayList<>(cards), random), 0, new ArrayList<>(), random);
+  }
+
+  /** Remonta o baralho gravado: a mesma ordem de compra, a mesma posição e o mesmo descarte. */
+  public static CardDeck restore(
+      List<Card> order, int position, Collection<Card> discardPile, SplittableRandom random) {
+    return new CardDeck(
+        new ArrayList<>(order),
+        Math.min(Math.max(position, 0), order.size()),
+        new ArrayList<>(discardPile),
+        random);
+  }
+
+  /** Compra a próxima carta, reaproveitando o descarte se a pilha tiver acabado. */
+  public Optional<Card> draw() {
+    if (position == order.size()) {
+      recycleDiscardPile();
+    }
+    if (position == order.size()) {
+      return Optional.empty();
+    }
+    return Optional.of(order.get(position++));
+  }
+
+  /** Devolve cartas trocadas ao descarte. */
+  public void discard(Collection<Card> cards) {
+    discardPile.addAll(cards);
+  }
+
+  public int drawPileSize() {
+    return order.size() - position;
+  }
+
+  public int discardPileSize() {
+    return discardPile.size();
+  }
+
+  /** Ordem de compra atual, incluindo as cartas já compradas (antes da posição). */
+  public List<Card> order() {
+    return List.copyOf(order);
+  }
+
+  /** Índice da próxima carta em {@link #order()}. */
+  public int position() {
+    return position;
+  }
+
+  public List<Card> discardPile() {
+    return List.copyOf(discardPile);
+  }
+
+  private void recycleDiscardPile() {
+    if (discardPile.isEmpty()) {
+      return;
+    }
+    order = shuffle(new ArrayList<>(discardPile), random);
+    position = 0;
+    discardPile.clear();
+  }
+
+  // Fisher-Yates com o gerador da partida
+  private static List<Card> shuffle(List<Card> cards, SplittableRandom random) {
+    for (int i = cards.size() - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      cards.set(j, cards.set(i, cards.get(j)));
+    }
+    return cards;
+  }
+}
@@ -0,0 +1,174 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Rolagem de dados e resolução de combate sem alocação.
+ *
+ * <p>Uma rodada ({@link #roll}) é devolvida em um único {@code long}: os dados de ataque e de
+ * defesa, em ordem decrescente, com 4 bits cada (0 = dado não rolado), e as perdas de cada lado. Um
+ * cerco completo ({@link #blitz}) repete rodadas até o território cair ou o atacante chegar ao
+ * limite de parada, também sem criar objetos. O gerador é recebido do chamador (um por partida),
+ * então nada é compartilhado entre threads.
+ */
+public final class CombatKernel {
+
+  public static final int MAX_DICE = 3;
+
+  private static final int DIE_BITS = 4;
+  private static final int DIE_MASK = 0xF;
+  private static final int DEFENSE_SHIFT = 12;
+  private static final int ATTACKER_LOSSES_SHIFT = 24;
+  private static final int DEFENDER_LOSSES_SHIFT = 28;
+
+  private static final int BLITZ_BITS = 20;
+  private static final long BLITZ_MASK = (1L << BLITZ_BITS) - 1;
+  private static final int MAX_BLITZ_ARMIES = (int) BLITZ_MASK;
+
+  private CombatKernel() {}
+
+  /**
+   * Rola uma rodada com {@code attackDice} dados (1 a 3) contra {@code defenseDice} (0 a 3; um
+   * território só com exércitos recém-movidos não rola defesa).
+   */
+  public static long roll(SplittableRandom random, int attackDice, int defenseDice) {
+    if (attackDice < 1 || attackDice > MAX_DICE || defenseDice < 0 || defenseDice > MAX_DICE) {
+      throw new IllegalArgumentException("O número de dados deve estar entre 1 e 3.");
+    }
+
+    int attack = sortedDice(random, attackDice);
+    int defense = sortedDice(random, defenseDice);
+
+    int attackerLosses = 0;
+    int defenderLosses = 0;
+    int comparisons = Math.min(attackDice, defenseDice);
+    for (int i = 0; i < comparisons; i++) {
+      // Empate é sempre do defensor
+      if (die(attack, i) > die(defense, i)) {
+        defenderLosses++;
+      } else {
+        attackerLosses++;
+      }
+    }
+
+    return attack
+        | (long) defense << DEFENSE_SHIFT
+        | (long) attackerLosses << ATTACKER_LOSSES_SHIFT
+        | (long) defenderLosses << DEFENDER_LOSSES_SHIFT;
+  }
+
+  public static int attackerLosses(long round) {
+    return (int) (round >>> ATTACKER_LOSSES_SHIFT) & DIE_MASK;
+  }
+
+  public static int defenderLosses(long round) {
+    return (int) (round >>> DEFENDER_LOSSES_SHIFT) & DIE_MASK;
+  }
+
+  /** Valor do i-ésimo maior dado de ataque, ou 0 se ele não foi rolado. */
+  public static int attackDie(long round, int index) {
+    return die((int) round, index);
+  }
+
+  /** Valor do i-ésimo maior dado de defesa, ou 0 se ele não foi rolado. */
+  public static int defenseDie(long round, int index) {
+    return die((int) (round >>> DEFENSE_SHIFT), index);
+  }
+
+  /** Dados de ataque da rodada como lista, para respostas da API (aloca). */
+  public static List<Integer> attackRolls(long round) {
+    List<Integer> rolls = new ArrayList<>(MAX_DICE);
+    for (int i = 0; i < MAX_DICE && attackDie(round, i) > 0; i++) {
+      rolls.add(attackDie(round, i));
+    }
+    return rolls;
+  }
+
+  /** Dados de defesa da rodada como lista, para respostas da API (aloca). */
+  public static List<Integer> defenseRolls(long round) {
+    List<Integer> rolls = new ArrayList<>(MAX_DICE);
+    for (int i = 0; i < MAX_DICE && defenseDie(round, i) > 0; i++) {
+      rolls.add(defenseDie(round, i));
+    }
+    return rolls;
+  }
+
+  /**
+   * Resolve um cerco inteiro: repete rodadas, sempre com o máximo de dados de cada lado, até o
+   * defensor ficar sem exércitos ou o atacante ficar com {@code stopAt} exércitos ou menos.
+   *
+   * @param attackers exércitos que podem rolar dados (sem contar os que precisam ficar no
+   *     território de origem)
+   * @param defenders exércitos do território defensor
+   * @param stopAt limite de parada do atacante (0 = até o fim)
+   * @return perdas de cada lado e número de rodadas, lidos com {@link #blitzAttackerLosses}, {@link
+   *     #blitzDefenderLosses} e {@link #blitzRounds}
+   */
+  public static long blitz(SplittableRandom random, int attackers, int defenders, int stopAt) {
+    // Cada rodada tira ao menos um exército, então as rodadas também cabem nos 20 bits
+    if (attackers < 0 || defenders < 0 || attackers + defenders > MAX_BLITZ_ARMIES) {
+      throw new IllegalArgumentException("Quantidade de exércitos inválida para o cerco.");
+    }
+
+    int attackerLosses = 0;
+    int defenderLosses = 0;
+    int rounds = 0;
+
+    while (defenders - defenderLosses > 0 && attackers - attackerLosses > Math.max(0, stopAt)) {
+      long round =
+          roll(
+              random,
+              Math.min(MAX_DICE, attackers - attackerLosses),
+              Math.min(MAX_DICE, defenders - defenderLosses));
+      attackerLosses += attackerLosses(round);
+      defenderLosses += defenderLosses(round);
+      rounds++;
+    }
+
+    return attackerLosses | (long) defenderLosses << BLITZ_BITS | (long) rounds << (2 * BLITZ_BITS);
+  }
+
+  public static int blitzAttackerLosses(long siege) {
+    return (int) (siege & BLITZ_MASK);
+  }
+
+  public static int blitzDefenderLosses(long siege) {
+    return (int) (siege >>> BLITZ_BITS & BLITZ_MASK);
+  }
+
+  public static int blitzRounds(long siege) {
+    return (int) (siege >>> (2 * BLITZ_BITS) & BLITZ_MASK);
+  }
+
+  // Até 3 dados, ordenados de forma decrescente com uma rede de ordenação (3 comparações)
+  private static int sortedDice(SplittableRandom random, int count) {
+    int a = count > 0 ? random.nextInt(1, 7) : 0;
+    int b = count > 1 ? random.nextInt(1, 7) : 0;
+    int c = count > 2 ? random.nextInt(1, 7) : 0;
+
+    int t;
+    if (b > a) {
+      t = a;
+      a = b;
+      b = t;
+    }
+    if (c > b) {
+      t = b;
+      b = c;
+      c = t;
+    }
+    if (b > a) {
+      t = a;
+      a = b;
+      b = t;
+    }
+
+    return a | b << DIE_BITS | c << (2 * DIE_BITS);
+  }
+
+  private static int die(int dice, int index) {
+    return dice >>> (index * DIE_BITS) & DIE_MASK;
+  }
+}
@@ -0,0 +1,36 @@
+package com.war.game.war_backend.engine;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Registro imutável de uma ação da partida, na ordem em que aconteceu ({@code seq} começa em 1).
+ *
+ * <p>Além dos detalhes da ação ({@code data}: dados rolados, territórios envolvidos, cartas
+ * trocadas...), o evento carrega as linhas que a ação alterou, com os valores depois dela.
+ * Reaplicar os eventos sobre um {@link GameStateSnapshot} anterior reconstrói o estado sem rolar
+ * dados de novo.
+ */
+public record GameEvent(
+    long seq,
+    long timestamp,
+    Type type,
+    Long playerGameId,
+    Map<String, Object> data,
+    GameStateChanges.GameRow game,
+    List<GameStateChanges.PlayerRow> players,
+    List<GameStateChanges.TerritoryRow> territories) {
+
+  public enum Type {
+    ALLOCATION,
+    ATTACK,
+    MOVE,
+    CARD_TRADE,
+    ELIMINATION,
+    PLAYER_LEFT,
+    PHASE_CHANGE,
+    GAME_OVER,
+    // Alterações sem ação própria (por exemplo, a conversão de tropas no fim do turno)
+    STATE_UPDATE
+  }
+}
@@ -0,0 +1,65 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Reprodução incremental de uma partida: parte de um {@link GameStateSnapshot} e aplica um evento
+ * por vez, guardando só as linhas atuais. Conta os turnos pelo caminho; o turno 0 é o do snapshot
+ * inicial e cada troca do jogador da vez abre o turno seguinte.
+ */
+public class GameReplay {
+
+  private final Long gameId;
+  private GameStateChanges.GameRow game;
+  private final Map<Long, GameStateChanges.PlayerRow> players = new LinkedHashMap<>();
+  private final Map<Long, GameStateChanges.TerritoryRow> territories = new LinkedHashMap<>();
+  private long seq;
+  private int turn;
+
+  public GameReplay(GameStateSnapshot start) {
+    this.gameId = start.gameId();
+    this.game = start.game();
+    start.players().forEach(row -> players.put(row.id(), row));
+    start.territories().forEach(row -> territories.put(row.id(), row));
+    this.seq = start.seq();
+  }
+
+  /** Se o evento troca o jogador da vez, ou seja, abre um novo turno ao ser aplicado. */
+  public boolean startsTurn(GameEvent event) {
+    return event.game() != null
+        && game != null
+        && !Objects.equals(event.game().turnPlayerId(), game.turnPlayerId());
+  }
+
+  /** Aplica o evento; eventos já cobertos pelo estado atual são ignorados. */
+  public boolean apply(GameEvent event) {
+    if (event.seq() <= seq) return false;
+
+    if (startsTurn(event)) turn++;
+    if (event.game() != null) game = event.game();
+    event.players().forEach(row -> players.put(row.id(), row));
+    event.territories().forEach(row -> territories.put(row.id(), row));
+    seq = event.seq();
+    return true;
+  }
+
+  public long seq() {
+    return seq;
+  }
+
+  public int turn() {
+    return turn;
+  }
+
+  public GameStateSnapshot snapshot() {
+    return new GameStateSnapshot(
+        gameId,
+        seq,
+        game,
+        new ArrayList<>(players.values()),
+        new ArrayList<>(territories.values()));
+  }
+}
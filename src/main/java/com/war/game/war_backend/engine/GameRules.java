@@ -0,0 +1,88 @@
+package com.war.game.war_backend.engine;
+
+import java.util.function.Predicate;
+
+import com.war.game.war_backend.model.enums.CardType;
+
+/**
+ * Regras numéricas do War, sem estado. São as mesmas para as partidas do {@code GameService} e para
+ * as partidas simuladas ({@code engine.simulation}), que as chamam daqui em vez de manter uma
+ * cópia.
+ */
+public final class GameRules {
+
+  /** Exércitos colocados em cada território do jogador cuja carta entrou na troca. */
+  public static final int TRADED_TERRITORY_BONUS = 2;
+
+  /** Com esta quantidade de cartas na mão, a troca é obrigatória. */
+  public static final int MANDATORY_TRADE_HAND_SIZE = 5;
+
+  private GameRules() {}
+
+  /** Exércitos de cada jogador na alocação inicial; 0 fora de 2 a 6 jogadores. */
+  public static int initialTroops(int players) {
+    return switch (players) {
+      case 2 -> 40;
+      case 3 -> 35;
+      case 4 -> 30;
+      case 5 -> 25;
+      case 6 -> 20;
+      default -> 0;
+    };
+  }
+
+  /** Reforço do início do turno: territórios / 2 (mínimo 3) mais os continentes completos. */
+  public static int reinforcementTroops(RulesCatalog catalog, long owned) {
+    return Math.max(3, Bitboards.count(owned) / 2) + catalog.continentBonus(owned);
+  }
+
+  /** Bônus da troca de cartas: 4, 6, 8, 10, 12 e, da 6ª troca em diante, 15, 20, 25... */
+  public static int cardSetBonus(int exchangeCount) {
+    if (exchangeCount < 5) return 4 + exchangeCount * 2;
+    return 15 + (exchangeCount - 5) * 5;
+  }
+
+  /**
+   * Se as três cartas (tipos pelo ordinal de {@link CardType}) formam uma troca: três iguais, uma
+   * de cada, ou qualquer trio com coringa.
+   */
+  public static boolean isValidTrade(int first, int second, int third) {
+    int wild = CardType.WILD.ordinal();
+    if (first == wild || second == wild || third == wild) return true;
+    return (first == second && second == third)
+        || (first != second && second != third && first != third);
+  }
+
+  /**
+   * Exércitos estáticos que podem sair do território, para atacar ou se mover. Exércitos que
+   * entraram no turno seguram o território, então com eles todos os estáticos podem sair; sem eles,
+   * 1 fica.
+   */
+  public static int movableArmies(int staticArmies, int movedInArmies) {
+    return movedInArmies > 0 ? staticArmies : staticArmies - 1;
+  }
+
+  /**
+   * Exércitos que ocupam o território conquistado: os dados que sobreviveram (no mínimo 1), sem
+   * deixar a origem vazia. Devolve 0 se a origem não tem como ceder nenhum.
+   */
+  public static int occupyingArmies(int attackDice, int attackerLosses, int sourceAfterLosses) {
+    int maxMoveable = sourceAfterLosses - 1;
+    if (maxMoveable < 1) return 0;
+    return Math.min(Math.max(1, attackDice - attackerLosses), maxMoveable);
+  }
+
+  /**
+   * Se o jogador cumpriu o objetivo. Quem já saiu da partida não cumpre o de eliminar outro
+   * jogador.
+   */
+  public static boolean isObjectiveComplete(
+      ObjectiveRule rule,
+      boolean stillInGame,
+      long owned,
+      long ownedWithTwoArmies,
+      Predicate<String> isColorEliminated) {
+    if (rule instanceof ObjectiveRule.EliminatePlayer && !stillInGame) return false;
+    return rule.isComplete(owned, ownedWithTwoArmies, isColorEliminated);
+  }
+}
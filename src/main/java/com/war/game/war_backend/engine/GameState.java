@@ -0,0 +1,681 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import com.war.game.war_backend.model.Card;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.model.enums.GameStatus;
+
+/**
+ * Estado autoritativo em memória de uma partida em andamento.
+ *
+ * <p>As instâncias de {@link Game}, {@link PlayerGame}, {@link GameTerritory} e {@link PlayerCard}
+ * mantidas aqui são cópias desanexadas, criadas na hidratação e nunca associadas a um
+ * EntityManager. As ações do jogo validam e alteram essas cópias diretamente; cada alteração é
+ * marcada como pendente e depois gravada no banco pelo write-behind. Entidades de referência
+ * (Player, Territory, Objective, Card) são compartilhadas e tratadas como somente leitura.
+ *
+ * <p>As mesmas marcações alimentam, em paralelo, os deltas enviados aos jogadores: cada delta
+ * retirado com {@link #drainDelta()} recebe a próxima versão do estado. Marcar um território também
+ * atualiza a {@link TerritoryOwnership} da partida, de onde saem reforços e condições de vitória.
+ *
+ * <p>As ações registram {@link GameEvent}s com {@link #recordEvent}; cada evento leva as linhas
+ * alteradas desde o evento anterior. Os eventos e, de tempos em tempos, um {@link
+ * GameStateSnapshot} completo saem junto com as alterações em {@link #drainChanges()}.
+ */
+public class GameState {
+
+  private final Game game;
+  private final Map<Long, PlayerGame> playersById = new LinkedHashMap<>();
+  private final Map<Long, GameTerritory> territoriesByTerritoryId = new LinkedHashMap<>();
+  private final Map<Long, Card> cardsById = new LinkedHashMap<>();
+  private CardDeck deck;
+  private final TerritoryOwnership ownership;
+
+  // Gerador dos dados da partida; como os comandos da partida são serializados, não há disputa
+  private final SplittableRandom random = new SplittableRandom();
+
+  // Pausa entre as ações dos bots nesta partida; nulo usa o padrão da aplicação
+  private volatile Long aiStepDelayMs;
+
+  // Alterações ainda não gravadas no banco
+  private final Set<Long> dirtyPlayerIds = new LinkedHashSet<>();
+  private final Set<Long> dirtyTerritoryIds = new LinkedHashSet<>();
+  private boolean gameDirty;
+
+  // Alterações ainda não enviadas aos jogadores
+  private final Set<Long> unpublishedPlayerIds = new LinkedHashSet<>();
+  private final Set<Long> unpublishedHandIds = new LinkedHashSet<>();
+  private final Set<Long> unpublishedTerritoryIds = new LinkedHashSet<>();
+  private boolean gameUnpublished;
+  private long version;
+
+  // A versão recomeça em 0 a cada carga; a época distingue uma carga da outra, mesmo entre
+  // reinícios
+  private static final AtomicLong EPOCHS = new AtomicLong(System.currentTimeMillis());
+  private final long epoch = EPOCHS.incrementAndGet();
+
+  // Eventos ainda não gravados e linhas alteradas desde o último evento
+  private final List<GameEvent> unsavedEvents = new ArrayList<>();
+  private final Set<Long> unrecordedPlayerIds = new LinkedHashSet<>();
+  private final Set<Long> unrecordedTerritoryIds = new LinkedHashSet<>();
+  private boolean gameUnrecorded;
+  private long eventSeq;
+  private String recordedStatus;
+  private Long recordedTurnPlayerId;
+  private int eventsSinceSnapshot;
+  // O primeiro lote depois da hidratação sempre leva um snapshot
+  private boolean snapshotDue = true;
+  // Estado de quando a partida foi carregada, antes de qualquer evento novo
+  private GameStateSnapshot baseline;
+
+  /** Eventos entre dois snapshots da partida. */
+  public static final int SNAPSHOT_INTERVAL = 200;
+
+  private GameState(Game game, TerritoryGraph graph) {
+    this.game = game;
+    this.ownership = new TerritoryOwnership(graph);
+  }
+
+  /**
+   * Monta o estado a partir das entidades carregadas do banco. Nenhuma das entidades recebidas é
+   * alterada; o estado trabalha apenas com cópias. O baralho da partida é o gravado em {@code
+   * source}; se ainda não há baralho gravado (início da partida), as cartas de {@code allCards} que
+   * não estão na mão de nenhum jogador são embaralhadas com o gerador da partida e o baralho fica
+   * pendente de gravação. A posse dos territórios é indexada pelos ordinais de {@code graph}.
+   */
+  public static GameState hydrate(
+      TerritoryGraph graph,
+      Game source,
+      List<PlayerGame> playerGames,
+      List<GameTerritory> gameTerritories,
+      List<PlayerCard> playerCards,
+      List<Card> allCards) {
+
+    Game game = new Game();
+    game.setId(source.getId());
+    game.setStatus(source.getStatus());
+    game.setCreatedAt(source.getCreatedAt());
+    game.setName(source.getName());
+    game.setCardSetExchangeCount(
+        source.getCardSetExchangeCount() != null ? source.getCardSetExchangeCount() : 0);
+
+    GameState state = new GameState(game, graph);
+
+    playerGames.stream()
+        .sorted(
+            Comparator.comparing(
+                PlayerGame::getTurnOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+        .forEach(pg -> state.playersById.put(pg.getId(), copyOf(pg, game)));
+
+    Set<Long> heldCardIds = new HashSet<>();
+    for (PlayerCard pc : playerCards) {
+      PlayerGame owner = state.playersById.get(pc.getPlayerGame().getId());
+      if (owner != null) {
+        owner.getPlayerCards().add(new PlayerCard(pc.getId(), owner, pc.getCard()));
+        heldCardIds.add(pc.getCard().getId());
+      }
+    }
+
+    allCards.forEach(card -> state.cardsById.put(card.getId(), card));
+    if (source.getDeckOrder() != null && !allCards.isEmpty()) {
+      state.deck =
+          state.restoreDeck(
+              new GameStateChanges.DeckRow(
+                  GameStateChanges.DeckRow.split(source.getDeckOrder()),
+                  source.getDeckPosition() != null ? source.getDeckPosition() : 0,
+                  GameStateChanges.DeckRow.split(source.getDiscardPile())),
+              heldCardIds);
+    } else {
+      state.deck =
+          CardDeck.shuffled(
+              allCards.stream()
+                  .filter(card -> !heldCardIds.contains(card.getId()))
+                  .collect(Collectors.toList()),
+              state.random);
+      if (!allCards.isEmpty()) {
+        state.markDeckDirty();
+      }
+    }
+
+    for (GameTerritory gt : gameTerritories) {
+      GameTerritory copy = new GameTerritory();
+      copy.setId(gt.getId());
+      copy.setGame(game);
+      copy.setTerritory(gt.getTerritory());
+      copy.setOwner(gt.getOwner() != null ? state.playersById.get(gt.getOwner().getId()) : null);
+      copy.setStaticArmies(gt.getStaticArmies());
+      copy.setMovedInArmies(gt.getMovedInArmies());
+      copy.setUnallocatedArmies(gt.getUnallocatedArmies());
+      state.territoriesByTerritoryId.put(gt.getTerritory().getId(), copy);
+      state.ownership.update(copy);
+    }
+
+    if (source.getTurnPlayer() != null) {
+      game.setTurnPlayer(state.playersById.get(source.getTurnPlayer().getId()));
+    }
+    if (source.getWinner() != null) {
+      game.setWinner(state.playersById.get(source.getWinner().getId()));
+    }
+
+    game.setPlayerGames(new LinkedHashSet<>(state.playersById.values()));
+    game.setGameTerritories(new LinkedHashSet<>(state.territoriesByTerritoryId.values()));
+    state.rememberPhase();
+
+    return state;
+  }
+
+  /**
+   * Remonta o baralho gravado. Uma carta que já está em alguma mão não pode ser comprada de novo, e
+   * uma carta que não está em mão nenhuma nem no que resta do baralho gravado (troca gravada na
+   * mão, mas não no baralho) volta pelo descarte.
+   */
+  private CardDeck restoreDeck(GameStateChanges.DeckRow row, Set<Long> heldCardIds) {
+    List<Card> order = new ArrayList<>();
+    int position = Math.min(Math.max(row.position(), 0), row.order().size());
+    int restoredPosition = 0;
+    for (int i = 0; i < row.order().size(); i++) {
+      Card card = cardsById.get(row.order().get(i));
+      if (card == null || (i >= position && heldCardIds.contains(card.getId()))) continue;
+      order.add(card);
+      if (i < position) restoredPosition++;
+    }
+
+    List<Card> discardPile = new ArrayList<>();
+    row.discardPile().stream()
+        .map(cardsById::get)
+        .filter(card -> card != null && !heldCardIds.contains(card.getId()))
+        .forEach(discardPile::add);
+
+    Set<Long> known = new HashSet<>(heldCardIds);
+    order.subList(restoredPosition, order.size()).forEach(card -> known.add(card.getId()));
+    discardPile.forEach(card -> known.add(card.getId()));
+    cardsById.values().stream()
+        .filter(card -> !known.contains(card.getId()))
+        .forEach(discardPile::add);
+
+    return CardDeck.restore(order, restoredPosition, discardPile, random);
+  }
+
+  private static PlayerGame copyOf(PlayerGame pg, Game game) {
+    PlayerGame copy = new PlayerGame();
+    copy.setId(pg.getId());
+    copy.setPlayer(pg.getPlayer());
+    copy.setGame(game);
+    copy.setColor(pg.getColor());
+    copy.setTurnOrder(pg.getTurnOrder());
+    copy.setIsOwner(pg.getIsOwner());
+    copy.setObjective(pg.getObjective());
+    copy.setPlayerCards(new LinkedHashSet<>());
+    copy.setUnallocatedArmies(pg.getUnallocatedArmies());
+    copy.setConqueredTerritoryThisTurn(pg.getConqueredTerritoryThisTurn());
+    copy.setStillInGame(pg.getStillInGame());
+    copy.setUsername(pg.getUsername());
+    copy.setImageUrl(pg.getImageUrl());
+    return copy;
+  }
+
+  /** Indica se a partida está em uma fase de jogo que justifica manter o estado em memória. */
+  public static boolean isLiveStatus(String status) {
+    return GameStatus.SETUP_ALLOCATION.name().equals(status)
+        || GameStatus.IN_PROGRESS.name().equals(status)
+        || GameStatus.REINFORCEMENT.name().equals(status)
+        || GameStatus.ATTACK.name().equals(status)
+        || GameStatus.MOVEMENT.name().equals(status);
+  }
+
+  // CONSULTAS ===================================
+
+  public Long getGameId() {
+    return game.getId();
+  }
+
+  public Game getGame() {
+    return game;
+  }
+
+  public boolean isLive() {
+    return isLiveStatus(game.getStatus());
+  }
+
+  /** Jogadores ordenados por ordem de turno. */
+  public List<PlayerGame> getPlayers() {
+    return new ArrayList<>(playersById.values());
+  }
+
+  public List<PlayerGame> getActivePlayers() {
+    return playersById.values().stream()
+        .filter(PlayerGame::getStillInGame)
+        .collect(Collectors.toList());
+  }
+
+  public PlayerGame getPlayer(Long playerGameId) {
+    return playersById.get(playerGameId);
+  }
+
+  public Optional<PlayerGame> findPlayerByUsername(String username) {
+    return playersById.values().stream()
+        .filter(pg -> pg.getPlayer() != null && pg.getPlayer().getUsername().equals(username))
+        .findFirst();
+  }
+
+  public Optional<PlayerGame> findPlayerByPlayerId(Long playerId) {
+    return playersById.values().stream()
+        .filter(pg -> pg.getPlayer() != null && pg.getPlayer().getId().equals(playerId))
+        .findFirst();
+  }
+
+  /** Busca o território da partida pelo ID do território do mapa. */
+  public Optional<GameTerritory> findTerritory(Long territoryId) {
+    return Optional.ofNullable(territoriesByTerritoryId.get(territoryId));
+  }
+
+  public CardDeck getDeck() {
+    return deck;
+  }
+
+  public SplittableRandom getRandom() {
+    return random;
+  }
+
+  public Long getAiStepDelayMs() {
+    return aiStepDelayMs;
+  }
+
+  public void setAiStepDelayMs(Long aiStepDelayMs) {
+    this.aiStepDelayMs = aiStepDelayMs;
+  }
+
+  public List<GameTerritory> getTerritories() {
+    return new ArrayList<>(territoriesByTerritoryId.values());
+  }
+
+  public List<GameTerritory> getTerritoriesOwnedBy(PlayerGame playerGame) {
+    return territoriesByTerritoryId.values().stream()
+        .filter(gt -> isOwnedBy(gt, playerGame))
+        .collect(Collectors.toList());
+  }
+
+  public synchronized int countTerritoriesOwnedBy(PlayerGame playerGame) {
+    return ownership.count(playerGame.getId());
+  }
+
+  public TerritoryGraph getGraph() {
+    return ownership.graph();
+  }
+
+  /** Territórios do jogador como máscara de bits do grafo, sem percorrer o mapa. */
+  public synchronized long ownedMask(PlayerGame playerGame) {
+    return ownership.owned(playerGame.getId());
+  }
+
+  /** Territórios do jogador com pelo menos 2 exércitos, como máscara de bits do grafo. */
+  public synchronized long ownedWithTwoArmiesMask(PlayerGame playerGame) {
+    return ownership.ownedWithTwoArmies(playerGame.getId());
+  }
+
+  private static boolean isOwnedBy(GameTerritory gt, PlayerGame playerGame) {
+    return gt.getOwner() != null && gt.getOwner().getId().equals(playerGame.getId());
+  }
+
+  // ALTERAÇÕES PENDENTES ========================
+
+  public synchronized void markGameDirty() {
+    gameDirty = true;
+    gameUnpublished = true;
+    gameUnrecorded = true;
+  }
+
+  /**
+   * Marca que o baralho mudou (compra ou descarte). Vai para o banco e para o log de eventos com a
+   * linha da partida, mas não para os jogadores.
+   */
+  public synchronized void markDeckDirty() {
+    gameDirty = true;
+    gameUnrecorded = true;
+  }
+
+  public synchronized void markPlayerDirty(PlayerGame playerGame) {
+    dirtyPlayerIds.add(playerGame.getId());
+    unpublishedPlayerIds.add(playerGame.getId());
+    unrecordedPlayerIds.add(playerGame.getId());
+  }
+
+  /**
+   * Marca o território como alterado. Deve ser chamado depois de trocar o dono ou os exércitos,
+   * pois é aqui que a posse indexada por jogador é atualizada.
+   */
+  public synchronized void markTerritoryDirty(GameTerritory gameTerritory) {
+    ownership.update(gameTerritory);
+    dirtyTerritoryIds.add(gameTerritory.getTerritory().getId());
+    unpublishedTerritoryIds.add(gameTerritory.getTerritory().getId());
+    unrecordedTerritoryIds.add(gameTerritory.getTerritory().getId());
+  }
+
+  /**
+   * Marca que a mão de cartas do jogador mudou. As cartas são gravadas de forma síncrona, então a
+   * marcação só afeta o próximo delta.
+   */
+  public synchronized void markCardsDirty(PlayerGame playerGame) {
+    unpublishedPlayerIds.add(playerGame.getId());
+    unpublishedHandIds.add(playerGame.getId());
+  }
+
+  public synchronized boolean hasPendingChanges() {
+    return gameDirty
+        || !dirtyPlayerIds.isEmpty()
+        || !dirtyTerritoryIds.isEmpty()
+        || !unsavedEvents.isEmpty();
+  }
+
+  /**
+   * Retira as alterações pendentes, capturando os valores atuais de cada linha. Alterações que
+   * nenhuma ação registrou viram um evento próprio, para que a reconstrução não as perca. Depois da
+   * chamada o estado fica limpo até a próxima marcação.
+   */
+  public synchronized GameStateChanges drainChanges() {
+    if (phaseChanged()) {
+      recordPhaseChange();
+    } else if (hasUnrecordedRows()) {
+      appendEvent(GameEvent.Type.STATE_UPDATE, null, Map.of());
+    }
+
+    GameStateChanges.GameRow gameRow = gameDirty ? gameRow() : null;
+
+    List<GameStateChanges.PlayerRow> playerRows = new ArrayList<>();
+    for (Long id : dirtyPlayerIds) {
+      playerRows.add(playerRow(playersById.get(id)));
+    }
+
+    List<GameStateChanges.TerritoryRow> territoryRows = new ArrayList<>();
+    for (Long territoryId : dirtyTerritoryIds) {
+      territoryRows.add(territoryRow(territoriesByTerritoryId.get(territoryId)));
+    }
+
+    List<GameEvent> events = List.copyOf(unsavedEvents);
+    GameStateSnapshot snapshot = null;
+    if (snapshotDue || eventsSinceSnapshot >= SNAPSHOT_INTERVAL) {
+      snapshot = snapshotDue && baseline != null ? baseline : snapshot();
+      baseline = null;
+      snapshotDue = false;
+      eventsSinceSnapshot = 0;
+    }
+
+    gameDirty = false;
+    dirtyPlayerIds.clear();
+    dirtyTerritoryIds.clear();
+    unsavedEvents.clear();
+
+    return new GameStateChanges(game.getId(), gameRow, playerRows, territoryRows, events, snapshot);
+  }
+
+  // EVENTOS =====================================
+
+  /**
+   * Registra uma ação da partida com as linhas alteradas desde o evento anterior. Se a ação mudou a
+   * fase ou o jogador da vez, um {@link GameEvent.Type#PHASE_CHANGE} é registrado logo depois.
+   */
+  public synchronized void recordEvent(
+      GameEvent.Type type, PlayerGame actor, Map<String, Object> data) {
+    appendEvent(type, actor != null ? actor.getId() : null, data);
+    if (phaseChanged()) {
+      recordPhaseChange();
+    }
+  }
+
+  /** Último evento registrado (0 se nenhum). */
+  public synchronized long getEventSeq() {
+    return eventSeq;
+  }
+
+  /**
+   * Continua a numeração dos eventos de uma partida recarregada do banco. O estado carregado vira o
+   * primeiro snapshot, para que a reprodução da partida comece antes da próxima ação.
+   */
+  public synchronized void resumeEvents(long lastSeq) {
+    eventSeq = Math.max(eventSeq, lastSeq);
+    baseline = snapshot();
+  }
+
+  /** Todas as linhas mutáveis da partida no último evento registrado. */
+  public synchronized GameStateSnapshot snapshot() {
+    List<GameStateChanges.PlayerRow> players = new ArrayList<>();
+    playersById.values().forEach(pg -> players.add(playerRow(pg)));
+    List<GameStateChanges.TerritoryRow> territories = new ArrayList<>();
+    territoriesByTerritoryId.values().forEach(gt -> territories.add(territoryRow(gt)));
+    return new GameStateSnapshot(game.getId(), eventSeq, gameRow(), players, territories);
+  }
+
+  /**
+   * Sobrepõe às cópias os valores de um snapshot reconstruído (snapshot mais eventos) e continua a
+   * numeração dos eventos a partir dele. Nada é marcado como pendente.
+   */
+  public synchronized void restore(GameStateSnapshot snapshot) {
+    GameStateChanges.GameRow gameRow = snapshot.game();
+    if (gameRow != null) {
+      game.setStatus(gameRow.status());
+      game.setTurnPlayer(
+          gameRow.turnPlayerId() != null ? playersById.get(gameRow.turnPlayerId()) : null);
+      game.setWinner(gameRow.winnerId() != null ? playersById.get(gameRow.winnerId()) : null);
+      game.setCardSetExchangeCount(gameRow.cardSetExchangeCount());
+      if (gameRow.deck() != null && !cardsById.isEmpty()) {
+        Set<Long> heldCardIds = new HashSet<>();
+        playersById
+            .values()
+            .forEach(
+                pg -> pg.getPlayerCards().forEach(pc -> heldCardIds.add(pc.getCard().getId())));
+        deck = restoreDeck(gameRow.deck(), heldCardIds);
+      }
+    }
+
+    for (GameStateChanges.PlayerRow row : snapshot.players()) {
+      PlayerGame pg = playersById.get(row.id());
+      if (pg == null) continue;
+      pg.setUnallocatedArmies(row.unallocatedArmies());
+      pg.setConqueredTerritoryThisTurn(row.conqueredTerritoryThisTurn());
+      pg.setStillInGame(row.stillInGame());
+    }
+
+    Map<Long, GameStateChanges.TerritoryRow> territoryRows = new LinkedHashMap<>();
+    snapshot.territories().forEach(row -> territoryRows.put(row.id(), row));
+    for (GameTerritory gt : territoriesByTerritoryId.values()) {
+      GameStateChanges.TerritoryRow row = territoryRows.get(gt.getId());
+      if (row == null) continue;
+      gt.setOwner(row.ownerId() != null ? playersById.get(row.ownerId()) : null);
+      gt.setStaticArmies(row.staticArmies());
+      gt.setMovedInArmies(row.movedInArmies());
+      gt.setUnallocatedArmies(row.unallocatedArmies());
+      ownership.update(gt);
+    }
+
+    eventSeq = snapshot.seq();
+    rememberPhase();
+  }
+
+  private void appendEvent(GameEvent.Type type, Long playerGameId, Map<String, Object> data) {
+    List<GameStateChanges.PlayerRow> players = new ArrayList<>();
+    unrecordedPlayerIds.forEach(id -> players.add(playerRow(playersById.get(id))));
+    List<GameStateChanges.TerritoryRow> territories = new ArrayList<>();
+    unrecordedTerritoryIds.forEach(
+        id -> territories.add(territoryRow(territoriesByTerritoryId.get(id))));
+
+    unsavedEvents.add(
+        new GameEvent(
+            ++eventSeq,
+            System.currentTimeMillis(),
+            type,
+            playerGameId,
+            data,
+            gameUnrecorded ? gameRow() : null,
+            players,
+            territories));
+
+    gameUnrecorded = false;
+    unrecordedPlayerIds.clear();
+    unrecordedTerritoryIds.clear();
+    eventsSinceSnapshot++;
+  }
+
+  private boolean hasUnrecordedRows() {
+    return gameUnrecorded || !unrecordedPlayerIds.isEmpty() || !unrecordedTerritoryIds.isEmpty();
+  }
+
+  private boolean phaseChanged() {
+    return !Objects.equals(recordedStatus, game.getStatus())
+        || !Objects.equals(recordedTurnPlayerId, turnPlayerId());
+  }
+
+  private void recordPhaseChange() {
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("from", recordedStatus);
+    data.put("to", game.getStatus());
+    data.put("turnPlayerId", turnPlayerId());
+    appendEvent(GameEvent.Type.PHASE_CHANGE, turnPlayerId(), data);
+    rememberPhase();
+  }
+
+  private void rememberPhase() {
+    recordedStatus = game.getStatus();
+    recordedTurnPlayerId = turnPlayerId();
+  }
+
+  private Long turnPlayerId() {
+    return game.getTurnPlayer() != null ? game.getTurnPlayer().getId() : null;
+  }
+
+  private GameStateChanges.GameRow gameRow() {
+    return new GameStateChanges.GameRow(
+        game.getId(),
+        game.getStatus(),
+        turnPlayerId(),
+        game.getWinner() != null ? game.getWinner().getId() : null,
+        game.getCardSetExchangeCount(),
+        deckRow());
+  }
+
+  // Só partidas em memória têm baralho; nas demais a linha mantém o baralho gravado
+  private GameStateChanges.DeckRow deckRow() {
+    if (cardsById.isEmpty()) return null;
+    return new GameStateChanges.DeckRow(
+        deck.order().stream().map(Card::getId).toList(),
+        deck.position(),
+        deck.discardPile().stream().map(Card::getId).toList());
+  }
+
+  private static GameStateChanges.PlayerRow playerRow(PlayerGame pg) {
+    return new GameStateChanges.PlayerRow(
+        pg.getId(),
+        pg.getUnallocatedArmies(),
+        pg.getConqueredTerritoryThisTurn(),
+        pg.getStillInGame());
+  }
+
+  private static GameStateChanges.TerritoryRow territoryRow(GameTerritory gt) {
+    return new GameStateChanges.TerritoryRow(
+        gt.getId(),
+        gt.getOwner() != null ? gt.getOwner().getId() : null,
+        gt.getStaticArmies(),
+        gt.getMovedInArmies(),
+        gt.getUnallocatedArmies());
+  }
+
+  /** Versão do último delta retirado. Um estado recém-carregado começa na versão 0. */
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /** Identifica esta carga do estado; junto com a versão, identifica o conteúdo da partida. */
+  public long getEpoch() {
+    return epoch;
+  }
+
+  /** Indica se há alterações ainda não retiradas em um delta (uma ação em andamento). */
+  public synchronized boolean hasUnpublishedChanges() {
+    return gameUnpublished || !unpublishedPlayerIds.isEmpty() || !unpublishedTerritoryIds.isEmpty();
+  }
+
+  /**
+   * Retira as alterações ainda não enviadas aos jogadores como um delta com a próxima versão, ou
+   * {@code null} se nada mudou desde o último delta.
+   */
+  public synchronized GameStateDelta drainDelta() {
+    if (!gameUnpublished && unpublishedPlayerIds.isEmpty() && unpublishedTerritoryIds.isEmpty()) {
+      return null;
+    }
+
+    GameStateDelta.GamePatch gamePatch = null;
+    if (gameUnpublished) {
+      gamePatch =
+          new GameStateDelta.GamePatch(
+              game.getStatus(),
+              game.getTurnPlayer() != null ? game.getTurnPlayer().getId() : null,
+              game.getWinner() != null ? game.getWinner().getId() : null,
+              game.getCardSetExchangeCount());
+    }
+
+    List<GameStateDelta.PlayerPatch> playerPatches = new ArrayList<>();
+    for (Long id : unpublishedPlayerIds) {
+      PlayerGame pg = playersById.get(id);
+      playerPatches.add(
+          new GameStateDelta.PlayerPatch(
+              pg.getId(),
+              pg.getUnallocatedArmies(),
+              pg.getConqueredTerritoryThisTurn(),
+              pg.getStillInGame(),
+              unpublishedHandIds.contains(id) ? List.copyOf(pg.getPlayerCards()) : null));
+    }
+
+    List<GameStateDelta.TerritoryPatch> territoryPatches = new ArrayList<>();
+    for (Long territoryId : unpublishedTerritoryIds) {
+      GameTerritory gt = territoriesByTerritoryId.get(territoryId);
+      territoryPatches.add(
+          new GameStateDelta.TerritoryPatch(
+              territoryId,
+              gt.getOwner() != null ? gt.getOwner().getId() : null,
+              gt.getStaticArmies(),
+              gt.getMovedInArmies(),
+              gt.getUnallocatedArmies()));
+    }
+
+    gameUnpublished = false;
+    unpublishedPlayerIds.clear();
+    unpublishedHandIds.clear();
+    unpublishedTerritoryIds.clear();
+    version++;
+
+    return new GameStateDelta(game.getId(), version, gamePatch, playerPatches, territoryPatches);
+  }
+
+  /** Marca novamente as linhas de um lote que não pôde ser gravado e devolve seus eventos. */
+  public synchronized void requeue(GameStateChanges changes) {
+    unsavedEvents.addAll(0, changes.events());
+    if (changes.snapshot() != null) {
+      snapshotDue = true;
+    }
+    if (changes.game() != null) {
+      gameDirty = true;
+    }
+    changes.players().forEach(row -> dirtyPlayerIds.add(row.id()));
+    for (GameStateChanges.TerritoryRow row : changes.territories()) {
+      territoriesByTerritoryId.values().stream()
+          .filter(gt -> gt.getId().equals(row.id()))
+          .findFirst()
+          .ifPresent(gt -> dirtyTerritoryIds.add(gt.getTerritory().getId()));
+    }
+  }
+}
@@ -0,0 +1,127 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Lote de alterações de uma partida capturado do {@link GameState}. Cada linha guarda apenas as
+ * colunas que mudam durante o jogo, com os valores do momento da captura. O lote também leva os
+ * eventos registrados desde a captura anterior e, de tempos em tempos, um snapshot completo.
+ */
+public record GameStateChanges(
+    Long gameId,
+    GameRow game,
+    List<PlayerRow> players,
+    List<TerritoryRow> territories,
+    List<GameEvent> events,
+    GameStateSnapshot snapshot) {
+
+  public GameStateChanges(
+      Long gameId, GameRow game, List<PlayerRow> players, List<TerritoryRow> territories) {
+    this(gameId, game, players, territories, List.of(), null);
+  }
+
+  public boolean isEmpty() {
+    return game == null
+        && players.isEmpty()
+        && territories.isEmpty()
+        && events.isEmpty()
+        && snapshot == null;
+  }
+
+  /**
+   * Junta este lote com um capturado depois dele. Como as linhas trazem valores absolutos, basta
+   * ficar com a versão mais recente de cada uma; os eventos são concatenados.
+   */
+  public GameStateChanges merge(GameStateChanges newer) {
+    List<GameEvent> mergedEvents = events;
+    if (!newer.events().isEmpty()) {
+      mergedEvents = new ArrayList<>(events);
+      mergedEvents.addAll(newer.events());
+    }
+
+    return new GameStateChanges(
+        gameId,
+        latestGame(game, newer.game()),
+        latestById(players, newer.players(), PlayerRow::id),
+        latestById(territories, newer.territories(), TerritoryRow::id),
+        mergedEvents,
+        newer.snapshot() != null ? newer.snapshot() : snapshot);
+  }
+
+  /** O mesmo lote sem os eventos e o snapshot que já estão gravados. */
+  public GameStateChanges withoutRecorded(long lastEventSeq, long lastSnapshotSeq) {
+    return new GameStateChanges(
+        gameId,
+        game,
+        players,
+        territories,
+        events.stream().filter(event -> event.seq() > lastEventSeq).toList(),
+        snapshot != null && snapshot.seq() > lastSnapshotSeq ? snapshot : null);
+  }
+
+  // Uma linha sem baralho mantém o baralho da linha anterior, como a gravação no banco
+  private static GameRow latestGame(GameRow older, GameRow newer) {
+    if (newer == null) return older;
+    if (newer.deck() != null || older == null || older.deck() == null) return newer;
+    return new GameRow(
+        newer.id(),
+        newer.status(),
+        newer.turnPlayerId(),
+        newer.winnerId(),
+        newer.cardSetExchangeCount(),
+        older.deck());
+  }
+
+  private static <T> List<T> latestById(List<T> older, List<T> newer, Function<T, Long> idOf) {
+    if (older.isEmpty()) return newer;
+    if (newer.isEmpty()) return older;
+
+    Map<Long, T> rows = new LinkedHashMap<>();
+    older.forEach(row -> rows.put(idOf.apply(row), row));
+    newer.forEach(row -> rows.put(idOf.apply(row), row));
+    return new ArrayList<>(rows.values());
+  }
+
+  /** Linha da partida. {@code deck} nulo mantém o baralho gravado. */
+  public record GameRow(
+      Long id,
+      String status,
+      Long turnPlayerId,
+      Long winnerId,
+      int cardSetExchangeCount,
+      DeckRow deck) {
+
+    public GameRow(
+        Long id, String status, Long turnPlayerId, Long winnerId, int cardSetExchangeCount) {
+      this(id, status, turnPlayerId, winnerId, cardSetExchangeCount, null);
+    }
+  }
+
+  /**
+   * Baralho da partida: IDs das cartas na ordem de compra, índice da próxima carta e descarte. Nas
+   * colunas e no journal as listas vão como IDs separados por vírgula.
+   */
+  public record DeckRow(List<Long> order, int position, List<Long> discardPile) {
+
+    public static String join(List<Long> cardIds) {
+      return cardIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+    }
+
+    public static List<Long> split(String cardIds) {
+      if (cardIds == null || cardIds.isEmpty()) return List.of();
+      return Arrays.stream(cardIds.split(",")).map(Long::valueOf).toList();
+    }
+  }
+
+  public record PlayerRow(
+      Long id, int unallocatedArmies, boolean conqueredTerritoryThisTurn, boolean stillInGame) {}
+
+  public record TerritoryRow(
+      Long id, Long ownerId, int staticArmies, int movedInArmies, int unallocatedArmies) {}
+}
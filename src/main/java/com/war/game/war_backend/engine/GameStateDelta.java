@@ -0,0 +1,32 @@
+package com.war.game.war_backend.engine;
+
+import java.util.List;
+
+import com.war.game.war_backend.model.PlayerCard;
+
+/**
+ * Alterações de uma partida desde o delta anterior, capturadas do {@link GameState}. As versões são
+ * consecutivas: um cliente que recebe a versão {@code n + 2} logo depois da {@code n} perdeu um
+ * delta e precisa de um estado completo.
+ */
+public record GameStateDelta(
+    Long gameId,
+    long version,
+    GamePatch game,
+    List<PlayerPatch> players,
+    List<TerritoryPatch> territories) {
+
+  public record GamePatch(
+      String status, Long turnPlayerId, Long winnerId, int cardSetExchangeCount) {}
+
+  /** {@code cards} só vem preenchido quando a mão do jogador mudou. */
+  public record PlayerPatch(
+      Long id,
+      int unallocatedArmies,
+      boolean conqueredTerritoryThisTurn,
+      boolean stillInGame,
+      List<PlayerCard> cards) {}
+
+  public record TerritoryPatch(
+      Long territoryId, Long ownerId, int staticArmies, int movedInArmies, int unallocatedArmies) {}
+}
@@ -0,0 +1,22 @@
+package com.war.game.war_backend.engine;
+
+import java.util.List;
+
+/**
+ * Todas as linhas mutáveis de uma partida depois do evento {@code seq}. Um snapshot mais os eventos
+ * seguintes reconstroem o estado em qualquer ponto a partir dele.
+ */
+public record GameStateSnapshot(
+    Long gameId,
+    long seq,
+    GameStateChanges.GameRow game,
+    List<GameStateChanges.PlayerRow> players,
+    List<GameStateChanges.TerritoryRow> territories) {
+
+  /** Aplica, em ordem, os eventos posteriores ao snapshot; eventos já cobertos são ignorados. */
+  public GameStateSnapshot replay(List<GameEvent> events) {
+    GameReplay replay = new GameReplay(this);
+    events.forEach(replay::apply);
+    return replay.snapshot();
+  }
+}
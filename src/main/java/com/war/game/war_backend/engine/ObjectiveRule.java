@@ -0,0 +1,121 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Objetivo secreto já interpretado. A descrição em texto é lida uma única vez, ao montar o {@link
+ * RulesCatalog}; as checagens durante a partida são só operações de bits sobre a posse do jogador.
+ */
+public sealed interface ObjectiveRule {
+
+  /**
+   * Se o objetivo foi cumprido.
+   *
+   * @param owned territórios do jogador (máscara do {@link TerritoryGraph})
+   * @param ownedWithTwoArmies territórios do jogador com pelo menos 2 exércitos
+   * @param isColorEliminated se o jogador da cor informada já saiu da partida
+   */
+  boolean isComplete(long owned, long ownedWithTwoArmies, Predicate<String> isColorEliminated);
+
+  /** Conquistar {@code territories} territórios, com pelo menos 1 ou 2 exércitos em cada. */
+  record ConquerTerritories(int territories, int minArmies) implements ObjectiveRule {
+    @Override
+    public boolean isComplete(
+        long owned, long ownedWithTwoArmies, Predicate<String> isColorEliminated) {
+      long qualified = minArmies >= 2 ? ownedWithTwoArmies : owned;
+      return Bitboards.count(qualified) >= territories;
+    }
+  }
+
+  /** Conquistar os continentes listados e, se {@code plusOne}, mais um qualquer. */
+  record ConquerContinents(
+      List<String> continents, long[] requiredMasks, boolean plusOne, long[] allContinentMasks)
+      implements ObjectiveRule {
+    @Override
+    public boolean isComplete(
+        long owned, long ownedWithTwoArmies, Predicate<String> isColorEliminated) {
+      for (long mask : requiredMasks) {
+        if (!Bitboards.controls(owned, mask)) return false;
+      }
+      if (!plusOne) return true;
+
+      int controlled = 0;
+      for (long mask : allContinentMasks) {
+        if (Bitboards.controls(owned, mask)) controlled++;
+      }
+      return controlled >= requiredMasks.length + 1;
+    }
+  }
+
+  /** Eliminar o jogador da cor informada. */
+  record EliminatePlayer(String color) implements ObjectiveRule {
+    @Override
+    public boolean isComplete(
+        long owned, long ownedWithTwoArmies, Predicate<String> isColorEliminated) {
+      return isColorEliminated.test(color);
+    }
+  }
+
+  /** Objetivo que não foi possível interpretar; nunca é cumprido. */
+  record Unrecognized(String type, String description) implements ObjectiveRule {
+    @Override
+    public boolean isComplete(
+        long owned, long ownedWithTwoArmies, Predicate<String> isColorEliminated) {
+      return false;
+    }
+  }
+
+  // Cor do exército na descrição -> cor do jogador
+  Map<String, String> COLORS_BY_DESCRIPTION =
+      Map.of(
+          "verdes", "green",
+          "azuis", "blue",
+          "vermelhos", "red",
+          "amarelos", "#bfa640",
+          "pretos", "black",
+          "roxos", "purple");
+
+  /** Interpreta o objetivo pelo tipo e pela descrição, com os continentes do mapa. */
+  static ObjectiveRule parse(String type, String description, TerritoryGraph graph) {
+    String text = description != null ? description : "";
+
+    switch (type != null ? type : "") {
+      case "CONQUER_TERRITORIES":
+        if (text.contains("24 territórios") || text.contains("26 Territórios")) {
+          return new ConquerTerritories(24, 1);
+        }
+        if (text.contains("18 territórios com pelo menos 2 exércitos")) {
+          return new ConquerTerritories(18, 2);
+        }
+        break;
+
+      case "CONQUER_CONTINENT":
+        List<String> required = new ArrayList<>();
+        for (String continent : RulesCatalog.CONTINENT_BONUSES.keySet()) {
+          if (text.contains(continent)) required.add(continent);
+        }
+        if (required.isEmpty()) break;
+
+        long[] requiredMasks = required.stream().mapToLong(graph::continentMask).toArray();
+        long[] allMasks = graph.continents().stream().mapToLong(graph::continentMask).toArray();
+        return new ConquerContinents(
+            List.copyOf(required), requiredMasks, text.contains("e mais um continente"), allMasks);
+
+      case "ELIMINATE_PLAYER":
+        String lower = text.toLowerCase();
+        for (Map.Entry<String, String> entry : COLORS_BY_DESCRIPTION.entrySet()) {
+          if (lower.contains(entry.getKey())) {
+            return new EliminatePlayer(entry.getValue());
+          }
+        }
+        break;
+
+      default:
+        break;
+    }
+    return new Unrecognized(type, description);
+  }
+}
@@ -0,0 +1,98 @@
+package com.war.game.war_backend.engine;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.war.game.war_backend.model.Objective;
+
+/**
+ * Regras do mapa, montadas uma vez na subida da aplicação e imutáveis depois: os continentes (com
+ * seus territórios e bônus) e os objetivos já interpretados.
+ *
+ * <p>Nada aqui consulta o banco; reforços e condições de vitória são calculados só com máscaras de
+ * bits do {@link TerritoryGraph}.
+ */
+public final class RulesCatalog {
+
+  /** Bônus de reforço por continente, com os nomes do banco. */
+  public static final Map<String, Integer> CONTINENT_BONUSES;
+
+  static {
+    Map<String, Integer> bonuses = new LinkedHashMap<>();
+    bonuses.put("América do Norte", 5);
+    bonuses.put("América do Sul", 2);
+    bonuses.put("Europa", 5);
+    bonuses.put("África", 3);
+    bonuses.put("Ásia", 7);
+    bonuses.put("Oceania", 2);
+    CONTINENT_BONUSES = Collections.unmodifiableMap(bonuses);
+  }
+
+  /** Continente do mapa: territórios como máscara de bits e bônus de reforço. */
+  public record Continent(String name, long mask, int bonus) {}
+
+  private final TerritoryGraph graph;
+  private final List<Continent> continents;
+  private final Map<Long, ObjectiveRule> objectivesById;
+
+  private RulesCatalog(
+      TerritoryGraph graph, List<Continent> continents, Map<Long, ObjectiveRule> objectivesById) {
+    this.graph = graph;
+    this.continents = continents;
+    this.objectivesById = objectivesById;
+  }
+
+  /** Monta o catálogo a partir do grafo (com continentes) e dos objetivos cadastrados. */
+  public static RulesCatalog build(TerritoryGraph graph, Collection<Objective> objectives) {
+    List<Continent> continents = new ArrayList<>();
+    for (String name : graph.continents()) {
+      continents.add(
+          new Continent(name, graph.continentMask(name), CONTINENT_BONUSES.getOrDefault(name, 0)));
+    }
+
+    Map<Long, ObjectiveRule> objectivesById = new HashMap<>();
+    for (Objective objective : objectives) {
+      objectivesById.put(
+          objective.getId(),
+          ObjectiveRule.parse(objective.getType(), objective.getDescription(), graph));
+    }
+
+    return new RulesCatalog(graph, List.copyOf(continents), Map.copyOf(objectivesById));
+  }
+
+  public TerritoryGraph graph() {
+    return graph;
+  }
+
+  public List<Continent> continents() {
+    return continents;
+  }
+
+  /** Soma dos bônus dos continentes inteiramente contidos na máscara. */
+  public int continentBonus(long owned) {
+    int bonus = 0;
+    for (Continent continent : continents) {
+      if (Bitboards.controls(owned, continent.mask())) {
+        bonus += continent.bonus();
+      }
+    }
+    return bonus;
+  }
+
+  /**
+   * Regra do objetivo. Objetivos cadastrados depois da montagem do catálogo são interpretados na
+   * hora.
+   */
+  public ObjectiveRule objective(Objective objective) {
+    ObjectiveRule rule = objective.getId() != null ? objectivesById.get(objective.getId()) : null;
+    if (rule != null) {
+      return rule;
+    }
+    return ObjectiveRule.parse(objective.getType(), objective.getDescription(), graph);
+  }
+}
@@ -0,0 +1,161 @@
+package com.war.game.war_backend.engine;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo imutável de adjacência do mapa.
+ *
+ * <p>Cada território recebe um ordinal denso (0..n-1), na ordem dos IDs informados. Para cada
+ * ordinal o grafo guarda um {@link BitSet} com os vizinhos, para checagem de fronteira em tempo
+ * constante, e um {@code int[]} com os ordinais vizinhos, para percorrer sem criar coleções.
+ *
+ * <p>O mapa cabe em um {@code long} (até {@value #MAX_TERRITORIES} territórios): o bit {@code i}
+ * representa o território de ordinal {@code i}. O grafo guarda a máscara de vizinhos de cada
+ * território e a máscara de cada continente, para que posse de continente, contagem de territórios
+ * e fronteiras virem operações de bits (veja {@link Bitboards}).
+ */
+public final class TerritoryGraph {
+
+  /** Maior mapa representável em uma máscara de bits. */
+  public static final int MAX_TERRITORIES = Long.SIZE;
+
+  private final long[] territoryIds;
+  private final Map<Long, Integer> ordinalById;
+  private final BitSet[] adjacency;
+  private final int[][] neighbors;
+  private final long[] neighborMasks;
+  private final Map<String, Long> continentMasks;
+  private final List<String> continents;
+
+  private TerritoryGraph(
+      long[] territoryIds,
+      Map<Long, Integer> ordinalById,
+      BitSet[] adjacency,
+      int[][] neighbors,
+      long[] neighborMasks,
+      Map<String, Long> continentMasks) {
+    this.territoryIds = territoryIds;
+    this.ordinalById = ordinalById;
+    this.adjacency = adjacency;
+    this.neighbors = neighbors;
+    this.neighborMasks = neighborMasks;
+    this.continentMasks = continentMasks;
+    this.continents = List.copyOf(continentMasks.keySet());
+  }
+
+  /**
+   * Monta o grafo a partir dos IDs dos territórios e das fronteiras (pares {@code [idA, idB]}).
+   * Fronteiras que citam territórios desconhecidos são ignoradas.
+   */
+  public static TerritoryGraph build(List<Long> territoryIds, List<long[]> borders) {
+    return build(territoryIds, borders, Map.of());
+  }
+
+  /**
+   * Como {@link #build(List, List)}, com o continente de cada território. Os continentes ficam na
+   * ordem em que aparecem nos IDs.
+   */
+  public static TerritoryGraph build(
+      List<Long> territoryIds, List<long[]> borders, Map<Long, String> continentByTerritoryId) {
+    int size = territoryIds.size();
+    if (size > MAX_TERRITORIES) {
+      throw new IllegalArgumentException(
+          "O mapa tem " + size + " territórios; o máximo é " + MAX_TERRITORIES + ".");
+    }
+
+    long[] ids = new long[size];
+    Map<Long, Integer> ordinalById = new HashMap<>(size * 2);
+    BitSet[] adjacency = new BitSet[size];
+    Map<String, Long> continentMasks = new LinkedHashMap<>();
+
+    for (int i = 0; i < size; i++) {
+      ids[i] = territoryIds.get(i);
+      ordinalById.put(territoryIds.get(i), i);
+      adjacency[i] = new BitSet(size);
+
+      String continent = continentByTerritoryId.get(territoryIds.get(i));
+      if (continent != null) {
+        continentMasks.merge(continent, 1L << i, (a, b) -> a | b);
+      }
+    }
+
+    for (long[] border : borders) {
+      Integer a = ordinalById.get(border[0]);
+      Integer b = ordinalById.get(border[1]);
+      if (a == null || b == null || a.equals(b)) continue;
+      adjacency[a].set(b);
+      adjacency[b].set(a);
+    }
+
+    int[][] neighbors = new int[size][];
+    long[] neighborMasks = new long[size];
+    for (int i = 0; i < size; i++) {
+      neighbors[i] = adjacency[i].stream().toArray();
+      for (int neighbor : neighbors[i]) {
+        neighborMasks[i] |= 1L << neighbor;
+      }
+    }
+
+    return new TerritoryGraph(
+        ids,
+        Map.copyOf(ordinalById),
+        adjacency,
+        neighbors,
+        neighborMasks,
+        Collections.unmodifiableMap(continentMasks));
+  }
+
+  public int size() {
+    return territoryIds.length;
+  }
+
+  /** Ordinal do território, ou -1 se o território não faz parte do mapa. */
+  public int ordinalOf(Long territoryId) {
+    if (territoryId == null) return -1;
+    Integer ordinal = ordinalById.get(territoryId);
+    return ordinal != null ? ordinal : -1;
+  }
+
+  public long territoryIdOf(int ordinal) {
+    return territoryIds[ordinal];
+  }
+
+  public boolean areAdjacent(int ordinalA, int ordinalB) {
+    return adjacency[ordinalA].get(ordinalB);
+  }
+
+  public boolean areAdjacent(Long territoryIdA, Long territoryIdB) {
+    int a = ordinalOf(territoryIdA);
+    int b = ordinalOf(territoryIdB);
+    return a >= 0 && b >= 0 && adjacency[a].get(b);
+  }
+
+  /** Ordinais vizinhos. O array é compartilhado e não deve ser alterado. */
+  public int[] neighbors(int ordinal) {
+    return neighbors[ordinal];
+  }
+
+  public int degree(int ordinal) {
+    return neighbors[ordinal].length;
+  }
+
+  /** Vizinhos do território como máscara de bits. */
+  public long neighborMask(int ordinal) {
+    return neighborMasks[ordinal];
+  }
+
+  /** Nomes dos continentes, na ordem em que aparecem no mapa. */
+  public List<String> continents() {
+    return continents;
+  }
+
+  /** Territórios do continente como máscara de bits, ou 0 se o continente não existe. */
+  public long continentMask(String continent) {
+    return continentMasks.getOrDefault(continent, 0L);
+  }
+}
@@ -0,0 +1,83 @@
+package com.war.game.war_backend.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.war.game.war_backend.model.GameTerritory;
+
+/**
+ * Posse dos territórios de uma partida, por jogador, mantida de forma incremental: a cada alteração
+ * de dono ou de exércitos de um território, só o bit dele muda nas máscaras do dono anterior e do
+ * novo dono.
+ *
+ * <p>As máscaras fazem o papel dos contadores: territórios do jogador, territórios com pelo menos 2
+ * exércitos e territórios por continente são um {@link Long#bitCount} sobre elas, então checar um
+ * objetivo não percorre o mapa. Não é thread-safe; o {@link GameState} sincroniza o acesso.
+ */
+public final class TerritoryOwnership {
+
+  private final TerritoryGraph graph;
+
+  // Dono atual de cada território (por ordinal do grafo); nulo = sem dono
+  private final Long[] ownerByOrdinal;
+  private final Map<Long, Masks> masksByPlayer = new HashMap<>();
+
+  private static final class Masks {
+    long owned;
+    long withTwoArmies;
+  }
+
+  public TerritoryOwnership(TerritoryGraph graph) {
+    this.graph = graph;
+    this.ownerByOrdinal = new Long[graph.size()];
+  }
+
+  public TerritoryGraph graph() {
+    return graph;
+  }
+
+  /**
+   * Atualiza as máscaras com o dono e os exércitos atuais do território. Territórios fora do grafo
+   * são ignorados.
+   */
+  public void update(GameTerritory gameTerritory) {
+    int ordinal = graph.ordinalOf(gameTerritory.getTerritory().getId());
+    if (ordinal < 0) return;
+    long bit = 1L << ordinal;
+
+    Long previousOwner = ownerByOrdinal[ordinal];
+    if (previousOwner != null) {
+      Masks previous = masksByPlayer.get(previousOwner);
+      previous.owned &= ~bit;
+      previous.withTwoArmies &= ~bit;
+    }
+
+    Long owner = gameTerritory.getOwner() != null ? gameTerritory.getOwner().getId() : null;
+    ownerByOrdinal[ordinal] = owner;
+    if (owner == null) return;
+
+    Masks masks = masksByPlayer.computeIfAbsent(owner, id -> new Masks());
+    masks.owned |= bit;
+    if (Bitboards.armies(gameTerritory) >= 2) {
+      masks.withTwoArmies |= bit;
+    }
+  }
+
+  /** Territórios do jogador como máscara de bits do grafo. */
+  public long owned(Long playerGameId) {
+    Masks masks = masksByPlayer.get(playerGameId);
+    return masks != null ? masks.owned : 0L;
+  }
+
+  /**
+   * Territórios do jogador com pelo menos 2 exércitos (estáticos mais os que entraram no turno).
+   */
+  public long ownedWithTwoArmies(Long playerGameId) {
+    Masks masks = masksByPlayer.get(playerGameId);
+    return masks != null ? masks.withTwoArmies : 0L;
+  }
+
+  public int count(Long playerGameId) {
+    return Bitboards.count(owned(playerGameId));
+  }
+}
@@ -0,0 +1,159 @@
+package com.war.game.war_backend.engine.bot;
+
+import java.util.Collection;
+import java.util.Set;
+
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+
+/**
+ * Tudo o que um {@link BotStrategy} enxerga da partida, do ponto de vista de um bot, em tipos
+ * primitivos e imutável.
+ *
+ * <p>As entidades são lidas uma única vez, na criação; daí em diante a decisão não toca o JPA nem o
+ * {@code GameState}, pode rodar fora da trava da partida e é segura entre threads. Territórios são
+ * indexados pelo ordinal do {@link TerritoryGraph}; a posse fica em máscaras de bits (do bot e dos
+ * inimigos), como em {@link com.war.game.war_backend.engine.Bitboards}. Cartas guardam o id e o
+ * tipo ({@code CardType.ordinal()}).
+ */
+public final class BotSnapshot {
+
+  private final TerritoryGraph graph;
+  private final long ownedMask;
+  private final long enemyMask;
+  private final int[] armies;
+  private final int unallocatedArmies;
+  private final long[] cardIds;
+  private final int[] cardTypes;
+
+  private BotSnapshot(
+      TerritoryGraph graph,
+      long ownedMask,
+      long enemyMask,
+      int[] armies,
+      int unallocatedArmies,
+      long[] cardIds,
+      int[] cardTypes) {
+    this.graph = graph;
+    this.ownedMask = ownedMask;
+    this.enemyMask = enemyMask;
+    this.armies = armies;
+    this.unallocatedArmies = unallocatedArmies;
+    this.cardIds = cardIds;
+    this.cardTypes = cardTypes;
+  }
+
+  /** Lê os territórios e as cartas do bot. Territórios fora do grafo são ignorados. */
+  public static BotSnapshot of(
+      TerritoryGraph graph, Collection<GameTerritory> territories, PlayerGame bot) {
+    long owned = 0L;
+    long enemies = 0L;
+    int[] armies = new int[graph.size()];
+    for (GameTerritory gt : territories) {
+      int ordinal = graph.ordinalOf(gt.getTerritory().getId());
+      if (ordinal < 0) continue;
+
+      armies[ordinal] = gt.getStaticArmies() != null ? gt.getStaticArmies() : 0;
+      if (gt.getOwner() == null) continue;
+      if (gt.getOwner().getId().equals(bot.getId())) {
+        owned |= 1L << ordinal;
+      } else {
+        enemies |= 1L << ordinal;
+      }
+    }
+
+    Set<PlayerCard> hand = bot.getPlayerCards();
+    int cards = hand != null ? hand.size() : 0;
+    long[] cardIds = new long[cards];
+    int[] cardTypes = new int[cards];
+    if (hand != null) {
+      int i = 0;
+      for (PlayerCard pc : hand) {
+        cardIds[i] = pc.getId();
+        cardTypes[i++] = pc.getCard().getType().ordinal();
+      }
+    }
+
+    int unallocated = bot.getUnallocatedArmies() != null ? bot.getUnallocatedArmies() : 0;
+    return new BotSnapshot(graph, owned, enemies, armies, unallocated, cardIds, cardTypes);
+  }
+
+  /**
+   * Monta o snapshot direto dos arrays, para simulações e testes. {@code owner} por ordinal: 0 é o
+   * bot, positivo é inimigo e negativo é território sem dono. Os arrays são copiados.
+   */
+  public static BotSnapshot of(
+      TerritoryGraph graph,
+      int[] owner,
+      int[] armies,
+      int unallocatedArmies,
+      long[] cardIds,
+      int[] cardTypes) {
+    long owned = 0L;
+    long enemies = 0L;
+    for (int t = 0; t < graph.size(); t++) {
+      if (owner[t] == 0) {
+        owned |= 1L << t;
+      } else if (owner[t] > 0) {
+        enemies |= 1L << t;
+      }
+    }
+    return new BotSnapshot(
+        graph,
+        owned,
+        enemies,
+        armies.clone(),
+        unallocatedArmies,
+        cardIds.clone(),
+        cardTypes.clone());
+  }
+
+  public TerritoryGraph graph() {
+    return graph;
+  }
+
+  public int territoryCount() {
+    return armies.length;
+  }
+
+  public boolean isOwned(int territory) {
+    return (ownedMask >>> territory & 1L) != 0;
+  }
+
+  public boolean isEnemy(int territory) {
+    return (enemyMask >>> territory & 1L) != 0;
+  }
+
+  /** Exércitos estáticos do território (os que podem atacar e se mover). */
+  public int armies(int territory) {
+    return armies[territory];
+  }
+
+  /** Vizinhos do território que pertencem a outro jogador. */
+  public int enemyNeighbors(int territory) {
+    return Long.bitCount(graph.neighborMask(territory) & enemyMask);
+  }
+
+  public long ownedMask() {
+    return ownedMask;
+  }
+
+  public int unallocatedArmies() {
+    return unallocatedArmies;
+  }
+
+  public int cardCount() {
+    return cardIds.length;
+  }
+
+  public long cardId(int index) {
+    return cardIds[index];
+  }
+
+  /** {@code CardType.ordinal()} da carta. */
+  public int cardType(int index) {
+    return cardTypes[index];
+  }
+}
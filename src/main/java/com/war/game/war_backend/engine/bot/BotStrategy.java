@@ -0,0 +1,40 @@
+package com.war.game.war_backend.engine.bot;
+
+import com.war.game.war_backend.model.enums.PlayerType;
+
+/**
+ * Decisões de um bot, sobre um {@link BotSnapshot}.
+ *
+ * <p>Cada nível de dificuldade ({@link PlayerType}) tem uma implementação; para acrescentar um
+ * nível basta registrar outro bean deste tipo. A mesma instância decide por vários bots em várias
+ * partidas ao mesmo tempo: implementações não devem guardar estado entre chamadas. Territórios são
+ * ordinais do grafo; quem executa as decisões traduz para ids.
+ */
+public interface BotStrategy {
+
+  /** Nível de dificuldade atendido. */
+  PlayerType playerType();
+
+  /** Nome usado nos logs. */
+  default String name() {
+    return getClass().getSimpleName();
+  }
+
+  /**
+   * Distribuição dos exércitos livres: quantos colocar em cada território (por ordinal). A soma é
+   * {@link BotSnapshot#unallocatedArmies()}, ou zero se o bot não tem territórios.
+   */
+  int[] reinforce(BotSnapshot snapshot);
+
+  /** Próximo ataque (quantidade = dados), ou nulo para encerrar a fase. */
+  BotMove chooseAttack(BotSnapshot snapshot);
+
+  /** Movimentação do fim do turno, ou nulo para não mover. */
+  BotMove fortify(BotSnapshot snapshot);
+
+  /** Ids das 3 cartas a trocar, ou vazio para não trocar. */
+  long[] chooseCardTrade(BotSnapshot snapshot);
+
+  /** Ataque ou movimentação de {@code armies} exércitos (dados, no ataque) entre dois ordinais. */
+  record BotMove(int source, int target, int armies) {}
+}
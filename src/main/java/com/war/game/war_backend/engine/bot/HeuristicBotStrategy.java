@@ -0,0 +1,167 @@
+package com.war.game.war_backend.engine.bot;
+
+import com.war.game.war_backend.engine.CombatKernel;
+import com.war.game.war_backend.model.enums.CardType;
+import com.war.game.war_backend.model.enums.PlayerType;
+
+/**
+ * Nível rápido: as regras fixas que a IA do jogo sempre usou, em uma passada pelo mapa.
+ *
+ * <ul>
+ *   <li>Reforço: um exército por vez no território de fronteira mais vulnerável (vizinhos inimigos
+ *       divididos pelos exércitos estáticos). Sem fronteira, tudo no primeiro território.
+ *   <li>Ataque: a melhor relação {@code (origem - 1) / defesa}, dobrada contra 1 defensor, desde
+ *       que seja pelo menos {@link #DEFAULT_MIN_ATTACK_SCORE} (ou o limite do construtor, para
+ *       comparar ajustes na simulação).
+ *   <li>Movimentação: metade do território interior mais forte para a fronteira mais fraca, se
+ *       forem vizinhos.
+ *   <li>Cartas: 3 do mesmo tipo ou uma de cada tipo (o coringa não entra na conta).
+ * </ul>
+ */
+public class HeuristicBotStrategy implements BotStrategy {
+
+  /** Limite usado pela IA do jogo. */
+  public static final double DEFAULT_MIN_ATTACK_SCORE = 1.5;
+
+  private final double minAttackScore;
+
+  public HeuristicBotStrategy() {
+    this(DEFAULT_MIN_ATTACK_SCORE);
+  }
+
+  public HeuristicBotStrategy(double minAttackScore) {
+    this.minAttackScore = minAttackScore;
+  }
+
+  @Override
+  public String name() {
+    return minAttackScore == DEFAULT_MIN_ATTACK_SCORE
+        ? BotStrategy.super.name()
+        : BotStrategy.super.name() + "(" + minAttackScore + ")";
+  }
+
+  @Override
+  public PlayerType playerType() {
+    return PlayerType.AI_EASY;
+  }
+
+  @Override
+  public int[] reinforce(BotSnapshot snapshot) {
+    int territories = snapshot.territoryCount();
+    int[] placements = new int[territories];
+
+    // As fronteiras não mudam durante o reforço: conta os vizinhos inimigos uma vez só
+    int[] borders = new int[territories];
+    int[] enemies = new int[territories];
+    int[] armies = new int[territories];
+    int count = 0;
+    int first = -1;
+    for (int t = 0; t < territories; t++) {
+      if (!snapshot.isOwned(t)) continue;
+      if (first < 0) first = t;
+      int enemyNeighbors = snapshot.enemyNeighbors(t);
+      if (enemyNeighbors == 0) continue;
+      borders[count] = t;
+      enemies[count] = enemyNeighbors;
+      armies[count++] = snapshot.armies(t);
+    }
+
+    if (count == 0) {
+      if (first >= 0) placements[first] = snapshot.unallocatedArmies();
+      return placements;
+    }
+
+    // Um exército por vez no território mais vulnerável (vizinhos inimigos / exércitos estáticos)
+    for (int left = snapshot.unallocatedArmies(); left > 0; left--) {
+      int best = 0;
+      for (int i = 1; i < count; i++) {
+        // enemies[i] / armies[i] > enemies[best] / armies[best], sem divisão
+        if ((long) enemies[i] * armies[best] > (long) enemies[best] * armies[i]) {
+          best = i;
+        }
+      }
+      armies[best]++;
+      placements[borders[best]]++;
+    }
+    return placements;
+  }
+
+  @Override
+  public BotMove chooseAttack(BotSnapshot snapshot) {
+    BotMove best = null;
+    double bestScore = 0.0;
+    for (int source = 0; source < snapshot.territoryCount(); source++) {
+      if (!snapshot.isOwned(source) || snapshot.armies(source) <= 1) continue;
+      int attacking = snapshot.armies(source) - 1;
+
+      for (int target : snapshot.graph().neighbors(source)) {
+        if (!snapshot.isEnemy(target)) continue;
+        int defending = Math.max(1, snapshot.armies(target));
+        double score = (double) attacking / defending;
+        if (defending == 1) {
+          score *= 2.0;
+        }
+        if (score > bestScore && score >= minAttackScore) {
+          bestScore = score;
+          best = new BotMove(source, target, Math.min(CombatKernel.MAX_DICE, attacking));
+        }
+      }
+    }
+    return best;
+  }
+
+  @Override
+  public BotMove fortify(BotSnapshot snapshot) {
+    int source = -1;
+    int target = -1;
+    for (int t = 0; t < snapshot.territoryCount(); t++) {
+      if (!snapshot.isOwned(t)) continue;
+      if (snapshot.enemyNeighbors(t) == 0) {
+        if (source < 0 || snapshot.armies(t) > snapshot.armies(source)) source = t;
+      } else if (target < 0 || snapshot.armies(t) < snapshot.armies(target)) {
+        target = t;
+      }
+    }
+
+    if (source < 0 || target < 0 || !snapshot.graph().areAdjacent(source, target)) return null;
+    int armies = Math.min(snapshot.armies(source) / 2, snapshot.armies(source) - 1);
+    return armies >= 1 ? new BotMove(source, target, armies) : null;
+  }
+
+  @Override
+  public long[] chooseCardTrade(BotSnapshot snapshot) {
+    if (snapshot.cardCount() < 3) return new long[0];
+
+    // Primeira carta e quantidade de cada tipo (sem o coringa)
+    int types = CardType.WILD.ordinal();
+    int[] firstOfType = new int[types];
+    int[] countOfType = new int[types];
+    for (int i = snapshot.cardCount() - 1; i >= 0; i--) {
+      int type = snapshot.cardType(i);
+      if (type >= types) continue;
+      firstOfType[type] = i;
+      countOfType[type]++;
+    }
+
+    // 3 cartas do mesmo tipo
+    for (int type = 0; type < types; type++) {
+      if (countOfType[type] < 3) continue;
+      long[] trade = new long[3];
+      int taken = 0;
+      for (int i = 0; i < snapshot.cardCount() && taken < 3; i++) {
+        if (snapshot.cardType(i) == type) trade[taken++] = snapshot.cardId(i);
+      }
+      return trade;
+    }
+
+    // Uma de cada tipo
+    for (int type = 0; type < types; type++) {
+      if (countOfType[type] == 0) return new long[0];
+    }
+    long[] trade = new long[types];
+    for (int type = 0; type < types; type++) {
+      trade[type] = snapshot.cardId(firstOfType[type]);
+    }
+    return trade;
+  }
+}
@@ -0,0 +1,106 @@
+package com.war.game.war_backend.engine.bot;
+
+import java.util.SplittableRandom;
+
+import com.war.game.war_backend.engine.CombatKernel;
+import com.war.game.war_backend.model.enums.PlayerType;
+
+/**
+ * Nível profundo: escolhe os ataques simulando os cercos.
+ *
+ * <p>Cada ataque possível (origem do bot com mais de 1 exército contra vizinho inimigo) é jogado
+ * até o fim várias vezes com o {@link CombatKernel#blitz}, em lotes alternados entre os candidatos,
+ * até acabar o orçamento de tempo da decisão ou todos chegarem a {@code maxRollouts}. Vence o
+ * candidato com maior chance estimada de conquista (empate: mais exércitos sobrando), desde que a
+ * chance seja pelo menos {@code minWinProbability}. Todo candidato recebe ao menos um lote, mesmo
+ * com o orçamento estourado.
+ *
+ * <p>Reforço, movimentação e cartas seguem o {@link HeuristicBotStrategy}.
+ */
+public class MonteCarloBotStrategy extends HeuristicBotStrategy {
+
+  // Cercos por candidato a cada passada, entre duas checagens do relógio
+  private static final int BATCH = 16;
+
+  private final long budgetNanos;
+  private final int maxRollouts;
+  private final double minWinProbability;
+
+  public MonteCarloBotStrategy(long budgetMillis, int maxRollouts, double minWinProbability) {
+    this.budgetNanos = budgetMillis * 1_000_000L;
+    this.maxRollouts = Math.max(BATCH, maxRollouts);
+    this.minWinProbability = minWinProbability;
+  }
+
+  @Override
+  public PlayerType playerType() {
+    return PlayerType.AI_HARD;
+  }
+
+  @Override
+  public BotMove chooseAttack(BotSnapshot snapshot) {
+    return chooseAttack(snapshot, new SplittableRandom());
+  }
+
+  BotMove chooseAttack(BotSnapshot snapshot, SplittableRandom random) {
+    long deadline = System.nanoTime() + budgetNanos;
+
+    // Candidatos em arrays paralelos
+    int capacity = 0;
+    for (int t = 0; t < snapshot.territoryCount(); t++) {
+      if (snapshot.isOwned(t)) capacity += snapshot.graph().degree(t);
+    }
+    int[] sources = new int[capacity];
+    int[] targets = new int[capacity];
+    int count = 0;
+    for (int source = 0; source < snapshot.territoryCount(); source++) {
+      if (!snapshot.isOwned(source) || snapshot.armies(source) <= 1) continue;
+      for (int target : snapshot.graph().neighbors(source)) {
+        if (!snapshot.isEnemy(target)) continue;
+        sources[count] = source;
+        targets[count++] = target;
+      }
+    }
+    if (count == 0) return null;
+
+    int[] rollouts = new int[count];
+    int[] wins = new int[count];
+    long[] survivors = new long[count];
+
+    boolean pending = true;
+    while (pending) {
+      pending = false;
+      for (int c = 0; c < count; c++) {
+        if (rollouts[c] >= maxRollouts) continue;
+
+        int attackers = snapshot.armies(sources[c]) - 1;
+        int defenders = Math.max(1, snapshot.armies(targets[c]));
+        for (int i = 0; i < BATCH; i++) {
+          long siege = CombatKernel.blitz(random, attackers, defenders, 0);
+          if (CombatKernel.blitzDefenderLosses(siege) == defenders) {
+            wins[c]++;
+            survivors[c] += attackers - CombatKernel.blitzAttackerLosses(siege);
+          }
+        }
+        rollouts[c] += BATCH;
+        pending |= rollouts[c] < maxRollouts;
+      }
+      if (System.nanoTime() >= deadline) break;
+    }
+
+    int best = -1;
+    for (int c = 0; c < count; c++) {
+      // wins / rollouts, comparado sem divisão; empate pelos exércitos que sobram
+      if (best < 0
+          || (long) wins[c] * rollouts[best] > (long) wins[best] * rollouts[c]
+          || ((long) wins[c] * rollouts[best] == (long) wins[best] * rollouts[c]
+              && survivors[c] * rollouts[best] > survivors[best] * rollouts[c])) {
+        best = c;
+      }
+    }
+
+    if ((double) wins[best] / rollouts[best] < minWinProbability) return null;
+    int dice = Math.min(CombatKernel.MAX_DICE, snapshot.armies(sources[best]) - 1);
+    return new BotMove(sources[best], targets[best], dice);
+  }
+}
@@ -0,0 +1,83 @@
+package com.war.game.war_backend.engine.simulation;
+
+import java.util.SplittableRandom;
+
+import com.war.game.war_backend.engine.CombatKernel;
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.HeuristicBotStrategy;
+
+/**
+ * Referência para comparar estratégias na simulação: reforça territórios de fronteira ao acaso e
+ * ataca um vizinho qualquer com a chance informada por ataque. Não movimenta tropas; as cartas
+ * seguem o {@link HeuristicBotStrategy}.
+ *
+ * <p>Sem estado: o sorteio de cada decisão sai da semente e do próprio snapshot, então o mesmo lote
+ * do {@link SimulationRunner} continua dando o mesmo resultado.
+ */
+public class RandomBotStrategy extends HeuristicBotStrategy {
+
+  private final double attackChance;
+  private final long seed;
+
+  public RandomBotStrategy(double attackChance, long seed) {
+    this.attackChance = attackChance;
+    this.seed = seed;
+  }
+
+  @Override
+  public String name() {
+    return "random(" + attackChance + ")";
+  }
+
+  @Override
+  public int[] reinforce(BotSnapshot snapshot) {
+    SplittableRandom random = random(snapshot);
+    int territories = snapshot.territoryCount();
+    int[] placements = new int[territories];
+    for (int left = snapshot.unallocatedArmies(); left > 0; left--) {
+      int start = random.nextInt(territories);
+      int chosen = -1;
+      for (int i = 0; i < territories && chosen < 0; i++) {
+        int t = (start + i) % territories;
+        if (snapshot.isOwned(t) && snapshot.enemyNeighbors(t) > 0) chosen = t;
+      }
+      if (chosen < 0) break;
+      placements[chosen]++;
+    }
+    return placements;
+  }
+
+  @Override
+  public BotMove chooseAttack(BotSnapshot snapshot) {
+    SplittableRandom random = random(snapshot);
+    if (random.nextDouble() >= attackChance) return null;
+
+    int territories = snapshot.territoryCount();
+    int start = random.nextInt(territories);
+    for (int i = 0; i < territories; i++) {
+      int source = (start + i) % territories;
+      if (!snapshot.isOwned(source) || snapshot.armies(source) < 2) continue;
+      for (int target : snapshot.graph().neighbors(source)) {
+        if (snapshot.isEnemy(target)) {
+          int dice = Math.min(CombatKernel.MAX_DICE, snapshot.armies(source) - 1);
+          return new BotMove(source, target, dice);
+        }
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public BotMove fortify(BotSnapshot snapshot) {
+    return null;
+  }
+
+  // Semente misturada com a posse e os exércitos: cada situação da partida tem o seu sorteio
+  private SplittableRandom random(BotSnapshot snapshot) {
+    long hash = seed ^ snapshot.ownedMask();
+    for (int t = 0; t < snapshot.territoryCount(); t++) {
+      hash = hash * 31 + snapshot.armies(t);
+    }
+    return new SplittableRandom(hash * 31 + snapshot.unallocatedArmies());
+  }
+}
@@ -0,0 +1,554 @@
+package com.war.game.war_backend.engine.simulation;
+
+import java.util.SplittableRandom;
+
+import com.war.game.war_backend.engine.Bitboards;
+import com.war.game.war_backend.engine.CombatKernel;
+import com.war.game.war_backend.engine.GameRules;
+import com.war.game.war_backend.engine.ObjectiveRule;
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.BotStrategy.BotMove;
+import com.war.game.war_backend.model.enums.CardType;
+import com.war.game.war_backend.model.enums.GameConstants;
+
+/**
+ * Uma partida inteira em memória, sem banco, Spring nem eventos.
+ *
+ * <p>As regras vêm das mesmas classes usadas pelo {@code GameService}: números de {@link GameRules}
+ * (tropas iniciais, reforço, bônus e validade das trocas, exércitos que podem sair de um
+ * território), combate pelo {@link CombatKernel} e objetivos pelo {@link ObjectiveRule}, checados
+ * como no {@code WinConditionService}. Tropas que entram (conquista ou movimentação) só viram
+ * estáticas no fim do turno, e quem conquistou no turno compra uma carta. O assento {@code i} joga
+ * com a cor {@code GameConstants.AVAILABLE_COLORS.get(i)}, usada pelos objetivos de eliminação.
+ *
+ * <p>Cada assento é jogado por um {@link BotStrategy}, o mesmo dos bots das partidas reais: a cada
+ * decisão o bot recebe um {@link BotSnapshot} do seu ponto de vista, e as decisões são executadas
+ * na mesma ordem da IA do {@code GameService} (trocas, reforço, ataques até o bot parar e uma
+ * movimentação). Uma decisão inválida encerra a fase, como uma ação recusada pelo serviço.
+ *
+ * <p>O estado fica em arrays primitivos indexados pelo ordinal do território e pelo assento, e a
+ * posse de cada assento também em uma máscara de bits (veja {@link Bitboards}). Não é thread-safe:
+ * cada partida roda inteira em uma única thread.
+ */
+public final class SimulatedGame {
+
+  /**
+   * Tipo de carta do coringa; as demais cartas têm tipo 0, 1 ou 2 (ordinais de {@link CardType}).
+   */
+  static final int WILD = CardType.WILD.ordinal();
+
+  private static final int WILD_CARDS = 2;
+
+  // Proteção contra bots que nunca param de atacar
+  private static final int MAX_ATTACKS_PER_TURN = 1_000;
+
+  private final SimulationMap map;
+  private final BotStrategy[] bots;
+  private final ObjectiveRule[] objectives;
+  private final SplittableRandom random;
+  private final int seats;
+  private final int[] turnOrder;
+
+  private final int[] owner;
+  private final int[] staticArmies;
+  private final int[] movedInArmies;
+  private final long[] ownedMask;
+  private final boolean[] alive;
+
+  // Posse do ponto de vista do assento que decide (0 = ele), reaproveitada a cada snapshot
+  private final int[] relativeOwner;
+
+  // Cartas: ids 0..n-1 são dos territórios de mesmo ordinal, os ids seguintes são coringas
+  private final int[][] hands;
+  private final int[] handSize;
+  private final int[] drawPile;
+  private int drawPileSize;
+  private final int[] discardPile;
+  private int discardPileSize;
+  private final int[] tradeScratch = new int[3];
+  private int exchangeCount;
+
+  private int turnIndex;
+  private int turns;
+  private int unallocatedArmies;
+  private boolean conqueredThisTurn;
+  private int winner = -1;
+
+  private long reinforcementNanos;
+  private long attackNanos;
+  private long movementNanos;
+
+  /**
+   * Prepara a partida: ordem dos turnos sorteada e territórios distribuídos com 1 exército cada.
+   *
+   * @param bots estratégia de cada assento; a mesma instância pode jogar em vários assentos
+   * @param objectives objetivo de cada assento; {@code null} (ou entrada {@code null}) deixa só a
+   *     vitória por eliminação
+   */
+  public SimulatedGame(
+      SimulationMap map, BotStrategy[] bots, ObjectiveRule[] objectives, long seed) {
+    if (bots.length < 2 || bots.length > 6) {
+      throw new IllegalArgumentException("A simulação aceita de 2 a 6 jogadores.");
+    }
+    this.map = map;
+    this.bots = bots.clone();
+    this.objectives = objectives != null ? objectives.clone() : new ObjectiveRule[bots.length];
+    this.random = new SplittableRandom(seed);
+    this.seats = bots.length;
+
+    int territories = map.territoryCount();
+    this.owner = new int[territories];
+    this.staticArmies = new int[territories];
+    this.movedInArmies = new int[territories];
+    this.ownedMask = new long[seats];
+    this.alive = new boolean[seats];
+    this.relativeOwner = new int[territories];
+
+    int cards = territories + WILD_CARDS;
+    this.hands = new int[seats][cards];
+    this.handSize = new int[seats];
+    this.drawPile = new int[cards];
+    this.discardPile = new int[cards];
+
+    this.turnOrder = shuffledRange(seats);
+
+    int[] dealOrder = shuffledRange(territories);
+    for (int i = 0; i < territories; i++) {
+      int seat = turnOrder[i % seats];
+      int t = dealOrder[i];
+      owner[t] = seat;
+      staticArmies[t] = 1;
+      ownedMask[seat] |= 1L << t;
+    }
+    for (int seat = 0; seat < seats; seat++) {
+      alive[seat] = ownedMask[seat] != 0;
+    }
+
+    int[] deck = shuffledRange(cards);
+    System.arraycopy(deck, 0, drawPile, 0, cards);
+    drawPileSize = cards;
+  }
+
+  /** Resultado de uma partida: vencedor (-1 se bateu o limite de turnos) e tempo por fase. */
+  public record Result(
+      int winner, int turns, long reinforcementNanos, long attackNanos, long movementNanos) {}
+
+  /** Joga a alocação inicial e os turnos até alguém vencer ou até {@code maxTurns} turnos. */
+  public Result play(int maxTurns) {
+    long start = System.nanoTime();
+    int initialTroops = GameRules.initialTroops(seats);
+    for (int seat : turnOrder) {
+      if (!alive[seat]) continue;
+      unallocatedArmies = initialTroops;
+      reinforce(seat);
+    }
+    reinforcementNanos += System.nanoTime() - start;
+
+    turnIndex = 0;
+    while (!alive[turnOrder[turnIndex]]) {
+      turnIndex = (turnIndex + 1) % seats;
+    }
+
+    while (winner < 0 && turns < maxTurns) {
+      playTurn();
+    }
+    return new Result(winner, turns, reinforcementNanos, attackNanos, movementNanos);
+  }
+
+  private void playTurn() {
+    int seat = turnOrder[turnIndex];
+    BotStrategy bot = bots[seat];
+    conqueredThisTurn = false;
+
+    long t0 = System.nanoTime();
+    unallocatedArmies = reinforcementArmies(seat);
+    // O bônus de +2 da troca pode completar um objetivo de territórios com 2 exércitos
+    tradeCards(seat);
+    checkGameEnd(seat);
+    if (winner < 0) {
+      reinforce(seat);
+    }
+
+    long t1 = System.nanoTime();
+    for (int i = 0; i < MAX_ATTACKS_PER_TURN && winner < 0; i++) {
+      BotMove attack = bot.chooseAttack(snapshot(seat));
+      if (attack == null || !attack(seat, attack)) break;
+    }
+
+    long t2 = System.nanoTime();
+    if (winner < 0) {
+      BotMove move = bot.fortify(snapshot(seat));
+      if (move != null) {
+        moveArmies(seat, move.source(), move.target(), move.armies());
+      }
+      checkGameEnd(seat);
+    }
+    long t3 = System.nanoTime();
+
+    reinforcementNanos += t1 - t0;
+    attackNanos += t2 - t1;
+    movementNanos += t3 - t2;
+    turns++;
+
+    if (winner >= 0) return;
+    endTurn(seat);
+  }
+
+  private void endTurn(int seat) {
+    if (conqueredThisTurn) {
+      drawCard(seat);
+    }
+
+    // Tropas que entraram no turno passam a ser estáticas
+    for (int t = 0; t < owner.length; t++) {
+      if (movedInArmies[t] > 0) {
+        staticArmies[t] += movedInArmies[t];
+        movedInArmies[t] = 0;
+      }
+    }
+
+    do {
+      turnIndex = (turnIndex + 1) % seats;
+    } while (!alive[turnOrder[turnIndex]]);
+  }
+
+  // O que o bot enxerga: estáticos de cada território, posse relativa a ele e a sua mão
+  private BotSnapshot snapshot(int seat) {
+    for (int t = 0; t < owner.length; t++) {
+      relativeOwner[t] = owner[t] == seat ? 0 : owner[t] + 1;
+    }
+    int cards = handSize[seat];
+    long[] cardIds = new long[cards];
+    int[] cardTypes = new int[cards];
+    for (int i = 0; i < cards; i++) {
+      cardIds[i] = hands[seat][i];
+      cardTypes[i] = cardType(hands[seat][i]);
+    }
+    return BotSnapshot.of(
+        map.graph(), relativeOwner, staticArmies, unallocatedArmies, cardIds, cardTypes);
+  }
+
+  // --- Regras ---
+
+  private int reinforcementArmies(int seat) {
+    return GameRules.reinforcementTroops(map.catalog(), ownedMask[seat]);
+  }
+
+  private int maxAttackDice(int territory) {
+    int armies = GameRules.movableArmies(staticArmies[territory], movedInArmies[territory]);
+    return Math.min(CombatKernel.MAX_DICE, Math.max(0, armies));
+  }
+
+  // Um ataque inválido, ou cuja conquista deixaria a origem vazia, não tem efeito e encerra a fase
+  private boolean attack(int seat, BotMove attack) {
+    int source = attack.source();
+    int target = attack.target();
+    int dice = attack.armies();
+    if (!isTerritory(source) || !isTerritory(target)) return false;
+    if (owner[source] != seat || owner[target] == seat) return false;
+    if (!map.graph().areAdjacent(source, target)) return false;
+    if (dice < 1 || dice > maxAttackDice(source)) return false;
+
+    int defender = owner[target];
+    int defenseArmies = staticArmies[target];
+    long round = CombatKernel.roll(random, dice, Math.min(CombatKernel.MAX_DICE, defenseArmies));
+    int attackerLosses = CombatKernel.attackerLosses(round);
+    int defenderLosses = CombatKernel.defenderLosses(round);
+
+    int sourceAfterLosses = staticArmies[source] - attackerLosses;
+    if (defenseArmies > defenderLosses) {
+      staticArmies[source] = sourceAfterLosses;
+      staticArmies[target] = defenseArmies - defenderLosses;
+      return true;
+    }
+
+    int troopsToMove = GameRules.occupyingArmies(dice, attackerLosses, sourceAfterLosses);
+    if (troopsToMove < 1) return false;
+
+    staticArmies[source] = sourceAfterLosses - troopsToMove;
+    owner[target] = seat;
+    staticArmies[target] = 0;
+    movedInArmies[target] = troopsToMove;
+    ownedMask[seat] |= 1L << target;
+    ownedMask[defender] &= ~(1L << target);
+    conqueredThisTurn = true;
+
+    if (ownedMask[defender] == 0) {
+      eliminate(defender, seat);
+    }
+    checkGameEnd(seat);
+    return true;
+  }
+
+  private void eliminate(int defeated, int conqueror) {
+    alive[defeated] = false;
+    // As cartas do eliminado passam para quem o eliminou
+    for (int i = 0; i < handSize[defeated]; i++) {
+      hands[conqueror][handSize[conqueror]++] = hands[defeated][i];
+    }
+    handSize[defeated] = 0;
+  }
+
+  // Mesma ordem do WinConditionService: último assento vivo, depois o objetivo de quem agiu e, por
+  // fim, o dos demais assentos vivos
+  private void checkGameEnd(int actingSeat) {
+    int aliveSeats = 0;
+    int lastAlive = -1;
+    for (int seat = 0; seat < seats; seat++) {
+      if (alive[seat]) {
+        aliveSeats++;
+        lastAlive = seat;
+      }
+    }
+    if (aliveSeats == 1) {
+      winner = lastAlive;
+      return;
+    }
+
+    if (isObjectiveComplete(actingSeat)) {
+      winner = actingSeat;
+      return;
+    }
+    for (int seat = 0; seat < seats; seat++) {
+      if (seat != actingSeat && alive[seat] && isObjectiveComplete(seat)) {
+        winner = seat;
+        return;
+      }
+    }
+  }
+
+  /** Se o assento cumpriu o objetivo (sempre falso sem objetivo). */
+  public boolean isObjectiveComplete(int seat) {
+    ObjectiveRule objective = objectives[seat];
+    return objective != null
+        && GameRules.isObjectiveComplete(
+            objective,
+            alive[seat],
+            ownedMask[seat],
+            ownedWithTwoArmiesMask(seat),
+            this::isEliminated);
+  }
+
+  // Cor sem assento na partida não conta como eliminada (como no WinConditionService)
+  private boolean isEliminated(String color) {
+    for (int seat = 0; seat < seats; seat++) {
+      if (color(seat).equalsIgnoreCase(color)) {
+        return !alive[seat];
+      }
+    }
+    return false;
+  }
+
+  // --- Cartas ---
+
+  // Como a IA do GameService: troca o conjunto escolhido pelo bot e, se ainda tiver 5 ou mais
+  // cartas, pergunta de novo; sem conjunto, ou com um inválido, as trocas acabam
+  private void tradeCards(int seat) {
+    while (handSize[seat] >= 3) {
+      long[] trade = bots[seat].chooseCardTrade(snapshot(seat));
+      if (trade.length != 3 || !findTradeSet(seat, trade)) return;
+      applyTrade(seat);
+      if (handSize[seat] < GameRules.MANDATORY_TRADE_HAND_SIZE) return;
+    }
+  }
+
+  // Posições na mão das cartas escolhidas, em tradeScratch, se as três forem distintas e trocáveis
+  private boolean findTradeSet(int seat, long[] cardIds) {
+    for (int i = 0; i < 3; i++) {
+      int position = -1;
+      for (int p = 0; p < handSize[seat] && position < 0; p++) {
+        if (hands[seat][p] == cardIds[i]) position = p;
+      }
+      if (position < 0) return false;
+      tradeScratch[i] = position;
+    }
+    if (tradeScratch[0] == tradeScratch[1]
+        || tradeScratch[1] == tradeScratch[2]
+        || tradeScratch[0] == tradeScratch[2]) {
+      return false;
+    }
+    return GameRules.isValidTrade(
+        cardType(hands[seat][tradeScratch[0]]),
+        cardType(hands[seat][tradeScratch[1]]),
+        cardType(hands[seat][tradeScratch[2]]));
+  }
+
+  private void applyTrade(int seat) {
+    unallocatedArmies += GameRules.cardSetBonus(exchangeCount);
+    exchangeCount++;
+
+    // Remove do maior índice para o menor, trocando com o fim da mão
+    sortDescending(tradeScratch);
+    for (int position : tradeScratch) {
+      int card = hands[seat][position];
+      if (card < owner.length && owner[card] == seat) {
+        staticArmies[card] += GameRules.TRADED_TERRITORY_BONUS;
+      }
+      discardPile[discardPileSize++] = card;
+      hands[seat][position] = hands[seat][--handSize[seat]];
+    }
+  }
+
+  private void drawCard(int seat) {
+    if (drawPileSize == 0) {
+      System.arraycopy(discardPile, 0, drawPile, 0, discardPileSize);
+      drawPileSize = discardPileSize;
+      discardPileSize = 0;
+      shuffle(drawPile, drawPileSize);
+    }
+    if (drawPileSize == 0) return;
+    hands[seat][handSize[seat]++] = drawPile[--drawPileSize];
+  }
+
+  private int cardType(int card) {
+    return card < owner.length ? card % 3 : WILD;
+  }
+
+  // --- Execução das decisões ---
+
+  // Uma alocação por território, como na IA do GameService; uma alocação inválida encerra a fase
+  // e o reforço que o bot não distribuiu vai para o primeiro território do assento
+  private void reinforce(int seat) {
+    int[] placements = bots[seat].reinforce(snapshot(seat));
+    for (int t = 0; t < placements.length; t++) {
+      if (placements[t] > 0 && !placeArmies(seat, t, placements[t])) break;
+    }
+    placeLeftovers(seat);
+  }
+
+  private boolean placeArmies(int seat, int territory, int armies) {
+    if (!isTerritory(territory) || owner[territory] != seat || armies > unallocatedArmies) {
+      return false;
+    }
+    staticArmies[territory] += armies;
+    unallocatedArmies -= armies;
+    return true;
+  }
+
+  // Exércitos movidos só podem se mover de novo no próximo turno; movimentação inválida é ignorada
+  private void moveArmies(int seat, int source, int target, int armies) {
+    if (!isTerritory(source) || !isTerritory(target)) return;
+    if (owner[source] != seat || owner[target] != seat) return;
+    if (!map.graph().areAdjacent(source, target)) return;
+    int maxMoveable = GameRules.movableArmies(staticArmies[source], movedInArmies[source]);
+    if (armies < 1 || armies > maxMoveable) return;
+    staticArmies[source] -= armies;
+    movedInArmies[target] += armies;
+  }
+
+  private void placeLeftovers(int seat) {
+    if (unallocatedArmies <= 0) return;
+    for (int t = 0; t < owner.length; t++) {
+      if (owner[t] == seat) {
+        staticArmies[t] += unallocatedArmies;
+        break;
+      }
+    }
+    unallocatedArmies = 0;
+  }
+
+  private boolean isTerritory(int territory) {
+    return territory >= 0 && territory < owner.length;
+  }
+
+  // --- Consultas ---
+
+  public SimulationMap map() {
+    return map;
+  }
+
+  public int seatCount() {
+    return seats;
+  }
+
+  public int turns() {
+    return turns;
+  }
+
+  public int winner() {
+    return winner;
+  }
+
+  public int owner(int territory) {
+    return owner[territory];
+  }
+
+  public int staticArmies(int territory) {
+    return staticArmies[territory];
+  }
+
+  public int movedInArmies(int territory) {
+    return movedInArmies[territory];
+  }
+
+  public int armies(int territory) {
+    return staticArmies[territory] + movedInArmies[territory];
+  }
+
+  public int territoryCount(int seat) {
+    return Bitboards.count(ownedMask[seat]);
+  }
+
+  /** Territórios do assento como máscara de bits (bit = ordinal). */
+  public long ownedMask(int seat) {
+    return ownedMask[seat];
+  }
+
+  /** Territórios do assento com pelo menos 2 exércitos, contando os que entraram no turno. */
+  public long ownedWithTwoArmiesMask(int seat) {
+    long mask = 0L;
+    for (long m = ownedMask[seat]; m != 0; m &= m - 1) {
+      int t = Long.numberOfTrailingZeros(m);
+      if (armies(t) >= 2) mask |= 1L << t;
+    }
+    return mask;
+  }
+
+  /** Cor do assento, na ordem de {@code GameConstants.AVAILABLE_COLORS}. */
+  public static String color(int seat) {
+    return GameConstants.AVAILABLE_COLORS.get(seat);
+  }
+
+  public boolean isAlive(int seat) {
+    return alive[seat];
+  }
+
+  public int handSize(int seat) {
+    return handSize[seat];
+  }
+
+  public int exchangeCount() {
+    return exchangeCount;
+  }
+
+  // --- Sorteio ---
+
+  private int[] shuffledRange(int size) {
+    int[] values = new int[size];
+    for (int i = 0; i < size; i++) values[i] = i;
+    shuffle(values, size);
+    return values;
+  }
+
+  private void shuffle(int[] values, int size) {
+    for (int i = size - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      int tmp = values[i];
+      values[i] = values[j];
+      values[j] = tmp;
+    }
+  }
+
+  private static void sortDescending(int[] values) {
+    if (values[0] < values[1]) swap(values, 0, 1);
+    if (values[1] < values[2]) swap(values, 1, 2);
+    if (values[0] < values[1]) swap(values, 0, 1);
+  }
+
+  private static void swap(int[] values, int a, int b) {
+    int tmp = values[a];
+    values[a] = values[b];
+    values[b] = tmp;
+  }
+}
@@ -0,0 +1,36 @@
+package com.war.game.war_backend.engine.simulation;
+
+import com.war.game.war_backend.engine.RulesCatalog;
+import com.war.game.war_backend.engine.TerritoryGraph;
+
+/**
+ * Mapa usado pelas simulações: o {@link RulesCatalog} do jogo, com o grafo, os continentes e os
+ * bônus.
+ *
+ * <p>Imutável e compartilhado por todas as partidas simuladas, inclusive entre threads.
+ */
+public final class SimulationMap {
+
+  private final RulesCatalog catalog;
+
+  private SimulationMap(RulesCatalog catalog) {
+    this.catalog = catalog;
+  }
+
+  /** Monta o mapa do jogo a partir do catálogo de regras (mesmos continentes e bônus). */
+  public static SimulationMap of(RulesCatalog catalog) {
+    return new SimulationMap(catalog);
+  }
+
+  public RulesCatalog catalog() {
+    return catalog;
+  }
+
+  public TerritoryGraph graph() {
+    return catalog.graph();
+  }
+
+  public int territoryCount() {
+    return catalog.graph().size();
+  }
+}
@@ -0,0 +1,81 @@
+package com.war.game.war_backend.engine.simulation;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Resultado de um lote de simulações.
+ *
+ * @param seats nome do bot de cada assento
+ * @param wins vitórias por assento
+ * @param draws partidas que bateram o limite de turnos sem vencedor
+ * @param reinforcementNanos tempo somado de todas as partidas na alocação inicial e nos reforços
+ * @param elapsedNanos tempo de parede do lote inteiro
+ */
+public record SimulationReport(
+    List<String> seats,
+    int games,
+    List<Integer> wins,
+    int draws,
+    long totalTurns,
+    int minTurns,
+    int maxTurns,
+    long reinforcementNanos,
+    long attackNanos,
+    long movementNanos,
+    long elapsedNanos) {
+
+  public double winRate(int seat) {
+    return games == 0 ? 0.0 : (double) wins.get(seat) / games;
+  }
+
+  public double drawRate() {
+    return games == 0 ? 0.0 : (double) draws / games;
+  }
+
+  public double averageTurns() {
+    return games == 0 ? 0.0 : (double) totalTurns / games;
+  }
+
+  public double gamesPerSecond() {
+    return elapsedNanos == 0 ? 0.0 : games * 1_000_000_000.0 / elapsedNanos;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+    sb.append(
+        String.format(
+            Locale.ROOT,
+            "%d partidas em %.2f s (%.0f partidas/s)%n",
+            games,
+            elapsedNanos / 1e9,
+            gamesPerSecond()));
+    for (int seat = 0; seat < seats.size(); seat++) {
+      sb.append(
+          String.format(
+              Locale.ROOT,
+              "  assento %d %-20s %6.2f%% vitórias%n",
+              seat,
+              seats.get(seat),
+              winRate(seat) * 100));
+    }
+    sb.append(String.format(Locale.ROOT, "  empates %.2f%%%n", drawRate() * 100));
+    sb.append(
+        String.format(
+            Locale.ROOT,
+            "  turnos: média %.1f, mín %d, máx %d%n",
+            averageTurns(),
+            minTurns,
+            maxTurns));
+    long turns = Math.max(1, totalTurns);
+    sb.append(
+        String.format(
+            Locale.ROOT,
+            "  µs por turno: reforço %.2f, ataque %.2f, movimentação %.2f",
+            reinforcementNanos / 1e3 / turns,
+            attackNanos / 1e3 / turns,
+            movementNanos / 1e3 / turns));
+    return sb.toString();
+  }
+}
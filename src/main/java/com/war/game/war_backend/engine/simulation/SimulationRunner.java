@@ -0,0 +1,140 @@
+package com.war.game.war_backend.engine.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import com.war.game.war_backend.engine.ObjectiveRule;
+import com.war.game.war_backend.engine.bot.BotStrategy;
+
+/**
+ * Joga lotes de partidas simuladas em paralelo em um {@link ForkJoinPool}.
+ *
+ * <p>Cada assento é jogado por um {@link BotStrategy}, os mesmos dos bots do jogo. Cada partida
+ * recebe uma semente derivada da semente do lote, então o mesmo lote dá sempre o mesmo resultado,
+ * independente do número de threads ou da ordem de execução, desde que as estratégias decidam só
+ * pelo snapshot (o {@code MonteCarloBotStrategy} sorteia os cercos por conta própria e não é
+ * reproduzível).
+ */
+public final class SimulationRunner {
+
+  /** Limite de turnos padrão; partidas que chegam nele contam como empate. */
+  public static final int DEFAULT_MAX_TURNS = 500;
+
+  private final SimulationMap map;
+  private final ForkJoinPool pool;
+
+  public SimulationRunner(SimulationMap map) {
+    this(map, ForkJoinPool.commonPool());
+  }
+
+  public SimulationRunner(SimulationMap map, ForkJoinPool pool) {
+    this.map = map;
+    this.pool = pool;
+  }
+
+  public SimulationReport run(List<? extends BotStrategy> bots, int games, long seed) {
+    return run(bots, null, games, seed, DEFAULT_MAX_TURNS);
+  }
+
+  /**
+   * Joga {@code games} partidas com uma estratégia por assento.
+   *
+   * @param objectives objetivo de cada assento, ou {@code null} para vitória só por eliminação
+   */
+  public SimulationReport run(
+      List<? extends BotStrategy> bots,
+      List<ObjectiveRule> objectives,
+      int games,
+      long seed,
+      int maxTurns) {
+    BotStrategy[] seats = bots.toArray(BotStrategy[]::new);
+    ObjectiveRule[] seatObjectives =
+        objectives != null ? objectives.toArray(ObjectiveRule[]::new) : null;
+    long[] seeds = new SplittableRandom(seed).longs(games).toArray();
+
+    long start = System.nanoTime();
+    Stats stats =
+        pool.submit(
+                () ->
+                    IntStream.range(0, games)
+                        .parallel()
+                        .mapToObj(
+                            i ->
+                                new SimulatedGame(map, seats, seatObjectives, seeds[i])
+                                    .play(maxTurns))
+                        .collect(() -> new Stats(seats.length), Stats::add, Stats::merge))
+            .join();
+    long elapsed = System.nanoTime() - start;
+
+    List<String> names = new ArrayList<>(seats.length);
+    for (BotStrategy bot : seats) {
+      names.add(bot.name());
+    }
+    return stats.toReport(names, elapsed);
+  }
+
+  // Acumulador do lote; cada thread do pool soma no seu e os parciais são combinados no fim
+  private static final class Stats {
+    private final int[] wins;
+    private int games;
+    private int draws;
+    private long totalTurns;
+    private int minTurns = Integer.MAX_VALUE;
+    private int maxTurns;
+    private long reinforcementNanos;
+    private long attackNanos;
+    private long movementNanos;
+
+    Stats(int seats) {
+      this.wins = new int[seats];
+    }
+
+    void add(SimulatedGame.Result result) {
+      games++;
+      if (result.winner() >= 0) {
+        wins[result.winner()]++;
+      } else {
+        draws++;
+      }
+      totalTurns += result.turns();
+      minTurns = Math.min(minTurns, result.turns());
+      maxTurns = Math.max(maxTurns, result.turns());
+      reinforcementNanos += result.reinforcementNanos();
+      attackNanos += result.attackNanos();
+      movementNanos += result.movementNanos();
+    }
+
+    void merge(Stats other) {
+      for (int i = 0; i < wins.length; i++) {
+        wins[i] += other.wins[i];
+      }
+      games += other.games;
+      draws += other.draws;
+      totalTurns += other.totalTurns;
+      minTurns = Math.min(minTurns, other.minTurns);
+      maxTurns = Math.max(maxTurns, other.maxTurns);
+      reinforcementNanos += other.reinforcementNanos;
+      attackNanos += other.attackNanos;
+      movementNanos += other.movementNanos;
+    }
+
+    SimulationReport toReport(List<String> seats, long elapsedNanos) {
+      return new SimulationReport(
+          List.copyOf(seats),
+          games,
+          Arrays.stream(wins).boxed().toList(),
+          draws,
+          totalTurns,
+          games == 0 ? 0 : minTurns,
+          maxTurns,
+          reinforcementNanos,
+          attackNanos,
+          movementNanos,
+          elapsedNanos);
+    }
+  }
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
@@ -26,7 +27,9 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "game")
+@Table(
+    name = "game",
+    indexes = @Index(name = "idx_game_status_created_at", columnList = "status, created_at, pk_id"))
 @Getter
 @Setter
 @ToString(exclude = {"turnPlayer", "winner"})
@@ -46,6 +49,24 @@ public class Game {
   @Column(name = "created_at", nullable = false)
   private LocalDateTime createdAt;
 
+  @Column(name = "started_at")
+  private LocalDateTime startedAt;
+
+  // Gravado só por UPDATE direto (write-behind ou GameRepository.markFinished), quando a partida
+  // chega a FINISHED
+  @Column(name = "finished_at", insertable = false, updatable = false)
+  private LocalDateTime finishedAt;
+
+  // Baralho da partida (IDs das cartas separados por vírgula), gravado só pelo write-behind
+  @Column(name = "deck_order", length = 1000, insertable = false, updatable = false)
+  private String deckOrder;
+
+  @Column(name = "deck_position", insertable = false, updatable = false)
+  private Integer deckPosition;
+
+  @Column(name = "discard_pile", length = 1000, insertable = false, updatable = false)
+  private String discardPile;
+
   @Column(name = "name", nullable = false, length = 100)
   private String name;
 
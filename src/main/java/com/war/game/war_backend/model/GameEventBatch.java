@@ -0,0 +1,49 @@
+package com.war.game.war_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Lote de eventos de uma partida, gravado de uma vez pelo write-behind. Os eventos de {@code
+ * firstSeq} a {@code lastSeq} ficam em {@code payload} como um array JSON.
+ */
+@Entity
+@Table(
+    name = "game_event_batch",
+    indexes = @Index(name = "idx_game_event_batch_game_seq", columnList = "game_id, last_seq"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameEventBatch {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "pk_id")
+  private Long id;
+
+  @Column(name = "game_id", nullable = false)
+  private Long gameId;
+
+  @Column(name = "first_seq", nullable = false)
+  private Long firstSeq;
+
+  @Column(name = "last_seq", nullable = false)
+  private Long lastSeq;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  private String payload;
+}
@@ -0,0 +1,43 @@
+package com.war.game.war_backend.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Estado completo de uma partida depois do evento {@code seq}, em JSON. */
+@Entity
+@Table(
+    name = "game_snapshot",
+    indexes = @Index(name = "idx_game_snapshot_game_seq", columnList = "game_id, seq"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class GameSnapshot {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @Column(name = "pk_id")
+  private Long id;
+
+  @Column(name = "game_id", nullable = false)
+  private Long gameId;
+
+  @Column(name = "seq", nullable = false)
+  private Long seq;
+
+  @Column(name = "created_at", nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "payload", nullable = false, columnDefinition = "TEXT")
+  private String payload;
+}
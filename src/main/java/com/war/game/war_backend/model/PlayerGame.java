@@ -7,6 +7,7 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
@@ -22,7 +23,9 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
-@Table(name = "player_game")
+@Table(
+    name = "player_game",
+    indexes = @Index(name = "idx_player_game_player_game", columnList = "player_id, game_id"))
 @Getter
 @Setter
 @ToString(callSuper = true)
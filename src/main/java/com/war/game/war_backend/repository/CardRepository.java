@@ -1,6 +1,6 @@
 package com.war.game.war_backend.repository;
 
-import java.util.Optional;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -8,10 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import com.war.game.war_backend.model.Card;
 
 public interface CardRepository extends JpaRepository<Card, Long> {
-  // Encontra uma carta aleatória que não está em uso
-  @Query(
-      value =
-          "SELECT * FROM card c WHERE c.pk_id NOT IN (SELECT pc.card_id FROM player_card pc) ORDER BY RANDOM() LIMIT 1",
-      nativeQuery = true)
-  Optional<Card> findRandomUnownedCard();
+  // Todas as cartas com o território já carregado (montagem do baralho de cada partida)
+  @Query("SELECT c FROM Card c LEFT JOIN FETCH c.territory")
+  List<Card> findAllWithTerritory();
 }
@@ -0,0 +1,34 @@
+package com.war.game.war_backend.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.war.game.war_backend.model.GameEventBatch;
+
+public interface GameEventBatchRepository extends JpaRepository<GameEventBatch, Long> {
+
+  // Último evento gravado da partida (0 se nenhum)
+  @Query("SELECT COALESCE(MAX(b.lastSeq), 0) FROM GameEventBatch b WHERE b.gameId = :gameId")
+  long findLastSeq(@Param("gameId") Long gameId);
+
+  // Lotes que contêm algum evento do intervalo (afterSeq, upToSeq], em ordem
+  @Query(
+      "SELECT b FROM GameEventBatch b "
+          + "WHERE b.gameId = :gameId AND b.lastSeq > :afterSeq AND b.firstSeq <= :upToSeq "
+          + "ORDER BY b.firstSeq")
+  List<GameEventBatch> findCovering(
+      @Param("gameId") Long gameId,
+      @Param("afterSeq") long afterSeq,
+      @Param("upToSeq") long upToSeq);
+
+  // Próximos lotes depois de afterSeq, em ordem (paginação pelo índice (game_id, last_seq))
+  @Query(
+      "SELECT b FROM GameEventBatch b WHERE b.gameId = :gameId AND b.lastSeq > :afterSeq "
+          + "ORDER BY b.lastSeq")
+  List<GameEventBatch> findAfter(
+      @Param("gameId") Long gameId, @Param("afterSeq") long afterSeq, Pageable page);
+}
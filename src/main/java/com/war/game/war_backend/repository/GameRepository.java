@@ -1,12 +1,15 @@
 package com.war.game.war_backend.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.war.game.war_backend.model.Game;
 
@@ -27,4 +30,12 @@ public interface GameRepository extends JpaRepository<Game, Long> {
           + "LEFT JOIN FETCH pg.player "
           + "WHERE g.status = :status")
   List<Game> findByStatusWithPlayers(@Param("status") String status);
+
+  // finished_at não é gravado pelo Hibernate; mantém a primeira data se já houver uma
+  @Modifying
+  @Transactional
+  @Query(
+      value = "UPDATE game SET finished_at = COALESCE(finished_at, :now) WHERE pk_id = :gameId",
+      nativeQuery = true)
+  int markFinished(@Param("gameId") Long gameId, @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,20 @@
+package com.war.game.war_backend.repository;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.war.game.war_backend.model.GameSnapshot;
+
+public interface GameSnapshotRepository extends JpaRepository<GameSnapshot, Long> {
+
+  Optional<GameSnapshot> findFirstByGameIdAndSeqLessThanEqualOrderBySeqDesc(Long gameId, Long seq);
+
+  Optional<GameSnapshot> findFirstByGameIdOrderBySeqAsc(Long gameId);
+
+  // Último snapshot gravado da partida (-1 se nenhum)
+  @Query("SELECT COALESCE(MAX(s.seq), -1) FROM GameSnapshot s WHERE s.gameId = :gameId")
+  long findLastSeq(@Param("gameId") Long gameId);
+}
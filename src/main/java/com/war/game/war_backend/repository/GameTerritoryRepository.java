@@ -1,9 +1,12 @@
 package com.war.game.war_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.war.game.war_backend.model.Game;
@@ -30,4 +33,20 @@ public interface GameTerritoryRepository extends JpaRepository<GameTerritory, Lo
 
   Optional<GameTerritory> findByGame_IdAndTerritory_IdAndOwner_Player_Id(
       Long gameId, Long territoryId, Long playerId);
+
+  // Carrega os territórios da partida junto com o território do mapa (hidratação do estado)
+  @Query(
+      "SELECT gt FROM GameTerritory gt "
+          + "JOIN FETCH gt.territory "
+          + "LEFT JOIN FETCH gt.owner "
+          + "WHERE gt.game.id = :gameId")
+  List<GameTerritory> findByGameIdWithTerritory(@Param("gameId") Long gameId);
+
+  // Territórios de várias partidas (montagem do estado completo)
+  @Query(
+      "SELECT gt FROM GameTerritory gt "
+          + "JOIN FETCH gt.territory "
+          + "LEFT JOIN FETCH gt.owner "
+          + "WHERE gt.game.id IN :gameIds")
+  List<GameTerritory> findByGameIdInWithTerritory(@Param("gameIds") Collection<Long> gameIds);
 }
@@ -1,8 +1,11 @@
 package com.war.game.war_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.war.game.war_backend.model.PlayerCard;
@@ -16,4 +19,20 @@ public interface PlayerCardRepository extends JpaRepository<PlayerCard, Long> {
   List<PlayerCard> findByPlayerGameAndIdIn(PlayerGame playerGame, List<Long> ids);
 
   long countByPlayerGame(PlayerGame playerGame);
+
+  // Carrega as cartas de todos os jogadores da partida em uma única consulta
+  @Query(
+      "SELECT pc FROM PlayerCard pc "
+          + "JOIN FETCH pc.card c "
+          + "LEFT JOIN FETCH c.territory "
+          + "WHERE pc.playerGame.game.id = :gameId")
+  List<PlayerCard> findByGameIdWithCard(@Param("gameId") Long gameId);
+
+  // Cartas de várias partidas (montagem do estado completo)
+  @Query(
+      "SELECT pc FROM PlayerCard pc "
+          + "JOIN FETCH pc.card c "
+          + "LEFT JOIN FETCH c.territory "
+          + "WHERE pc.playerGame.game.id IN :gameIds")
+  List<PlayerCard> findByGameIdInWithCard(@Param("gameIds") Collection<Long> gameIds);
 }
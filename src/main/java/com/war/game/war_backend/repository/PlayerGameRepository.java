@@ -1,5 +1,6 @@
 package com.war.game.war_backend.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -25,6 +26,25 @@ public interface PlayerGameRepository extends JpaRepository<PlayerGame, Long> {
 
   List<PlayerGame> findByPlayerAndStillInGame(Player player, Boolean stillInGame);
 
+  // Carrega os jogadores da partida junto com o jogador e o objetivo (hidratação do estado)
+  @Query(
+      "SELECT pg FROM PlayerGame pg "
+          + "JOIN FETCH pg.player "
+          + "LEFT JOIN FETCH pg.objective "
+          + "WHERE pg.game.id = :gameId")
+  List<PlayerGame> findByGameIdWithPlayer(@Param("gameId") Long gameId);
+
+  // Jogadores de várias partidas, com jogador, papéis, objetivo e a própria partida (montagem do
+  // estado completo sem consultas extras por jogador)
+  @Query(
+      "SELECT DISTINCT pg FROM PlayerGame pg "
+          + "JOIN FETCH pg.game "
+          + "JOIN FETCH pg.player p "
+          + "LEFT JOIN FETCH p.roles "
+          + "LEFT JOIN FETCH pg.objective "
+          + "WHERE pg.game.id IN :gameIds")
+  List<PlayerGame> findByGameIdInWithPlayer(@Param("gameIds") Collection<Long> gameIds);
+
   // Query nativa para deletar PlayerGame diretamente do banco, ignorando cache do Hibernate
   @Modifying
   @Query(value = "DELETE FROM player_game WHERE pk_id = :playerGameId", nativeQuery = true)
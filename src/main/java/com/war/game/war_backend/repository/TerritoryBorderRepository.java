@@ -1,5 +1,6 @@
 package com.war.game.war_backend.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -23,4 +24,8 @@ public interface TerritoryBorderRepository extends JpaRepository<TerritoryBorder
           + "(tb.territoryA.id = :territoryAId AND tb.territoryB.id = :territoryBId) OR "
           + "(tb.territoryA.id = :territoryBId AND tb.territoryB.id = :territoryAId)")
   boolean areTerritoryBordering(Long territoryAId, Long territoryBId);
+
+  /** Pares (territoryA, territoryB) de todas as fronteiras, usados para montar o grafo do mapa. */
+  @Query("SELECT tb.territoryA.id, tb.territoryB.id FROM TerritoryBorder tb")
+  List<Object[]> findAllTerritoryIdPairs();
 }
@@ -0,0 +1,138 @@
+package com.war.game.war_backend.services;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.war.game.war_backend.config.ExecutorConfig;
+import com.war.game.war_backend.engine.GameState;
+
+/**
+ * Agenda as ações dos bots.
+ *
+ * <p>Cada ação de bot (uma fase do turno) vira uma tarefa atrasada em um {@link
+ * ScheduledExecutorService}, rodando em transação própria. A pausa entre as ações, que dá tempo aos
+ * jogadores de acompanhar a jogada, é só o atraso do agendamento: nenhuma thread de requisição ou
+ * do pool fica parada esperando. O atraso vale para todas as partidas, mas pode ser trocado por
+ * partida (0 ms em simulações e nos testes).
+ *
+ * <p>O agendador só marca a hora; a ação roda no executor limitado dos bots. Se ele estiver cheio,
+ * a ação é reagendada para mais tarde em vez de disputar threads com as partidas dos jogadores.
+ *
+ * <p>Uma ação que falha (fila da partida ocupada, erro de banco, rollback) também é reagendada, com
+ * espera dobrada a cada tentativa. Esgotadas as tentativas, o turno do bot é encerrado à força,
+ * para que a partida não fique parada na vez dele.
+ */
+@Service
+public class AITurnScheduler {
+
+  // Espera mínima antes de tentar de novo uma ação recusada pelo executor cheio
+  private static final long REJECTED_RETRY_MS = 500;
+
+  // Novas tentativas de uma ação que falhou, antes de encerrar o turno do bot
+  static final int MAX_STEP_RETRIES = 3;
+
+  private final GameService gameService;
+  private final GameStateStore gameStateStore;
+  private final long defaultDelayMs;
+  private final Executor aiExecutor;
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "ai-turn-timer");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public AITurnScheduler(
+      GameService gameService,
+      GameStateStore gameStateStore,
+      @Value("${app.ai.step-delay-ms:700}") long defaultDelayMs,
+      @Qualifier(ExecutorConfig.AI_TASK_EXECUTOR) Executor aiExecutor) {
+    this.gameService = gameService;
+    this.gameStateStore = gameStateStore;
+    this.defaultDelayMs = defaultDelayMs;
+    this.aiExecutor = aiExecutor;
+  }
+
+  /** Agenda a próxima ação do bot na partida, respeitando a pausa configurada. */
+  public void schedule(Long gameId, String aiUsername) {
+    schedule(gameId, aiUsername, stepDelayMs(gameId), 0);
+  }
+
+  /** Troca a pausa entre as ações dos bots em uma partida em andamento. */
+  public void setStepDelay(Long gameId, long delayMs) {
+    gameStateStore.find(gameId).ifPresent(state -> state.setAiStepDelayMs(Math.max(0, delayMs)));
+  }
+
+  private void schedule(Long gameId, String aiUsername, long delayMs, int retry) {
+    scheduler.schedule(() -> dispatch(gameId, aiUsername, retry), delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  private long stepDelayMs(Long gameId) {
+    return gameStateStore.find(gameId).map(GameState::getAiStepDelayMs).orElse(defaultDelayMs);
+  }
+
+  private void dispatch(Long gameId, String aiUsername, int retry) {
+    try {
+      aiExecutor.execute(() -> runStep(gameId, aiUsername, retry));
+    } catch (RejectedExecutionException e) {
+      System.err.println(
+          "IA - Executor dos bots cheio. Ação da partida " + gameId + " reagendada.");
+      schedule(gameId, aiUsername, Math.max(stepDelayMs(gameId), REJECTED_RETRY_MS), retry);
+    }
+  }
+
+  private void runStep(Long gameId, String aiUsername, int retry) {
+    System.out.println("========== IA: Ação agendada iniciada (" + aiUsername + ").==========");
+    try {
+      // A próxima ação, se houver, é agendada quando esta transação confirmar
+      gameService.executeAIAction(gameId, aiUsername);
+    } catch (RuntimeException e) {
+      System.err.println(
+          "IA - Falha na ação agendada da partida " + gameId + ": " + e.getMessage());
+      retryStep(gameId, aiUsername, retry);
+    }
+  }
+
+  private void retryStep(Long gameId, String aiUsername, int retry) {
+    if (retry < MAX_STEP_RETRIES) {
+      long delayMs = Math.max(stepDelayMs(gameId), REJECTED_RETRY_MS) << retry;
+      System.err.println(
+          "IA - Nova tentativa "
+              + (retry + 1)
+              + "/"
+              + MAX_STEP_RETRIES
+              + " da ação da partida "
+              + gameId
+              + " em "
+              + delayMs
+              + " ms.");
+      schedule(gameId, aiUsername, delayMs, retry + 1);
+      return;
+    }
+
+    // Último recurso: encerra o turno do bot para a partida seguir
+    System.err.println(
+        "IA - Tentativas esgotadas. Encerrando o turno de " + aiUsername + " na partida " + gameId);
+    try {
+      gameService.startNextTurn(gameId, aiUsername);
+    } catch (RuntimeException e) {
+      System.err.println(
+          "IA - Falha ao encerrar o turno da partida " + gameId + ": " + e.getMessage());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+}
@@ -1,10 +1,7 @@
 package com.war.game.war_backend.services;
 
-import java.util.Comparator;
-import java.util.List;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
@@ -12,21 +9,21 @@ import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.war.game.war_backend.config.ExecutorConfig;
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.BotStrategy.BotMove;
 import com.war.game.war_backend.events.AIActionExecutedEvent;
 import com.war.game.war_backend.events.AIActionIntentEvent;
 import com.war.game.war_backend.events.AITurnInitiationEvent;
 import com.war.game.war_backend.model.AITurnAction;
 import com.war.game.war_backend.model.AITurnAction.ActionType;
 import com.war.game.war_backend.model.Game;
-import com.war.game.war_backend.model.GameTerritory;
 import com.war.game.war_backend.model.Player;
 import com.war.game.war_backend.model.PlayerCard;
 import com.war.game.war_backend.model.PlayerGame;
-import com.war.game.war_backend.model.enums.CardType;
 import com.war.game.war_backend.model.enums.GameStatus;
 import com.war.game.war_backend.repository.GameRepository;
 import com.war.game.war_backend.repository.PlayerGameRepository;
-import com.war.game.war_backend.repository.TerritoryBorderRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -37,9 +34,10 @@ public class AITurnService {
   private final ApplicationEventPublisher eventPublisher;
   private final GameRepository gameRepository;
   private final PlayerGameRepository playerGameRepository;
-  private final TerritoryBorderRepository territoryBorderRepository;
+  private final BotStrategyService botStrategyService;
 
-  @Async
+  // No executor dos bots, nunca no padrão do Spring
+  @Async(ExecutorConfig.AI_TASK_EXECUTOR)
   public void startTurn(AITurnInitiationEvent event) {
     Long gameId = event.getGameId();
     String aiUsername = event.getAiUsername();
@@ -77,25 +75,10 @@ public class AITurnService {
 
   @Transactional
   private void executeReinforcementPhase(Long gameId, String aiUsername) {
-    // Carregar o Estado Inicial
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada para IA."));
-
-    final Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame initialAiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
+    PlayerGame aiPlayerGame = loadAIPlayerGame(gameId, aiUsername);
 
     // 1. Condição de Saída
-    if (initialAiPlayerGame.getUnallocatedArmies() <= 0) {
+    if (aiPlayerGame.getUnallocatedArmies() <= 0) {
       System.out.println("IA - Sem exércitos para alocar. Publicando intenção de PASSAR FASE.");
 
       // Se a alocação terminou, a IA publica a intenção de transicionar de fase
@@ -106,37 +89,34 @@ public class AITurnService {
 
     // --- DECISÃO DE ALOCAÇÃO ---
     try {
-      // Obter o Game Territories para a lógica de decisão
-      Set<GameTerritory> aiTerritories =
-          game.getGameTerritories().stream()
-              .filter(gt -> gt.getOwner() != null && gt.getOwner().equals(initialAiPlayerGame))
-              .collect(Collectors.toSet());
-
-      // Estratégia de Decisão
-      GameTerritory bestTarget = findMostVulnerableTerritory(aiTerritories);
-
-      if (bestTarget == null) {
-        bestTarget = aiTerritories.stream().findAny().orElse(null);
-        if (bestTarget == null) {
-          // Se não há territórios para alocar, passa a fase (embora o unallocatedArmies > 0)
-          publishActionIntent(gameId, aiUsername, ActionType.PASS_PHASE, null);
-          return;
+      BotSnapshot snapshot = snapshot(aiPlayerGame);
+      int[] placements = botStrategyService.forPlayer(aiPlayerGame).reinforce(snapshot);
+
+      // Uma tropa por intenção, no território que mais recebe na distribuição decidida
+      int bestTarget = -1;
+      for (int ordinal = 0; ordinal < placements.length; ordinal++) {
+        if (placements[ordinal] > 0
+            && (bestTarget < 0 || placements[ordinal] > placements[bestTarget])) {
+          bestTarget = ordinal;
         }
       }
 
-      // Quantidade a Alocar (1 por vez)
-      int troopsToAllocate = 1;
+      if (bestTarget < 0) {
+        // Se não há territórios para alocar, passa a fase (embora o unallocatedArmies > 0)
+        publishActionIntent(gameId, aiUsername, ActionType.PASS_PHASE, null);
+        return;
+      }
 
       // Cria e Publica a Intenção de Ação
+      Long territoryId = snapshot.graph().territoryIdOf(bestTarget);
       AITurnAction intent =
           AITurnAction.builder()
               .type(ActionType.REINFORCE_ALLOCATION)
-              .targetTerritoryId(String.valueOf(bestTarget.getTerritory().getId()))
-              .numberOfArmies(troopsToAllocate)
+              .targetTerritoryId(String.valueOf(territoryId))
+              .numberOfArmies(1)
               .build();
 
-      System.out.println(
-          "IA - Publicando INTENÇÃO de alocar 1 tropa em: " + bestTarget.getTerritory().getName());
+      System.out.println("IA - Publicando INTENÇÃO de alocar 1 tropa em: " + territoryId);
       publishActionIntent(gameId, aiUsername, ActionType.REINFORCE_ALLOCATION, intent);
 
     } catch (RuntimeException e) {
@@ -148,25 +128,11 @@ public class AITurnService {
 
   @Transactional
   private void executeAttackPhase(Long gameId, String aiUsername) {
-    // Carregar Game e PlayerGame
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada para IA."));
-
-    Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
+    PlayerGame aiPlayerGame = loadAIPlayerGame(gameId, aiUsername);
 
     // --- DECISÃO ÚNICA DE ATAQUE ---
-    AttackDecision decision = findBestAttack(game, aiPlayerGame);
+    BotSnapshot snapshot = snapshot(aiPlayerGame);
+    BotMove decision = botStrategyService.forPlayer(aiPlayerGame).chooseAttack(snapshot);
 
     if (decision == null) {
       System.out.println(
@@ -178,20 +144,20 @@ public class AITurnService {
     }
 
     try {
+      Long fromTerritoryId = snapshot.graph().territoryIdOf(decision.source());
+      Long toTerritoryId = snapshot.graph().territoryIdOf(decision.target());
+
       // Cria a intenção de Ação
       AITurnAction intent =
           AITurnAction.builder()
               .type(ActionType.ATTACK)
-              .sourceTerritoryId(String.valueOf(decision.fromTerritoryId()))
-              .targetTerritoryId(String.valueOf(decision.toTerritoryId()))
-              .numberOfArmies(decision.numDice())
+              .sourceTerritoryId(String.valueOf(fromTerritoryId))
+              .targetTerritoryId(String.valueOf(toTerritoryId))
+              .numberOfArmies(decision.armies())
               .build();
 
       System.out.println(
-          "IA - Publicando INTENÇÃO de ATACAR "
-              + decision.toTerritoryId()
-              + " de "
-              + decision.fromTerritoryId());
+          "IA - Publicando INTENÇÃO de ATACAR " + toTerritoryId + " de " + fromTerritoryId);
 
       // Publica o Evento de Intenção de Ação
       publishActionIntent(gameId, aiUsername, ActionType.ATTACK, intent);
@@ -206,35 +172,14 @@ public class AITurnService {
 
   @Transactional
   private void executeFortificationPhase(Long gameId, String aiUsername) {
-    // Carregar o Estado do Jogo e Jogador
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada para IA."));
+    PlayerGame aiPlayerGame = loadAIPlayerGame(gameId, aiUsername);
 
-    Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
-
-    // Obter todos os GameTerritorys da IA
-    Set<GameTerritory> aiTerritories =
-        game.getGameTerritories().stream()
-            .filter(gt -> gt.getOwner() != null && gt.getOwner().equals(aiPlayerGame))
-            .collect(Collectors.toSet());
-
-    // Encontrar a Fonte e o Destino
-    GameTerritory source = findBestFortificationSource(aiTerritories, aiPlayerGame);
-    GameTerritory target = findBestFortificationTarget(aiTerritories, aiPlayerGame);
+    // Encontrar a Fonte, o Destino e a Quantidade
+    BotSnapshot snapshot = snapshot(aiPlayerGame);
+    BotMove move = botStrategyService.forPlayer(aiPlayerGame).fortify(snapshot);
 
     // Condição de Saída/Falha na Decisão
-    if (source == null || target == null || source.getId().equals(target.getId())) {
+    if (move == null) {
       System.out.println("IA - Não há movimento de fortificação ideal. Fim do Turno.");
 
       // Publica a intenção de PASSAR O TURNO
@@ -242,51 +187,26 @@ public class AITurnService {
       return;
     }
 
-    // Verificar se Fonte e Destino estão conectados
-    boolean isAdjacent =
-        territoryBorderRepository
-            .findByTerritoryIds(source.getTerritory().getId(), target.getTerritory().getId())
-            .isPresent();
-
-    if (!isAdjacent) {
-      System.out.println(
-          "AI - Fonte e Destino não são adjacentes. Publicando intenção de PASSAR TURNO.");
-      publishActionIntent(gameId, aiUsername, ActionType.PASS_TURN, null);
-      return;
-    }
-
-    // Quantidade a Mover (metade do exército da fonte)
-    int troopsToMove = source.getStaticArmies() / 2;
-
-    // Deve deixar pelo menos 1 exército na fonte
-    int maxMoveable = source.getStaticArmies() - 1;
-    troopsToMove = Math.min(troopsToMove, maxMoveable);
-
-    if (troopsToMove < 1) {
-      System.out.println(
-          "IA - Não há tropas suficientes para mover. Publicando intenção de PASSAR TURNO.");
-      publishActionIntent(gameId, aiUsername, ActionType.PASS_TURN, null);
-      return;
-    }
-
     try {
+      Long sourceTerritoryId = snapshot.graph().territoryIdOf(move.source());
+      Long targetTerritoryId = snapshot.graph().territoryIdOf(move.target());
 
       // Cria a intenção de Ação
       AITurnAction intent =
           AITurnAction.builder()
               .type(ActionType.FORTIFY)
-              .sourceTerritoryId(String.valueOf(source.getTerritory().getId()))
-              .targetTerritoryId(String.valueOf(target.getTerritory().getId()))
-              .numberOfArmies(troopsToMove)
+              .sourceTerritoryId(String.valueOf(sourceTerritoryId))
+              .targetTerritoryId(String.valueOf(targetTerritoryId))
+              .numberOfArmies(move.armies())
               .build();
 
       System.out.println(
           "IA - Publicando INTENÇÃO de FORTIFICAR: "
-              + troopsToMove
+              + move.armies()
               + " de "
-              + source.getTerritory().getName()
+              + sourceTerritoryId
               + " para "
-              + target.getTerritory().getName());
+              + targetTerritoryId);
 
       // Publica o Evento de Intenção de Ação
       publishActionIntent(gameId, aiUsername, ActionType.FORTIFY, intent);
@@ -302,22 +222,7 @@ public class AITurnService {
 
   @Transactional
   private void executeCardTradePhase(Long gameId, String aiUsername) {
-    // Carregar Game e PlayerGame (para tomar a decisão)
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada para IA."));
-
-    Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
+    PlayerGame aiPlayerGame = loadAIPlayerGame(gameId, aiUsername);
 
     Set<PlayerCard> playerCards = aiPlayerGame.getPlayerCards();
 
@@ -330,13 +235,17 @@ public class AITurnService {
     }
 
     // --- DECISÃO DE TROCA ---
-    List<Long> cardIdsToTrade = findBestCardSet(playerCards);
+    long[] cardIdsToTrade =
+        botStrategyService.forPlayer(aiPlayerGame).chooseCardTrade(snapshot(aiPlayerGame));
 
-    if (cardIdsToTrade.size() == 3) {
+    if (cardIdsToTrade.length == 3) {
       try {
         // Cria a intenção de Ação
         AITurnAction intent =
-            AITurnAction.builder().type(ActionType.CARD_TRADE).cardIds(cardIdsToTrade).build();
+            AITurnAction.builder()
+                .type(ActionType.CARD_TRADE)
+                .cardIds(Arrays.stream(cardIdsToTrade).boxed().toList())
+                .build();
 
         System.out.println("IA - Publicando INTENÇÃO de trocar um conjunto de cartas.");
 
@@ -359,186 +268,29 @@ public class AITurnService {
 
   // AUXILIARES ==================================
 
-  private int getRemainingArmies(Long gameId, Player aiPlayer) {
+  // Carrega o Game e o PlayerGame da IA (para tomar a decisão)
+  private PlayerGame loadAIPlayerGame(Long gameId, String aiUsername) {
     Game game =
         gameRepository
             .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
-    return aiPlayerGame.getUnallocatedArmies();
-  }
-
-  private GameTerritory findMostVulnerableTerritory(Set<GameTerritory> aiTerritories) {
-
-    GameTerritory mostVulnerable = null;
-    double highestVulnerabilityScore = -1.0;
-
-    for (GameTerritory gt : aiTerritories) {
-      if (gt.getStaticArmies() <= 1) continue;
-
-      // Encontrar o número de vizinhos inimigos
-      long enemyNeighbors =
-          gt.getTerritory().getNeighborTerritories().stream()
-              .map(
-                  neighborTerritory ->
-                      gt.getGame().getGameTerritories().stream()
-                          .filter(
-                              gtN -> gtN.getTerritory().getId().equals(neighborTerritory.getId()))
-                          .findFirst()
-                          .orElse(null))
-              .filter(
-                  gtNeighbor ->
-                      gtNeighbor != null
-                          && gtNeighbor.getOwner() != null
-                          && !gtNeighbor.getOwner().equals(gt.getOwner()))
-              .count();
-
-      if (enemyNeighbors == 0) continue; // Não é fronteira
-
-      // Cálculo do Score de Vulnerabilidade (quanto maior, mais tropas são necessárias) Score =
-      // (Total de Vizinhos Inimigos) / (Tropas Próprias)
-      double currentVulnerabilityScore = (double) enemyNeighbors / gt.getStaticArmies();
-
-      if (currentVulnerabilityScore > highestVulnerabilityScore) {
-        highestVulnerabilityScore = currentVulnerabilityScore;
-        mostVulnerable = gt;
-      }
-    }
-
-    return mostVulnerable;
-  }
-
-  private AttackDecision findBestAttack(Game game, PlayerGame aiPlayerGame) {
-
-    // Obter todos os territórios da IA que podem atacar (têm > 1 exército)
-    Set<GameTerritory> attackSources =
-        game.getGameTerritories().stream()
-            .filter(gt -> gt.getOwner() != null && gt.getOwner().equals(aiPlayerGame))
-            .filter(gt -> gt.getStaticArmies() > 1)
-            .collect(Collectors.toSet());
-
-    AttackDecision bestDecision = null;
-    double highestScore = 0.0;
-
-    // Iterar sobre todos os territórios de origem
-    for (GameTerritory source : attackSources) {
-
-      // Iterar sobre todos os vizinhos inimigos
-      Set<GameTerritory> enemyNeighbors = findEnemyNeighbors(game, source, aiPlayerGame);
-
-      for (GameTerritory target : enemyNeighbors) {
-
-        // Calcular os Dados e o Score
-        int attackingArmies = source.getStaticArmies() - 1;
-        int defendingArmies = target.getStaticArmies();
-
-        int numDice = Math.min(3, attackingArmies);
-
-        double currentScore = (double) attackingArmies / defendingArmies;
-
-        if (defendingArmies == 1) {
-          currentScore *= 2.0;
-        }
-
-        if (currentScore > highestScore && currentScore >= 1.5) {
-          highestScore = currentScore;
-          bestDecision =
-              new AttackDecision(
-                  source.getTerritory().getId(), target.getTerritory().getId(), numDice);
-        }
-      }
-    }
-
-    return bestDecision;
-  }
-
-  private Set<GameTerritory> findEnemyNeighbors(
-      Game game, GameTerritory source, PlayerGame aiPlayerGame) {
-    return source.getTerritory().getNeighborTerritories().stream()
-        .map(
-            neighborTerritory ->
-                game.getGameTerritories().stream()
-                    .filter(gtN -> gtN.getTerritory().getId().equals(neighborTerritory.getId()))
-                    .findFirst()
-                    .orElse(null))
-        .filter(
-            gtNeighbor ->
-                gtNeighbor != null
-                    && gtNeighbor.getOwner() != null
-                    && !gtNeighbor.getOwner().equals(aiPlayerGame))
-        .collect(Collectors.toSet());
-  }
-
-  private GameTerritory findBestFortificationSource(
-      Set<GameTerritory> aiTerritories, PlayerGame aiPlayerGame) {
-    // Filtra por territórios internos (que não fazem fronteira com o inimigo)
-    // Ordena pelo maior número de tropas.
-    return aiTerritories.stream()
-        .filter(gt -> isBorderTerritory(gt, aiPlayerGame.getId(), gt.getGame()) == false)
-        .max(Comparator.comparing(GameTerritory::getStaticArmies))
-        .orElse(null);
-  }
+            .orElseThrow(() -> new RuntimeException("Partida não encontrada para IA."));
 
-  private GameTerritory findBestFortificationTarget(
-      Set<GameTerritory> aiTerritories, PlayerGame aiPlayerGame) {
-    // Filtra por territórios que são fronteira com o inimigo.
-    // Ordena pelo menor número de tropas.
-    return aiTerritories.stream()
-        .filter(gt -> isBorderTerritory(gt, aiPlayerGame.getId(), gt.getGame()))
-        .min(Comparator.comparing(GameTerritory::getStaticArmies))
-        .orElse(null);
-  }
+    Player aiPlayer =
+        game.getPlayers().stream()
+            .filter(p -> p.getUsername().equals(aiUsername))
+            .findFirst()
+            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
 
-  private boolean isBorderTerritory(GameTerritory gt, Long aiPlayerGameId, Game game) {
-    return gt.getTerritory().getNeighborTerritories().stream()
-        .map(
-            neighborTerritory ->
-                game.getGameTerritories().stream()
-                    .filter(gtN -> gtN.getTerritory().getId().equals(neighborTerritory.getId()))
-                    .findFirst()
-                    .orElse(null))
-        .filter(gtNeighbor -> gtNeighbor != null && gtNeighbor.getOwner() != null)
-        .anyMatch(gtNeighbor -> !gtNeighbor.getOwner().getId().equals(aiPlayerGameId));
+    return playerGameRepository
+        .findByGameAndPlayer(game, aiPlayer)
+        .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
   }
 
-  private List<Long> findBestCardSet(Set<PlayerCard> playerCards) {
-    if (playerCards.size() < 3) {
-      return List.of();
-    }
-
-    // Agrupa as cartas por tipo
-    Map<CardType, List<PlayerCard>> cardsByType =
-        playerCards.stream().collect(Collectors.groupingBy(pc -> pc.getCard().getType()));
-
-    // Tenta encontrar 3 cartas do mesmo tipo
-    for (Map.Entry<CardType, List<PlayerCard>> entry : cardsByType.entrySet()) {
-      if (entry.getValue().size() >= 3) {
-        return entry.getValue().stream()
-            .limit(3)
-            .map(PlayerCard::getId)
-            .collect(Collectors.toList());
-      }
-    }
-
-    // Tenta encontrar 3 cartas de tipos diferentes
-    List<PlayerCard> infantry = cardsByType.getOrDefault(CardType.INFANTRY, List.of());
-    List<PlayerCard> cavalry = cardsByType.getOrDefault(CardType.CAVALRY, List.of());
-    List<PlayerCard> artillery = cardsByType.getOrDefault(CardType.CANNON, List.of());
-
-    if (infantry.size() >= 1 && cavalry.size() >= 1 && artillery.size() >= 1) {
-      // Encontrou 1 de cada.
-      return List.of(infantry.get(0).getId(), cavalry.get(0).getId(), artillery.get(0).getId());
-    }
-
-    return List.of();
+  // As decisões vêm do BotStrategy do nível do bot, sobre a partida lida uma vez só
+  private BotSnapshot snapshot(PlayerGame aiPlayerGame) {
+    return botStrategyService.snapshot(aiPlayerGame.getGame().getGameTerritories(), aiPlayerGame);
   }
 
-  private record AttackDecision(Long fromTerritoryId, Long toTerritoryId, int numDice) {}
-
   // EVENTO ==================================
 
   // Ouve o feedback de que uma ação foi executada e decide a próxima fase/ação.
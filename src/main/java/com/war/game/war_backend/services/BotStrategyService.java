@@ -0,0 +1,43 @@
+package com.war.game.war_backend.services;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.HeuristicBotStrategy;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.model.enums.PlayerType;
+
+/**
+ * Escolhe o {@link BotStrategy} do nível de cada bot e monta o {@link BotSnapshot} que ele vai
+ * usar. Níveis sem estratégia registrada jogam com a heurística.
+ */
+@Service
+public class BotStrategyService {
+
+  private final Map<PlayerType, BotStrategy> strategies = new EnumMap<>(PlayerType.class);
+  private final BotStrategy fallback;
+  private final TerritoryGraphService territoryGraphService;
+
+  public BotStrategyService(
+      List<BotStrategy> strategies, TerritoryGraphService territoryGraphService) {
+    strategies.forEach(strategy -> this.strategies.put(strategy.playerType(), strategy));
+    this.fallback = this.strategies.getOrDefault(PlayerType.AI_EASY, new HeuristicBotStrategy());
+    this.territoryGraphService = territoryGraphService;
+  }
+
+  public BotStrategy forPlayer(PlayerGame bot) {
+    return strategies.getOrDefault(bot.getPlayer().getType(), fallback);
+  }
+
+  /** Lê a partida do ponto de vista do bot, uma vez por decisão. */
+  public BotSnapshot snapshot(Collection<GameTerritory> territories, PlayerGame bot) {
+    return BotSnapshot.of(territoryGraphService.getGraph(), territories, bot);
+  }
+}
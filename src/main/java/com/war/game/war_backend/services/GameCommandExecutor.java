@@ -0,0 +1,133 @@
+package com.war.game.war_backend.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.war.game.war_backend.engine.GameState;
+
+/**
+ * Serializa os comandos de cada partida.
+ *
+ * <p>Cada partida ativa tem uma fila própria (um lock justo): os comandos da mesma partida rodam um
+ * de cada vez, na ordem de chegada, enquanto partidas diferentes seguem em paralelo. A vez é
+ * mantida até o fim da transação do comando, então o próximo comando só começa depois que o
+ * anterior foi confirmado ou desfeito. Isso substitui travas no banco ({@code SELECT ... FOR
+ * UPDATE}) para as ações de jogo.
+ *
+ * <p>Se a transação é desfeita, o {@link GameState} em memória pode ter alterações que o banco não
+ * tem. Ainda na vez da partida, o que já estava confirmado na fila do write-behind é gravado e o
+ * estado sai do {@link GameStateStore}; o próximo comando o recarrega do banco.
+ */
+@Service
+public class GameCommandExecutor {
+
+  private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+  private final GameStateStore gameStateStore;
+  private final GameStateWriteBehind gameStateWriteBehind;
+  private final long timeoutMs;
+
+  public GameCommandExecutor(
+      GameStateStore gameStateStore,
+      GameStateWriteBehind gameStateWriteBehind,
+      @Value("${app.game-commands.lock-timeout-ms:10000}") long timeoutMs) {
+    this.gameStateStore = gameStateStore;
+    this.gameStateWriteBehind = gameStateWriteBehind;
+    this.timeoutMs = timeoutMs;
+  }
+
+  /**
+   * Aguarda a vez da partida e a mantém até o fim da transação atual. Chamadas repetidas na mesma
+   * transação (um comando que chama outro) não bloqueiam.
+   */
+  public void acquire(Long gameId) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      throw new IllegalStateException("Comandos de partida devem rodar dentro de uma transação.");
+    }
+
+    Mailbox mailbox = lock(gameId);
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            try {
+              if (status != STATUS_COMMITTED) {
+                discard(gameId);
+              }
+            } finally {
+              mailbox.lock.unlock();
+              leave(gameId);
+            }
+          }
+        });
+  }
+
+  /**
+   * Roda {@code reader} na vez da partida, fora de transação: a leitura espera o comando em
+   * andamento ser confirmado ou desfeito e nunca vê o {@link GameState} pela metade. Dentro de um
+   * comando da mesma partida não bloqueia.
+   */
+  public <T> T read(Long gameId, Supplier<T> reader) {
+    Mailbox mailbox = lock(gameId);
+    try {
+      return reader.get();
+    } finally {
+      mailbox.lock.unlock();
+      leave(gameId);
+    }
+  }
+
+  private Mailbox lock(Long gameId) {
+    Mailbox mailbox = enter(gameId);
+    boolean locked = false;
+    try {
+      locked = mailbox.lock.tryLock(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    if (!locked) {
+      leave(gameId);
+      throw new RuntimeException("A partida está processando outra ação. Tente novamente.");
+    }
+    return mailbox;
+  }
+
+  // Ação desfeita: descarta o estado em memória, depois de gravar o que já estava confirmado
+  private void discard(Long gameId) {
+    try {
+      gameStateWriteBehind.flushQueued(gameId);
+    } finally {
+      gameStateStore.evict(gameId);
+    }
+    System.out.println("Partida " + gameId + " - Ação desfeita, estado descartado da memória.");
+  }
+
+  private Mailbox enter(Long gameId) {
+    return mailboxes.compute(
+        gameId,
+        (id, current) -> {
+          Mailbox mailbox = current != null ? current : new Mailbox();
+          mailbox.users++;
+          return mailbox;
+        });
+  }
+
+  // A fila é descartada quando ninguém mais a usa, para não acumular partidas encerradas
+  private void leave(Long gameId) {
+    mailboxes.computeIfPresent(gameId, (id, mailbox) -> --mailbox.users == 0 ? null : mailbox);
+  }
+
+  private static final class Mailbox {
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private int users;
+  }
+}
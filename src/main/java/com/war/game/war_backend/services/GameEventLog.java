@@ -0,0 +1,163 @@
+package com.war.game.war_backend.services;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameStateChanges;
+import com.war.game.war_backend.engine.GameStateSnapshot;
+import com.war.game.war_backend.model.GameEventBatch;
+import com.war.game.war_backend.model.GameSnapshot;
+import com.war.game.war_backend.repository.GameEventBatchRepository;
+import com.war.game.war_backend.repository.GameSnapshotRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Log de eventos das partidas, somente de inserção.
+ *
+ * <p>Os eventos chegam em lotes pelo write-behind, na mesma transação das linhas que eles alteram:
+ * cada gravação vira uma única linha em {@code game_event_batch}, com os eventos em JSON. Os
+ * snapshots vão para {@code game_snapshot}. Qualquer ponto da partida é reconstruído pelo último
+ * snapshot até ele mais os eventos seguintes.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameEventLog {
+
+  private static final String INSERT_BATCH =
+      "INSERT INTO game_event_batch (game_id, first_seq, last_seq, created_at, payload)"
+          + " VALUES (?, ?, ?, ?, ?)";
+  private static final String INSERT_SNAPSHOT =
+      "INSERT INTO game_snapshot (game_id, seq, created_at, payload) VALUES (?, ?, ?, ?)";
+
+  private static final TypeReference<List<GameEvent>> EVENT_LIST = new TypeReference<>() {};
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ObjectMapper objectMapper;
+  private final GameEventBatchRepository gameEventBatchRepository;
+  private final GameSnapshotRepository gameSnapshotRepository;
+
+  /** Grava os eventos e o snapshot do lote. Deve rodar na transação que grava as linhas. */
+  public void append(GameStateChanges changes) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+    List<GameEvent> events = changes.events();
+    if (!events.isEmpty()) {
+      jdbcTemplate.update(
+          INSERT_BATCH,
+          changes.gameId(),
+          events.get(0).seq(),
+          events.get(events.size() - 1).seq(),
+          now,
+          toJson(events));
+    }
+
+    GameStateSnapshot snapshot = changes.snapshot();
+    if (snapshot != null) {
+      jdbcTemplate.update(INSERT_SNAPSHOT, changes.gameId(), snapshot.seq(), now, toJson(snapshot));
+    }
+  }
+
+  /** O lote sem os eventos e o snapshot que já estão no banco (reaplicação do journal). */
+  public GameStateChanges withoutRecorded(GameStateChanges changes) {
+    return changes.withoutRecorded(
+        gameEventBatchRepository.findLastSeq(changes.gameId()),
+        gameSnapshotRepository.findLastSeq(changes.gameId()));
+  }
+
+  /** Último evento gravado da partida (0 se nenhum). */
+  public long lastSeq(Long gameId) {
+    return gameEventBatchRepository.findLastSeq(gameId);
+  }
+
+  /** Eventos da partida no intervalo (afterSeq, upToSeq], em ordem. */
+  public List<GameEvent> events(Long gameId, long afterSeq, long upToSeq) {
+    List<GameEvent> events = new ArrayList<>();
+    for (GameEventBatch batch : gameEventBatchRepository.findCovering(gameId, afterSeq, upToSeq)) {
+      for (GameEvent event : fromJson(batch.getPayload(), EVENT_LIST)) {
+        if (event.seq() > afterSeq && event.seq() <= upToSeq) {
+          events.add(event);
+        }
+      }
+    }
+    return events;
+  }
+
+  /**
+   * Estado da partida depois do evento {@code upToSeq}: o último snapshot até esse ponto mais os
+   * eventos seguintes. Vazio se a partida não tem snapshot anterior.
+   */
+  public Optional<GameStateSnapshot> replay(Long gameId, long upToSeq) {
+    Optional<GameSnapshot> stored =
+        gameSnapshotRepository.findFirstByGameIdAndSeqLessThanEqualOrderBySeqDesc(gameId, upToSeq);
+    if (stored.isEmpty()) {
+      return Optional.empty();
+    }
+
+    GameStateSnapshot snapshot = fromJson(stored.get().getPayload(), GameStateSnapshot.class);
+    return Optional.of(snapshot.replay(events(gameId, snapshot.seq(), upToSeq)));
+  }
+
+  public Optional<GameStateSnapshot> replay(Long gameId) {
+    return replay(gameId, Long.MAX_VALUE);
+  }
+
+  /** Primeiro snapshot da partida, ponto de partida para reproduzi-la do início. */
+  public Optional<GameStateSnapshot> firstSnapshot(Long gameId) {
+    return gameSnapshotRepository
+        .findFirstByGameIdOrderBySeqAsc(gameId)
+        .map(stored -> fromJson(stored.getPayload(), GameStateSnapshot.class));
+  }
+
+  /**
+   * Eventos seguintes a {@code afterSeq}, lidos de no máximo {@code batches} lotes. Para percorrer
+   * a partida inteira, chame de novo a partir do último evento devolvido até vir uma lista vazia.
+   */
+  public List<GameEvent> nextEvents(Long gameId, long afterSeq, int batches) {
+    List<GameEvent> events = new ArrayList<>();
+    for (GameEventBatch batch :
+        gameEventBatchRepository.findAfter(gameId, afterSeq, PageRequest.of(0, batches))) {
+      for (GameEvent event : fromJson(batch.getPayload(), EVENT_LIST)) {
+        if (event.seq() > afterSeq) {
+          events.add(event);
+        }
+      }
+    }
+    return events;
+  }
+
+  private String toJson(Object value) {
+    try {
+      return objectMapper.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Erro ao serializar eventos da partida: " + e.getMessage(), e);
+    }
+  }
+
+  private <T> T fromJson(String json, Class<T> type) {
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Erro ao ler eventos da partida: " + e.getMessage(), e);
+    }
+  }
+
+  private <T> T fromJson(String json, TypeReference<T> type) {
+    try {
+      return objectMapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Erro ao ler eventos da partida: " + e.getMessage(), e);
+    }
+  }
+}
@@ -0,0 +1,181 @@
+package com.war.game.war_backend.services;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.war.game.war_backend.controller.dto.response.GameHistoryPageDto;
+import com.war.game.war_backend.controller.dto.response.GameHistoryPageDto.GameSummaryDto;
+import com.war.game.war_backend.controller.dto.response.GameHistoryPageDto.PlayerSummaryDto;
+import com.war.game.war_backend.model.enums.GameStatus;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Histórico de partidas finalizadas, paginado por cursor (created_at, pk_id) em vez de offset: cada
+ * página é uma leitura do índice (status, created_at, pk_id) a partir do fim da anterior, com custo
+ * constante em qualquer ponto do histórico. Só as colunas do resumo são lidas; territórios e cartas
+ * das partidas não são carregados.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameHistoryService {
+
+  public static final int MAX_PAGE_SIZE = 100;
+
+  private static final String SELECT_GAMES =
+      "SELECT g.pk_id, g.name, g.created_at, g.started_at, g.finished_at,"
+          + " w.pk_id AS winner_id, w.player_id AS winner_player_id,"
+          + " w.username AS winner_username, w.color AS winner_color,"
+          + " w.still_in_game AS winner_still_in_game"
+          + " FROM game g LEFT JOIN player_game w ON w.pk_id = g.winner_id"
+          + " WHERE g.status = ?";
+  private static final String AFTER_CURSOR = " AND (g.created_at, g.pk_id) < (?, ?)";
+  private static final String WITH_PLAYER =
+      " AND EXISTS (SELECT 1 FROM player_game pg"
+          + " WHERE pg.game_id = g.pk_id AND pg.player_id = ?)";
+  private static final String ORDER_AND_LIMIT = " ORDER BY g.created_at DESC, g.pk_id DESC LIMIT ?";
+
+  private static final String SELECT_PLAYERS =
+      "SELECT pk_id, game_id, player_id, username, color, still_in_game FROM player_game"
+          + " WHERE game_id IN (:gameIds) ORDER BY game_id, turn_order";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  /**
+   * Uma página do histórico.
+   *
+   * @param cursor {@code nextCursor} da página anterior, ou nulo para a primeira página
+   * @param size quantidade de partidas (limitada a {@link #MAX_PAGE_SIZE})
+   * @param playerId se informado, só partidas de que esse jogador participou
+   */
+  public GameHistoryPageDto findFinished(String cursor, int size, Long playerId) {
+    int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+
+    StringBuilder sql = new StringBuilder(SELECT_GAMES);
+    List<Object> args = new ArrayList<>();
+    args.add(GameStatus.FINISHED.name());
+
+    if (cursor != null && !cursor.isBlank()) {
+      Cursor position = Cursor.decode(cursor);
+      sql.append(AFTER_CURSOR);
+      args.add(Timestamp.valueOf(position.createdAt()));
+      args.add(position.id());
+    }
+    if (playerId != null) {
+      sql.append(WITH_PLAYER);
+      args.add(playerId);
+    }
+    sql.append(ORDER_AND_LIMIT);
+    // Uma partida a mais só para saber se existe próxima página
+    args.add(pageSize + 1);
+
+    List<GameSummaryDto> games = jdbcTemplate.query(sql.toString(), this::mapGame, args.toArray());
+
+    String nextCursor = null;
+    if (games.size() > pageSize) {
+      games = new ArrayList<>(games.subList(0, pageSize));
+      GameSummaryDto last = games.get(games.size() - 1);
+      nextCursor = new Cursor(last.getCreatedAt(), last.getId()).encode();
+    }
+
+    attachPlayers(games);
+    return new GameHistoryPageDto(games, nextCursor);
+  }
+
+  // Jogadores de todas as partidas da página em uma única consulta
+  private void attachPlayers(List<GameSummaryDto> games) {
+    if (games.isEmpty()) return;
+
+    Map<Long, GameSummaryDto> byId = new LinkedHashMap<>();
+    games.forEach(game -> byId.put(game.getId(), game));
+
+    namedParameterJdbcTemplate.query(
+        SELECT_PLAYERS,
+        Map.of("gameIds", byId.keySet()),
+        rs -> {
+          byId.get(rs.getLong("game_id"))
+              .getPlayers()
+              .add(
+                  new PlayerSummaryDto(
+                      rs.getLong("pk_id"),
+                      rs.getLong("player_id"),
+                      rs.getString("username"),
+                      rs.getString("color"),
+                      rs.getBoolean("still_in_game")));
+        });
+  }
+
+  private GameSummaryDto mapGame(ResultSet rs, int rowNum) throws SQLException {
+    LocalDateTime createdAt = toLocalDateTime(rs.getTimestamp("created_at"));
+    LocalDateTime startedAt = toLocalDateTime(rs.getTimestamp("started_at"));
+    LocalDateTime finishedAt = toLocalDateTime(rs.getTimestamp("finished_at"));
+
+    Long durationSeconds =
+        startedAt != null && finishedAt != null
+            ? Duration.between(startedAt, finishedAt).getSeconds()
+            : null;
+
+    long winnerId = rs.getLong("winner_id");
+    PlayerSummaryDto winner =
+        rs.wasNull()
+            ? null
+            : new PlayerSummaryDto(
+                winnerId,
+                rs.getLong("winner_player_id"),
+                rs.getString("winner_username"),
+                rs.getString("winner_color"),
+                rs.getBoolean("winner_still_in_game"));
+
+    return new GameSummaryDto(
+        rs.getLong("pk_id"),
+        rs.getString("name"),
+        createdAt,
+        startedAt,
+        finishedAt,
+        durationSeconds,
+        winner,
+        new ArrayList<>());
+  }
+
+  private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+    return timestamp != null ? timestamp.toLocalDateTime() : null;
+  }
+
+  // Posição no histórico: a última partida da página anterior
+  record Cursor(LocalDateTime createdAt, Long id) {
+
+    String encode() {
+      String raw = createdAt + "|" + id;
+      return Base64.getUrlEncoder()
+          .withoutPadding()
+          .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String cursor) {
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.lastIndexOf('|');
+        return new Cursor(
+            LocalDateTime.parse(raw.substring(0, separator)),
+            Long.valueOf(raw.substring(separator + 1)));
+      } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+        throw new RuntimeException("Cursor de histórico inválido.");
+      }
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package com.war.game.war_backend.services;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.war.game.war_backend.controller.dto.response.ReplayFrameDto;
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameReplay;
+import com.war.game.war_backend.engine.GameStateSnapshot;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.enums.GameStatus;
+import com.war.game.war_backend.repository.GameRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Reprodução de partidas finalizadas a partir do log de eventos. Os eventos são lidos em páginas e
+ * enviados um a um; em memória fica só o estado corrente da partida reproduzida.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameReplayService {
+
+  // Lotes do log lidos por consulta
+  private static final int BATCHES_PER_PAGE = 50;
+
+  private final GameRepository gameRepository;
+  private final GameEventLog gameEventLog;
+
+  /** Destino dos quadros da reprodução (por exemplo, a resposta HTTP). */
+  @FunctionalInterface
+  public interface FrameSink {
+    void send(ReplayFrameDto frame) throws IOException;
+  }
+
+  /** Valida a partida e devolve o estado de onde a reprodução começa. */
+  public GameStateSnapshot start(Long gameId) {
+    Game game =
+        gameRepository
+            .findById(gameId)
+            .orElseThrow(() -> new RuntimeException("Jogo não encontrado."));
+
+    if (!GameStatus.FINISHED.name().equals(game.getStatus())) {
+      throw new RuntimeException("Apenas partidas finalizadas podem ser reproduzidas.");
+    }
+
+    return gameEventLog
+        .firstSnapshot(gameId)
+        .orElseThrow(() -> new RuntimeException("A partida não tem eventos registrados."));
+  }
+
+  /**
+   * Envia a partida do turno {@code fromTurn} até {@code toTurn} (inclusive; nulo para ir até o
+   * fim). O primeiro quadro é o estado no início de {@code fromTurn}; os turnos anteriores são
+   * reaplicados sem ser enviados.
+   */
+  public void stream(GameStateSnapshot start, int fromTurn, Integer toTurn, FrameSink sink)
+      throws IOException {
+    GameReplay replay = new GameReplay(start);
+    boolean seeking = fromTurn > 0;
+    if (!seeking) {
+      sink.send(ReplayFrameDto.state(0, start));
+    }
+
+    long afterSeq = start.seq();
+    List<GameEvent> page;
+    while (!(page = gameEventLog.nextEvents(start.gameId(), afterSeq, BATCHES_PER_PAGE))
+        .isEmpty()) {
+      for (GameEvent event : page) {
+        int turn = replay.startsTurn(event) ? replay.turn() + 1 : replay.turn();
+        if (toTurn != null && turn > toTurn) return;
+
+        if (seeking && turn >= fromTurn) {
+          sink.send(ReplayFrameDto.state(turn, replay.snapshot()));
+          seeking = false;
+        }
+
+        replay.apply(event);
+        if (!seeking) {
+          sink.send(ReplayFrameDto.event(turn, event));
+        }
+      }
+      afterSeq = replay.seq();
+    }
+  }
+}
@@ -2,14 +2,16 @@ package com.war.game.war_backend.services;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
@@ -24,7 +26,16 @@ import org.springframework.transaction.event.TransactionPhase;
 import org.springframework.transaction.event.TransactionalEventListener;
 
 import com.war.game.war_backend.controller.dto.request.AttackRequestDto;
-import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
+import com.war.game.war_backend.controller.dto.request.BlitzAttackRequestDto;
+import com.war.game.war_backend.engine.CombatKernel;
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameRules;
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.ObjectiveRule;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.BotStrategy.BotMove;
 import com.war.game.war_backend.events.AIActionExecutedEvent;
 import com.war.game.war_backend.events.AIActionIntentEvent;
 import com.war.game.war_backend.events.AIActionRequestedEvent;
@@ -39,7 +50,6 @@ import com.war.game.war_backend.model.Player;
 import com.war.game.war_backend.model.PlayerCard;
 import com.war.game.war_backend.model.PlayerGame;
 import com.war.game.war_backend.model.Territory;
-import com.war.game.war_backend.model.enums.CardType;
 import com.war.game.war_backend.model.enums.GameConstants;
 import com.war.game.war_backend.model.enums.GameStatus;
 import com.war.game.war_backend.model.enums.PlayerType;
@@ -50,7 +60,6 @@ import com.war.game.war_backend.repository.ObjectiveRepository;
 import com.war.game.war_backend.repository.PlayerCardRepository;
 import com.war.game.war_backend.repository.PlayerGameRepository;
 import com.war.game.war_backend.repository.PlayerRepository;
-import com.war.game.war_backend.repository.TerritoryBorderRepository;
 import com.war.game.war_backend.repository.TerritoryRepository;
 
 import lombok.RequiredArgsConstructor;
@@ -68,36 +77,23 @@ public class GameService {
   private final GameTerritoryRepository gameTerritoryRepository;
   private final PlayerCardRepository playerCardRepository;
   private final CardRepository cardRepository;
-  private final TerritoryBorderRepository territoryBorderRepository;
+  private final TerritoryGraphService territoryGraphService;
+  private final RulesCatalogService rulesCatalogService;
   private final WinConditionService winConditionService;
   private final PlayerRepository playerRepository;
+  private final GameStateStore gameStateStore;
+  private final GameStateWriteBehind gameStateWriteBehind;
+  private final GameCommandExecutor gameCommandExecutor;
+  private final GameStateBroadcaster gameStateBroadcaster;
+  private final LobbyIndex lobbyIndex;
 
   @Autowired private final ApplicationEventPublisher eventPublisher;
 
   private final SimpMessagingTemplate messagingTemplate;
   private final PlayerService playerService;
+  private final BotStrategyService botStrategyService;
   private final Random random = new Random();
 
-  // Bônus por continente (inglês)
-  private static final Map<String, Integer> CONTINENT_BONUSES =
-      Map.of(
-          "Asia", 7,
-          "North America", 5,
-          "Europe", 5,
-          "Africa", 3,
-          "South America", 2,
-          "Oceania", 2);
-
-  // Mapeamento de nomes de continentes do banco (português) para inglês
-  private static final Map<String, String> CONTINENT_NAME_MAP =
-      Map.ofEntries(
-          Map.entry("América do Norte", "North America"),
-          Map.entry("América do Sul", "South America"),
-          Map.entry("Europa", "Europe"),
-          Map.entry("África", "Africa"),
-          Map.entry("Ásia", "Asia"),
-          Map.entry("Oceania", "Oceania"));
-
   // Método auxiliar para remover jogador de lobbies ativos
   @Transactional
   public void removePlayerFromActiveLobbies(Player player) {
@@ -106,6 +102,7 @@ public class GameService {
 
     for (PlayerGame activeLobbyPlayerGame : activeLobbies) {
       Game activeLobby = activeLobbyPlayerGame.getGame();
+      gameCommandExecutor.acquire(activeLobby.getId());
       boolean wasOwner = activeLobbyPlayerGame.getIsOwner();
       Long lobbyId = activeLobby.getId();
       Long playerGameIdToDelete = activeLobbyPlayerGame.getId();
@@ -134,14 +131,17 @@ public class GameService {
 
           // Envia notificação WebSocket usando os jogadores atualizados do banco
           notifyLobbyUpdateWithPlayers(lobbyId, remainingPlayers);
+          lobbyIndex.update(activeLobby, remainingPlayers.size());
         } else {
           // Se não houver mais jogadores, exclui o lobby
           gameRepository.deleteById(lobbyId);
           gameRepository.flush();
+          lobbyIndex.remove(lobbyId);
         }
       } else {
         // Jogador comum saiu, notifica o lobby usando os jogadores atualizados
         notifyLobbyUpdateWithPlayers(lobbyId, remainingPlayers);
+        lobbyIndex.update(activeLobby, remainingPlayers.size());
       }
     }
   }
@@ -195,20 +195,12 @@ public class GameService {
     playerGameRepository.save(creatorPlayerGame);
 
     newGame.getPlayerGames().add(creatorPlayerGame);
+    lobbyIndex.update(newGame);
 
     return newGame;
   }
 
-  public List<Game> findAllLobbies() {
-    return gameRepository.findByStatusWithPlayers(GameStatus.LOBBY.name());
-  }
-
-  /** Retorna partidas finalizadas (status = FINISHED). */
   @Transactional(readOnly = true)
-  public List<Game> findFinishedGames() {
-    return gameRepository.findByStatus(GameStatus.FINISHED.name());
-  }
-
   public Game findCurrentGameForPlayer(Player player) {
     // Busca qualquer jogo ativo do jogador (lobby ou em andamento)
     List<PlayerGame> activeGames = playerGameRepository.findByPlayerAndStillInGame(player, true);
@@ -218,18 +210,38 @@ public class GameService {
     }
 
     // Retorna o jogo mais recente (último criado)
-    return activeGames.stream()
-        .map(PlayerGame::getGame)
-        .filter(
-            game ->
-                !GameStatus.FINISHED.name().equals(game.getStatus())
-                    && !GameStatus.CANCELED.name().equals(game.getStatus()))
-        .max((g1, g2) -> g1.getCreatedAt().compareTo(g2.getCreatedAt()))
-        .orElse(null);
+    Game current =
+        activeGames.stream()
+            .map(PlayerGame::getGame)
+            .filter(
+                game ->
+                    !GameStatus.FINISHED.name().equals(game.getStatus())
+                        && !GameStatus.CANCELED.name().equals(game.getStatus()))
+            .max((g1, g2) -> g1.getCreatedAt().compareTo(g2.getCreatedAt()))
+            .orElse(null);
+
+    if (current == null) {
+      return null;
+    }
+
+    // Partidas em andamento são servidas a partir do estado em memória
+    return gameStateStore.find(current.getId()).map(GameState::getGame).orElse(current);
   }
 
   @Transactional
   public Game addPlayerToLobby(Long lobbyId, Player player) {
+    // O jogador sai do lobby atual e entra no novo: os dois são travados em ordem de id, para dois
+    // jogadores trocando de lobby não esperarem um pelo outro
+    Stream.concat(
+            Stream.of(lobbyId),
+            playerGameRepository
+                .findByPlayerAndGame_Status(player, GameStatus.LOBBY.name())
+                .stream()
+                .map(pg -> pg.getGame().getId()))
+        .distinct()
+        .sorted()
+        .forEach(gameCommandExecutor::acquire);
+
     Game game =
         gameRepository
             .findByIdWithPlayers(lobbyId)
@@ -287,12 +299,14 @@ public class GameService {
     playerGameRepository.save(newPlayerGame);
 
     game.getPlayerGames().add(newPlayerGame);
+    lobbyIndex.update(game);
 
     return game;
   }
 
   @Transactional
   public Game removePlayerFromLobby(Long lobbyId, Player player) {
+    gameCommandExecutor.acquire(lobbyId);
     Game game =
         gameRepository
             .findById(lobbyId)
@@ -330,39 +344,36 @@ public class GameService {
       } else {
         // Se não houver mais jogadores, o lobby é excluído
         gameRepository.delete(game);
+        lobbyIndex.remove(lobbyId);
         return null; // Retorna null para sinalizar que o lobby foi excluído
       }
     }
 
+    lobbyIndex.update(game);
     return game;
   }
 
   @Transactional
   public Game removePlayerFromGame(Long gameId, Player player) {
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Jogo não encontrado."));
+    gameCommandExecutor.acquire(gameId);
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
 
     // Encontra o PlayerGame do jogador
     PlayerGame playerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, player)
+        state
+            .findPlayerByPlayerId(player.getId())
             .orElseThrow(() -> new RuntimeException("Jogador não está neste jogo."));
 
     // Marca o jogador como fora do jogo (stillInGame = false)
     playerGame.setStillInGame(false);
-    playerGameRepository.save(playerGame);
+    state.markPlayerDirty(playerGame);
 
     // Se era o turno desse jogador, passa para o próximo
     if (game.getTurnPlayer() != null && game.getTurnPlayer().getId().equals(playerGame.getId())) {
 
-      // Busca próximo jogador ativo
-      List<PlayerGame> activePlayers =
-          playerGameRepository.findByGame(game).stream()
-              .filter(PlayerGame::getStillInGame)
-              .sorted(Comparator.comparing(PlayerGame::getTurnOrder))
-              .collect(Collectors.toList());
+      // Busca próximo jogador ativo (já ordenados por turnOrder)
+      List<PlayerGame> activePlayers = state.getActivePlayers();
 
       if (!activePlayers.isEmpty()) {
         // Encontra o próximo jogador na ordem
@@ -381,58 +392,39 @@ public class GameService {
 
         PlayerGame nextPlayer = activePlayers.get(currentIndex);
         game.setTurnPlayer(nextPlayer);
-        gameRepository.save(game);
       } else {
         // Não há mais jogadores ativos, finaliza o jogo
         game.setStatus(GameStatus.FINISHED.name());
-        gameRepository.save(game);
       }
+      state.markGameDirty();
     }
 
     // Transfere territórios do jogador que saiu para jogadores ativos
-    List<GameTerritory> playerTerritories =
-        gameTerritoryRepository.findByGameAndOwner(game, playerGame);
+    List<GameTerritory> playerTerritories = state.getTerritoriesOwnedBy(playerGame);
 
     if (!playerTerritories.isEmpty()) {
-      List<PlayerGame> activePlayers =
-          playerGameRepository.findByGame(game).stream()
-              .filter(PlayerGame::getStillInGame)
-              .collect(Collectors.toList());
+      List<PlayerGame> activePlayers = state.getActivePlayers();
 
       if (!activePlayers.isEmpty()) {
         // Distribui territórios entre jogadores ativos de forma round-robin
         int playerIndex = 0;
         for (GameTerritory territory : playerTerritories) {
           territory.setOwner(activePlayers.get(playerIndex));
-          gameTerritoryRepository.save(territory);
+          state.markTerritoryDirty(territory);
 
           playerIndex = (playerIndex + 1) % activePlayers.size();
         }
       }
     }
+    state.recordEvent(GameEvent.Type.PLAYER_LEFT, playerGame, Map.of());
 
-    // Verifica se só restou 1 jogador ativo (vencedor)
-    long activePlayersCount =
-        playerGameRepository.findByGame(game).stream().filter(PlayerGame::getStillInGame).count();
-
-    if (activePlayersCount == 1) {
-      // Encontra o vencedor
-      PlayerGame winner =
-          playerGameRepository.findByGame(game).stream()
-              .filter(PlayerGame::getStillInGame)
-              .findFirst()
-              .orElseThrow(() -> new RuntimeException("Erro ao determinar vencedor."));
-
-      // Dispara evento de vitória por eliminação
-      if (winConditionService.checkWinConditions(game, winner)) {
-        System.out.println("Vitória por eliminação.");
-      }
+    // Com um único jogador restante ele vence por sobrevivência; os territórios redistribuídos
+    // também podem completar o objetivo de quem os recebeu
+    if (GameState.isLiveStatus(game.getStatus())) {
+      checkGameEnd(state);
     }
 
-    game =
-        gameRepository
-            .findById(game.getId())
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+    gameStateWriteBehind.markDirty(state);
 
     return game;
   }
@@ -449,6 +441,20 @@ public class GameService {
     }
   }
 
+  public static class BlitzResult {
+    /** Rodadas do cerco, na ordem, empacotadas pelo {@link CombatKernel}. */
+    public final List<Long> rounds;
+
+    public final boolean conquered;
+    public final Game game;
+
+    public BlitzResult(List<Long> rounds, boolean conquered, Game game) {
+      this.rounds = rounds;
+      this.conquered = conquered;
+      this.game = game;
+    }
+  }
+
   // Ouve as intenções de ação da IA (GameService é o Executor).
   @EventListener
   public void handleAIActionIntent(AIActionIntentEvent event) {
@@ -520,6 +526,7 @@ public class GameService {
 
   @Transactional
   public Game startGame(Long gameId, String initiatingUsername) {
+    gameCommandExecutor.acquire(gameId);
     Game game =
         gameRepository
             .findById(gameId)
@@ -553,7 +560,7 @@ public class GameService {
     }
 
     // Cálculo e Atribuição de Tropas
-    int initialTroops = calculateInitialTroops(playerGames.size());
+    int initialTroops = GameRules.initialTroops(playerGames.size());
 
     for (PlayerGame pg : playerGames) {
       pg.setUnallocatedArmies(initialTroops);
@@ -581,23 +588,60 @@ public class GameService {
             .orElseThrow(() -> new RuntimeException("Erro ao definir o primeiro jogador."));
 
     game.setStatus(GameStatus.SETUP_ALLOCATION.name());
+    game.setStartedAt(LocalDateTime.now());
 
     game.setTurnPlayer(firstPlayer);
 
+    Game savedGame = gameRepository.save(game);
+    lobbyIndex.remove(savedGame.getId());
+
+    // A partir daqui a partida é servida pelo estado em memória
+    gameStateStore.evict(savedGame.getId());
+    GameState state = loadState(savedGame.getId());
+    // O baralho embaralhado na carga é gravado junto com o início da partida
+    gameStateWriteBehind.markDirty(state);
+
     if (firstPlayer.getPlayer().getType() != PlayerType.HUMAN) {
-      Game savedGame = gameRepository.save(game);
-      // Dispara o turno da IA assíncronamente
-      return this.executeAIAction(savedGame.getId(), firstPlayer.getPlayer().getUsername());
+      // Agenda o turno da IA
+      requestAIAction(savedGame.getId(), firstPlayer.getPlayer().getUsername());
     }
-    return gameRepository.save(game);
+    return state.getGame();
+  }
+
+  // A próxima ação da IA roda em transação própria, agendada pelo AITurnScheduler após o commit
+  private void requestAIAction(Long gameId, String aiUsername) {
+    eventPublisher.publishEvent(new AIActionRequestedEvent(gameId, aiUsername));
+  }
+
+  // Carrega o estado em memória da partida
+  private GameState loadState(Long gameId) {
+    GameState state =
+        gameStateStore
+            .get(gameId)
+            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+
+    // O que esta transação alterar na partida vai para os jogadores como delta após o commit
+    gameStateBroadcaster.publishAfterCommit(state);
+    return state;
+  }
+
+  /** Versão atual do estado da partida em memória (0 se a partida não estiver em memória). */
+  public long getStateVersion(Long gameId) {
+    return gameStateStore.find(gameId).map(GameState::getVersion).orElse(0L);
+  }
+
+  // Busca o PlayerGame do jogador no estado em memória da partida
+  private PlayerGame findPlayerInGame(GameState state, String username) {
+    return state
+        .findPlayerByUsername(username)
+        .orElseThrow(() -> new RuntimeException("Jogador não está na partida."));
   }
 
   @Transactional // A mesma para alocação inicial e de reforço
   public Game allocateTroops(Long gameId, String username, Long territoryId, Integer count) {
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+    gameCommandExecutor.acquire(gameId);
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
 
     String currentStatus = game.getStatus();
 
@@ -609,20 +653,7 @@ public class GameService {
           "SETUP_ALLOCATION ou REINFORCEMENT");
     }
 
-    Player player = playerService.getPlayerByUsername(username);
-    PlayerGame currentPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, player)
-            .orElseThrow(() -> new RuntimeException("Jogador não está na partida."));
-
-    /*
-    for (PlayerGame playerGame : game.getPlayerGames()){
-      if(winConditionService.checkWinConditions(game, playerGame)){
-        game.setStatus(GameStatus.FINISHED.name());
-        return game;
-      }
-    }
-    */
+    PlayerGame currentPlayerGame = findPlayerInGame(state, username);
 
     System.out.println(username + " esta alocando " + count + " tropas em " + territoryId);
 
@@ -641,21 +672,10 @@ public class GameService {
 
     // ENCONTRAR E VALIDAR O TERRITÓRIO
     GameTerritory gameTerritory =
-        gameTerritoryRepository
-            .findByGameAndTerritoryId(game, territoryId)
+        state
+            .findTerritory(territoryId)
             .orElseThrow(() -> new RuntimeException("Território não encontrado nesta partida."));
-    /*
-    System.out.println("\n--- VALIDAÇÃO DE POSSE (ALOCAÇÃO) ---");
-    System.out.println("GameTerritory encontrado:");
-    System.out.println("  - GameTerritory ID: " + gameTerritory.getId());
-    System.out.println("  - Territory ID: " + gameTerritory.getTerritory().getId());
-    System.out.println("  - Territory Name: " + gameTerritory.getTerritory().getName());
-    System.out.println("  - Owner (PlayerGame) ID: " + gameTerritory.getOwner().getId());
-    System.out.println("  - Owner Username: " + gameTerritory.getOwner().getPlayer().getUsername());
-    System.out.println("CurrentPlayerGame ID: " + currentPlayerGame.getId());
-    System.out.println(
-        "IDs iguais? " + gameTerritory.getOwner().getId().equals(currentPlayerGame.getId()));
-    */
+
     // Validação de Posse - Compara IDs ao invés de objetos
     if (!gameTerritory.getOwner().getId().equals(currentPlayerGame.getId())) {
       System.out.println(
@@ -673,6 +693,18 @@ public class GameService {
     // Tropas alocadas são sempre estáticas e podem se mover
     gameTerritory.setStaticArmies(gameTerritory.getStaticArmies() + count);
     currentPlayerGame.setUnallocatedArmies(currentPlayerGame.getUnallocatedArmies() - count);
+    state.markTerritoryDirty(gameTerritory);
+    state.markPlayerDirty(currentPlayerGame);
+    state.recordEvent(
+        GameEvent.Type.ALLOCATION,
+        currentPlayerGame,
+        Map.of("territoryId", territoryId, "count", count));
+
+    // Reforços podem completar um objetivo de territórios com 2 exércitos
+    if (GameStatus.REINFORCEMENT.name().equals(currentStatus) && checkGameEnd(state)) {
+      gameStateWriteBehind.markDirty(state);
+      return game;
+    }
 
     // LÓGICA DE TRANSIÇÃO DE FASE
 
@@ -682,10 +714,8 @@ public class GameService {
       if (GameStatus.SETUP_ALLOCATION.name().equals(currentStatus)) {
 
         List<PlayerGame> remainingAllocators =
-            playerGameRepository.findByGame(game).stream()
-                .filter(PlayerGame::getStillInGame) // Checa se ainda está no jogo
+            state.getActivePlayers().stream()
                 .filter(pg -> pg.getUnallocatedArmies() > 0)
-                .sorted(Comparator.comparing(PlayerGame::getTurnOrder))
                 .collect(Collectors.toList());
 
         if (remainingAllocators.isEmpty()) {
@@ -697,104 +727,70 @@ public class GameService {
           // O primeiro jogador já foi setado corretamente no startGame, só precisamos
           // confirmar.
           PlayerGame firstTurnPlayer =
-              playerGameRepository.findByGame(game).stream()
+              state.getPlayers().stream()
                   .filter(pg -> pg.getTurnOrder() == 1)
                   .findFirst()
                   .orElseThrow(
                       () -> new RuntimeException("Erro ao definir o jogador inicial do jogo."));
 
           // O primeiro jogador deve CALCULAR e ATRIBUIR as tropas de REFORÇO
-          int reinforcementTroops = calculateReinforcementTroops(game, firstTurnPlayer);
+          int reinforcementTroops = calculateReinforcementTroops(state, firstTurnPlayer);
           firstTurnPlayer.setUnallocatedArmies(reinforcementTroops);
-          playerGameRepository.save(firstTurnPlayer); // Salva o reforço calculado
+          state.markPlayerDirty(firstTurnPlayer);
 
           game.setTurnPlayer(firstTurnPlayer); // Garante que o turno é dele
+          state.markGameDirty();
 
           // Checa se o primeiro jogador é IA
           if (firstTurnPlayer.getPlayer().getType() != PlayerType.HUMAN) {
+            gameStateWriteBehind.markDirty(state);
 
-            Game savedGame = gameRepository.save(game);
-
-            return this.executeAIAction(
-                savedGame.getId(), firstTurnPlayer.getPlayer().getUsername());
+            requestAIAction(gameId, firstTurnPlayer.getPlayer().getUsername());
+            return game;
           }
         } else {
           // Passa para o próximo jogador que ainda precisa alocar
           PlayerGame nextPlayerGame = remainingAllocators.get(0);
           game.setTurnPlayer(nextPlayerGame);
+          state.markGameDirty();
 
           if (nextPlayerGame.getPlayer().getType() != PlayerType.HUMAN) {
-            Game savedGame = gameRepository.save(game);
-            playerGameRepository.save(currentPlayerGame);
+            gameStateWriteBehind.markDirty(state);
 
-            // Chama a ação da IA
-            Game finalState =
-                this.executeAIAction(savedGame.getId(), nextPlayerGame.getPlayer().getUsername());
-            return finalState;
+            // Agenda a ação da IA
+            requestAIAction(gameId, nextPlayerGame.getPlayer().getUsername());
+            return game;
           }
         }
 
       } else if (GameStatus.REINFORCEMENT.name().equals(currentStatus)) {
         // O jogador da vez terminou a alocação de reforço. Transição para a FASE DE ATAQUE.
         game.setStatus(GameStatus.ATTACK.name());
+        state.markGameDirty();
       }
     }
 
-    gameTerritoryRepository.save(gameTerritory);
-    playerGameRepository.save(currentPlayerGame);
-    return gameRepository.save(game);
+    gameStateWriteBehind.markDirty(state);
+    return game;
   }
 
   @Transactional(readOnly = true)
   public int calculateReinforcementTroops(Game game, PlayerGame playerGame) {
+    return calculateReinforcementTroops(loadState(game.getId()), playerGame);
+  }
 
-    // Contar Territórios do Jogador
-    List<GameTerritory> controlledTerritories =
-        gameTerritoryRepository.findByGameAndOwner(game, playerGame);
-    int totalTerritories = controlledTerritories.size();
-
-    // Tropas nº de territórios / 2 com mínimo de 3
-    int territoryTroops = Math.max(3, totalTerritories / 2);
-    int continentTroops = 0;
-
-    // Agrupa os territórios por continente para verificar a posse total
-    Map<String, Long> territoriesPerContinent =
-        controlledTerritories.stream()
-            .collect(
-                Collectors.groupingBy(
-                    gt -> gt.getTerritory().getContinent(), Collectors.counting()));
-
-    // Obtém todos os nomes de continentes únicos do mapa
-    List<String> allContinents =
-        territoryRepository.findAll().stream()
-            .map(Territory::getContinent)
-            .distinct()
-            .collect(Collectors.toList());
-
-    for (String continentName : allContinents) {
-      // Conta quantos territórios o jogador tem neste continente
-      Long playerTerritoryCount = territoriesPerContinent.getOrDefault(continentName, 0L);
-
-      // Conta quantos territórios existem neste continente
-      long totalContinentTerritories = territoryRepository.countByContinent(continentName);
-
-      // Checa se o jogador tem todos os territórios do continente
-      if (playerTerritoryCount == totalContinentTerritories) {
-        // Mapeia o nome do continente para inglês se necessário
-        String bonusKey = CONTINENT_NAME_MAP.getOrDefault(continentName, continentName);
-        continentTroops += CONTINENT_BONUSES.getOrDefault(bonusKey, 0);
-      }
-    }
-
-    return territoryTroops + continentTroops;
+  // Visível no pacote para os benchmarks JMH (src/jmh)
+  int calculateReinforcementTroops(GameState state, PlayerGame playerGame) {
+    // Territórios do jogador como máscara de bits, já mantida pelo estado
+    return GameRules.reinforcementTroops(
+        rulesCatalogService.getCatalog(), state.ownedMask(playerGame));
   }
 
   @Transactional
   public Game startNextTurn(Long gameId, String initiatingUsername) {
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+    gameCommandExecutor.acquire(gameId);
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
 
     String currentStatus = game.getStatus();
 
@@ -803,11 +799,6 @@ public class GameService {
       throw new RuntimeException("Não é possível encerrar o turno na fase de Alocação Inicial.");
     }
 
-    if (GameStatus.SETUP_ALLOCATION.name().equals(currentStatus)) {
-      // Bloqueia tentativas de encerrar o turno durante a alocação inicial.
-      throw new RuntimeException("Não é possível encerrar o turno na fase de Alocação Inicial.");
-    }
-
     // Checamos se o status é um dos que permite o avanço de turno
     if (GameStatus.LOBBY.name().equals(currentStatus)
         || GameStatus.FINISHED.name().equals(currentStatus)
@@ -842,62 +833,63 @@ public class GameService {
       }
 
       game.setStatus(GameStatus.ATTACK.name());
+      state.markGameDirty();
 
       // Transição de fase da IA
       if (isCurrentPlayerAI) {
-        Game savedGame = gameRepository.save(game);
+        gameStateWriteBehind.markDirty(state);
 
-        return this.executeAIAction(savedGame.getId(), initiatingUsername);
+        requestAIAction(gameId, initiatingUsername);
+        return game;
       }
 
     } else if (GameStatus.ATTACK.name().equals(currentStatus)) {
       // Se estiver em Ataque, o 'endTurn' avança para Movimentação.
       game.setStatus(GameStatus.MOVEMENT.name());
+      state.markGameDirty();
 
       // Transição de fase da IA
       if (isCurrentPlayerAI) {
-        Game savedGame = gameRepository.save(game);
+        gameStateWriteBehind.markDirty(state);
 
-        return this.executeAIAction(savedGame.getId(), initiatingUsername);
+        requestAIAction(gameId, initiatingUsername);
+        return game;
       }
 
     } else if (GameStatus.MOVEMENT.name().equals(currentStatus)) {
 
       // --- LÓGICA DE FIM DE TURNO E PASSAGEM DE VEZ ---
 
+      // Jogadores ativos, já ordenados por turnOrder
+      List<PlayerGame> activePlayers = state.getActivePlayers();
+      if (activePlayers.isEmpty()) {
+        throw new RuntimeException("Erro de estado do jogo. Nenhum jogador ativo para avançar.");
+      }
+
       // 1. Recompensa de Carta (se conquistou)
-      long currentCards = playerCardRepository.countByPlayerGame(currentPlayerGame);
+      int currentCards = currentPlayerGame.getPlayerCards().size();
 
       if (currentPlayerGame.getConqueredTerritoryThisTurn() && currentCards < 5) {
-        drawCard(currentPlayerGame);
+        drawCard(state, currentPlayerGame);
       }
 
       // 2. Reset de Flag
       currentPlayerGame.setConqueredTerritoryThisTurn(false);
+      state.markPlayerDirty(currentPlayerGame);
 
       // 3. Converter tropas movidas em estáticas (início de novo turno)
-      List<GameTerritory> allTerritories = gameTerritoryRepository.findByGame(game);
-      for (GameTerritory territory : allTerritories) {
+      for (GameTerritory territory : state.getTerritories()) {
         if (territory.getMovedInArmies() > 0) {
           territory.setStaticArmies(territory.getStaticArmies() + territory.getMovedInArmies());
           territory.setMovedInArmies(0);
+          state.markTerritoryDirty(territory);
         }
       }
-      gameTerritoryRepository.saveAll(allTerritories);
 
-      // 4. Buscar os jogadores ativos, ordenados por turnOrder
-      List<PlayerGame> activePlayers =
-          playerGameRepository.findByGame(game).stream()
-              .filter(PlayerGame::getStillInGame)
-              .sorted(Comparator.comparing(PlayerGame::getTurnOrder))
-              .collect(Collectors.toList());
-
-      if (activePlayers.size() <= 1) {
-        PlayerGame winner = activePlayers.stream().findFirst().orElse(null);
-        if (winner != null) {
-          return game;
-        }
-        throw new RuntimeException("Erro de estado do jogo. Nenhum jogador ativo para avançar.");
+      // 4. Com um único jogador ativo não há para quem passar a vez
+      if (activePlayers.size() == 1) {
+        gameStateWriteBehind.markDirty(state);
+        return game;
       }
 
       // 5. Determinar o Próximo Jogador Ativo
@@ -913,46 +905,37 @@ public class GameService {
       game.setTurnPlayer(nextPlayerGame);
 
       // 6. Cálculo e Atribuição de Tropas de Reforço
-      int reinforcementTroops = calculateReinforcementTroops(game, nextPlayerGame);
+      int reinforcementTroops = calculateReinforcementTroops(state, nextPlayerGame);
       nextPlayerGame.setUnallocatedArmies(reinforcementTroops);
+      state.markPlayerDirty(nextPlayerGame);
 
       // 7. Mudar o Status para a fase de Alocação (Início do novo turno)
       game.setStatus(GameStatus.REINFORCEMENT.name());
+      state.markGameDirty();
 
       // 8. Checar se o próximo jogador é uma IA
       if (nextPlayerGame.getPlayer().getType() != PlayerType.HUMAN) {
-        Game savedGame = gameRepository.save(game);
-
-        // Dispara o turno da IA assíncronamente
-        eventPublisher.publishEvent(
-            new AIActionRequestedEvent(
-                savedGame.getId(), nextPlayerGame.getPlayer().getUsername()));
+        // Agenda o turno da IA
+        requestAIAction(gameId, nextPlayerGame.getPlayer().getUsername());
       }
 
-      playerGameRepository.save(currentPlayerGame);
-      playerGameRepository.save(nextPlayerGame);
-
     } else {
       throw new RuntimeException(
           "O jogo não está em uma fase de turno conhecida ou a ação não é válida.");
     }
 
-    return gameRepository.save(game);
+    gameStateWriteBehind.markDirty(state);
+    return game;
   }
 
   @Transactional
   public Game tradeCardsForReinforcements(
       Long gameId, String username, List<Long> playerCardIdsToTrade) {
+    gameCommandExecutor.acquire(gameId);
     // Validações
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
-    Player player = playerService.getPlayerByUsername(username);
-    PlayerGame playerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, player)
-            .orElseThrow(() -> new RuntimeException("Jogador não está na partida."));
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
+    PlayerGame playerGame = findPlayerInGame(state, username);
 
     // Compara IDs ao invés de objetos
     if (!game.getTurnPlayer().getId().equals(playerGame.getId())) {
@@ -965,9 +948,11 @@ public class GameService {
           "REINFORCEMENT");
     }
 
-    // Busca as entidades PlayerCard e Card
+    // Busca as cartas do jogador no estado em memória
     List<PlayerCard> playerCardsToTrade =
-        playerCardRepository.findByPlayerGameAndIdIn(playerGame, playerCardIdsToTrade);
+        playerGame.getPlayerCards().stream()
+            .filter(pc -> playerCardIdsToTrade.contains(pc.getId()))
+            .collect(Collectors.toList());
 
     if (playerCardsToTrade.size() != 3) {
       throw new RuntimeException("Você deve selecionar exatamente 3 cartas para a troca.");
@@ -982,30 +967,128 @@ public class GameService {
     }
 
     // Calcula e Atribui Tropas
-    int bonusTroops = calculateCardBonus(game);
+    int bonusTroops = GameRules.cardSetBonus(game.getCardSetExchangeCount());
 
     // Calcula e aplica o bônus de território diretamente
-    calculateTerritoryMatchBonus(game, playerGame, cardsToTrade);
+    int territoryBonus = calculateTerritoryMatchBonus(state, playerGame, cardsToTrade);
 
     // Adiciona as tropas à reserva do jogador
     playerGame.setUnallocatedArmies(playerGame.getUnallocatedArmies() + bonusTroops);
+    state.markPlayerDirty(playerGame);
 
-    // Remove as Cartas
-    playerCardRepository.deleteAll(playerCardsToTrade);
+    // Remove as Cartas (as cartas continuam sendo gravadas de forma síncrona)
+    List<Long> tradedIds =
+        playerCardsToTrade.stream().map(PlayerCard::getId).collect(Collectors.toList());
+    playerCardRepository.deleteAllById(tradedIds);
+    playerGame.getPlayerCards().removeIf(pc -> tradedIds.contains(pc.getId()));
+    state.markCardsDirty(playerGame);
+
+    // As cartas trocadas voltam para o baralho da partida
+    state.getDeck().discard(cardsToTrade);
+    state.markDeckDirty();
 
     // Atualiza o Contador Global de Trocas
     game.setCardSetExchangeCount(game.getCardSetExchangeCount() + 1);
+    state.markGameDirty();
+    state.recordEvent(
+        GameEvent.Type.CARD_TRADE,
+        playerGame,
+        Map.of(
+            "cardIds",
+            cardsToTrade.stream().map(Card::getId).collect(Collectors.toList()),
+            "bonusTroops",
+            bonusTroops,
+            "territoryBonus",
+            territoryBonus));
 
-    return gameRepository.save(game);
+    // O bônus de território pode completar um objetivo
+    if (territoryBonus > 0) {
+      checkGameEnd(state);
+    }
+
+    gameStateWriteBehind.markDirty(state);
+    return game;
   }
 
   @Transactional
   public AttackResult attackTerritory(
       Long gameId, String initiatingUsername, AttackRequestDto dto) {
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+    gameCommandExecutor.acquire(gameId);
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
+
+    AttackTargets targets =
+        validateAttack(
+            state, initiatingUsername, dto.getSourceTerritoryId(), dto.getTargetTerritoryId());
+    GameTerritory sourceTerritory = targets.source();
+
+    if (dto.getAttackDiceCount() < 1 || dto.getAttackDiceCount() > 3) {
+      throw new RuntimeException("O número de dados de ataque deve estar entre 1 e 3.");
+    }
+
+    int maxAttackDice = maxAttackDice(sourceTerritory);
+
+    if (dto.getAttackDiceCount() > maxAttackDice) {
+      throw new RuntimeException(
+          "Você deve deixar pelo menos um exército no território atacante. Máximo de dados de ataque permitido: "
+              + maxAttackDice);
+    }
+
+    long round = resolveAttackRound(state, targets, dto.getAttackDiceCount());
+
+    gameStateWriteBehind.markDirty(state);
+    return new AttackResult(
+        CombatKernel.attackRolls(round), CombatKernel.defenseRolls(round), game);
+  }
+
+  /**
+   * Ataque em cerco: repete rodadas em memória, sempre com o máximo de dados, até o território cair
+   * ou o território atacante ficar com {@code stopAtArmies} exércitos estáticos ou menos. Tudo
+   * acontece em uma única transação, com uma única gravação e um único delta para os jogadores.
+   */
+  @Transactional
+  public BlitzResult blitzAttack(
+      Long gameId, String initiatingUsername, BlitzAttackRequestDto dto) {
+    gameCommandExecutor.acquire(gameId);
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
+
+    AttackTargets targets =
+        validateAttack(
+            state, initiatingUsername, dto.getSourceTerritoryId(), dto.getTargetTerritoryId());
+    GameTerritory sourceTerritory = targets.source();
+    GameTerritory targetTerritory = targets.target();
+
+    // Com 1 exército estático não há quem ocupe o território conquistado, então o cerco sempre
+    // para antes disso
+    int stopAtArmies = Math.max(1, dto.getStopAtArmies() != null ? dto.getStopAtArmies() : 1);
+
+    if (sourceTerritory.getStaticArmies() <= stopAtArmies) {
+      throw new RuntimeException(
+          "O território atacante precisa de mais de "
+              + stopAtArmies
+              + " exércitos estáticos para iniciar o cerco.");
+    }
+
+    List<Long> rounds = new ArrayList<>();
+    boolean conquered = false;
+
+    while (!conquered && sourceTerritory.getStaticArmies() > stopAtArmies) {
+      int attackDice = Math.min(CombatKernel.MAX_DICE, maxAttackDice(sourceTerritory));
+      rounds.add(resolveAttackRound(state, targets, attackDice));
+      conquered = targetTerritory.getOwner().getId().equals(targets.attacker().getId());
+    }
+
+    gameStateWriteBehind.markDirty(state);
+    return new BlitzResult(rounds, conquered, game);
+  }
+
+  private record AttackTargets(PlayerGame attacker, GameTerritory source, GameTerritory target) {}
+
+  // Validações comuns ao ataque simples e ao cerco
+  private AttackTargets validateAttack(
+      GameState state, String initiatingUsername, Long sourceTerritoryId, Long targetTerritoryId) {
+    Game game = state.getGame();
 
     if (!GameStatus.ATTACK.name().equals(game.getStatus())) {
       throw new InvalidGamePhaseException(
@@ -1021,12 +1104,12 @@ public class GameService {
     }
 
     GameTerritory sourceTerritory =
-        gameTerritoryRepository
-            .findByGame_IdAndTerritory_Id(gameId, dto.getSourceTerritoryId())
+        state
+            .findTerritory(sourceTerritoryId)
             .orElseThrow(() -> new RuntimeException("Território atacante não encontrado."));
     GameTerritory targetTerritory =
-        gameTerritoryRepository
-            .findByGame_IdAndTerritory_Id(gameId, dto.getTargetTerritoryId())
+        state
+            .findTerritory(targetTerritoryId)
             .orElseThrow(() -> new RuntimeException("Território defensor não encontrado."));
 
     if (!sourceTerritory.getOwner().getId().equals(currentPlayerGame.getId())) {
@@ -1038,10 +1121,8 @@ public class GameService {
     }
 
     boolean isNeighbor =
-        territoryBorderRepository
-            .findByTerritoryIds(
-                sourceTerritory.getTerritory().getId(), targetTerritory.getTerritory().getId())
-            .isPresent();
+        territoryGraphService.areAdjacent(
+            sourceTerritory.getTerritory().getId(), targetTerritory.getTerritory().getId());
 
     if (!isNeighbor) {
       throw new RuntimeException(
@@ -1067,98 +1148,88 @@ public class GameService {
           "Você precisa de pelo menos 2 exércitos no território atacante para realizar um ataque. (Sem tropas movidas para segurar o território)");
     }
 
-    if (dto.getAttackDiceCount() < 1 || dto.getAttackDiceCount() > 3) {
-      throw new RuntimeException("O número de dados de ataque deve estar entre 1 e 3.");
-    }
+    return new AttackTargets(currentPlayerGame, sourceTerritory, targetTerritory);
+  }
 
-    // Máximo de dados = tropas estáticas disponíveis (considerando que movedInArmies seguram o
-    // território)
-    int maxAttackDice;
-    if (movedInArmies > 0) {
-      // Tem tropas movidas para segurar: pode usar TODAS as estáticas
-      maxAttackDice = armiesAvailable;
-    } else {
-      // Não tem tropas movidas: precisa deixar pelo menos 1 estática
-      maxAttackDice = armiesAvailable - 1;
-    }
+  // Máximo de dados = tropas estáticas disponíveis (considerando que movedInArmies seguram o
+  // território)
+  private int maxAttackDice(GameTerritory sourceTerritory) {
+    return GameRules.movableArmies(
+        sourceTerritory.getStaticArmies(), sourceTerritory.getMovedInArmies());
+  }
 
-    if (dto.getAttackDiceCount() > maxAttackDice) {
-      throw new RuntimeException(
-          "Você deve deixar pelo menos um exército no território atacante. Máximo de dados de ataque permitido: "
-              + maxAttackDice);
-    }
+  // Rola e aplica uma rodada de ataque; devolve a rodada empacotada pelo CombatKernel
+  private long resolveAttackRound(GameState state, AttackTargets targets, int attackDiceCount) {
+    Game game = state.getGame();
+    PlayerGame currentPlayerGame = targets.attacker();
+    GameTerritory sourceTerritory = targets.source();
+    GameTerritory targetTerritory = targets.target();
 
     PlayerGame defenderPlayerGame = targetTerritory.getOwner();
     int defenseArmies = targetTerritory.getStaticArmies();
     int defenseDiceCount = Math.min(3, defenseArmies);
 
-    List<Integer> attackRolls = simulateDiceRolls(dto.getAttackDiceCount());
-    List<Integer> defenseRolls = simulateDiceRolls(defenseDiceCount);
-
-    int[] combatResult = resolveCombat(attackRolls, defenseRolls);
-    int attackerLosses = combatResult[0];
-    int defenderLosses = combatResult[1];
-
-    sourceTerritory.setStaticArmies(sourceTerritory.getStaticArmies() - attackerLosses);
-
-    int currentStaticArmies = targetTerritory.getStaticArmies();
-
-    if (currentStaticArmies > defenderLosses) {
-      targetTerritory.setStaticArmies(currentStaticArmies - defenderLosses);
-    } else {
-      targetTerritory.setStaticArmies(0);
-      targetTerritory.setMovedInArmies(0);
-    }
+    long round = CombatKernel.roll(state.getRandom(), attackDiceCount, defenseDiceCount);
+    int attackerLosses = CombatKernel.attackerLosses(round);
+    int defenderLosses = CombatKernel.defenderLosses(round);
 
-    if ((targetTerritory.getStaticArmies()) <= 0) {
-      int sourceStaticAfterLosses = sourceTerritory.getStaticArmies();
-      int attackedArmies = dto.getAttackDiceCount();
-      int attackerLossesInRound = attackerLosses;
+    // Calcula o resultado completo antes de alterar o estado, para que uma falha não deixe a
+    // partida pela metade em memória
+    int sourceStaticAfterLosses = sourceTerritory.getStaticArmies() - attackerLosses;
+    boolean conquered = defenseArmies <= defenderLosses;
+    int troopsToMove = 0;
 
-      int survivingAttackers = attackedArmies - attackerLossesInRound;
-      int troopsToMove = Math.max(1, survivingAttackers);
-      int maxMoveable = Math.max(0, sourceStaticAfterLosses - 1);
+    if (conquered) {
+      troopsToMove =
+          GameRules.occupyingArmies(attackDiceCount, attackerLosses, sourceStaticAfterLosses);
 
-      if (maxMoveable < 1) {
+      if (troopsToMove < 1) {
         throw new RuntimeException(
             "Erro: Não é possível mover tropas para ocupar sem deixar o território atacante vazio.");
       }
+    }
 
-      if (troopsToMove > maxMoveable) {
-        troopsToMove = maxMoveable;
-      }
-
-      targetTerritory.setOwner(currentPlayerGame);
-      targetTerritory.setStaticArmies(0);
-      targetTerritory.setMovedInArmies(troopsToMove);
-      sourceTerritory.setStaticArmies(sourceStaticAfterLosses - troopsToMove);
-
-      currentPlayerGame.setConqueredTerritoryThisTurn(true);
+    sourceTerritory.setStaticArmies(sourceStaticAfterLosses);
 
-      gameTerritoryRepository.save(targetTerritory);
-      gameTerritoryRepository.save(sourceTerritory);
-      playerGameRepository.save(currentPlayerGame);
+    if (!conquered) {
+      targetTerritory.setStaticArmies(defenseArmies - defenderLosses);
+      state.markTerritoryDirty(sourceTerritory);
+      state.markTerritoryDirty(targetTerritory);
+      recordAttack(state, targets, round, false, 0);
+      return round;
+    }
 
-      gameTerritoryRepository.flush();
-      playerGameRepository.flush();
+    targetTerritory.setOwner(currentPlayerGame);
+    targetTerritory.setStaticArmies(0);
+    targetTerritory.setMovedInArmies(troopsToMove);
+    sourceTerritory.setStaticArmies(sourceStaticAfterLosses - troopsToMove);
+    state.markTerritoryDirty(sourceTerritory);
+    state.markTerritoryDirty(targetTerritory);
 
-      entityManager.refresh(currentPlayerGame);
+    currentPlayerGame.setConqueredTerritoryThisTurn(true);
+    state.markPlayerDirty(currentPlayerGame);
+    recordAttack(state, targets, round, true, troopsToMove);
 
-      // Checa fim de jogo e elimina jogadores sem território
-      checkGameOver(game, defenderPlayerGame);
+    // Elimina o defensor se ficou sem territórios e checa o fim de jogo para todos os jogadores
+    checkGameOver(state, defenderPlayerGame);
+    checkGameEnd(state);
 
-      if (winConditionService.checkWinConditions(game, currentPlayerGame)) {
-        System.out.println("Iniciando fim de jogo...");
-        game.setStatus(GameStatus.FINISHED.name());
-        return new AttackResult(attackRolls, defenseRolls, game);
-      }
-    }
-
-    gameTerritoryRepository.save(targetTerritory);
-    gameTerritoryRepository.save(sourceTerritory);
-    playerGameRepository.save(currentPlayerGame);
+    return round;
+  }
 
-    return new AttackResult(attackRolls, defenseRolls, game);
+  // Registra a rodada com os dados rolados; a reconstrução usa as linhas do evento, não os dados
+  private void recordAttack(
+      GameState state, AttackTargets targets, long round, boolean conquered, int troopsMoved) {
+    Map<String, Object> data = new LinkedHashMap<>();
+    data.put("sourceTerritoryId", targets.source().getTerritory().getId());
+    data.put("targetTerritoryId", targets.target().getTerritory().getId());
+    data.put("attackerDice", CombatKernel.attackRolls(round));
+    data.put("defenderDice", CombatKernel.defenseRolls(round));
+    data.put("attackerLosses", CombatKernel.attackerLosses(round));
+    data.put("defenderLosses", CombatKernel.defenderLosses(round));
+    data.put("conquered", conquered);
+    data.put("troopsMoved", troopsMoved);
+    state.recordEvent(GameEvent.Type.ATTACK, targets.attacker(), data);
   }
 
   @Transactional
@@ -1168,10 +1239,9 @@ public class GameService {
       Long sourceTerritoryId,
       Long targetTerritoryId,
       Integer troopCount) {
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+    gameCommandExecutor.acquire(gameId);
+    GameState state = loadState(gameId);
+    Game game = state.getGame();
 
     // Valida se está na fase de MOVEMENT
     if (!GameStatus.MOVEMENT.name().equals(game.getStatus())) {
@@ -1190,12 +1260,12 @@ public class GameService {
 
     // Busca os territórios
     GameTerritory sourceTerritory =
-        gameTerritoryRepository
-            .findByGame_IdAndTerritory_Id(gameId, sourceTerritoryId)
+        state
+            .findTerritory(sourceTerritoryId)
             .orElseThrow(() -> new RuntimeException("Território de origem não encontrado."));
     GameTerritory targetTerritory =
-        gameTerritoryRepository
-            .findByGame_IdAndTerritory_Id(gameId, targetTerritoryId)
+        state
+            .findTerritory(targetTerritoryId)
             .orElseThrow(() -> new RuntimeException("Território de destino não encontrado."));
 
     // Valida se ambos os territórios pertencem ao jogador atual
@@ -1209,10 +1279,8 @@ public class GameService {
 
     // Valida se os territórios são vizinhos
     boolean isNeighbor =
-        territoryBorderRepository
-            .findByTerritoryIds(
-                sourceTerritory.getTerritory().getId(), targetTerritory.getTerritory().getId())
-            .isPresent();
+        territoryGraphService.areAdjacent(
+            sourceTerritory.getTerritory().getId(), targetTerritory.getTerritory().getId());
 
     if (!isNeighbor) {
       throw new RuntimeException("O território de destino não é vizinho do território de origem.");
@@ -1229,12 +1297,7 @@ public class GameService {
     // Se tem movedInArmies, pode mover TODAS as staticArmies (movedInArmies seguram o
     // território)
     // Se não tem movedInArmies, deve deixar pelo menos 1 staticArmy
-    int maxMoveable;
-    if (movedInArmies > 0) {
-      maxMoveable = availableArmies; // Pode mover todas
-    } else {
-      maxMoveable = availableArmies - 1; // Deve deixar pelo menos 1
-    }
+    int maxMoveable = GameRules.movableArmies(availableArmies, movedInArmies);
 
     if (troopCount > maxMoveable) {
       throw new RuntimeException(
@@ -1248,31 +1311,71 @@ public class GameService {
     // Tropas movidas vão para movedInArmies no destino (só podem defender até o fim do turno)
     targetTerritory.setMovedInArmies(targetTerritory.getMovedInArmies() + troopCount);
 
-    gameTerritoryRepository.save(sourceTerritory);
-    gameTerritoryRepository.save(targetTerritory);
+    state.markTerritoryDirty(sourceTerritory);
+    state.markTerritoryDirty(targetTerritory);
+    state.recordEvent(
+        GameEvent.Type.MOVE,
+        currentPlayerGame,
+        Map.of(
+            "sourceTerritoryId", sourceTerritoryId,
+            "targetTerritoryId", targetTerritoryId,
+            "troops", troopCount));
+
+    // A movimentação pode completar um objetivo de territórios com 2 exércitos
+    checkGameEnd(state);
+    gameStateWriteBehind.markDirty(state);
 
     return game;
   }
 
-  @Transactional
-  public void checkGameOver(Game game, PlayerGame defeatedPlayer) {
-    PlayerGame attackerPlayer = game.getTurnPlayer();
+  /**
+   * Checa o fim de jogo depois de uma ação que alterou territórios. A posse já está indexada no
+   * estado, então o objetivo de todos os jogadores ativos é avaliado, não só o de quem agiu.
+   */
+  private boolean checkGameEnd(GameState state) {
+    Game game = state.getGame();
+    if (!winConditionService.checkWinConditions(state, game.getTurnPlayer())) {
+      return false;
+    }
 
-    long territoriesOwned = gameTerritoryRepository.countByOwner(defeatedPlayer);
+    System.out.println("Iniciando fim de jogo...");
+    game.setStatus(GameStatus.FINISHED.name());
+    state.markGameDirty();
+    return true;
+  }
 
-    if (territoriesOwned == 0) {
-      List<PlayerCard> defeatedCards = playerCardRepository.findByPlayerGame(defeatedPlayer);
+  private void checkGameOver(GameState state, PlayerGame defeatedPlayer) {
+    PlayerGame attackerPlayer = state.getGame().getTurnPlayer();
 
-      for (PlayerCard card : defeatedCards) {
-        card.setPlayerGame(attackerPlayer);
-      }
+    if (state.countTerritoriesOwnedBy(defeatedPlayer) == 0) {
+      List<PlayerCard> defeatedCards = new ArrayList<>(defeatedPlayer.getPlayerCards());
 
+      // As cartas do eliminado passam para o atacante (gravadas de forma síncrona)
       if (!defeatedCards.isEmpty()) {
-        playerCardRepository.saveAll(defeatedCards);
+        List<PlayerCard> rows =
+            playerCardRepository.findAllById(
+                defeatedCards.stream().map(PlayerCard::getId).collect(Collectors.toList()));
+        PlayerGame attackerRef = playerGameRepository.getReferenceById(attackerPlayer.getId());
+        for (PlayerCard row : rows) {
+          row.setPlayerGame(attackerRef);
+        }
+        playerCardRepository.saveAll(rows);
+      }
+
+      defeatedPlayer.getPlayerCards().clear();
+      for (PlayerCard card : defeatedCards) {
+        card.setPlayerGame(attackerPlayer);
+        attackerPlayer.getPlayerCards().add(card);
       }
+      state.markCardsDirty(defeatedPlayer);
+      state.markCardsDirty(attackerPlayer);
 
       defeatedPlayer.setStillInGame(false);
-      playerGameRepository.save(defeatedPlayer);
+      state.markPlayerDirty(defeatedPlayer);
+      state.recordEvent(
+          GameEvent.Type.ELIMINATION,
+          attackerPlayer,
+          Map.of("eliminatedPlayerGameId", defeatedPlayer.getId()));
     }
   }
 
@@ -1281,16 +1384,40 @@ public class GameService {
     Game game = event.getGame();
     PlayerGame winner = event.getWinner();
 
+    Optional<GameState> cached = gameStateStore.find(game.getId());
+    if (cached.isPresent()) {
+      GameState state = cached.get();
+      Game finishedGame = state.getGame();
+      finishedGame.setStatus(GameStatus.FINISHED.name());
+      finishedGame.setWinner(state.getPlayer(winner.getId()));
+      state.markGameDirty();
+      Map<String, Object> data = new LinkedHashMap<>();
+      data.put("winnerId", winner.getId());
+      data.put("condition", event.getCondition());
+      state.recordEvent(GameEvent.Type.GAME_OVER, state.getPlayer(winner.getId()), data);
+
+      // O fim de jogo é gravado imediatamente, sem esperar o write-behind
+      gameStateWriteBehind.flushNow(state);
+      gameStateBroadcaster.publish(state);
+
+      // Enviado antes de a partida sair da memória, a partir do estado final já serializado
+      gameStateBroadcaster.publishState(finishedGame);
+      gameStateStore.evict(finishedGame.getId());
+
+      System.out.println("EVENTO DE FIM DE JOGO - " + finishedGame.getStatus());
+      return;
+    }
+
     Game gameToUpdate = gameRepository.findById(game.getId()).orElse(null);
     if (gameToUpdate == null) return;
 
     gameToUpdate.setStatus(GameStatus.FINISHED.name());
     gameToUpdate.setWinner(winner);
     Game finishedGame = gameRepository.save(gameToUpdate);
+    // Como no write-behind: finished_at só é gravado por UPDATE direto
+    gameRepository.markFinished(finishedGame.getId(), LocalDateTime.now());
 
-    GameStateResponseDto gameState = this.convertToGameStateDto(finishedGame);
-
-    messagingTemplate.convertAndSend("/topic/game/" + finishedGame.getId() + "/state", gameState);
+    gameStateBroadcaster.publishState(finishedGame);
 
     System.out.println("EVENTO DE FIM DE JOGO - " + finishedGame.getStatus());
   }
@@ -1360,194 +1487,96 @@ public class GameService {
   private boolean isEliminationObjectiveValid(
       Objective objective, PlayerGame playerGame, Map<String, PlayerGame> colorToPlayerMap) {
 
-    String description = objective.getDescription();
-    String targetColor = extractTargetColorFromObjective(description);
-
-    if (targetColor == null) {
-      return false;
-    }
-
-    if (!colorToPlayerMap.containsKey(targetColor)) {
+    // A cor alvo vem do objetivo já interpretado no catálogo de regras
+    if (!(rulesCatalogService.getCatalog().objective(objective)
+        instanceof ObjectiveRule.EliminatePlayer eliminate)) {
       return false;
     }
 
-    PlayerGame targetPlayer = colorToPlayerMap.get(targetColor);
-    if (targetPlayer.getId().equals(playerGame.getId())) {
+    PlayerGame targetPlayer = colorToPlayerMap.get(eliminate.color());
+    if (targetPlayer == null) {
       return false;
     }
 
-    return true;
-  }
-
-  private String extractTargetColorFromObjective(String description) {
-    if (description == null || description.isEmpty()) {
-      return null;
-    }
-
-    Map<String, String> colorMapping =
-        Map.of(
-            "verdes", "green",
-            "azuis", "blue",
-            "vermelhos", "red",
-            "amarelos", "#bfa640",
-            "pretos", "black",
-            "roxos", "purple");
-
-    String descriptionLower = description.toLowerCase();
-
-    for (Map.Entry<String, String> entry : colorMapping.entrySet()) {
-      if (descriptionLower.contains(entry.getKey())) {
-        return entry.getValue();
-      }
-    }
-
-    return null;
-  }
-
-  private int calculateInitialTroops(int playerCount) {
-    if (playerCount == 2) return 40;
-    if (playerCount == 3) return 35;
-    if (playerCount == 4) return 30;
-    if (playerCount == 5) return 25;
-    if (playerCount == 6) return 20;
-    return 0;
-  }
-
-  private int calculateCardBonus(Game game) {
-    int count = game.getCardSetExchangeCount();
-
-    if (count == 0) return 4;
-    if (count == 1) return 6;
-    if (count == 2) return 8;
-    if (count == 3) return 10;
-    if (count == 4) return 12;
-
-    // 6ª troca em diante: 15, 20, 25, 30
-    // Fórmula: 15 + (exchangeCount - 5) * 5
-    return 15 + (count - 5) * 5;
+    return !targetPlayer.getId().equals(playerGame.getId());
   }
 
   private boolean isTradeSetValid(List<Card> cardsToTrade) {
-    long wildCount = cardsToTrade.stream().filter(c -> c.getType() == CardType.WILD).count();
-
-    List<CardType> nonWilds =
-        cardsToTrade.stream()
-            .map(Card::getType)
-            .filter(t -> t != CardType.WILD)
-            .collect(Collectors.toList());
-
-    if (nonWilds.size() == 3 && nonWilds.stream().distinct().count() == 1) {
-      return true;
-    }
-
-    if (nonWilds.size() == 3 && nonWilds.stream().distinct().count() == 3) {
-      return true;
-    }
-
-    if (wildCount > 0) {
-      if (wildCount == 1) {
-        if (nonWilds.stream().distinct().count() == 1) return true;
-        if (nonWilds.stream().distinct().count() == 2) return true;
-      }
-
-      if (wildCount == 2) return true;
-
-      if (wildCount == 3) return true;
-    }
-
-    return false;
+    return cardsToTrade.size() == 3
+        && GameRules.isValidTrade(
+            cardsToTrade.get(0).getType().ordinal(),
+            cardsToTrade.get(1).getType().ordinal(),
+            cardsToTrade.get(2).getType().ordinal());
   }
 
   private int calculateTerritoryMatchBonus(
-      Game game, PlayerGame playerGame, List<Card> cardsToTrade) {
+      GameState state, PlayerGame playerGame, List<Card> cardsToTrade) {
     int bonus = 0;
 
-    // Buscar todos os GameTerritories que o jogador possui nesta partida
-    List<GameTerritory> ownedGameTerritories =
-        gameTerritoryRepository.findByGameAndOwner(game, playerGame);
-
-    Map<Long, GameTerritory> ownedTerritoriesMap =
-        ownedGameTerritories.stream()
-            .collect(Collectors.toMap(gt -> gt.getTerritory().getId(), gt -> gt));
-
     // Verificar o bônus de correspondência de território
     for (Card card : cardsToTrade) {
       if (card.getTerritory() == null) continue;
       Long territoryMasterId = card.getTerritory().getId();
 
-      if (ownedTerritoriesMap.containsKey(territoryMasterId)) {
-        GameTerritory gt = ownedTerritoriesMap.get(territoryMasterId);
-        gt.setStaticArmies(gt.getStaticArmies() + 2);
-        gameTerritoryRepository.save(gt);
-        bonus += 2;
+      GameTerritory gt = state.findTerritory(territoryMasterId).orElse(null);
+      if (gt != null && gt.getOwner() != null && gt.getOwner().getId().equals(playerGame.getId())) {
+        gt.setStaticArmies(gt.getStaticArmies() + GameRules.TRADED_TERRITORY_BONUS);
+        state.markTerritoryDirty(gt);
+        bonus += GameRules.TRADED_TERRITORY_BONUS;
         System.out.println("Bônus de território para a carta: " + card.getTerritory().getName());
       }
     }
     return bonus;
   }
 
-  private void drawCard(PlayerGame playerGame) {
+  private void drawCard(GameState state, PlayerGame playerGame) {
+    // Compra do topo do baralho da partida, embaralhado no início do jogo
     Card cardToDraw =
-        cardRepository
-            .findRandomUnownedCard()
+        state
+            .getDeck()
+            .draw()
             .orElseThrow(
                 () ->
                     new RuntimeException(
                         "Baralho de cartas vazio. Não foi possível comprar carta."));
 
     PlayerCard playerCard = new PlayerCard();
-    playerCard.setPlayerGame(playerGame);
-    playerCard.setCard(cardToDraw);
+    playerCard.setPlayerGame(playerGameRepository.getReferenceById(playerGame.getId()));
+    playerCard.setCard(cardRepository.getReferenceById(cardToDraw.getId()));
 
-    playerCardRepository.save(playerCard);
-  }
+    PlayerCard saved = playerCardRepository.save(playerCard);
 
-  private List<Integer> simulateDiceRolls(int count) {
-    List<Integer> rolls = new ArrayList<>();
-    for (int i = 0; i < count; i++) {
-      rolls.add(random.nextInt(6) + 1);
-    }
-    Collections.sort(rolls, Collections.reverseOrder());
-    return rolls;
+    // Espelha a carta comprada no estado em memória
+    playerGame.getPlayerCards().add(new PlayerCard(saved.getId(), playerGame, cardToDraw));
+    state.markCardsDirty(playerGame);
+    state.markDeckDirty();
   }
 
-  private int[] resolveCombat(List<Integer> attackRolls, List<Integer> defenseRolls) {
-    int attackerLosses = 0;
-    int defenderLosses = 0;
-
-    int comparisons = Math.min(attackRolls.size(), defenseRolls.size());
-
-    for (int i = 0; i < comparisons; i++) {
-      int attackValue = attackRolls.get(i);
-      int defenseValue = defenseRolls.get(i);
-
-      if (attackValue > defenseValue) {
-        // Atacante vence o confronto
-        defenderLosses++;
-      } else {
-        // Defensor vence ou empata (empate é sempre do defensor)
-        attackerLosses++;
-      }
+  public Game findGameById(Long gameId) {
+    Optional<GameState> cached = gameStateStore.find(gameId);
+    if (cached.isPresent()) {
+      return cached.get().getGame();
     }
 
-    return new int[] {attackerLosses, defenderLosses};
-  }
-
-  public Game findGameById(Long gameId) {
-    return gameRepository
-        .findById(gameId)
-        .orElseThrow(() -> new RuntimeException("Partida com ID " + gameId + " não encontrada."));
-  }
+    Game game =
+        gameRepository
+            .findById(gameId)
+            .orElseThrow(
+                () -> new RuntimeException("Partida com ID " + gameId + " não encontrada."));
 
-  @Transactional(readOnly = true)
-  public List<PlayerCard> getPlayerCards(PlayerGame pg) {
-    return playerCardRepository.findByPlayerGame(pg);
+    // Partida em andamento ainda não carregada: passa a ser servida pelo estado em memória
+    if (GameState.isLiveStatus(game.getStatus())) {
+      return gameStateStore.get(gameId).map(GameState::getGame).orElse(game);
+    }
+    return game;
   }
 
   // IA =======================================
 
   @Transactional
   public Game addBotToLobby(Long lobbyId, String ownerUsername, String botUsername) {
+    gameCommandExecutor.acquire(lobbyId);
+
     // 1. Carregar e Validar o Lobby
     Game game =
         gameRepository
@@ -1627,6 +1656,7 @@ public class GameService {
     playerGameRepository.save(botPlayerGame);
 
     game.getPlayerGames().add(botPlayerGame);
+    lobbyIndex.update(game);
 
     return gameRepository.save(game);
   }
@@ -1634,6 +1664,8 @@ public class GameService {
   // Remove um BOT de um lobby existente.
   @Transactional
   public Game removeBotFromLobby(Long lobbyId, String ownerUsername, String botUsername) {
+    gameCommandExecutor.acquire(lobbyId);
+
     // 1. Carregar e Validar o Lobby
     Game game =
         gameRepository
@@ -1673,24 +1705,18 @@ public class GameService {
     // 5. Remover o BOT
     game.getPlayerGames().remove(botPg);
     playerGameRepository.delete(botPg);
+    lobbyIndex.update(game);
 
     return gameRepository.save(game);
   }
 
   // Decide a ação da IA baseada na fase.
 
+  @Transactional
   public Game executeAIAction(Long gameId, String aiUsername) {
-    try {
-      Thread.sleep(700);
-    } catch (InterruptedException e) {
-      Thread.currentThread().interrupt();
-      return gameRepository.findById(gameId).orElse(null);
-    }
+    gameCommandExecutor.acquire(gameId);
 
-    Game game =
-        gameRepository
-            .findById(gameId)
-            .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+    Game game = loadState(gameId).getGame();
 
     GameStatus status;
     try {
@@ -1722,146 +1748,82 @@ public class GameService {
     }
   }
 
-  // Alocação
-  private Game handleAIReinforceAndSetupPhase(Game game, String aiUsername) {
+  // As decisões vêm do BotStrategy do nível do bot, sobre um snapshot primitivo da partida: o
+  // GameService só traduz os ordinais para ids e executa
 
-    // Carregar Dados
-    final Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
-
-    // --- LOOP SÍNCRONO DE ALOCAÇÃO ---
-
-    while (true) {
-      if (aiPlayerGame.getUnallocatedArmies() <= 0) {
-        break;
-      }
+  private PlayerGame findAIPlayerGame(GameState state, String aiUsername) {
+    return state
+        .findPlayerByUsername(aiUsername)
+        .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
+  }
 
-      System.out.println("IA - Alocando tropa. Restantes: " + aiPlayerGame.getUnallocatedArmies());
+  private BotSnapshot botSnapshot(GameState state, PlayerGame aiPlayerGame) {
+    return BotSnapshot.of(state.getGraph(), state.getTerritories(), aiPlayerGame);
+  }
 
-      final PlayerGame currentPlayerGame = aiPlayerGame;
+  // Alocação
+  private Game handleAIReinforceAndSetupPhase(Game game, String aiUsername) {
+    GameState state = loadState(game.getId());
+    PlayerGame aiPlayerGame = findAIPlayerGame(state, aiUsername);
 
-      // Obter Territórios e Estratégia
-      Set<GameTerritory> aiTerritories =
-          game.getGameTerritories().stream()
-              .filter(gt -> gt.getOwner() != null && gt.getOwner().equals(currentPlayerGame))
-              .collect(Collectors.toSet());
+    // A distribuição inteira é decidida de uma vez; uma alocação por território
+    int[] placements =
+        botStrategyService.forPlayer(aiPlayerGame).reinforce(botSnapshot(state, aiPlayerGame));
+    TerritoryGraph graph = state.getGraph();
 
-      GameTerritory bestTarget = findMostVulnerableTerritory(aiTerritories);
+    for (int ordinal = 0; ordinal < placements.length; ordinal++) {
+      if (placements[ordinal] <= 0) continue;
 
-      // Fallback: Se não houver fronteira pegue qualquer um.
-      if (bestTarget == null) {
-        bestTarget = aiTerritories.stream().findAny().orElse(null);
-        if (bestTarget == null) {
-          System.err.println("IA não tem territórios para alocar. Saindo do loop.");
-          break; // Sai do loop para a transição de fase/turno.
-        }
-      }
+      System.out.println(
+          "IA - Alocando "
+              + placements[ordinal]
+              + " tropa(s). Restantes: "
+              + aiPlayerGame.getUnallocatedArmies());
 
-      // Execução da Ação
       try {
-        Long territoryId = bestTarget.getTerritory().getId();
-        int troopsToAllocate = 1;
-
-        game = this.allocateTroops(game.getId(), aiUsername, territoryId, troopsToAllocate);
+        game =
+            this.allocateTroops(
+                game.getId(), aiUsername, graph.territoryIdOf(ordinal), placements[ordinal]);
       } catch (Exception e) {
         System.err.println("Erro na alocação da IA. Parando: " + e.getMessage());
         break;
       }
+    }
 
-      aiPlayerGame =
-          playerGameRepository
-              .findByGameAndPlayer(game, aiPlayer)
-              .orElseThrow(
-                  () -> new RuntimeException("PlayerGame da IA não encontrado após alocação."));
+    if (Arrays.stream(placements).sum() == 0 && aiPlayerGame.getUnallocatedArmies() > 0) {
+      System.err.println("IA não tem territórios para alocar.");
     }
 
     // Se a fase for REINFORCEMENT e zerou as tropas, passamos para ATTACK
     if (GameStatus.ATTACK.name().equals(game.getStatus())) {
-      return this.executeAIAction(game.getId(), aiUsername);
+      requestAIAction(game.getId(), aiUsername);
     }
 
     return game;
   }
 
-  private GameTerritory findMostVulnerableTerritory(Set<GameTerritory> aiTerritories) {
-
-    GameTerritory mostVulnerable = null;
-    double highestVulnerabilityScore = -1.0;
-
-    for (GameTerritory gt : aiTerritories) {
-      // Encontrar o número de vizinhos inimigos
-      long enemyNeighbors =
-          gt.getTerritory().getNeighborTerritories().stream()
-              .map(
-                  neighborTerritory ->
-                      gt.getGame().getGameTerritories().stream()
-                          .filter(
-                              gtN -> gtN.getTerritory().getId().equals(neighborTerritory.getId()))
-                          .findFirst()
-                          .orElse(null))
-              .filter(
-                  gtNeighbor ->
-                      gtNeighbor != null
-                          && gtNeighbor.getOwner() != null
-                          && !gtNeighbor.getOwner().equals(gt.getOwner()))
-              .count();
-
-      if (enemyNeighbors == 0) continue; // Não é fronteira
-
-      // Cálculo do Score de Vulnerabilidade (quanto maior, mais tropas são necessárias) Score =
-      // (Total de Vizinhos Inimigos) / (Tropas Próprias)
-      double currentVulnerabilityScore = (double) enemyNeighbors / gt.getStaticArmies();
-
-      if (currentVulnerabilityScore > highestVulnerabilityScore) {
-        highestVulnerabilityScore = currentVulnerabilityScore;
-        mostVulnerable = gt;
-      }
-    }
-
-    return mostVulnerable;
-  }
-
   // Ataque
   private Game handleAIAttackPhase(Game game, String aiUsername) {
-    // Carregar Dados
-    final Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
+    PlayerGame aiPlayerGame = findAIPlayerGame(loadState(game.getId()), aiUsername);
+    BotStrategy strategy = botStrategyService.forPlayer(aiPlayerGame);
 
     // --- LOOP SÍNCRONO DE ATAQUE ---
-    boolean continueAttacking = true;
-
-    while (continueAttacking) {
+    while (true) {
 
       // DECISÃO DE ATAQUE
-      AttackDecision decision = findBestAttack(game, aiPlayerGame);
+      GameState state = loadState(game.getId());
+      BotMove decision = strategy.chooseAttack(botSnapshot(state, aiPlayerGame));
 
       if (decision == null) {
         System.out.println("IA - Não há mais ataques bons. Passando a fase de ATAQUE.");
-        continueAttacking = false;
         break;
       }
 
       // Execução da Ação
       try {
-        Long sourceTerritoryId = decision.fromTerritoryId();
-        Long targetTerritoryId = decision.toTerritoryId();
-        int numDice = decision.numDice();
+        Long sourceTerritoryId = state.getGraph().territoryIdOf(decision.source());
+        Long targetTerritoryId = state.getGraph().territoryIdOf(decision.target());
+        int numDice = decision.armies();
 
         System.out.println(
             "IA - ATACANDO "
@@ -1877,10 +1839,7 @@ public class GameService {
             this.executeAIAttack(
                 game.getId(), aiUsername, sourceTerritoryId, targetTerritoryId, numDice);
 
-        game =
-            gameRepository
-                .findById(game.getId())
-                .orElseThrow(() -> new RuntimeException("Partida não encontrada."));
+        game = loadState(game.getId()).getGame();
 
         if (GameStatus.FINISHED.name().equals(gameEnded.getStatus())) {
           System.out.println("IA - Jogo Vencido. ABORTANDO TURNO.");
@@ -1888,74 +1847,13 @@ public class GameService {
         }
       } catch (RuntimeException e) {
         System.err.println("IA falhou ao executar o ataque. Parando: " + e.getMessage());
-        continueAttacking = false;
+        break;
       }
     }
 
     return this.startNextTurn(game.getId(), aiUsername);
   }
 
-  private AttackDecision findBestAttack(Game game, PlayerGame aiPlayerGame) {
-
-    // Obter todos os territórios da IA que podem atacar (têm > 1 exército)
-    Set<GameTerritory> attackSources =
-        game.getGameTerritories().stream()
-            .filter(gt -> gt.getOwner() != null && gt.getOwner().equals(aiPlayerGame))
-            .filter(gt -> gt.getStaticArmies() > 1)
-            .collect(Collectors.toSet());
-
-    AttackDecision bestDecision = null;
-    double highestScore = 0.0;
-
-    // Iterar sobre todos os territórios de origem
-    for (GameTerritory source : attackSources) {
-
-      // Iterar sobre todos os vizinhos inimigos
-      Set<GameTerritory> enemyNeighbors = findEnemyNeighbors(game, source, aiPlayerGame);
-
-      for (GameTerritory target : enemyNeighbors) {
-
-        // Calcular os Dados e o Score
-        int attackingArmies = source.getStaticArmies() - 1;
-        int defendingArmies = target.getStaticArmies();
-
-        int numDice = Math.min(3, attackingArmies);
-
-        double currentScore = (double) attackingArmies / defendingArmies;
-
-        if (defendingArmies == 1) {
-          currentScore *= 2.0;
-        }
-
-        if (currentScore > highestScore && currentScore >= 1.5) {
-          highestScore = currentScore;
-          bestDecision =
-              new AttackDecision(
-                  source.getTerritory().getId(), target.getTerritory().getId(), numDice);
-        }
-      }
-    }
-
-    return bestDecision;
-  }
-
-  private Set<GameTerritory> findEnemyNeighbors(
-      Game game, GameTerritory source, PlayerGame aiPlayerGame) {
-    return source.getTerritory().getNeighborTerritories().stream()
-        .map(
-            neighborTerritory ->
-                game.getGameTerritories().stream()
-                    .filter(gtN -> gtN.getTerritory().getId().equals(neighborTerritory.getId()))
-                    .findFirst()
-                    .orElse(null))
-        .filter(
-            gtNeighbor ->
-                gtNeighbor != null
-                    && gtNeighbor.getOwner() != null
-                    && !gtNeighbor.getOwner().equals(aiPlayerGame))
-        .collect(Collectors.toSet());
-  }
-
   private Game executeAIAttack(
       Long gameId,
       String aiUsername,
@@ -1969,66 +1867,31 @@ public class GameService {
     return result.game;
   }
 
-  private record AttackDecision(Long fromTerritoryId, Long toTerritoryId, int numDice) {}
-
   // Movimentação
   private Game handleAIMovementPhase(Game game, String aiUsername) {
-    // Carregar Jogador
-    final Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
-
-    // Obter Territórios da IA (necessário para as estratégias)
-    Set<GameTerritory> aiTerritories =
-        game.getGameTerritories().stream()
-            .filter(gt -> gt.getOwner() != null && gt.getOwner().equals(aiPlayerGame))
-            .collect(Collectors.toSet());
+    GameState state = loadState(game.getId());
+    PlayerGame aiPlayerGame = findAIPlayerGame(state, aiUsername);
 
     // Decisão Estratégica
-    GameTerritory source = findBestFortificationSource(aiTerritories, aiPlayerGame);
-    GameTerritory target = findBestFortificationTarget(aiTerritories, aiPlayerGame);
-    // Calcular Quantidade e Validar Condições
-    int troopsToMove = 0;
-
-    if (source != null && target != null && !source.getId().equals(target.getId())) {
-
-      // Validação de Vizinhança
-      boolean isAdjacent =
-          territoryBorderRepository
-              .findByTerritoryIds(source.getTerritory().getId(), target.getTerritory().getId())
-              .isPresent();
-
-      if (isAdjacent) {
-        // Lógica de Cálculo de Tropas
-        troopsToMove = source.getStaticArmies() / 2;
-        int maxMoveable = source.getStaticArmies() - 1;
-        troopsToMove = Math.min(troopsToMove, maxMoveable);
-      }
-    }
+    BotMove move =
+        botStrategyService.forPlayer(aiPlayerGame).fortify(botSnapshot(state, aiPlayerGame));
 
     // Execução
-    if (troopsToMove >= 1) {
+    if (move != null) {
       try {
-        Long sourceTerritoryId = source.getTerritory().getId();
-        Long targetTerritoryId = target.getTerritory().getId();
+        Long sourceTerritoryId = state.getGraph().territoryIdOf(move.source());
+        Long targetTerritoryId = state.getGraph().territoryIdOf(move.target());
 
         System.out.println(
             "IA - FORTIFICANDO: "
-                + troopsToMove
+                + move.armies()
                 + " de "
-                + source.getTerritory().getName()
+                + sourceTerritoryId
                 + " para "
-                + target.getTerritory().getName());
+                + targetTerritoryId);
 
         this.executeAIMovement(
-            game.getId(), aiUsername, sourceTerritoryId, targetTerritoryId, troopsToMove);
+            game.getId(), aiUsername, sourceTerritoryId, targetTerritoryId, move.armies());
 
       } catch (Exception e) {
         System.err.println("IA falhou ao executar a fortificação: " + e.getMessage());
@@ -2041,38 +1904,6 @@ public class GameService {
     return this.startNextTurn(game.getId(), aiUsername);
   }
 
-  private GameTerritory findBestFortificationSource(
-      Set<GameTerritory> aiTerritories, PlayerGame aiPlayerGame) {
-    // Filtra por territórios internos (que não fazem fronteira com o inimigo)
-    // Ordena pelo maior número de tropas.
-    return aiTerritories.stream()
-        .filter(gt -> isBorderTerritory(gt, aiPlayerGame.getId(), gt.getGame()) == false)
-        .max(Comparator.comparing(GameTerritory::getStaticArmies))
-        .orElse(null);
-  }
-
-  private GameTerritory findBestFortificationTarget(
-      Set<GameTerritory> aiTerritories, PlayerGame aiPlayerGame) {
-    // Filtra por territórios que são fronteira com o inimigo.
-    // Ordena pelo menor número de tropas.
-    return aiTerritories.stream()
-        .filter(gt -> isBorderTerritory(gt, aiPlayerGame.getId(), gt.getGame()))
-        .min(Comparator.comparing(GameTerritory::getStaticArmies))
-        .orElse(null);
-  }
-
-  private boolean isBorderTerritory(GameTerritory gt, Long aiPlayerGameId, Game game) {
-    return gt.getTerritory().getNeighborTerritories().stream()
-        .map(
-            neighborTerritory ->
-                game.getGameTerritories().stream()
-                    .filter(gtN -> gtN.getTerritory().getId().equals(neighborTerritory.getId()))
-                    .findFirst()
-                    .orElse(null))
-        .filter(gtNeighbor -> gtNeighbor != null && gtNeighbor.getOwner() != null)
-        .anyMatch(gtNeighbor -> !gtNeighbor.getOwner().getId().equals(aiPlayerGameId));
-  }
-
   private Game executeAIMovement(
       Long gameId,
       String aiUsername,
@@ -2084,45 +1915,33 @@ public class GameService {
 
   // Cartas
   private Game handleAICardTradePhase(Game game, String aiUsername) {
-
-    // Carregar Jogador e Cartas
-    final Player aiPlayer =
-        game.getPlayers().stream()
-            .filter(p -> p.getUsername().equals(aiUsername))
-            .findFirst()
-            .orElseThrow(() -> new RuntimeException("Jogador IA não encontrado."));
-
-    PlayerGame aiPlayerGame =
-        playerGameRepository
-            .findByGameAndPlayer(game, aiPlayer)
-            .orElseThrow(() -> new RuntimeException("PlayerGame da IA não encontrado."));
-
-    Set<PlayerCard> playerCards = aiPlayerGame.getPlayerCards();
+    GameState state = loadState(game.getId());
+    PlayerGame aiPlayerGame = findAIPlayerGame(state, aiUsername);
 
     // Condição de Saída
+    Set<PlayerCard> playerCards = aiPlayerGame.getPlayerCards();
     if (playerCards == null || playerCards.size() < 3) {
       System.out.println("IA - Sem cartas suficientes para trocar. Iniciando Reforço.");
       return handleAIReinforceAndSetupPhase(game, aiUsername);
     }
 
     // DECISÃO DE TROCA
-    List<Long> cardIdsToTrade = findBestCardSet(playerCards);
+    long[] cardIdsToTrade =
+        botStrategyService
+            .forPlayer(aiPlayerGame)
+            .chooseCardTrade(botSnapshot(state, aiPlayerGame));
 
     // Execução
-    if (cardIdsToTrade.size() == 3) {
+    if (cardIdsToTrade.length == 3) {
       try {
         System.out.println("IA - Trocando um conjunto de cartas.");
 
-        game = this.executeAICardTrade(game.getId(), aiUsername, cardIdsToTrade);
+        game =
+            this.executeAICardTrade(
+                game.getId(), aiUsername, Arrays.stream(cardIdsToTrade).boxed().toList());
 
         // Se a IA fez a troca e ainda tem 5+ cartas, ela deve tentar trocar novamente.
-        aiPlayerGame =
-            playerGameRepository
-                .findByGameAndPlayer(game, aiPlayer)
-                .orElseThrow(
-                    () -> new RuntimeException("PlayerGame da IA não encontrado após troca."));
-
-        if (aiPlayerGame.getPlayerCards().size() >= 5) {
+        if (aiPlayerGame.getPlayerCards().size() >= GameRules.MANDATORY_TRADE_HAND_SIZE) {
           return handleAICardTradePhase(game, aiUsername);
         }
 
@@ -2137,159 +1956,7 @@ public class GameService {
     return handleAIReinforceAndSetupPhase(game, aiUsername);
   }
 
-  private List<Long> findBestCardSet(Set<PlayerCard> playerCards) {
-    if (playerCards.size() < 3) {
-      return List.of();
-    }
-
-    // Agrupa as cartas por tipo
-    Map<CardType, List<PlayerCard>> cardsByType =
-        playerCards.stream().collect(Collectors.groupingBy(pc -> pc.getCard().getType()));
-
-    // Tenta encontrar 3 cartas do mesmo tipo
-    for (Map.Entry<CardType, List<PlayerCard>> entry : cardsByType.entrySet()) {
-      if (entry.getValue().size() >= 3) {
-        return entry.getValue().stream()
-            .limit(3)
-            .map(PlayerCard::getId)
-            .collect(Collectors.toList());
-      }
-    }
-
-    // Tenta encontrar 3 cartas de tipos diferentes
-    List<PlayerCard> infantry = cardsByType.getOrDefault(CardType.INFANTRY, List.of());
-    List<PlayerCard> cavalry = cardsByType.getOrDefault(CardType.CAVALRY, List.of());
-    List<PlayerCard> artillery = cardsByType.getOrDefault(CardType.CANNON, List.of());
-
-    if (infantry.size() >= 1 && cavalry.size() >= 1 && artillery.size() >= 1) {
-      // Encontrou 1 de cada.
-      return List.of(infantry.get(0).getId(), cavalry.get(0).getId(), artillery.get(0).getId());
-    }
-
-    return List.of();
-  }
-
   private Game executeAICardTrade(Long gameId, String aiUsername, List<Long> cardIds) {
     return this.tradeCardsForReinforcements(gameId, aiUsername, cardIds);
   }
-
-  // Para fazer o DTO da mensagem do websocket
-
-  private GameStateResponseDto convertToGameStateDto(Game game) {
-    GameStateResponseDto dto = new GameStateResponseDto();
-    dto.setId(game.getId());
-    dto.setStatus(game.getStatus());
-    dto.setCreatedAt(game.getCreatedAt());
-    dto.setName(game.getName());
-    dto.setCardSetExchangeCount(game.getCardSetExchangeCount());
-
-    // Converter turnPlayer
-    if (game.getTurnPlayer() != null) {
-      dto.setTurnPlayer(convertToPlayerGameDto(game.getTurnPlayer()));
-    }
-
-    // Converter winner
-    if (game.getWinner() != null) {
-      dto.setWinner(convertToPlayerGameDto(game.getWinner()));
-    }
-
-    // Converter playerGames
-    if (game.getPlayerGames() != null) {
-      dto.setPlayerGames(
-          game.getPlayerGames().stream()
-              .map(this::convertToPlayerGameDto)
-              .collect(Collectors.toList()));
-    }
-
-    // Converter gameTerritories
-    if (game.getGameTerritories() != null) {
-      dto.setGameTerritories(
-          game.getGameTerritories().stream()
-              .map(this::convertToGameTerritoryDto)
-              .collect(Collectors.toList()));
-    }
-
-    return dto;
-  }
-
-  private GameStateResponseDto.PlayerGameDto convertToPlayerGameDto(
-      com.war.game.war_backend.model.PlayerGame pg) {
-    GameStateResponseDto.PlayerGameDto dto = new GameStateResponseDto.PlayerGameDto();
-    dto.setId(pg.getId());
-    dto.setTurnOrder(pg.getTurnOrder());
-    dto.setColor(pg.getColor());
-    dto.setIsOwner(pg.getIsOwner());
-    dto.setUnallocatedArmies(pg.getUnallocatedArmies());
-    dto.setConqueredTerritoryThisTurn(pg.getConqueredTerritoryThisTurn());
-    dto.setStillInGame(pg.getStillInGame());
-
-    if (pg.getObjective() != null) {
-      GameStateResponseDto.ObjectiveDto objDto = new GameStateResponseDto.ObjectiveDto();
-      objDto.setId(pg.getObjective().getId());
-      objDto.setDescription(pg.getObjective().getDescription());
-      objDto.setType(pg.getObjective().getType());
-      dto.setObjective(objDto);
-    }
-
-    if (pg.getPlayer() != null) {
-      GameStateResponseDto.PlayerDto playerDto = new GameStateResponseDto.PlayerDto();
-      playerDto.setId(pg.getPlayer().getId());
-      playerDto.setUsername(pg.getPlayer().getUsername());
-      playerDto.setImageUrl(pg.getPlayer().getImageUrl());
-      dto.setPlayer(playerDto);
-    }
-
-    List<com.war.game.war_backend.model.PlayerCard> playerCards = this.getPlayerCards(pg);
-    List<GameStateResponseDto.PlayerCardDto> cardDtos =
-        playerCards.stream()
-            .map(
-                pc -> {
-                  GameStateResponseDto.PlayerCardDto pcDto =
-                      new GameStateResponseDto.PlayerCardDto();
-                  pcDto.setId(pc.getId());
-                  if (pc.getCard() != null) {
-                    GameStateResponseDto.CardDto cardDto = new GameStateResponseDto.CardDto();
-                    cardDto.setId(pc.getCard().getId());
-                    cardDto.setType(pc.getCard().getType().name());
-                    cardDto.setImageName(pc.getCard().getImageName());
-                    if (pc.getCard().getTerritory() != null) {
-                      GameStateResponseDto.TerritoryDto terrDto =
-                          new GameStateResponseDto.TerritoryDto();
-                      terrDto.setId(pc.getCard().getTerritory().getId());
-                      terrDto.setName(pc.getCard().getTerritory().getName());
-                      terrDto.setContinent(pc.getCard().getTerritory().getContinent());
-                      cardDto.setTerritory(terrDto);
-                    }
-                    pcDto.setCard(cardDto);
-                  }
-                  return pcDto;
-                })
-            .collect(java.util.stream.Collectors.toList());
-    dto.setPlayerCards(cardDtos);
-
-    return dto;
-  }
-
-  private GameStateResponseDto.GameTerritoryDto convertToGameTerritoryDto(
-      com.war.game.war_backend.model.GameTerritory gt) {
-    GameStateResponseDto.GameTerritoryDto dto = new GameStateResponseDto.GameTerritoryDto();
-    dto.setId(gt.getTerritory() != null ? gt.getTerritory().getId() : null);
-    dto.setStaticArmies(gt.getStaticArmies());
-    dto.setMovedInArmies(gt.getMovedInArmies());
-    dto.setUnallocatedArmies(gt.getUnallocatedArmies());
-
-    if (gt.getOwner() != null) {
-      dto.setOwnerId(gt.getOwner().getId());
-    }
-
-    if (gt.getTerritory() != null) {
-      GameStateResponseDto.TerritoryDto terrDto = new GameStateResponseDto.TerritoryDto();
-      terrDto.setId(gt.getTerritory().getId());
-      terrDto.setName(gt.getTerritory().getName());
-      terrDto.setContinent(gt.getTerritory().getContinent());
-      dto.setTerritory(terrDto);
-    }
-
-    return dto;
-  }
 }
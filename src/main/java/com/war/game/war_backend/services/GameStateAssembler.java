@@ -0,0 +1,243 @@
+package com.war.game.war_backend.services;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.repository.GameTerritoryRepository;
+import com.war.game.war_backend.repository.PlayerCardRepository;
+import com.war.game.war_backend.repository.PlayerGameRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Monta o {@link GameStateResponseDto} das partidas. É o único conversor de estado completo do
+ * projeto.
+ *
+ * <p>Partidas em memória são montadas direto do {@link GameState}, sem nenhuma consulta, na vez da
+ * partida ({@link GameCommandExecutor#read}): um comando nunca é visto pela metade. As demais
+ * (finalizadas, canceladas) são lidas com três consultas com fetch join — jogadores, territórios e
+ * cartas — qualquer que seja o número de partidas ou de jogadores.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameStateAssembler {
+
+  private final GameStateStore gameStateStore;
+  private final GameCommandExecutor gameCommandExecutor;
+  private final PlayerGameRepository playerGameRepository;
+  private final GameTerritoryRepository gameTerritoryRepository;
+  private final PlayerCardRepository playerCardRepository;
+
+  @Transactional(readOnly = true)
+  public GameStateResponseDto assemble(Game game) {
+    return assembleAll(List.of(game)).get(0);
+  }
+
+  /** Monta várias partidas de uma vez, na ordem recebida. */
+  @Transactional(readOnly = true)
+  public List<GameStateResponseDto> assembleAll(List<Game> games) {
+    Map<Long, GameStateResponseDto> dtos = new LinkedHashMap<>();
+    List<Game> stored = new ArrayList<>();
+
+    for (Game game : games) {
+      Optional<GameStateResponseDto> live = fromMemory(game.getId());
+      if (live.isPresent()) {
+        dtos.put(game.getId(), live.get());
+      } else {
+        dtos.put(game.getId(), null);
+        stored.add(game);
+      }
+    }
+
+    if (!stored.isEmpty()) {
+      fromDatabase(stored).forEach(dtos::put);
+    }
+
+    return new ArrayList<>(dtos.values());
+  }
+
+  // Montado na vez da partida, depois do comando em andamento. Se a partida saiu da memória
+  // enquanto esperava (ação desfeita), vale o banco
+  private Optional<GameStateResponseDto> fromMemory(Long gameId) {
+    if (gameStateStore.find(gameId).isEmpty()) {
+      return Optional.empty();
+    }
+    return gameCommandExecutor.read(gameId, () -> gameStateStore.find(gameId).map(this::fromState));
+  }
+
+  private GameStateResponseDto fromState(GameState state) {
+    // A versão é lida antes do restante, para nunca ser mais nova que os dados do snapshot
+    long version = state.getVersion();
+
+    Map<Long, List<PlayerCard>> cardsByPlayer = new LinkedHashMap<>();
+    for (PlayerGame pg : state.getPlayers()) {
+      cardsByPlayer.put(pg.getId(), new ArrayList<>(pg.getPlayerCards()));
+    }
+
+    return toDto(
+        state.getGame(), version, state.getPlayers(), state.getTerritories(), cardsByPlayer);
+  }
+
+  private Map<Long, GameStateResponseDto> fromDatabase(List<Game> games) {
+    List<Long> gameIds = games.stream().map(Game::getId).collect(Collectors.toList());
+
+    Map<Long, List<PlayerGame>> playersByGame =
+        playerGameRepository.findByGameIdInWithPlayer(gameIds).stream()
+            .sorted(
+                Comparator.comparing(
+                    PlayerGame::getTurnOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+            .collect(Collectors.groupingBy(pg -> pg.getGame().getId()));
+
+    Map<Long, List<GameTerritory>> territoriesByGame =
+        gameTerritoryRepository.findByGameIdInWithTerritory(gameIds).stream()
+            .collect(Collectors.groupingBy(gt -> gt.getGame().getId()));
+
+    Map<Long, List<PlayerCard>> cardsByPlayer =
+        playerCardRepository.findByGameIdInWithCard(gameIds).stream()
+            .collect(Collectors.groupingBy(pc -> pc.getPlayerGame().getId()));
+
+    Map<Long, GameStateResponseDto> dtos = new LinkedHashMap<>();
+    for (Game game : games) {
+      dtos.put(
+          game.getId(),
+          toDto(
+              game,
+              0L,
+              playersByGame.getOrDefault(game.getId(), List.of()),
+              territoriesByGame.getOrDefault(game.getId(), List.of()),
+              cardsByPlayer));
+    }
+    return dtos;
+  }
+
+  private GameStateResponseDto toDto(
+      Game game,
+      long version,
+      Collection<PlayerGame> players,
+      Collection<GameTerritory> territories,
+      Map<Long, List<PlayerCard>> cardsByPlayer) {
+
+    Map<Long, GameStateResponseDto.PlayerGameDto> playerDtos = new LinkedHashMap<>();
+    for (PlayerGame pg : players) {
+      playerDtos.put(
+          pg.getId(), toPlayerGameDto(pg, cardsByPlayer.getOrDefault(pg.getId(), List.of())));
+    }
+
+    GameStateResponseDto dto = new GameStateResponseDto();
+    dto.setVersion(version);
+    dto.setId(game.getId());
+    dto.setStatus(game.getStatus());
+    dto.setCreatedAt(game.getCreatedAt());
+    dto.setName(game.getName());
+    dto.setCardSetExchangeCount(game.getCardSetExchangeCount());
+
+    // Turno e vencedor reaproveitam os jogadores já convertidos (só o ID é lido da associação)
+    if (game.getTurnPlayer() != null) {
+      dto.setTurnPlayer(playerDtos.get(game.getTurnPlayer().getId()));
+    }
+    if (game.getWinner() != null) {
+      dto.setWinner(playerDtos.get(game.getWinner().getId()));
+    }
+
+    dto.setPlayerGames(new ArrayList<>(playerDtos.values()));
+    dto.setGameTerritories(
+        territories.stream().map(this::toGameTerritoryDto).collect(Collectors.toList()));
+
+    return dto;
+  }
+
+  private GameStateResponseDto.PlayerGameDto toPlayerGameDto(
+      PlayerGame pg, List<PlayerCard> playerCards) {
+    GameStateResponseDto.PlayerGameDto dto = new GameStateResponseDto.PlayerGameDto();
+    dto.setId(pg.getId());
+    dto.setTurnOrder(pg.getTurnOrder());
+    dto.setColor(pg.getColor());
+    dto.setIsOwner(pg.getIsOwner());
+    dto.setUnallocatedArmies(pg.getUnallocatedArmies());
+    dto.setConqueredTerritoryThisTurn(pg.getConqueredTerritoryThisTurn());
+    dto.setStillInGame(pg.getStillInGame());
+
+    if (pg.getObjective() != null) {
+      GameStateResponseDto.ObjectiveDto objDto = new GameStateResponseDto.ObjectiveDto();
+      objDto.setId(pg.getObjective().getId());
+      objDto.setDescription(pg.getObjective().getDescription());
+      objDto.setType(pg.getObjective().getType());
+      dto.setObjective(objDto);
+    }
+
+    if (pg.getPlayer() != null) {
+      GameStateResponseDto.PlayerDto playerDto = new GameStateResponseDto.PlayerDto();
+      playerDto.setId(pg.getPlayer().getId());
+      playerDto.setUsername(pg.getPlayer().getUsername());
+      playerDto.setImageUrl(pg.getPlayer().getImageUrl());
+      dto.setPlayer(playerDto);
+    }
+
+    dto.setPlayerCards(toPlayerCardDtos(playerCards));
+
+    return dto;
+  }
+
+  public List<GameStateResponseDto.PlayerCardDto> toPlayerCardDtos(List<PlayerCard> playerCards) {
+    return playerCards.stream()
+        .map(
+            pc -> {
+              GameStateResponseDto.PlayerCardDto pcDto = new GameStateResponseDto.PlayerCardDto();
+              pcDto.setId(pc.getId());
+              if (pc.getCard() != null) {
+                GameStateResponseDto.CardDto cardDto = new GameStateResponseDto.CardDto();
+                cardDto.setId(pc.getCard().getId());
+                cardDto.setType(pc.getCard().getType().name());
+                cardDto.setImageName(pc.getCard().getImageName());
+                if (pc.getCard().getTerritory() != null) {
+                  GameStateResponseDto.TerritoryDto terrDto =
+                      new GameStateResponseDto.TerritoryDto();
+                  terrDto.setId(pc.getCard().getTerritory().getId());
+                  terrDto.setName(pc.getCard().getTerritory().getName());
+                  terrDto.setContinent(pc.getCard().getTerritory().getContinent());
+                  cardDto.setTerritory(terrDto);
+                }
+                pcDto.setCard(cardDto);
+              }
+              return pcDto;
+            })
+        .collect(Collectors.toList());
+  }
+
+  private GameStateResponseDto.GameTerritoryDto toGameTerritoryDto(GameTerritory gt) {
+    GameStateResponseDto.GameTerritoryDto dto = new GameStateResponseDto.GameTerritoryDto();
+    dto.setId(gt.getTerritory() != null ? gt.getTerritory().getId() : null);
+    dto.setStaticArmies(gt.getStaticArmies());
+    dto.setMovedInArmies(gt.getMovedInArmies());
+    dto.setUnallocatedArmies(gt.getUnallocatedArmies());
+
+    if (gt.getOwner() != null) {
+      dto.setOwnerId(gt.getOwner().getId());
+    }
+
+    if (gt.getTerritory() != null) {
+      GameStateResponseDto.TerritoryDto terrDto = new GameStateResponseDto.TerritoryDto();
+      terrDto.setId(gt.getTerritory().getId());
+      terrDto.setName(gt.getTerritory().getName());
+      terrDto.setContinent(gt.getTerritory().getContinent());
+      dto.setTerritory(terrDto);
+    }
+
+    return dto;
+  }
+}
@@ -0,0 +1,132 @@
+package com.war.game.war_backend.services;
+
+import java.util.stream.Collectors;
+
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+
+import com.war.game.war_backend.controller.dto.response.GameStateDeltaDto;
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.GameStateDelta;
+import com.war.game.war_backend.model.Game;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Envia aos jogadores os deltas do {@link GameState} e, nos pontos em que o cliente recomeça do
+ * zero (início e fim da partida), o estado completo.
+ *
+ * <p>Cada transação que mexe em uma partida agenda um único envio para depois do commit; o delta
+ * reúne tudo o que a transação alterou. O envio acontece ainda na vez da partida (antes de o {@link
+ * GameCommandExecutor} liberá-la), então os deltas saem na ordem das versões.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameStateBroadcaster {
+
+  private final SimpMessagingTemplate messagingTemplate;
+  private final GameStateAssembler gameStateAssembler;
+  private final GameStateViewCache gameStateViewCache;
+
+  /** Agenda o envio do delta da partida para depois do commit da transação atual. */
+  public void publishAfterCommit(GameState state) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      publish(state);
+      return;
+    }
+
+    // Um único envio por partida e transação
+    String key = "game-state-delta:" + state.getGameId();
+    if (TransactionSynchronizationManager.hasResource(key)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(key, state);
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            publish(state);
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(key);
+          }
+        });
+  }
+
+  /** Envia imediatamente o que estiver pendente na partida. */
+  public void publish(GameState state) {
+    GameStateDelta delta = state.drainDelta();
+    if (delta == null) {
+      return;
+    }
+
+    messagingTemplate.convertAndSend("/topic/game/" + delta.gameId() + "/delta", toDto(delta));
+  }
+
+  /**
+   * Envia o estado completo da partida em /topic/game/{id}/state. O broker recebe o JSON já pronto:
+   * para partidas em memória é o mesmo serializado uma vez por versão em {@link
+   * GameStateViewCache}, que também atende o polling e as respostas HTTP.
+   */
+  public void publishState(Game game) {
+    byte[] body =
+        gameStateViewCache
+            .view(game.getId())
+            .map(GameStateViewCache.View::body)
+            .orElseGet(() -> gameStateViewCache.toJson(gameStateAssembler.assemble(game)));
+
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+    accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    accessor.setLeaveMutable(true);
+    messagingTemplate.send(
+        "/topic/game/" + game.getId() + "/state",
+        MessageBuilder.createMessage(body, accessor.getMessageHeaders()));
+  }
+
+  private GameStateDeltaDto toDto(GameStateDelta delta) {
+    GameStateDeltaDto dto = new GameStateDeltaDto();
+    dto.setGameId(delta.gameId());
+    dto.setVersion(delta.version());
+
+    if (delta.game() != null) {
+      dto.setStatus(delta.game().status());
+      dto.setTurnPlayerId(delta.game().turnPlayerId());
+      dto.setWinnerId(delta.game().winnerId());
+      dto.setCardSetExchangeCount(delta.game().cardSetExchangeCount());
+    }
+
+    dto.setPlayers(
+        delta.players().stream()
+            .map(
+                p ->
+                    new GameStateDeltaDto.PlayerPatchDto(
+                        p.id(),
+                        p.unallocatedArmies(),
+                        p.conqueredTerritoryThisTurn(),
+                        p.stillInGame(),
+                        p.cards() != null ? gameStateAssembler.toPlayerCardDtos(p.cards()) : null))
+            .collect(Collectors.toList()));
+
+    dto.setTerritories(
+        delta.territories().stream()
+            .map(
+                t ->
+                    new GameStateDeltaDto.TerritoryPatchDto(
+                        t.territoryId(),
+                        t.ownerId(),
+                        t.staticArmies(),
+                        t.movedInArmies(),
+                        t.unallocatedArmies()))
+            .collect(Collectors.toList()));
+
+    return dto;
+  }
+}
@@ -0,0 +1,316 @@
+package com.war.game.war_backend.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameStateChanges;
+import com.war.game.war_backend.engine.GameStateSnapshot;
+
+/**
+ * Journal local das alterações que o write-behind ainda não gravou no banco.
+ *
+ * <p>Cada lote capturado de uma partida é anexado, antes de entrar na fila de gravação, a um
+ * arquivo próprio da partida ({@code game-<id>.journal}), uma linha por registro. Depois que o lote
+ * chega ao banco o arquivo é apagado. Se a aplicação cair no meio do caminho, os arquivos que
+ * sobraram são reaplicados na subida: como cada linha traz valores absolutos, reaplicar em ordem um
+ * registro já gravado não muda nada.
+ *
+ * <p>Cada partida tem a sua trava (em faixas, por id): as linhas de uma partida saem em ordem,
+ * enquanto partidas diferentes escrevem em paralelo.
+ *
+ * <p>O journal sobrevive a reinícios do processo; não há fsync a cada registro, então uma queda da
+ * máquina pode perder as últimas linhas. Com o diretório vazio o journal fica desligado.
+ */
+@Component
+public class GameStateJournal {
+
+  private static final String PREFIX = "game-";
+  private static final String SUFFIX = ".journal";
+
+  private static final ObjectMapper JSON = new ObjectMapper();
+
+  private static final int LOCK_STRIPES = 64;
+
+  private final Path directory;
+  private final Object[] locks = new Object[LOCK_STRIPES];
+
+  public GameStateJournal(@Value("${app.game-state.journal.dir:}") String directory) {
+    this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new Object();
+    }
+  }
+
+  public boolean isEnabled() {
+    return directory != null;
+  }
+
+  /** Anexa o lote ao journal da partida. Uma falha de disco é registrada, mas não interrompe. */
+  public void append(GameStateChanges changes) {
+    if (!isEnabled() || changes.isEmpty()) return;
+
+    // Codificado fora da trava; só a escrita no arquivo da partida é serializada
+    List<String> lines = encode(changes);
+    synchronized (lockOf(changes.gameId())) {
+      try {
+        Files.createDirectories(directory);
+        try (BufferedWriter writer =
+            Files.newBufferedWriter(
+                fileOf(changes.gameId()),
+                StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND)) {
+          for (String line : lines) {
+            writer.write(line);
+            writer.write('\n');
+          }
+        }
+      } catch (IOException e) {
+        System.err.println(
+            "Journal - Falha ao registrar a partida " + changes.gameId() + ": " + e.getMessage());
+      }
+    }
+  }
+
+  /** Tamanho atual do journal da partida, usado como marca antes de uma gravação. */
+  public long position(Long gameId) {
+    if (!isEnabled()) return 0L;
+    synchronized (lockOf(gameId)) {
+      try {
+        Path file = fileOf(gameId);
+        return Files.exists(file) ? Files.size(file) : 0L;
+      } catch (IOException e) {
+        return -1L;
+      }
+    }
+  }
+
+  /**
+   * Descarta o journal da partida depois de uma gravação bem-sucedida, desde que nada tenha sido
+   * anexado depois da marca; caso contrário ele fica para a próxima gravação.
+   */
+  public void discardUpTo(Long gameId, long position) {
+    if (!isEnabled() || position < 0) return;
+    synchronized (lockOf(gameId)) {
+      if (position(gameId) == position) {
+        delete(gameId);
+      }
+    }
+  }
+
+  public void delete(Long gameId) {
+    if (!isEnabled()) return;
+    synchronized (lockOf(gameId)) {
+      try {
+        Files.deleteIfExists(fileOf(gameId));
+      } catch (IOException e) {
+        System.err.println("Journal - Falha ao apagar a partida " + gameId + ": " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Lê todos os journals que sobraram, um lote por partida com a versão mais recente de cada linha.
+   * Uma última linha sem quebra (queda no meio da escrita) é ignorada.
+   */
+  public List<GameStateChanges> readAll() {
+    List<GameStateChanges> batches = new ArrayList<>();
+    if (!isEnabled() || !Files.isDirectory(directory)) return batches;
+
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+      for (Path file : files) {
+        String name = file.getFileName().toString();
+        Long gameId =
+            Long.valueOf(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+
+        String content;
+        synchronized (lockOf(gameId)) {
+          content = Files.readString(file, StandardCharsets.UTF_8);
+        }
+        List<String> lines = new ArrayList<>(List.of(content.split("\n", -1)));
+        lines.remove(lines.size() - 1);
+
+        GameStateChanges merged = empty(gameId);
+        for (String line : lines) {
+          GameStateChanges record = decode(gameId, line);
+          if (record != null) {
+            merged = merged.merge(record);
+          }
+        }
+        batches.add(merged);
+      }
+    } catch (IOException | NumberFormatException e) {
+      System.err.println("Journal - Falha ao ler " + directory + ": " + e.getMessage());
+    }
+    return batches;
+  }
+
+  private Object lockOf(Long gameId) {
+    return locks[Math.floorMod(gameId.hashCode(), locks.length)];
+  }
+
+  private Path fileOf(Long gameId) {
+    return directory.resolve(PREFIX + gameId + SUFFIX);
+  }
+
+  private static GameStateChanges empty(Long gameId) {
+    return new GameStateChanges(gameId, null, List.of(), List.of());
+  }
+
+  // FORMATO =====================================
+  // G|id|status|turnPlayerId|winnerId|cardSetExchangeCount[|deckOrder|deckPosition|discardPile]
+  // P|id|unallocatedArmies|conqueredTerritoryThisTurn|stillInGame
+  // T|id|ownerId|staticArmies|movedInArmies|unallocatedArmies
+  // E|<evento em JSON>
+  // S|<snapshot em JSON>
+
+  static List<String> encode(GameStateChanges changes) {
+    List<String> lines = new ArrayList<>();
+    GameStateChanges.GameRow game = changes.game();
+    if (game != null) {
+      List<String> fields =
+          new ArrayList<>(
+              List.of(
+                  "G",
+                  String.valueOf(game.id()),
+                  game.status(),
+                  text(game.turnPlayerId()),
+                  text(game.winnerId()),
+                  String.valueOf(game.cardSetExchangeCount())));
+      if (game.deck() != null) {
+        fields.add(GameStateChanges.DeckRow.join(game.deck().order()));
+        fields.add(String.valueOf(game.deck().position()));
+        fields.add(GameStateChanges.DeckRow.join(game.deck().discardPile()));
+      }
+      lines.add(String.join("|", fields));
+    }
+    for (GameStateChanges.PlayerRow row : changes.players()) {
+      lines.add(
+          String.join(
+              "|",
+              "P",
+              String.valueOf(row.id()),
+              String.valueOf(row.unallocatedArmies()),
+              String.valueOf(row.conqueredTerritoryThisTurn()),
+              String.valueOf(row.stillInGame())));
+    }
+    for (GameStateChanges.TerritoryRow row : changes.territories()) {
+      lines.add(
+          String.join(
+              "|",
+              "T",
+              String.valueOf(row.id()),
+              text(row.ownerId()),
+              String.valueOf(row.staticArmies()),
+              String.valueOf(row.movedInArmies()),
+              String.valueOf(row.unallocatedArmies())));
+    }
+    for (GameEvent event : changes.events()) {
+      lines.add("E|" + json(event));
+    }
+    if (changes.snapshot() != null) {
+      lines.add("S|" + json(changes.snapshot()));
+    }
+    return lines;
+  }
+
+  static GameStateChanges decode(Long gameId, String line) {
+    String[] fields = line.split("\\|", -1);
+    try {
+      switch (fields[0]) {
+        case "E":
+          return new GameStateChanges(
+              gameId,
+              null,
+              List.of(),
+              List.of(),
+              List.of(JSON.readValue(line.substring(2), GameEvent.class)),
+              null);
+        case "S":
+          return new GameStateChanges(
+              gameId,
+              null,
+              List.of(),
+              List.of(),
+              List.of(),
+              JSON.readValue(line.substring(2), GameStateSnapshot.class));
+        case "G":
+          if (fields.length != 6 && fields.length != 9) return null;
+          return new GameStateChanges(
+              gameId,
+              new GameStateChanges.GameRow(
+                  Long.valueOf(fields[1]),
+                  fields[2],
+                  id(fields[3]),
+                  id(fields[4]),
+                  Integer.parseInt(fields[5]),
+                  fields.length == 9
+                      ? new GameStateChanges.DeckRow(
+                          GameStateChanges.DeckRow.split(fields[6]),
+                          Integer.parseInt(fields[7]),
+                          GameStateChanges.DeckRow.split(fields[8]))
+                      : null),
+              List.of(),
+              List.of());
+        case "P":
+          if (fields.length != 5) return null;
+          return new GameStateChanges(
+              gameId,
+              null,
+              List.of(
+                  new GameStateChanges.PlayerRow(
+                      Long.valueOf(fields[1]),
+                      Integer.parseInt(fields[2]),
+                      Boolean.parseBoolean(fields[3]),
+                      Boolean.parseBoolean(fields[4]))),
+              List.of());
+        case "T":
+          if (fields.length != 6) return null;
+          return new GameStateChanges(
+              gameId,
+              null,
+              List.of(),
+              List.of(
+                  new GameStateChanges.TerritoryRow(
+                      Long.valueOf(fields[1]),
+                      id(fields[2]),
+                      Integer.parseInt(fields[3]),
+                      Integer.parseInt(fields[4]),
+                      Integer.parseInt(fields[5]))));
+        default:
+          return null;
+      }
+    } catch (NumberFormatException | JsonProcessingException e) {
+      return null;
+    }
+  }
+
+  private static String json(Object value) {
+    try {
+      return JSON.writeValueAsString(value);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static String text(Long id) {
+    return id != null ? id.toString() : "";
+  }
+
+  private static Long id(String text) {
+    return text.isEmpty() ? null : Long.valueOf(text);
+  }
+}
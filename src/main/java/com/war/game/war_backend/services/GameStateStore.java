@@ -0,0 +1,158 @@
+package com.war.game.war_backend.services;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.model.Card;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.repository.CardRepository;
+import com.war.game.war_backend.repository.GameRepository;
+import com.war.game.war_backend.repository.GameTerritoryRepository;
+import com.war.game.war_backend.repository.PlayerCardRepository;
+import com.war.game.war_backend.repository.PlayerGameRepository;
+
+/**
+ * Mantém em memória o {@link GameState} das partidas em andamento.
+ *
+ * <p>O estado é carregado do banco no primeiro acesso e, a partir daí, é a fonte da verdade para as
+ * ações do jogo. Partidas fora das fases de jogo (lobby, finalizadas, canceladas) são hidratadas
+ * sob demanda, mas não ficam no cache.
+ */
+@Service
+public class GameStateStore {
+
+  private final Map<Long, GameState> states = new ConcurrentHashMap<>();
+  private final List<Consumer<Long>> evictionListeners = new CopyOnWriteArrayList<>();
+
+  private final GameRepository gameRepository;
+  private final PlayerGameRepository playerGameRepository;
+  private final GameTerritoryRepository gameTerritoryRepository;
+  private final PlayerCardRepository playerCardRepository;
+  private final CardRepository cardRepository;
+  private final TerritoryGraphService territoryGraphService;
+  private final GameEventLog gameEventLog;
+  private final TransactionTemplate transactionTemplate;
+
+  public GameStateStore(
+      GameRepository gameRepository,
+      PlayerGameRepository playerGameRepository,
+      GameTerritoryRepository gameTerritoryRepository,
+      PlayerCardRepository playerCardRepository,
+      CardRepository cardRepository,
+      TerritoryGraphService territoryGraphService,
+      GameEventLog gameEventLog,
+      PlatformTransactionManager transactionManager) {
+    this.gameRepository = gameRepository;
+    this.playerGameRepository = playerGameRepository;
+    this.gameTerritoryRepository = gameTerritoryRepository;
+    this.playerCardRepository = playerCardRepository;
+    this.cardRepository = cardRepository;
+    this.territoryGraphService = territoryGraphService;
+    this.gameEventLog = gameEventLog;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  /** Retorna o estado da partida, carregando do banco se ainda não estiver em memória. */
+  public Optional<GameState> get(Long gameId) {
+    GameState cached = states.get(gameId);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    GameState loaded = transactionTemplate.execute(status -> load(gameId));
+    if (loaded == null) {
+      return Optional.empty();
+    }
+
+    if (!loaded.isLive()) {
+      return Optional.of(loaded);
+    }
+
+    // Se outra thread carregou a mesma partida ao mesmo tempo, prevalece a primeira
+    GameState previous = states.putIfAbsent(gameId, loaded);
+    return Optional.of(previous != null ? previous : loaded);
+  }
+
+  /** Retorna o estado somente se a partida já estiver em memória. */
+  public Optional<GameState> find(Long gameId) {
+    return Optional.ofNullable(states.get(gameId));
+  }
+
+  public void evict(Long gameId) {
+    states.remove(gameId);
+    evictionListeners.forEach(listener -> listener.accept(gameId));
+  }
+
+  /**
+   * Avisa quem guarda dados derivados do estado (como o {@link GameStateViewCache}) a cada evict.
+   */
+  public void addEvictionListener(Consumer<Long> listener) {
+    evictionListeners.add(listener);
+  }
+
+  /**
+   * Monta o estado da partida pelo log de eventos (último snapshot mais os eventos seguintes), sem
+   * depender das linhas gravadas pelo write-behind. O resultado não entra no cache. Vazio se a
+   * partida não existe ou ainda não tem snapshot.
+   */
+  public Optional<GameState> rebuild(Long gameId) {
+    return Optional.ofNullable(
+        transactionTemplate.execute(
+            status -> {
+              GameState state = load(gameId);
+              if (state == null) return null;
+              return gameEventLog
+                  .replay(gameId)
+                  .map(
+                      snapshot -> {
+                        state.restore(snapshot);
+                        return state;
+                      })
+                  .orElse(null);
+            }));
+  }
+
+  private GameState load(Long gameId) {
+    Game game = gameRepository.findById(gameId).orElse(null);
+    if (game == null) {
+      return null;
+    }
+
+    List<PlayerGame> playerGames = playerGameRepository.findByGameIdWithPlayer(gameId);
+    List<GameTerritory> gameTerritories = gameTerritoryRepository.findByGameIdWithTerritory(gameId);
+    List<PlayerCard> playerCards = playerCardRepository.findByGameIdWithCard(gameId);
+
+    // O baralho só é montado para partidas que ficam em memória
+    List<Card> allCards =
+        GameState.isLiveStatus(game.getStatus())
+            ? cardRepository.findAllWithTerritory()
+            : List.of();
+
+    GameState state =
+        GameState.hydrate(
+            territoryGraphService.getGraph(),
+            game,
+            playerGames,
+            gameTerritories,
+            playerCards,
+            allCards);
+
+    // A numeração dos eventos continua de onde a partida parou
+    if (state.isLive()) {
+      state.resumeEvents(gameEventLog.lastSeq(gameId));
+    }
+    return state;
+  }
+}
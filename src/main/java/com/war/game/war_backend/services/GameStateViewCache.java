@@ -0,0 +1,175 @@
+package com.war.game.war_backend.services;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import jakarta.annotation.PostConstruct;
+
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
+import com.war.game.war_backend.engine.GameState;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Estado completo das partidas em memória, serializado uma vez por versão e reaproveitado pelo
+ * polling, pelas respostas das ações e pelos envios em /topic/game/{id}/state.
+ *
+ * <p>Cada partida guarda só a última serialização, identificada pela ETag {@code
+ * W/"<gameId>-<época>-<versão>"}. A versão é a mesma dos deltas de /topic/game/{id}/delta e só
+ * avança depois do commit, então a comparação com {@code If-None-Match} não precisa do banco.
+ * Serializações feitas durante uma ação ainda não confirmada são entregues, mas não guardadas.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameStateViewCache {
+
+  private final GameStateStore gameStateStore;
+  private final GameStateAssembler gameStateAssembler;
+  private final ObjectMapper objectMapper;
+
+  private final Map<Long, View> views = new ConcurrentHashMap<>();
+
+  public record View(String etag, byte[] body) {}
+
+  @PostConstruct
+  void registerEviction() {
+    gameStateStore.addEvictionListener(this::evict);
+  }
+
+  /** Descarta a serialização guardada da partida; chamado quando o estado sai da memória. */
+  public void evict(Long gameId) {
+    views.remove(gameId);
+  }
+
+  public static String etagOf(GameState state) {
+    return "W/\"" + state.getGameId() + "-" + state.getEpoch() + "-" + state.getVersion() + "\"";
+  }
+
+  /** ETag atual da partida, se ela estiver em memória. */
+  public Optional<String> etag(Long gameId) {
+    return gameStateStore.find(gameId).map(GameStateViewCache::etagOf);
+  }
+
+  /**
+   * Verifica se o cabeçalho {@code If-None-Match} contém a ETag. A comparação é fraca: {@code W/} é
+   * ignorado dos dois lados.
+   */
+  public static boolean matches(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null || etag == null) return false;
+
+    String opaque = stripWeak(etag);
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.equals("*") || stripWeak(tag).equals(opaque)) return true;
+    }
+    return false;
+  }
+
+  /**
+   * ETag atual da partida, se ela estiver em memória, o jogador ainda estiver nela e o cabeçalho
+   * {@code If-None-Match} a contiver. Quem não está na partida nunca recebe 304.
+   */
+  public Optional<String> findCurrentEtagForMember(
+      Long gameId, String ifNoneMatch, String username) {
+    if (ifNoneMatch == null) return Optional.empty();
+
+    return gameStateStore
+        .find(gameId)
+        .filter(state -> isStillInGame(state, username))
+        .map(GameStateViewCache::etagOf)
+        .filter(etag -> matches(ifNoneMatch, etag));
+  }
+
+  /**
+   * Procura, entre as ETags do cabeçalho, a da partida em memória em que o jogador ainda está e que
+   * continua atual. Serve para o /current-game responder 304 sem saber de antemão qual é a partida.
+   */
+  public Optional<String> findCurrentEtagForPlayer(String ifNoneMatch, String username) {
+    if (ifNoneMatch == null) return Optional.empty();
+
+    for (String candidate : ifNoneMatch.split(",")) {
+      Long gameId = gameIdOf(candidate.trim());
+      if (gameId == null) continue;
+
+      Optional<String> current =
+          gameStateStore
+              .find(gameId)
+              .filter(state -> isStillInGame(state, username))
+              .map(GameStateViewCache::etagOf)
+              .filter(etag -> matches(candidate, etag));
+      if (current.isPresent()) return current;
+    }
+    return Optional.empty();
+  }
+
+  private static boolean isStillInGame(GameState state, String username) {
+    return state
+        .findPlayerByUsername(username)
+        .map(pg -> Boolean.TRUE.equals(pg.getStillInGame()))
+        .orElse(false);
+  }
+
+  /** Estado serializado da partida, se ela estiver em memória. */
+  public Optional<View> view(Long gameId) {
+    return gameStateStore.find(gameId).map(this::view);
+  }
+
+  private View view(GameState state) {
+    // Lidos antes da montagem, para a ETag nunca ser mais nova que o conteúdo
+    String etag = etagOf(state);
+    boolean settled = !state.hasUnpublishedChanges();
+
+    View cached = views.get(state.getGameId());
+    if (cached != null && cached.etag().equals(etag)) {
+      return cached;
+    }
+
+    View view = new View(etag, serialize(state));
+
+    // Só guarda o que não mudou durante a montagem
+    if (settled && !state.hasUnpublishedChanges() && etag.equals(etagOf(state))) {
+      views.put(state.getGameId(), view);
+      // O estado pode ter saído da memória durante a montagem
+      if (gameStateStore.find(state.getGameId()).orElse(null) != state) {
+        views.remove(state.getGameId(), view);
+      }
+    }
+    return view;
+  }
+
+  private byte[] serialize(GameState state) {
+    return toJson(gameStateAssembler.assemble(state.getGame()));
+  }
+
+  /** Serializa um estado montado fora do cache (partidas que não estão em memória). */
+  public byte[] toJson(GameStateResponseDto gameState) {
+    try {
+      return objectMapper.writeValueAsBytes(gameState);
+    } catch (JsonProcessingException e) {
+      throw new RuntimeException("Erro ao serializar o estado da partida.", e);
+    }
+  }
+
+  private static String stripWeak(String tag) {
+    return tag.startsWith("W/") ? tag.substring(2) : tag;
+  }
+
+  // W/"<gameId>-<época>-<versão>" -> gameId
+  private static Long gameIdOf(String tag) {
+    String opaque = stripWeak(tag);
+    if (opaque.length() < 2 || !opaque.startsWith("\"") || !opaque.endsWith("\"")) return null;
+
+    String[] parts = opaque.substring(1, opaque.length() - 1).split("-");
+    if (parts.length != 3) return null;
+    try {
+      return Long.parseLong(parts[0]);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,322 @@
+package com.war.game.war_backend.services;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.GameStateChanges;
+import com.war.game.war_backend.model.enums.GameStatus;
+
+/**
+ * Grava no banco, de forma assíncrona, as alterações acumuladas no {@link GameState}.
+ *
+ * <p>Depois do commit da transação que marcou a partida, as alterações são retiradas do estado,
+ * registradas no {@link GameStateJournal} e somadas ao lote pendente da partida; uma ação desfeita
+ * não chega à fila nem ao journal. Enquanto houver uma gravação agendada, novas marcações só
+ * substituem as linhas repetidas pela versão mais recente. A gravação usa JDBC em lote (um UPDATE
+ * por tabela, com todas as linhas), então o número de escritas no banco não cresce com o número de
+ * rodadas de dados. Os eventos do lote vão para o {@link GameEventLog} na mesma transação. Com
+ * atraso zero a gravação acontece na própria transação da ação (usado nos testes).
+ */
+@Service
+public class GameStateWriteBehind {
+
+  private static final String UPDATE_PLAYER =
+      "UPDATE player_game SET unallocated_armies = ?, conquered_territory_this_turn = ?,"
+          + " still_in_game = ? WHERE pk_id = ?";
+  private static final String UPDATE_TERRITORY =
+      "UPDATE game_territory SET player_game_id = ?, static_armies = ?, moved_in_armies = ?,"
+          + " unallocated_armies = ? WHERE pk_id = ?";
+  private static final String UPDATE_GAME =
+      "UPDATE game SET status = ?, turn_player_id = ?, winner_id = ?, card_set_exchange_count = ?,"
+          + " finished_at = COALESCE(finished_at, ?), deck_order = COALESCE(?, deck_order),"
+          + " deck_position = COALESCE(?, deck_position), discard_pile = COALESCE(?, discard_pile)"
+          + " WHERE pk_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final GameStateJournal journal;
+  private final GameEventLog gameEventLog;
+  private final TransactionTemplate requiredTx;
+  private final TransactionTemplate requiresNewTx;
+  private final long delayMs;
+
+  @PersistenceContext private EntityManager entityManager;
+
+  // Lote ainda não gravado de cada partida
+  private final Map<Long, PendingWrite> pending = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "game-state-write-behind");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final class PendingWrite {
+    GameStateChanges changes;
+    boolean scheduled;
+  }
+
+  public GameStateWriteBehind(
+      JdbcTemplate jdbcTemplate,
+      GameStateJournal journal,
+      GameEventLog gameEventLog,
+      PlatformTransactionManager transactionManager,
+      @Value("${app.game-state.write-behind.delay-ms:250}") long delayMs) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.journal = journal;
+    this.gameEventLog = gameEventLog;
+    this.requiredTx = new TransactionTemplate(transactionManager);
+    this.requiresNewTx = new TransactionTemplate(transactionManager);
+    this.requiresNewTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    this.delayMs = delayMs;
+  }
+
+  /**
+   * Reaplica o que ficou no journal de uma execução anterior, antes que alguma partida seja
+   * carregada do banco.
+   */
+  @PostConstruct
+  public void recoverJournal() {
+    for (GameStateChanges changes : journal.readAll()) {
+      if (!changes.isEmpty()) {
+        // Eventos e snapshots já gravados não são inseridos de novo
+        requiresNewTx.executeWithoutResult(status -> apply(gameEventLog.withoutRecorded(changes)));
+        System.out.println(
+            "Write-behind - Partida "
+                + changes.gameId()
+                + " recuperada do journal: "
+                + changes.players().size()
+                + " jogadores, "
+                + changes.territories().size()
+                + " territórios.");
+      }
+      journal.delete(changes.gameId());
+    }
+  }
+
+  /** Agenda a gravação das alterações pendentes da partida, após o commit da transação atual. */
+  public void markDirty(GameState state) {
+    if (!state.hasPendingChanges()) {
+      return;
+    }
+
+    if (delayMs <= 0) {
+      GameStateChanges changes = state.drainChanges();
+      try {
+        requiredTx.executeWithoutResult(status -> apply(changes));
+      } catch (RuntimeException e) {
+        System.err.println(
+            "Write-behind - Falha ao gravar a partida " + changes.gameId() + ": " + e.getMessage());
+        state.requeue(changes);
+      }
+      return;
+    }
+
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      schedule(state);
+      return;
+    }
+
+    // Só entra na fila (e no journal) o que a transação da ação confirmou; uma vez por transação
+    String key = "game-state-write-behind:" + state.getGameId();
+    if (TransactionSynchronizationManager.hasResource(key)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(key, state);
+
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            schedule(state);
+          }
+
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(key);
+          }
+        });
+  }
+
+  private void schedule(GameState state) {
+    Long gameId = state.getGameId();
+    PendingWrite write = enqueue(state);
+    synchronized (write) {
+      if (write.changes == null || write.scheduled) {
+        return;
+      }
+      write.scheduled = true;
+    }
+    scheduler.schedule(() -> flush(gameId), delayMs, TimeUnit.MILLISECONDS);
+  }
+
+  /** Grava imediatamente, em transação própria, tudo o que estiver pendente na partida. */
+  public void flushNow(GameState state) {
+    enqueue(state);
+    flush(state.getGameId());
+
+    // Partida encerrada: o lote só sai da fila se nada tiver chegado durante a gravação
+    pending.computeIfPresent(
+        state.getGameId(),
+        (id, write) -> {
+          synchronized (write) {
+            return write.changes == null && !write.scheduled ? null : write;
+          }
+        });
+  }
+
+  /**
+   * Grava já, em transação própria, o lote que estiver na fila da partida, sem retirar nada do
+   * estado. Usado quando uma ação é desfeita: só o que foi confirmado antes chega ao banco.
+   */
+  public void flushQueued(Long gameId) {
+    flush(gameId);
+  }
+
+  // Retira as alterações do estado e as soma ao lote pendente, já registradas no journal
+  private PendingWrite enqueue(GameState state) {
+    PendingWrite write = pending.computeIfAbsent(state.getGameId(), id -> new PendingWrite());
+    synchronized (write) {
+      GameStateChanges changes = state.drainChanges();
+      if (!changes.isEmpty()) {
+        journal.append(changes);
+        write.changes = write.changes == null ? changes : write.changes.merge(changes);
+      }
+    }
+    return write;
+  }
+
+  private void flush(Long gameId) {
+    PendingWrite write = pending.get(gameId);
+    if (write == null) {
+      return;
+    }
+
+    GameStateChanges batch;
+    long journalPosition;
+    synchronized (write) {
+      batch = write.changes;
+      write.changes = null;
+      write.scheduled = false;
+      journalPosition = journal.position(gameId);
+    }
+    if (batch == null) {
+      return;
+    }
+
+    try {
+      requiresNewTx.executeWithoutResult(status -> apply(batch));
+    } catch (RuntimeException e) {
+      System.err.println(
+          "Write-behind - Falha ao gravar a partida " + gameId + ": " + e.getMessage());
+
+      // O lote volta para a fila (as linhas mais novas prevalecem) e segue no journal
+      synchronized (write) {
+        write.changes = write.changes == null ? batch : batch.merge(write.changes);
+      }
+      return;
+    }
+
+    journal.discardUpTo(gameId, journalPosition);
+  }
+
+  private void apply(GameStateChanges changes) {
+    // Na transação da própria ação, alterações ainda não enviadas pelo JPA vão antes das nossas
+    entityManager.flush();
+
+    if (!changes.players().isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          UPDATE_PLAYER,
+          changes.players(),
+          changes.players().size(),
+          (ps, row) -> {
+            ps.setInt(1, row.unallocatedArmies());
+            ps.setBoolean(2, row.conqueredTerritoryThisTurn());
+            ps.setBoolean(3, row.stillInGame());
+            ps.setLong(4, row.id());
+          });
+    }
+
+    if (!changes.territories().isEmpty()) {
+      jdbcTemplate.batchUpdate(
+          UPDATE_TERRITORY,
+          changes.territories(),
+          changes.territories().size(),
+          (ps, row) -> {
+            if (row.ownerId() != null) {
+              ps.setLong(1, row.ownerId());
+            } else {
+              ps.setNull(1, Types.BIGINT);
+            }
+            ps.setInt(2, row.staticArmies());
+            ps.setInt(3, row.movedInArmies());
+            ps.setInt(4, row.unallocatedArmies());
+            ps.setLong(5, row.id());
+          });
+    }
+
+    GameStateChanges.GameRow gameRow = changes.game();
+    if (gameRow != null) {
+      // Sem baralho na linha, o gravado fica como está
+      GameStateChanges.DeckRow deck = gameRow.deck();
+      jdbcTemplate.update(
+          UPDATE_GAME,
+          gameRow.status(),
+          gameRow.turnPlayerId(),
+          gameRow.winnerId(),
+          gameRow.cardSetExchangeCount(),
+          new SqlParameterValue(
+              Types.TIMESTAMP,
+              GameStatus.FINISHED.name().equals(gameRow.status())
+                  ? Timestamp.valueOf(LocalDateTime.now())
+                  : null),
+          new SqlParameterValue(
+              Types.VARCHAR, deck != null ? GameStateChanges.DeckRow.join(deck.order()) : null),
+          new SqlParameterValue(Types.INTEGER, deck != null ? deck.position() : null),
+          new SqlParameterValue(
+              Types.VARCHAR,
+              deck != null ? GameStateChanges.DeckRow.join(deck.discardPile()) : null),
+          gameRow.id());
+    }
+
+    gameEventLog.append(changes);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdown();
+    try {
+      scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+
+    // Garante que nada pendente se perca no desligamento; o que falhar continua no journal
+    for (Long gameId : List.copyOf(pending.keySet())) {
+      flush(gameId);
+    }
+  }
+}
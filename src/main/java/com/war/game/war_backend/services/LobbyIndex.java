@@ -0,0 +1,191 @@
+package com.war.game.war_backend.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.war.game.war_backend.controller.dto.response.LobbyListDiffDto;
+import com.war.game.war_backend.controller.dto.response.LobbyListResponseDto;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.enums.GameStatus;
+import com.war.game.war_backend.repository.GameRepository;
+
+/**
+ * Lista de lobbies em memória. É carregada do banco uma única vez e depois só recebe as alterações
+ * feitas pelo {@link GameService}, aplicadas após o commit de cada transação. O {@code GameService}
+ * altera cada lobby na vez da partida ({@link GameCommandExecutor}), que só é liberada depois do
+ * commit, então as alterações de um mesmo lobby chegam aqui na ordem em que foram feitas.
+ *
+ * <p>As alterações não são enviadas uma a uma: elas se acumulam e, no máximo a cada {@code
+ * app.lobbies.broadcast-interval-ms}, um único {@link LobbyListDiffDto} com o que mudou vai para
+ * /topic/lobbies/list. Várias alterações do mesmo lobby no intervalo viram uma só.
+ */
+@Service
+public class LobbyIndex {
+
+  private static final String TOPIC = "/topic/lobbies/list";
+
+  private final GameRepository gameRepository;
+  private final SimpMessagingTemplate messagingTemplate;
+  private final long broadcastIntervalMs;
+
+  private final ScheduledExecutorService scheduler =
+      Executors.newSingleThreadScheduledExecutor(
+          r -> {
+            Thread thread = new Thread(r, "lobby-list-broadcast");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  // Guardados pelo monitor do índice
+  private Map<Long, LobbyListResponseDto> lobbies;
+  private final Map<Long, LobbyListResponseDto> pendingUpserts = new LinkedHashMap<>();
+  private final Set<Long> pendingRemovals = new LinkedHashSet<>();
+  private boolean broadcastScheduled;
+  private long version;
+
+  public LobbyIndex(
+      GameRepository gameRepository,
+      SimpMessagingTemplate messagingTemplate,
+      @Value("${app.lobbies.broadcast-interval-ms:250}") long broadcastIntervalMs) {
+    this.gameRepository = gameRepository;
+    this.messagingTemplate = messagingTemplate;
+    this.broadcastIntervalMs = broadcastIntervalMs;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reload();
+  }
+
+  /** Recarrega a lista inteira do banco. */
+  public synchronized void reload() {
+    Map<Long, LobbyListResponseDto> loaded = new LinkedHashMap<>();
+    for (Game lobby : gameRepository.findByStatusWithPlayers(GameStatus.LOBBY.name())) {
+      loaded.put(lobby.getId(), toDto(lobby, lobby.getPlayerGames().size()));
+    }
+    lobbies = loaded;
+  }
+
+  /** Lobbies abertos, em ordem de criação. */
+  public synchronized List<LobbyListResponseDto> list() {
+    ensureLoaded();
+    List<LobbyListResponseDto> list = new ArrayList<>(lobbies.values());
+    list.sort(Comparator.comparing(LobbyListResponseDto::getId));
+    return list;
+  }
+
+  /** A lista inteira com a versão atual, para quem acabou de se inscrever. */
+  public synchronized LobbyListDiffDto snapshot() {
+    return new LobbyListDiffDto(version, true, list(), List.of());
+  }
+
+  /** Registra o lobby com a contagem atual de jogadores. */
+  public void update(Game lobby) {
+    update(lobby, lobby.getPlayerGames().size());
+  }
+
+  public void update(Game lobby, int playerCount) {
+    LobbyListResponseDto dto = toDto(lobby, playerCount);
+    afterCommit(() -> applyUpdate(dto));
+  }
+
+  /** Retira o lobby da lista (excluído ou iniciado). */
+  public void remove(Long lobbyId) {
+    afterCommit(() -> applyRemoval(lobbyId));
+  }
+
+  private synchronized void applyUpdate(LobbyListResponseDto dto) {
+    ensureLoaded();
+    lobbies.put(dto.getId(), dto);
+    pendingRemovals.remove(dto.getId());
+    pendingUpserts.put(dto.getId(), dto);
+    scheduleBroadcast();
+  }
+
+  private synchronized void applyRemoval(Long lobbyId) {
+    ensureLoaded();
+    lobbies.remove(lobbyId);
+    pendingUpserts.remove(lobbyId);
+    pendingRemovals.add(lobbyId);
+    scheduleBroadcast();
+  }
+
+  private void scheduleBroadcast() {
+    if (broadcastIntervalMs <= 0) {
+      broadcast();
+      return;
+    }
+    if (broadcastScheduled) return;
+
+    broadcastScheduled = true;
+    scheduler.schedule(this::broadcast, broadcastIntervalMs, TimeUnit.MILLISECONDS);
+  }
+
+  private synchronized void broadcast() {
+    broadcastScheduled = false;
+    if (pendingUpserts.isEmpty() && pendingRemovals.isEmpty()) return;
+
+    LobbyListDiffDto diff =
+        new LobbyListDiffDto(
+            ++version,
+            false,
+            new ArrayList<>(pendingUpserts.values()),
+            new ArrayList<>(pendingRemovals));
+    pendingUpserts.clear();
+    pendingRemovals.clear();
+
+    try {
+      messagingTemplate.convertAndSend(TOPIC, diff);
+    } catch (RuntimeException e) {
+      System.err.println("Lobbies - Falha ao enviar a lista: " + e.getMessage());
+    }
+  }
+
+  private void ensureLoaded() {
+    if (lobbies == null) {
+      reload();
+    }
+  }
+
+  // Aplica só o que foi confirmado; fora de transação, aplica na hora
+  private static void afterCommit(Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private static LobbyListResponseDto toDto(Game lobby, int playerCount) {
+    return new LobbyListResponseDto(lobby.getId(), lobby.getName(), lobby.getStatus(), playerCount);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+}
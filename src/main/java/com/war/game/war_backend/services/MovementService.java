@@ -18,7 +18,6 @@ import com.war.game.war_backend.model.Player;
 import com.war.game.war_backend.model.PlayerGame;
 import com.war.game.war_backend.repository.GameTerritoryRepository;
 import com.war.game.war_backend.repository.PlayerGameRepository;
-import com.war.game.war_backend.repository.TerritoryBorderRepository;
 
 @Service
 public class MovementService {
@@ -34,7 +33,7 @@ public class MovementService {
 
   @Autowired private GameTerritoryRepository gameTerritoryRepository;
 
-  @Autowired private TerritoryBorderRepository territoryBorderRepository;
+  @Autowired private TerritoryGraphService territoryGraphService;
 
   @Transactional
   public Movement createMovement(MovementRequestDto request, Player currentPlayer) {
@@ -53,7 +52,7 @@ public class MovementService {
 
     // Validate territories are adjacent
     boolean areAdjacent =
-        territoryBorderRepository.areTerritoryBordering(
+        territoryGraphService.areAdjacent(
             request.getOriginTerritoryId(), request.getDestinationTerritoryId());
     if (!areAdjacent) {
       throw new IllegalStateException("Territories are not adjacent");
@@ -0,0 +1,61 @@
+package com.war.game.war_backend.services;
+
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.war.game.war_backend.engine.RulesCatalog;
+import com.war.game.war_backend.model.Objective;
+import com.war.game.war_backend.repository.ObjectiveRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fornece o {@link RulesCatalog}. Como o grafo do mapa, o catálogo é montado uma única vez, quando
+ * a aplicação termina de subir (depois dos inicializadores de objetivos), e depois só é lido.
+ */
+@Service
+@RequiredArgsConstructor
+public class RulesCatalogService {
+
+  private final TerritoryGraphService territoryGraphService;
+  private final ObjectiveRepository objectiveRepository;
+
+  private volatile RulesCatalog catalog;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reload();
+  }
+
+  public RulesCatalog getCatalog() {
+    RulesCatalog current = catalog;
+    if (current == null) {
+      synchronized (this) {
+        if (catalog == null) {
+          reload();
+        }
+        current = catalog;
+      }
+    }
+    return current;
+  }
+
+  /**
+   * Remonta o catálogo a partir do grafo atual e dos objetivos do banco (por exemplo, depois de
+   * {@link TerritoryGraphService#reload()}).
+   */
+  public synchronized void reload() {
+    List<Objective> objectives = objectiveRepository.findAll();
+    catalog = RulesCatalog.build(territoryGraphService.getGraph(), objectives);
+
+    System.out.println(
+        "Catálogo de regras carregado: "
+            + catalog.continents().size()
+            + " continentes, "
+            + objectives.size()
+            + " objetivos.");
+  }
+}
@@ -0,0 +1,82 @@
+package com.war.game.war_backend.services;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.model.Territory;
+import com.war.game.war_backend.repository.TerritoryBorderRepository;
+import com.war.game.war_backend.repository.TerritoryRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fornece o grafo de adjacência do mapa, com os continentes. O grafo é montado uma única vez,
+ * quando a aplicação termina de subir (depois dos inicializadores de territórios e fronteiras), e
+ * reaproveitado por todas as partidas.
+ */
+@Service
+@RequiredArgsConstructor
+public class TerritoryGraphService {
+
+  private final TerritoryRepository territoryRepository;
+  private final TerritoryBorderRepository territoryBorderRepository;
+
+  private volatile TerritoryGraph graph;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    reload();
+  }
+
+  public TerritoryGraph getGraph() {
+    TerritoryGraph current = graph;
+    if (current == null) {
+      synchronized (this) {
+        if (graph == null) {
+          reload();
+        }
+        current = graph;
+      }
+    }
+    return current;
+  }
+
+  public boolean areAdjacent(Long territoryIdA, Long territoryIdB) {
+    return getGraph().areAdjacent(territoryIdA, territoryIdB);
+  }
+
+  /** Remonta o grafo a partir do banco (por exemplo, após alterar as fronteiras do mapa). */
+  public synchronized void reload() {
+    List<Territory> territories =
+        territoryRepository.findAll().stream()
+            .sorted(Comparator.comparing(Territory::getId))
+            .collect(Collectors.toList());
+    List<Long> territoryIds = territories.stream().map(Territory::getId).toList();
+    Map<Long, String> continents =
+        territories.stream()
+            .filter(t -> t.getContinent() != null)
+            .collect(Collectors.toMap(Territory::getId, Territory::getContinent));
+    List<long[]> borders =
+        territoryBorderRepository.findAllTerritoryIdPairs().stream()
+            .map(row -> new long[] {(Long) row[0], (Long) row[1]})
+            .collect(Collectors.toList());
+
+    graph = TerritoryGraph.build(territoryIds, borders, continents);
+
+    System.out.println(
+        "Grafo do mapa carregado: "
+            + territoryIds.size()
+            + " territórios, "
+            + borders.size()
+            + " fronteiras, "
+            + graph.continents().size()
+            + " continentes.");
+  }
+}
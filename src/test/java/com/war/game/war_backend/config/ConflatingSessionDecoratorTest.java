@@ -0,0 +1,133 @@
+package com.war.game.war_backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ConflatingSessionDecoratorTest {
+
+  private static final long SEND_TIME_LIMIT_MS = 200;
+
+  @Mock private WebSocketSession session;
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<String> sent = new CopyOnWriteArrayList<>();
+  private final CountDownLatch slowLink = new CountDownLatch(1);
+  private final CountDownLatch threeSent = new CountDownLatch(3);
+
+  private OutboundQueueDecoratorFactory factory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    factory =
+        new OutboundQueueDecoratorFactory(
+            meterRegistry, List.of("/topic/game/*/state"), 4, 2, SEND_TIME_LIMIT_MS);
+
+    // A conexão trava no primeiro quadro até o teste liberar. Se a fila estourar antes de a
+    // escrita começar, a conexão nem chega a ser usada
+    lenient()
+        .doAnswer(
+            invocation -> {
+              slowLink.await(2, TimeUnit.SECONDS);
+              String frame =
+                  ((WebSocketMessage<?>) invocation.getArgument(0)).getPayload().toString();
+              sent.add(frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1));
+              threeSent.countDown();
+              return null;
+            })
+        .when(session)
+        .sendMessage(any());
+  }
+
+  @AfterEach
+  void tearDown() {
+    slowLink.countDown();
+    factory.shutdown();
+  }
+
+  @Test
+  void sendMessage_SlowLink_ShouldKeepOnlyNewestStateAndEveryChatMessage() throws Exception {
+    ConflatingSessionDecorator decorated = factory.decorateSession(session);
+
+    // Act - O primeiro quadro ocupa a conexão; os seguintes se acumulam na fila
+    decorated.sendMessage(frame("/topic/chat/1", "oi"));
+    decorated.sendMessage(frame("/topic/game/1/state", "v1"));
+    decorated.sendMessage(frame("/topic/chat/1", "tudo bem?"));
+    decorated.sendMessage(frame("/topic/game/1/state", "v2"));
+    decorated.sendMessage(frame("/topic/game/1/state", "v3"));
+    slowLink.countDown();
+
+    // Assert - Chat completo e em ordem; do estado, só a última versão
+    assertTrue(threeSent.await(2, TimeUnit.SECONDS));
+    assertEquals(List.of("oi", "tudo bem?", "v3"), sent);
+    assertEquals(
+        2.0, meterRegistry.counter("websocket.outbound.dropped", "reason", "conflated").count());
+  }
+
+  @Test
+  void sendMessage_QueueOverLimit_ShouldCloseSessionAndCountDrop() throws Exception {
+    ConflatingSessionDecorator decorated = factory.decorateSession(session);
+
+    // Act - Mensagens que não podem ser conflacionadas passam do limite de 4 na fila
+    for (int i = 0; i < 6; i++) {
+      decorated.sendMessage(frame("/topic/chat/1", "msg " + i));
+    }
+
+    // Assert
+    verify(session, timeout(2000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+    assertEquals(1.0, meterRegistry.counter("websocket.outbound.slow_consumer.closed").count());
+    assertEquals(
+        5.0, meterRegistry.counter("websocket.outbound.dropped", "reason", "overflow").count());
+  }
+
+  @Test
+  void sendMessage_SendOverTimeLimit_ShouldCloseSessionFromSendingThread() throws Exception {
+    ConflatingSessionDecorator decorated = factory.decorateSession(session);
+
+    // Arrange - A escrita do primeiro quadro fica presa na conexão
+    decorated.sendMessage(frame("/topic/chat/1", "oi"));
+    verify(session, timeout(2000)).sendMessage(any());
+    Thread.sleep(SEND_TIME_LIMIT_MS + 100);
+
+    // Act
+    decorated.sendMessage(frame("/topic/chat/1", "tudo bem?"));
+
+    // Assert - Fechada na hora, sem esperar a escrita travada
+    verify(session).close(CloseStatus.SESSION_NOT_RELIABLE);
+    assertEquals(1.0, meterRegistry.counter("websocket.outbound.slow_consumer.closed").count());
+    assertEquals(
+        1.0, meterRegistry.counter("websocket.outbound.dropped", "reason", "overflow").count());
+    assertEquals(0, decorated.queued());
+  }
+
+  private static TextMessage frame(String destination, String body) {
+    return new TextMessage(
+        "MESSAGE\ndestination:"
+            + destination
+            + "\ncontent-type:application/json\nsubscription:sub-0\nmessage-id:1\n\n"
+            + body
+            + "\u0000");
+  }
+}
@@ -0,0 +1,107 @@
+package com.war.game.war_backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ExecutorConfigTest {
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private ThreadPoolTaskExecutor executor;
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    executor.shutdown();
+  }
+
+  @Test
+  void boundedExecutor_Full_ShouldRejectTask() throws Exception {
+    // Arrange - 1 thread e 1 vaga na fila
+    executor =
+        ExecutorConfig.boundedExecutor(
+            "ai-turn-", 1, 1, new ThreadPoolExecutor.AbortPolicy(), false);
+    executor.initialize();
+    AtomicReference<String> threadName = new AtomicReference<>();
+    occupyThreadAndQueue(threadName);
+
+    // Act & Assert - A terceira tarefa não cabe
+    assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+    assertEquals("ai-turn-1", threadName.get());
+    assertEquals(1, executor.getQueueSize());
+  }
+
+  @Test
+  void boundedExecutor_FullWithCallerRuns_ShouldRunOnSubmittingThread() throws Exception {
+    // Arrange
+    executor =
+        ExecutorConfig.boundedExecutor(
+            "broker-inbound-", 1, 1, new ThreadPoolExecutor.CallerRunsPolicy(), false);
+    executor.initialize();
+    occupyThreadAndQueue(new AtomicReference<>());
+
+    // Act
+    AtomicReference<Thread> ranOn = new AtomicReference<>();
+    executor.execute(() -> ranOn.set(Thread.currentThread()));
+
+    // Assert - Quem publicou demais paga o custo
+    assertEquals(Thread.currentThread(), ranOn.get());
+  }
+
+  @Test
+  void brokerOutboundExecutor_Full_ShouldRejectAndCountInsteadOfRunningOnCaller() throws Exception {
+    // Arrange - Rodar na thread de quem publicou passaria a mensagem na frente da fila
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    ExecutorConfig config = new ExecutorConfig(new MockEnvironment(), meterRegistry);
+    ReflectionTestUtils.setField(config, "brokerOutboundThreads", 1);
+    ReflectionTestUtils.setField(config, "brokerOutboundQueueCapacity", 1);
+    executor = config.brokerOutboundExecutor();
+    executor.initialize();
+    occupyThreadAndQueue(new AtomicReference<>());
+
+    // Act & Assert
+    assertThrows(TaskRejectedException.class, () -> executor.execute(() -> {}));
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("executor.rejected")
+            .tag("name", "clientOutboundChannelExecutor")
+            .counter()
+            .count());
+  }
+
+  private void occupyThreadAndQueue(AtomicReference<String> threadName) throws Exception {
+    CountDownLatch running = new CountDownLatch(1);
+    executor.execute(
+        () -> {
+          threadName.set(Thread.currentThread().getName());
+          running.countDown();
+          awaitRelease();
+        });
+    assertTrue(running.await(1, TimeUnit.SECONDS));
+    executor.execute(this::awaitRelease);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await(2, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
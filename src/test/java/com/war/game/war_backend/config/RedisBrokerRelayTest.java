@@ -0,0 +1,159 @@
+package com.war.game.war_backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.util.MimeTypeUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+class RedisBrokerRelayTest {
+
+  private static final String CHANNEL = "war:broker";
+
+  @Mock private RedisConnectionFactory connectionFactory;
+
+  @Mock private RedisConnection connection;
+
+  @Mock private RedisMessageListenerContainer listenerContainer;
+
+  @Mock private MessageChannel brokerChannel;
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private RedisBrokerRelay relay;
+
+  @BeforeEach
+  void setUp() {
+    relay =
+        new RedisBrokerRelay(
+            connectionFactory,
+            listenerContainer,
+            brokerChannel,
+            objectMapper,
+            CHANNEL,
+            List.of("/topic/game/", "/topic/lobby/"));
+  }
+
+  @AfterEach
+  void tearDown() {
+    relay.shutdown();
+  }
+
+  @Test
+  void preSend_GameTopic_ShouldPublishToRedis() throws Exception {
+    // Arrange
+    when(connectionFactory.getConnection()).thenReturn(connection);
+    byte[] payload = "{\"version\":3}".getBytes(StandardCharsets.UTF_8);
+
+    // Act
+    relay.preSend(message("/topic/game/7/delta", payload), brokerChannel);
+
+    // Assert
+    ArgumentCaptor<byte[]> body = ArgumentCaptor.forClass(byte[].class);
+    verify(connection, timeout(2000))
+        .publish(eq(CHANNEL.getBytes(StandardCharsets.UTF_8)), body.capture());
+
+    RedisBrokerRelay.RelayedMessage relayed =
+        objectMapper.readValue(
+            new String(body.getValue(), StandardCharsets.UTF_8),
+            RedisBrokerRelay.RelayedMessage.class);
+    assertEquals(relay.getNodeId(), relayed.node());
+    assertEquals("/topic/game/7/delta", relayed.destination());
+    assertEquals("application/json", relayed.contentType());
+    assertArrayEquals(payload, relayed.payload());
+  }
+
+  @Test
+  void preSend_RelayedOrUserMessage_ShouldNotPublish() {
+    // Arrange - Uma mensagem que veio de outro nó, uma fila de usuário e a lista de lobbies, que
+    // não são replicadas
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setDestination("/topic/game/7/delta");
+    accessor.setHeader(RedisBrokerRelay.RELAYED_HEADER, "outro-no");
+    Message<byte[]> relayed =
+        MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+
+    // Act
+    relay.preSend(relayed, brokerChannel);
+    relay.preSend(message("/queue/errors-user123", new byte[0]), brokerChannel);
+    relay.preSend(message("/topic/lobbies/list", new byte[0]), brokerChannel);
+
+    // Assert
+    verify(connectionFactory, after(200).never()).getConnection();
+  }
+
+  @Test
+  void onMessage_FromOtherNode_ShouldDeliverToLocalBroker() throws Exception {
+    // Arrange
+    byte[] payload = "{\"upserted\":[]}".getBytes(StandardCharsets.UTF_8);
+    byte[] body =
+        objectMapper.writeValueAsBytes(
+            new RedisBrokerRelay.RelayedMessage(
+                "outro-no", "/topic/lobby/7", "application/json", payload));
+
+    // Act
+    relay.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+    // Assert
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Message<byte[]>> delivered = ArgumentCaptor.forClass(Message.class);
+    verify(brokerChannel).send(delivered.capture());
+
+    MessageHeaders headers = delivered.getValue().getHeaders();
+    assertEquals("/topic/lobby/7", SimpMessageHeaderAccessor.getDestination(headers));
+    assertEquals("outro-no", headers.get(RedisBrokerRelay.RELAYED_HEADER));
+    assertEquals(MimeTypeUtils.APPLICATION_JSON, headers.get(MessageHeaders.CONTENT_TYPE));
+    assertArrayEquals(payload, delivered.getValue().getPayload());
+  }
+
+  @Test
+  void onMessage_FromSameNode_ShouldBeIgnored() throws Exception {
+    // Arrange
+    byte[] body =
+        objectMapper.writeValueAsBytes(
+            new RedisBrokerRelay.RelayedMessage(
+                relay.getNodeId(), "/topic/game/7/delta", "application/json", new byte[0]));
+
+    // Act
+    relay.onMessage(new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8), body), null);
+
+    // Assert
+    verify(brokerChannel, never()).send(any());
+  }
+
+  private static Message<byte[]> message(String destination, byte[] payload) {
+    SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+    accessor.setDestination(destination);
+    accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+    return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+  }
+}
@@ -17,6 +17,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -27,6 +28,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
 import com.war.game.war_backend.model.Game;
 import com.war.game.war_backend.services.GameService;
+import com.war.game.war_backend.services.GameStateAssembler;
+import com.war.game.war_backend.services.GameStateViewCache;
 
 @ExtendWith(MockitoExtension.class)
 class GameControllerAllocateTroopsTest {
@@ -35,6 +38,10 @@ class GameControllerAllocateTroopsTest {
 
   @Mock private SimpMessagingTemplate messagingTemplate;
 
+  @Spy private GameStateAssembler gameStateAssembler = GameControllerFixtures.gameStateAssembler();
+
+  @Spy private GameStateViewCache gameStateViewCache = GameControllerFixtures.gameStateViewCache();
+
   @Mock private Principal principal;
 
   @InjectMocks private GameController gameController;
@@ -84,8 +91,8 @@ class GameControllerAllocateTroopsTest {
 
     // Verify interactions
     verify(gameService, times(1)).allocateTroops(gameId, username, territoryId, count);
-    // Verifica que um GameStateResponseDto foi enviado via WebSocket
-    verify(messagingTemplate, times(1))
+    // O estado completo não é mais difundido; os jogadores recebem o delta do serviço
+    verify(messagingTemplate, times(0))
         .convertAndSend(eq("/topic/game/" + gameId + "/state"), any(GameStateResponseDto.class));
   }
 
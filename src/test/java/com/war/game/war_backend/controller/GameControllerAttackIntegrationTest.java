@@ -1,5 +1,6 @@
 package com.war.game.war_backend.controller;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -15,11 +16,14 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.war.game.war_backend.config.BaseTestConfiguration;
 import com.war.game.war_backend.controller.dto.request.AttackRequestDto;
+import com.war.game.war_backend.controller.dto.request.BlitzAttackRequestDto;
 import com.war.game.war_backend.model.Game;
 import com.war.game.war_backend.model.GameTerritory;
 import com.war.game.war_backend.model.Player;
@@ -167,6 +171,18 @@ class GameControllerAttackIntegrationTest {
     targetGameTerritory.setMovedInArmies(0); // Nenhuma tropa movida no território do defensor
     targetGameTerritory = gameTerritoryRepository.save(targetGameTerritory);
 
+    // Território extra do defensor: perder o alvo não o elimina (nem encerra a partida)
+    GameTerritory defenderReserveTerritory = new GameTerritory();
+    defenderReserveTerritory.setGame(testGame);
+    defenderReserveTerritory.setTerritory(
+        territoryRepository
+            .findByName("VENEZUELA")
+            .orElseThrow(() -> new RuntimeException("Território VENEZUELA não foi inicializado")));
+    defenderReserveTerritory.setOwner(defenderPlayerGame);
+    defenderReserveTerritory.setStaticArmies(1);
+    defenderReserveTerritory.setMovedInArmies(0);
+    gameTerritoryRepository.save(defenderReserveTerritory);
+
     // Gerar token JWT para o atacante
     org.springframework.security.core.userdetails.UserDetails attackerUserDetails =
         org.springframework.security.core.userdetails.User.withUsername(attacker.getUsername())
@@ -340,4 +356,98 @@ class GameControllerAttackIntegrationTest {
                 .content(objectMapper.writeValueAsString(attackRequest)))
         .andExpect(status().isBadRequest());
   }
+
+  @Test
+  void blitzAttack_WithValidData_ShouldFightUntilConquestOrStopThreshold() throws Exception {
+    // Arrange
+    BlitzAttackRequestDto blitzRequest =
+        new BlitzAttackRequestDto(
+            sourceGameTerritory.getTerritory().getId(),
+            targetGameTerritory.getTerritory().getId(),
+            null);
+
+    // Act
+    MvcResult result =
+        mockMvc
+            .perform(
+                post("/api/games/{gameId}/blitz", testGame.getId())
+                    .header("Authorization", attackerAuthToken)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(blitzRequest)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.rounds[0].attackerDice").isArray())
+            .andExpect(jsonPath("$.gameState.id").value(testGame.getId()))
+            .andReturn();
+
+    // Assert - O cerco só para quando o alvo cai ou o atacante chega ao limite
+    JsonNode body = objectMapper.readTree(result.getResponse().getContentAsString());
+    JsonNode source = findTerritory(body, sourceTerritory.getId());
+    JsonNode target = findTerritory(body, targetTerritory.getId());
+
+    int attackerArmiesLeft = 10 - body.get("attackerLosses").asInt();
+    if (body.get("conquered").asBoolean()) {
+      assertEquals(attackerPlayerGame.getId(), target.get("ownerId").asLong());
+      assertEquals(3, body.get("defenderLosses").asInt());
+      // Parte dos atacantes ocupa o território conquistado
+      assertEquals(attackerArmiesLeft, totalArmies(source) + totalArmies(target));
+    } else {
+      assertEquals(1, source.get("staticArmies").asInt());
+      assertEquals(attackerArmiesLeft, totalArmies(source));
+      assertEquals(defenderPlayerGame.getId(), target.get("ownerId").asLong());
+    }
+  }
+
+  @Test
+  void blitzAttack_WithStopThresholdAlreadyReached_ShouldReturnBadRequest() throws Exception {
+    // Arrange
+    BlitzAttackRequestDto blitzRequest =
+        new BlitzAttackRequestDto(
+            sourceGameTerritory.getTerritory().getId(),
+            targetGameTerritory.getTerritory().getId(),
+            10);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/api/games/{gameId}/blitz", testGame.getId())
+                .header("Authorization", attackerAuthToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(blitzRequest)))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void blitzAttack_WithInvalidGamePhase_ShouldReturnConflict() throws Exception {
+    // Arrange
+    testGame.setStatus("MOVEMENT");
+    gameRepository.save(testGame);
+
+    BlitzAttackRequestDto blitzRequest =
+        new BlitzAttackRequestDto(
+            sourceGameTerritory.getTerritory().getId(),
+            targetGameTerritory.getTerritory().getId(),
+            null);
+
+    // Act & Assert
+    mockMvc
+        .perform(
+            post("/api/games/{gameId}/blitz", testGame.getId())
+                .header("Authorization", attackerAuthToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(blitzRequest)))
+        .andExpect(status().isConflict());
+  }
+
+  private JsonNode findTerritory(JsonNode body, Long territoryId) {
+    for (JsonNode territory : body.get("gameState").get("gameTerritories")) {
+      if (territory.get("id").asLong() == territoryId) {
+        return territory;
+      }
+    }
+    throw new AssertionError("Território " + territoryId + " não encontrado na resposta.");
+  }
+
+  private int totalArmies(JsonNode territory) {
+    return territory.get("staticArmies").asInt() + territory.get("movedInArmies").asInt();
+  }
 }
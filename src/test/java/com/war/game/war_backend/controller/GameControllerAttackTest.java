@@ -18,6 +18,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.web.servlet.MockMvc;
@@ -28,6 +29,8 @@ import com.war.game.war_backend.controller.dto.request.AttackRequestDto;
 import com.war.game.war_backend.model.Game;
 import com.war.game.war_backend.services.GameService;
 import com.war.game.war_backend.services.GameService.AttackResult;
+import com.war.game.war_backend.services.GameStateAssembler;
+import com.war.game.war_backend.services.GameStateViewCache;
 import com.war.game.war_backend.services.PlayerService;
 
 class GameControllerAttackTest {
@@ -40,6 +43,10 @@ class GameControllerAttackTest {
 
   @Mock private SimpMessagingTemplate messagingTemplate;
 
+  @Spy private GameStateAssembler gameStateAssembler = GameControllerFixtures.gameStateAssembler();
+
+  @Spy private GameStateViewCache gameStateViewCache = GameControllerFixtures.gameStateViewCache();
+
   @Mock private Principal principal;
 
   @InjectMocks private GameController gameController;
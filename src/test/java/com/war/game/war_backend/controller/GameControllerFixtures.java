@@ -0,0 +1,40 @@
+package com.war.game.war_backend.controller;
+
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.war.game.war_backend.repository.GameTerritoryRepository;
+import com.war.game.war_backend.repository.PlayerCardRepository;
+import com.war.game.war_backend.repository.PlayerGameRepository;
+import com.war.game.war_backend.services.GameCommandExecutor;
+import com.war.game.war_backend.services.GameStateAssembler;
+import com.war.game.war_backend.services.GameStateStore;
+import com.war.game.war_backend.services.GameStateViewCache;
+
+/**
+ * Serviços de estado reais para os testes de unidade do {@link GameController}, sem nenhuma partida
+ * em memória. Os testes os usam como {@code @Spy}.
+ */
+public final class GameControllerFixtures {
+
+  private GameControllerFixtures() {}
+
+  /** Conversor real de estado; sem partida em memória, lê dos repositórios (mocks vazios). */
+  public static GameStateAssembler gameStateAssembler() {
+    return new GameStateAssembler(
+        mock(GameStateStore.class),
+        mock(GameCommandExecutor.class),
+        mock(PlayerGameRepository.class),
+        mock(GameTerritoryRepository.class),
+        mock(PlayerCardRepository.class));
+  }
+
+  /**
+   * Cache de estado sem partida em memória: nenhuma ETag, e as respostas são montadas pelo
+   * conversor.
+   */
+  public static GameStateViewCache gameStateViewCache() {
+    return new GameStateViewCache(
+        mock(GameStateStore.class), mock(GameStateAssembler.class), new ObjectMapper());
+  }
+}
@@ -1,6 +1,14 @@
 package com.war.game.war_backend.controller;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -9,17 +17,24 @@ import java.util.HashSet;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.context.transaction.TestTransaction;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.war.game.war_backend.config.BaseTestConfiguration;
+import com.war.game.war_backend.controller.dto.response.GameStateDeltaDto;
+import com.war.game.war_backend.engine.GameState;
 import com.war.game.war_backend.model.Game;
 import com.war.game.war_backend.model.GameTerritory;
 import com.war.game.war_backend.model.Player;
@@ -33,6 +48,9 @@ import com.war.game.war_backend.repository.PlayerRepository;
 import com.war.game.war_backend.repository.RoleRepository;
 import com.war.game.war_backend.repository.TerritoryRepository;
 import com.war.game.war_backend.security.jwt.JwtTokenUtil;
+import com.war.game.war_backend.services.GameCommandExecutor;
+import com.war.game.war_backend.services.GameStateBroadcaster;
+import com.war.game.war_backend.services.GameStateStore;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -58,6 +76,14 @@ class GameControllerIntegrationTest {
 
   @Autowired private JwtTokenUtil jwtTokenUtil;
 
+  @Autowired private GameStateStore gameStateStore;
+
+  @Autowired private GameStateBroadcaster gameStateBroadcaster;
+
+  @MockitoSpyBean private SimpMessagingTemplate messagingTemplate;
+
+  @MockitoSpyBean private GameCommandExecutor gameCommandExecutor;
+
   private Player player1;
   private Player player2;
   private Player player3;
@@ -369,4 +395,168 @@ class GameControllerIntegrationTest {
         .andExpect(jsonPath("$.totalPlayers").value(3))
         .andExpect(jsonPath("$.activePlayers").value(2)); // player1 and player2 only
   }
+
+  @Test
+  void getGameById_WithCurrentEtag_ShouldReturnNotModified() throws Exception {
+    String etag = fetchEtag();
+
+    mockMvc
+        .perform(
+            get("/api/games/{gameId}", game.getId())
+                .header("Authorization", jwtToken1)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified())
+        .andExpect(header().string(HttpHeaders.ETAG, etag));
+  }
+
+  @Test
+  void getGameById_AfterPublishedChange_ShouldReturnNewState() throws Exception {
+    String etag = fetchEtag();
+
+    // Uma ação confirmada: o delta retirado avança a versão
+    GameState state = gameStateStore.find(game.getId()).orElseThrow();
+    state.markGameDirty();
+    gameStateBroadcaster.publish(state);
+
+    mockMvc
+        .perform(
+            get("/api/games/{gameId}", game.getId())
+                .header("Authorization", jwtToken1)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+        .andExpect(jsonPath("$.version").value(1));
+  }
+
+  @Test
+  void getCurrentGameAndTurn_WithCurrentEtag_ShouldReturnNotModified() throws Exception {
+    String etag = fetchEtag();
+
+    mockMvc
+        .perform(
+            get("/api/games/current-game")
+                .header("Authorization", jwtToken2)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+
+    mockMvc
+        .perform(
+            get("/api/games/{gameId}/current-turn", game.getId())
+                .header("Authorization", jwtToken2)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isNotModified());
+  }
+
+  @Test
+  void getCurrentTurnInfo_EliminatedPlayerWithEtag_ShouldStillReturnForbidden() throws Exception {
+    String etag = fetchEtag();
+    String jwtToken3 =
+        "Bearer "
+            + jwtTokenUtil.generateToken(
+                org.springframework.security.core.userdetails.User.withUsername(
+                        player3.getUsername())
+                    .password(player3.getPassword())
+                    .authorities("USER")
+                    .build());
+
+    mockMvc
+        .perform(
+            get("/api/games/{gameId}/current-turn", game.getId())
+                .header("Authorization", jwtToken3)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isForbidden());
+  }
+
+  @Test
+  void leaveGame_AfterCommit_ShouldPublishDeltaAndAdvanceVersion() throws Exception {
+    // Terceiro jogador ativo: a saída do player2 não encerra a partida
+    playerGame3.setStillInGame(true);
+    playerGameRepository.saveAndFlush(playerGame3);
+    String etag = fetchEtag();
+
+    mockMvc
+        .perform(
+            post("/api/games/leave-game/{gameId}", game.getId()).header("Authorization", jwtToken2))
+        .andExpect(status().isOk());
+
+    // O delta sai no commit da transação do comando
+    TestTransaction.flagForCommit();
+    TestTransaction.end();
+
+    verify(messagingTemplate)
+        .convertAndSend(eq("/topic/game/" + game.getId() + "/delta"), any(GameStateDeltaDto.class));
+    assertEquals(1L, gameStateStore.find(game.getId()).orElseThrow().getVersion());
+
+    // O polling deixa de responder 304 com a ETag anterior à saída
+    mockMvc
+        .perform(
+            get("/api/games/{gameId}", game.getId())
+                .header("Authorization", jwtToken1)
+                .header(HttpHeaders.IF_NONE_MATCH, etag))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+        .andExpect(jsonPath("$.version").value(1));
+  }
+
+  @Test
+  void joinLobby_PlayerInAnotherLobby_ShouldLockBothLobbiesInIdOrder() throws Exception {
+    // Arrange - O player4 está no lobby mais antigo e entra no mais novo
+    Player player4 = new Player();
+    player4.setUsername("player4");
+    player4.setPassword("password4");
+    player4.setEmail("player4@test.com");
+    player4.setRoles(new HashSet<>());
+    player4.getRoles().add(roleRepository.findByName("ROLE_USER").orElseThrow());
+    player4 = playerRepository.save(player4);
+
+    Game currentLobby = lobby("Lobby atual");
+    Game nextLobby = lobby("Lobby novo");
+
+    PlayerGame lobbyPlayer = new PlayerGame();
+    lobbyPlayer.setPlayer(player4);
+    lobbyPlayer.setGame(currentLobby);
+    lobbyPlayer.setUsername(player4.getUsername());
+    lobbyPlayer.setColor("blue");
+    lobbyPlayer.setIsOwner(true);
+    lobbyPlayer.setStillInGame(true);
+    currentLobby.getPlayerGames().add(playerGameRepository.saveAndFlush(lobbyPlayer));
+
+    String jwtToken4 =
+        "Bearer "
+            + jwtTokenUtil.generateToken(
+                org.springframework.security.core.userdetails.User.withUsername("player4")
+                    .password("password4")
+                    .authorities("USER")
+                    .build());
+
+    // Act
+    mockMvc
+        .perform(
+            post("/api/games/join/{lobbyId}", nextLobby.getId()).header("Authorization", jwtToken4))
+        .andExpect(status().isOk());
+
+    // Assert - Os dois lobbies ficam travados até o commit, sempre do menor id para o maior
+    InOrder order = inOrder(gameCommandExecutor);
+    order.verify(gameCommandExecutor).acquire(currentLobby.getId());
+    order.verify(gameCommandExecutor).acquire(nextLobby.getId());
+  }
+
+  private Game lobby(String name) {
+    Game lobby = new Game();
+    lobby.setName(name);
+    lobby.setStatus("LOBBY");
+    lobby.setCreatedAt(LocalDateTime.now());
+    return gameRepository.saveAndFlush(lobby);
+  }
+
+  // Carrega a partida em memória e devolve a ETag do estado atual
+  private String fetchEtag() throws Exception {
+    return mockMvc
+        .perform(get("/api/games/{gameId}", game.getId()).header("Authorization", jwtToken1))
+        .andExpect(status().isOk())
+        .andExpect(header().exists(HttpHeaders.ETAG))
+        .andReturn()
+        .getResponse()
+        .getHeader(HttpHeaders.ETAG);
+  }
 }
@@ -15,6 +15,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.MediaType;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
@@ -25,6 +26,8 @@ import com.war.game.war_backend.model.Game;
 import com.war.game.war_backend.model.Player;
 import com.war.game.war_backend.model.PlayerGame;
 import com.war.game.war_backend.services.GameService;
+import com.war.game.war_backend.services.GameStateAssembler;
+import com.war.game.war_backend.services.GameStateViewCache;
 import com.war.game.war_backend.services.PlayerService;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,6 +39,10 @@ class GameControllerTest {
 
   @Mock private SimpMessagingTemplate messagingTemplate;
 
+  @Spy private GameStateAssembler gameStateAssembler = GameControllerFixtures.gameStateAssembler();
+
+  @Spy private GameStateViewCache gameStateViewCache = GameControllerFixtures.gameStateViewCache();
+
   @Mock private Principal principal;
 
   @InjectMocks private GameController gameController;
@@ -0,0 +1,70 @@
+package com.war.game.war_backend.engine;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerGame;
+
+class BitboardsTest {
+
+  // Dois continentes: A = {10, 11, 12} e B = {20, 21}; 12 faz fronteira com 20
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(
+          List.of(10L, 11L, 12L, 20L, 21L),
+          List.of(
+              new long[] {10, 11}, new long[] {11, 12}, new long[] {12, 20}, new long[] {20, 21}),
+          Map.of(10L, "A", 11L, "A", 12L, "A", 20L, "B", 21L, "B"));
+
+  @Test
+  void build_ShouldPrecomputeContinentAndNeighborMasks() {
+    assertEquals(List.of("A", "B"), graph.continents());
+    assertEquals(0b00111L, graph.continentMask("A"));
+    assertEquals(0b11000L, graph.continentMask("B"));
+    assertEquals(0L, graph.continentMask("C"));
+    assertEquals(0b01010L, graph.neighborMask(graph.ordinalOf(12L)));
+  }
+
+  @Test
+  void ownedBy_ShouldFilterByOwnerAndMinimumArmies() {
+    // Arrange
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+    List<GameTerritory> territories =
+        List.of(
+            territory(10L, red, 1, 0),
+            territory(11L, red, 1, 1),
+            territory(12L, red, 3, 0),
+            territory(20L, blue, 1, 0),
+            territory(21L, red, 2, 0));
+
+    // Act
+    long owned = Bitboards.ownedBy(graph, territories, red.getId());
+    long withTwoArmies = Bitboards.ownedBy(graph, territories, red.getId(), 2);
+
+    // Assert
+    assertEquals(4, Bitboards.count(owned));
+    assertEquals(3, Bitboards.count(withTwoArmies));
+    assertTrue(Bitboards.controls(owned, graph.continentMask("A")));
+    assertFalse(Bitboards.controls(owned, graph.continentMask("B")));
+    assertFalse(Bitboards.controls(owned, graph.continentMask("C")));
+    assertEquals(1, Bitboards.controlledContinents(graph, owned));
+  }
+
+  @Test
+  void build_MoreTerritoriesThanBitsInALong_ShouldBeRejected() {
+    List<Long> ids = LongStream.rangeClosed(1, 65).boxed().toList();
+
+    assertThrows(IllegalArgumentException.class, () -> TerritoryGraph.build(ids, List.of()));
+  }
+}
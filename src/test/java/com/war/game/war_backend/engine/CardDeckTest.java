@@ -0,0 +1,126 @@
+package com.war.game.war_backend.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.Card;
+
+class CardDeckTest {
+
+  private static final long SEED = 7L;
+
+  @Test
+  void draw_ShouldTakeCardsInTheShuffledOrder() {
+    // Arrange
+    List<Card> cards = cards(1, 6);
+    CardDeck deck = CardDeck.shuffled(cards, new SplittableRandom(SEED));
+    List<Card> expected = deck.order();
+
+    // Act
+    List<Card> drawn = drawAll(deck);
+
+    // Assert - Compra na ordem embaralhada; a lista recebida não é alterada
+    assertEquals(expected, drawn);
+    assertEquals(6, deck.position());
+    assertEquals(cards(1, 6), cards);
+    assertEquals(0, deck.drawPileSize());
+
+    // A mesma semente dá a mesma ordem
+    assertEquals(expected, CardDeck.shuffled(cards, new SplittableRandom(SEED)).order());
+  }
+
+  @Test
+  void restore_ShouldContinueTheSameDrawSequence() {
+    // Arrange - Duas cartas compradas e uma trocada antes de gravar o baralho
+    CardDeck deck = CardDeck.shuffled(cards(1, 6), new SplittableRandom(SEED));
+    deck.draw();
+    Card traded = deck.draw().orElseThrow();
+    deck.discard(List.of(traded));
+
+    // Act
+    CardDeck restored =
+        CardDeck.restore(
+            deck.order(), deck.position(), deck.discardPile(), new SplittableRandom(99L));
+
+    // Assert - A recarga compra as mesmas cartas, e a trocada só depois de a pilha acabar
+    assertEquals(drawAll(deck), drawAll(restored));
+    assertEquals(List.of(), restored.discardPile());
+    assertEquals(0, restored.drawPileSize());
+  }
+
+  @Test
+  void discard_ShouldKeepCardsOutOfTheDrawPile() {
+    // Arrange
+    CardDeck deck = CardDeck.shuffled(cards(1, 3), new SplittableRandom(SEED));
+
+    // Act
+    deck.discard(cards(10, 11));
+
+    // Assert - As cartas da pilha saem antes de qualquer carta descartada
+    assertEquals(3, deck.drawPileSize());
+    assertEquals(2, deck.discardPileSize());
+    for (int i = 0; i < 3; i++) {
+      assertTrue(deck.draw().orElseThrow().getId() <= 3);
+    }
+    assertEquals(2, deck.discardPileSize());
+  }
+
+  @Test
+  void draw_EmptyDrawPile_ShouldReshuffleTheDiscardPile() {
+    // Arrange - A pilha acaba e duas cartas trocadas esperam no descarte
+    CardDeck deck = CardDeck.shuffled(cards(1, 2), new SplittableRandom(SEED));
+    deck.draw();
+    deck.draw();
+    List<Card> traded = cards(1, 2);
+    deck.discard(traded);
+
+    // Act
+    Optional<Card> card = deck.draw();
+
+    // Assert - O descarte volta inteiro para a pilha e a compra continua
+    assertTrue(card.isPresent());
+    assertTrue(traded.contains(card.get()));
+    assertEquals(0, deck.discardPileSize());
+    assertEquals(1, deck.drawPileSize());
+  }
+
+  @Test
+  void draw_NoCardsLeft_ShouldReturnEmpty() {
+    assertEquals(Optional.empty(), CardDeck.shuffled(List.of(), new SplittableRandom(SEED)).draw());
+
+    // Pilha e descarte vazios depois de comprar tudo
+    CardDeck deck = CardDeck.shuffled(cards(1, 1), new SplittableRandom(SEED));
+    deck.draw();
+    assertEquals(Optional.empty(), deck.draw());
+    assertEquals(0, deck.drawPileSize());
+    assertEquals(0, deck.discardPileSize());
+  }
+
+  private static List<Card> drawAll(CardDeck deck) {
+    List<Card> drawn = new ArrayList<>();
+    for (Optional<Card> card = deck.draw(); card.isPresent(); card = deck.draw()) {
+      drawn.add(card.get());
+    }
+    return drawn;
+  }
+
+  private static List<Card> cards(long firstId, long lastId) {
+    return LongStream.rangeClosed(firstId, lastId)
+        .mapToObj(
+            id -> {
+              Card card = new Card();
+              card.setId(id);
+              return card;
+            })
+        .collect(Collectors.toList());
+  }
+}
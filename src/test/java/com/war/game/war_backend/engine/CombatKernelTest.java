@@ -0,0 +1,177 @@
+package com.war.game.war_backend.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+class CombatKernelTest {
+
+  @Test
+  void roll_EveryDiceOrder_ShouldSortDescending() {
+    // Todas as sequências de 1 a 3 dados (6 + 36 + 216), no ataque e na defesa
+    for (int count = 1; count <= CombatKernel.MAX_DICE; count++) {
+      for (List<Integer> faces : sequences(count)) {
+        List<Integer> sorted = new ArrayList<>(faces);
+        sorted.sort(Comparator.reverseOrder());
+
+        long attack = CombatKernel.roll(scripted(faces, List.of()), count, 0);
+        long defense = CombatKernel.roll(scripted(List.of(1), faces), 1, count);
+
+        assertEquals(sorted, CombatKernel.attackRolls(attack), "ataque " + faces);
+        assertEquals(sorted, CombatKernel.defenseRolls(defense), "defesa " + faces);
+        for (int i = count; i < CombatKernel.MAX_DICE; i++) {
+          assertEquals(0, CombatKernel.attackDie(attack, i));
+          assertEquals(0, CombatKernel.defenseDie(defense, i));
+        }
+      }
+    }
+  }
+
+  @Test
+  void roll_ShouldDecodeDiceAndLossesFromTheSameLong() {
+    // Act - Ataque 2, 6, 4 contra defesa 5, 1
+    long round = CombatKernel.roll(scripted(List.of(2, 6, 4), List.of(5, 1)), 3, 2);
+
+    // Assert
+    assertEquals(List.of(6, 4, 2), CombatKernel.attackRolls(round));
+    assertEquals(List.of(5, 1), CombatKernel.defenseRolls(round));
+    assertEquals(6, CombatKernel.attackDie(round, 0));
+    assertEquals(1, CombatKernel.defenseDie(round, 1));
+    assertEquals(0, CombatKernel.defenseDie(round, 2));
+    assertEquals(0, CombatKernel.attackerLosses(round));
+    assertEquals(2, CombatKernel.defenderLosses(round));
+  }
+
+  @Test
+  void roll_Ties_ShouldGoToTheDefender() {
+    // Empate em todos os pares
+    long allTied = CombatKernel.roll(scripted(List.of(5, 3), List.of(3, 5)), 2, 2);
+    assertEquals(2, CombatKernel.attackerLosses(allTied));
+    assertEquals(0, CombatKernel.defenderLosses(allTied));
+
+    // Vence o maior, empata o segundo
+    long secondTied = CombatKernel.roll(scripted(List.of(6, 4, 2), List.of(5, 4)), 3, 2);
+    assertEquals(1, CombatKernel.attackerLosses(secondTied));
+    assertEquals(1, CombatKernel.defenderLosses(secondTied));
+
+    // Só o menor número de dados é comparado
+    long oneDefender = CombatKernel.roll(scripted(List.of(6, 6, 6), List.of(6)), 3, 1);
+    assertEquals(1, CombatKernel.attackerLosses(oneDefender));
+    assertEquals(0, CombatKernel.defenderLosses(oneDefender));
+  }
+
+  @Test
+  void roll_NoDefenseDice_ShouldHaveNoLosses() {
+    long round = CombatKernel.roll(scripted(List.of(1, 1), List.of()), 2, 0);
+
+    assertEquals(List.of(), CombatKernel.defenseRolls(round));
+    assertEquals(0, CombatKernel.attackerLosses(round));
+    assertEquals(0, CombatKernel.defenderLosses(round));
+  }
+
+  @Test
+  void roll_InvalidDiceCount_ShouldThrow() {
+    SplittableRandom random = new SplittableRandom(1);
+
+    assertThrows(IllegalArgumentException.class, () -> CombatKernel.roll(random, 0, 1));
+    assertThrows(IllegalArgumentException.class, () -> CombatKernel.roll(random, 4, 1));
+    assertThrows(IllegalArgumentException.class, () -> CombatKernel.roll(random, 1, 4));
+  }
+
+  @Test
+  void blitz_AttackerAlwaysLosing_ShouldStopAtTheThreshold() {
+    // Arrange - Todos os dados empatam: o atacante perde todas as comparações
+    SplittableRandom random = constant(3);
+
+    // Act - 10 atacantes, 5 defensores, parada em 4: rodadas de 3 perdas (10 -> 7 -> 4)
+    long siege = CombatKernel.blitz(random, 10, 5, 4);
+
+    // Assert
+    assertEquals(6, CombatKernel.blitzAttackerLosses(siege));
+    assertEquals(0, CombatKernel.blitzDefenderLosses(siege));
+    assertEquals(2, CombatKernel.blitzRounds(siege));
+  }
+
+  @Test
+  void blitz_StopAtZero_ShouldFightUntilOneSideRunsOut() {
+    long lost = CombatKernel.blitz(constant(3), 10, 5, 0);
+    assertEquals(10, CombatKernel.blitzAttackerLosses(lost));
+    assertEquals(4, CombatKernel.blitzRounds(lost));
+
+    // Defensor sem exércitos ou atacante já no limite: nenhuma rodada
+    assertEquals(0L, CombatKernel.blitz(constant(3), 10, 0, 0));
+    assertEquals(0L, CombatKernel.blitz(constant(3), 4, 5, 4));
+  }
+
+  @Test
+  void blitz_LargeSiege_ShouldKeepEveryFieldInItsOwnBits() {
+    // Arrange - Exércitos acima de 16 bits, para os três campos ocuparem os 20 bits
+    int attackers = 600_000;
+    int defenders = 400_000;
+
+    // Act
+    long siege = CombatKernel.blitz(new SplittableRandom(42), attackers, defenders, 0);
+
+    // Assert - Cada rodada tira de 1 a 3 exércitos e o cerco vai até um lado acabar
+    int attackerLosses = CombatKernel.blitzAttackerLosses(siege);
+    int defenderLosses = CombatKernel.blitzDefenderLosses(siege);
+    int rounds = CombatKernel.blitzRounds(siege);
+    assertTrue(attackerLosses == attackers || defenderLosses == defenders);
+    assertTrue(attackerLosses <= attackers && defenderLosses <= defenders);
+    assertTrue(rounds > 1 << 16);
+    assertTrue(rounds <= attackerLosses + defenderLosses);
+    assertTrue(3L * rounds >= attackerLosses + defenderLosses);
+  }
+
+  @Test
+  void blitz_TooManyArmies_ShouldThrow() {
+    SplittableRandom random = new SplittableRandom(1);
+
+    assertThrows(IllegalArgumentException.class, () -> CombatKernel.blitz(random, -1, 1, 0));
+    assertThrows(IllegalArgumentException.class, () -> CombatKernel.blitz(random, 1 << 20, 1, 0));
+  }
+
+  // Gerador que devolve os dados de ataque e depois os de defesa, na ordem dada
+  private static SplittableRandom scripted(List<Integer> attack, List<Integer> defense) {
+    Deque<Integer> faces = new ArrayDeque<>(attack);
+    faces.addAll(defense);
+    SplittableRandom random = mock(SplittableRandom.class);
+    when(random.nextInt(1, 7)).thenAnswer(invocation -> faces.pop());
+    return random;
+  }
+
+  private static SplittableRandom constant(int face) {
+    SplittableRandom random = mock(SplittableRandom.class);
+    when(random.nextInt(1, 7)).thenReturn(face);
+    return random;
+  }
+
+  // Todas as sequências de length faces
+  private static List<List<Integer>> sequences(int length) {
+    List<List<Integer>> sequences = new ArrayList<>();
+    sequences.add(List.of());
+    for (int i = 0; i < length; i++) {
+      List<List<Integer>> longer = new ArrayList<>();
+      for (List<Integer> prefix : sequences) {
+        for (int face = 1; face <= 6; face++) {
+          List<Integer> sequence = new ArrayList<>(prefix);
+          sequence.add(face);
+          longer.add(sequence);
+        }
+      }
+      sequences = longer;
+    }
+    return sequences;
+  }
+}
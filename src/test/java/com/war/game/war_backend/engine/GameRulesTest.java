@@ -0,0 +1,98 @@
+package com.war.game.war_backend.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.enums.CardType;
+
+class GameRulesTest {
+
+  private static final int INFANTRY = CardType.INFANTRY.ordinal();
+  private static final int CAVALRY = CardType.CAVALRY.ordinal();
+  private static final int CANNON = CardType.CANNON.ordinal();
+  private static final int WILD = CardType.WILD.ordinal();
+
+  @Test
+  void initialTroops_ShouldDependOnThePlayerCount() {
+    assertEquals(40, GameRules.initialTroops(2));
+    assertEquals(35, GameRules.initialTroops(3));
+    assertEquals(20, GameRules.initialTroops(6));
+    assertEquals(0, GameRules.initialTroops(7));
+  }
+
+  @Test
+  void reinforcementTroops_ShouldAddContinentBonusToHalfTheTerritories() {
+    // Arrange - Oceania = {1, 2}, Europa = {3, 4, 5, 6, 7, 8}
+    TerritoryGraph graph =
+        TerritoryGraph.build(
+            List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L),
+            List.of(),
+            Map.of(
+                1L, "Oceania", 2L, "Oceania", 3L, "Europa", 4L, "Europa", 5L, "Europa", 6L,
+                "Europa", 7L, "Europa", 8L, "Europa"));
+    RulesCatalog catalog = RulesCatalog.build(graph, List.of());
+
+    // Assert - Mínimo de 3; Oceania vale 2 e a Europa 5
+    assertEquals(3, GameRules.reinforcementTroops(catalog, 0b0000_0100L));
+    assertEquals(3 + 2, GameRules.reinforcementTroops(catalog, 0b0000_0011L));
+    assertEquals(4 + 2 + 5, GameRules.reinforcementTroops(catalog, 0b1111_1111L));
+  }
+
+  @Test
+  void cardSetBonus_ShouldGrowWithEachExchange() {
+    int[] expected = {4, 6, 8, 10, 12, 15, 20, 25};
+    for (int exchange = 0; exchange < expected.length; exchange++) {
+      assertEquals(expected[exchange], GameRules.cardSetBonus(exchange));
+    }
+  }
+
+  @Test
+  void isValidTrade_ShouldAcceptSameTypeOneOfEachOrAnyWild() {
+    assertTrue(GameRules.isValidTrade(CANNON, CANNON, CANNON));
+    assertTrue(GameRules.isValidTrade(INFANTRY, CAVALRY, CANNON));
+    assertTrue(GameRules.isValidTrade(INFANTRY, INFANTRY, WILD));
+    assertTrue(GameRules.isValidTrade(WILD, CAVALRY, WILD));
+
+    assertFalse(GameRules.isValidTrade(INFANTRY, INFANTRY, CAVALRY));
+    assertFalse(GameRules.isValidTrade(CANNON, CAVALRY, CANNON));
+  }
+
+  @Test
+  void movableArmies_MovedInArmiesHoldTheTerritory() {
+    assertEquals(4, GameRules.movableArmies(5, 0));
+    assertEquals(5, GameRules.movableArmies(5, 2));
+    assertEquals(0, GameRules.movableArmies(1, 0));
+  }
+
+  @Test
+  void occupyingArmies_ShouldMoveSurvivingDiceWithoutEmptyingTheSource() {
+    // Dados que sobreviveram
+    assertEquals(3, GameRules.occupyingArmies(3, 0, 10));
+    assertEquals(2, GameRules.occupyingArmies(3, 1, 10));
+
+    // Pelo menos 1, mas a origem fica com 1
+    assertEquals(1, GameRules.occupyingArmies(2, 2, 10));
+    assertEquals(2, GameRules.occupyingArmies(3, 0, 3));
+
+    // Origem sem exércitos para ceder
+    assertEquals(0, GameRules.occupyingArmies(1, 0, 1));
+  }
+
+  @Test
+  void isObjectiveComplete_EliminatedPlayer_ShouldNotCompleteEliminateObjective() {
+    ObjectiveRule eliminate = new ObjectiveRule.EliminatePlayer("red");
+
+    assertTrue(GameRules.isObjectiveComplete(eliminate, true, 0L, 0L, color -> true));
+    assertFalse(GameRules.isObjectiveComplete(eliminate, false, 0L, 0L, color -> true));
+
+    // Os demais objetivos não dependem de o jogador ainda estar na partida
+    ObjectiveRule territories = new ObjectiveRule.ConquerTerritories(2, 1);
+    assertTrue(GameRules.isObjectiveComplete(territories, false, 0b11L, 0L, color -> false));
+  }
+}
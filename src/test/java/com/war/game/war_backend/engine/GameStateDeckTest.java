@@ -0,0 +1,124 @@
+package com.war.game.war_backend.engine;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.Card;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+
+class GameStateDeckTest {
+
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(List.of(1L, 2L), List.of(), Map.of(1L, "A", 2L, "A"));
+  private final List<Card> cards =
+      LongStream.rangeClosed(1, 6)
+          .mapToObj(
+              id -> {
+                Card card = new Card();
+                card.setId(id);
+                return card;
+              })
+          .toList();
+
+  @Test
+  void hydrate_WithoutStoredDeck_ShouldShuffleOnceAndMarkTheDeckPending() {
+    // Arrange
+    GameState state = hydrate(new Game(), List.of());
+
+    // Act
+    GameStateChanges changes = state.drainChanges();
+
+    // Assert - O baralho embaralhado vai para o banco com a linha da partida
+    GameStateChanges.DeckRow deck = changes.game().deck();
+    assertNotNull(deck);
+    assertEquals(6, deck.order().size());
+    assertEquals(0, deck.position());
+    assertEquals(ids(state.getDeck().order()), deck.order());
+  }
+
+  @Test
+  void hydrate_WithStoredDeck_ShouldKeepTheDrawOrderAndTheDiscardPile() {
+    // Arrange - Duas cartas compradas: a 3 está na mão e a 5 foi trocada e está no descarte
+    Game source = new Game();
+    source.setDeckOrder("5,3,1,6,2,4");
+    source.setDeckPosition(2);
+    source.setDiscardPile("5");
+
+    // Act
+    GameState state = hydrate(source, List.of(cards.get(2)));
+
+    // Assert - A próxima carta é a 1 e a trocada só volta depois de a pilha acabar
+    List<Long> drawn = new ArrayList<>();
+    state.getDeck().draw().ifPresent(card -> drawn.add(card.getId()));
+    state.getDeck().draw().ifPresent(card -> drawn.add(card.getId()));
+    state.getDeck().draw().ifPresent(card -> drawn.add(card.getId()));
+    state.getDeck().draw().ifPresent(card -> drawn.add(card.getId()));
+    assertEquals(List.of(1L, 6L, 2L, 4L), drawn);
+    assertEquals(5L, state.getDeck().draw().orElseThrow().getId());
+    assertTrue(state.getDeck().draw().isEmpty());
+  }
+
+  @Test
+  void hydrate_StoredDeckBehindTheHands_ShouldNotDrawHeldCardsAgain() {
+    // Arrange - A carta 1 foi comprada, mas o baralho gravado ainda está na posição 0
+    Game source = new Game();
+    source.setDeckOrder("1,2,3,4,5,6");
+    source.setDeckPosition(0);
+    source.setDiscardPile("");
+
+    // Act
+    GameState state = hydrate(source, List.of(cards.get(0)));
+
+    // Assert
+    assertEquals(List.of(2L, 3L, 4L, 5L, 6L), ids(state.getDeck().order()));
+    assertEquals(0, state.getDeck().discardPileSize());
+  }
+
+  @Test
+  void hydrate_TradeMissingFromStoredDeck_ShouldReturnTheCardThroughTheDiscardPile() {
+    // Arrange - A carta 3 foi comprada e trocada, mas o descarte gravado não a tem
+    Game source = new Game();
+    source.setDeckOrder("3,1,2,4,5,6");
+    source.setDeckPosition(1);
+    source.setDiscardPile("");
+
+    // Act
+    GameState state = hydrate(source, List.of());
+
+    // Assert
+    assertEquals(List.of(3L), ids(state.getDeck().discardPile()));
+    assertEquals(5, state.getDeck().drawPileSize());
+  }
+
+  private GameState hydrate(Game source, List<Card> heldByRed) {
+    source.setId(1L);
+    source.setStatus("ATTACK");
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+    List<PlayerCard> hand =
+        heldByRed.stream().map(card -> new PlayerCard(card.getId(), red, card)).toList();
+    return GameState.hydrate(
+        graph,
+        source,
+        List.of(red, blue),
+        List.of(territory(1L, red, 3), territory(2L, blue, 1)),
+        hand,
+        cards);
+  }
+
+  private static List<Long> ids(List<Card> cards) {
+    return cards.stream().map(Card::getId).toList();
+  }
+}
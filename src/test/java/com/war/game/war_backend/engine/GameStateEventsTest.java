@@ -0,0 +1,80 @@
+package com.war.game.war_backend.engine;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerGame;
+
+class GameStateEventsTest {
+
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(List.of(1L, 2L), List.of(), Map.of(1L, "A", 2L, "A"));
+
+  @Test
+  void snapshotPlusEvents_ShouldRebuildTheCurrentState() {
+    // Arrange
+    GameState state = state();
+    GameStateSnapshot initial = state.drainChanges().snapshot();
+    assertNotNull(initial);
+
+    PlayerGame red = state.getPlayer(1L);
+    GameTerritory target = state.findTerritory(2L).orElseThrow();
+
+    // Act - Vermelho conquista 2 e passa para a movimentação sem registrar a troca de fase
+    target.setOwner(red);
+    target.setStaticArmies(0);
+    target.setMovedInArmies(2);
+    state.markTerritoryDirty(target);
+    red.setConqueredTerritoryThisTurn(true);
+    state.markPlayerDirty(red);
+    state.recordEvent(GameEvent.Type.ATTACK, red, Map.of("targetTerritoryId", 2L));
+
+    state.getGame().setStatus("MOVEMENT");
+    state.markGameDirty();
+    GameStateChanges changes = state.drainChanges();
+
+    // Assert
+    assertEquals(
+        List.of(GameEvent.Type.ATTACK, GameEvent.Type.PHASE_CHANGE),
+        changes.events().stream().map(GameEvent::type).toList());
+    assertEquals(List.of(1L, 2L), changes.events().stream().map(GameEvent::seq).toList());
+    assertNull(changes.snapshot());
+    assertEquals(state.snapshot(), initial.replay(changes.events()));
+  }
+
+  @Test
+  void resumeEvents_ShouldContinueTheStoredSequence() {
+    // Arrange
+    GameState state = state();
+    state.resumeEvents(41L);
+    GameTerritory territory = state.findTerritory(1L).orElseThrow();
+
+    // Act
+    territory.setStaticArmies(5);
+    state.markTerritoryDirty(territory);
+    state.recordEvent(
+        GameEvent.Type.ALLOCATION, state.getPlayer(1L), Map.of("territoryId", 1L, "count", 2));
+    GameStateChanges changes = state.drainChanges();
+
+    // Assert - O snapshot é o estado carregado, antes da alocação
+    assertEquals(42L, changes.events().get(0).seq());
+    assertEquals(41L, changes.snapshot().seq());
+    assertEquals(state.snapshot(), changes.snapshot().replay(changes.events()));
+  }
+
+  private GameState state() {
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+    return GameStateFixtures.state(
+        graph, red, List.of(red, blue), territory(1L, red, 3), territory(2L, blue, 1));
+  }
+}
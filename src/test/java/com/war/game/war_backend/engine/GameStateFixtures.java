@@ -0,0 +1,68 @@
+package com.war.game.war_backend.engine;
+
+import java.util.List;
+
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.Objective;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.model.Territory;
+
+/**
+ * Entidades mínimas para montar um {@link GameState} nos testes, sem banco. Os ids dos territórios
+ * da partida são os mesmos dos territórios do mapa.
+ */
+public final class GameStateFixtures {
+
+  private GameStateFixtures() {}
+
+  /** Partida 1 na fase de ataque, sem jogador da vez. */
+  public static GameState state(
+      TerritoryGraph graph, List<PlayerGame> players, GameTerritory... territories) {
+    return state(graph, null, players, territories);
+  }
+
+  /** Partida 1 na fase de ataque, na vez de {@code turnPlayer}. */
+  public static GameState state(
+      TerritoryGraph graph,
+      PlayerGame turnPlayer,
+      List<PlayerGame> players,
+      GameTerritory... territories) {
+    Game game = new Game();
+    game.setId(1L);
+    game.setStatus("ATTACK");
+    game.setTurnPlayer(turnPlayer);
+    return GameState.hydrate(graph, game, players, List.of(territories), List.of(), List.of());
+  }
+
+  public static PlayerGame player(Long id, int turnOrder) {
+    return player(id, turnOrder, null);
+  }
+
+  public static PlayerGame player(Long id, int turnOrder, Objective objective) {
+    PlayerGame pg = new PlayerGame();
+    pg.setId(id);
+    pg.setTurnOrder(turnOrder);
+    pg.setObjective(objective);
+    pg.setStillInGame(true);
+    return pg;
+  }
+
+  public static GameTerritory territory(Long id, PlayerGame owner, int staticArmies) {
+    return territory(id, owner, staticArmies, 0);
+  }
+
+  public static GameTerritory territory(
+      Long id, PlayerGame owner, int staticArmies, int movedInArmies) {
+    Territory territory = new Territory();
+    territory.setId(id);
+
+    GameTerritory gt = new GameTerritory();
+    gt.setId(id);
+    gt.setTerritory(territory);
+    gt.setOwner(owner);
+    gt.setStaticArmies(staticArmies);
+    gt.setMovedInArmies(movedInArmies);
+    return gt;
+  }
+}
@@ -0,0 +1,69 @@
+package com.war.game.war_backend.engine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.Objective;
+
+class RulesCatalogTest {
+
+  // Oceania = {1, 2}, Europa = {3, 4}, África = {5}
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(
+          List.of(1L, 2L, 3L, 4L, 5L),
+          List.of(),
+          Map.of(1L, "Oceania", 2L, "Oceania", 3L, "Europa", 4L, "Europa", 5L, "África"));
+
+  private final Objective continents =
+      new Objective(
+          1L,
+          "Conquistar a Europa, a Oceania e mais um continente à sua escolha",
+          "CONQUER_CONTINENT");
+  private final Objective territories =
+      new Objective(
+          2L,
+          "Conquistar 18 territórios com pelo menos 2 exércitos em cada um",
+          "CONQUER_TERRITORIES");
+  private final Objective eliminate =
+      new Objective(3L, "Eliminar totalmente o jogador com exércitos amarelos", "ELIMINATE_PLAYER");
+
+  private final RulesCatalog catalog =
+      RulesCatalog.build(graph, List.of(continents, territories, eliminate));
+
+  @Test
+  void build_ShouldParseObjectivesIntoTypedRules() {
+    assertInstanceOf(ObjectiveRule.ConquerContinents.class, catalog.objective(continents));
+    assertEquals(new ObjectiveRule.ConquerTerritories(18, 2), catalog.objective(territories));
+    assertEquals(new ObjectiveRule.EliminatePlayer("#bfa640"), catalog.objective(eliminate));
+  }
+
+  @Test
+  void continentBonus_ShouldSumOnlyFullyOwnedContinents() {
+    long oceaniaAndHalfEurope = 0b00111L;
+
+    assertEquals(2, catalog.continentBonus(oceaniaAndHalfEurope));
+    assertEquals(2 + 5 + 3, catalog.continentBonus(0b11111L));
+  }
+
+  @Test
+  void conquerContinents_PlusOne_ShouldRequireAnExtraContinent() {
+    ObjectiveRule rule = catalog.objective(continents);
+
+    assertFalse(rule.isComplete(0b01111L, 0L, color -> false));
+    assertTrue(rule.isComplete(0b11111L, 0L, color -> false));
+  }
+
+  @Test
+  void objective_NotInCatalog_ShouldBeParsedOnDemand() {
+    Objective added = new Objective(99L, "Conquistar 24 territórios", "CONQUER_TERRITORIES");
+
+    assertEquals(new ObjectiveRule.ConquerTerritories(24, 1), catalog.objective(added));
+  }
+}
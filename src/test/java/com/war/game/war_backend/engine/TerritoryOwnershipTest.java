@@ -0,0 +1,74 @@
+package com.war.game.war_backend.engine;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.state;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerGame;
+
+class TerritoryOwnershipTest {
+
+  // A = {1, 2}, B = {3}
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(List.of(1L, 2L, 3L), List.of(), Map.of(1L, "A", 2L, "A", 3L, "B"));
+
+  @Test
+  void hydrate_ShouldIndexOwnershipByPlayer() {
+    // Arrange
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+
+    // Act
+    GameState state =
+        state(
+            graph,
+            List.of(red, blue),
+            territory(1L, red, 1),
+            territory(2L, red, 2),
+            territory(3L, blue, 3));
+
+    // Assert
+    assertEquals(0b011L, state.ownedMask(red));
+    assertEquals(0b010L, state.ownedWithTwoArmiesMask(red));
+    assertEquals(0b100L, state.ownedMask(blue));
+    assertEquals(2, state.countTerritoriesOwnedBy(red));
+  }
+
+  @Test
+  void markTerritoryDirty_ShouldMoveOnlyTheChangedTerritory() {
+    // Arrange
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+    GameState state =
+        state(
+            graph,
+            List.of(red, blue),
+            territory(1L, red, 1),
+            territory(2L, red, 2),
+            territory(3L, blue, 3));
+    GameTerritory conquered = state.findTerritory(3L).orElseThrow();
+    GameTerritory reinforced = state.findTerritory(1L).orElseThrow();
+
+    // Act - Vermelho conquista 3 com 1 exército e reforça 1
+    conquered.setOwner(state.getPlayer(red.getId()));
+    conquered.setStaticArmies(0);
+    conquered.setMovedInArmies(1);
+    state.markTerritoryDirty(conquered);
+    reinforced.setStaticArmies(2);
+    state.markTerritoryDirty(reinforced);
+
+    // Assert
+    assertEquals(0b111L, state.ownedMask(red));
+    assertEquals(0b011L, state.ownedWithTwoArmiesMask(red));
+    assertEquals(0L, state.ownedMask(blue));
+    assertEquals(0L, state.ownedWithTwoArmiesMask(blue));
+    assertEquals(0, state.countTerritoriesOwnedBy(blue));
+  }
+}
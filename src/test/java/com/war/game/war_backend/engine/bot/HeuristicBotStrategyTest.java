@@ -0,0 +1,85 @@
+package com.war.game.war_backend.engine.bot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.engine.bot.BotStrategy.BotMove;
+import com.war.game.war_backend.model.enums.CardType;
+
+class HeuristicBotStrategyTest {
+
+  // 1 é interior (vizinho de 2 e 3); 2 e 3 fazem fronteira com os inimigos 4 e 5
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(
+          List.of(1L, 2L, 3L, 4L, 5L),
+          List.of(new long[] {1, 2}, new long[] {1, 3}, new long[] {2, 4}, new long[] {3, 5}));
+
+  private final HeuristicBotStrategy strategy = new HeuristicBotStrategy();
+
+  @Test
+  void reinforce_ShouldSpreadArmiesByVulnerability() {
+    // Arrange - 2 (1 exército) é mais vulnerável que 3 (3 exércitos)
+    BotSnapshot snapshot = snapshot(new int[] {6, 1, 3, 1, 2}, 4);
+
+    // Act
+    int[] placements = strategy.reinforce(snapshot);
+
+    // Assert - Um por vez: 2 recebe até empatar com 3; no empate fica o primeiro
+    assertArrayEquals(new int[] {0, 3, 1, 0, 0}, placements);
+  }
+
+  @Test
+  void chooseAttack_ShouldRespectMinimumScore() {
+    // 3 exércitos atacando contra 2: relação 1,5, no limite
+    BotMove attack = strategy.chooseAttack(snapshot(new int[] {6, 1, 4, 1, 2}, 0));
+    assertEquals(new BotMove(2, 4, 3), attack);
+
+    // 2 contra 2: relação 1, abaixo do limite
+    assertEquals(null, strategy.chooseAttack(snapshot(new int[] {6, 1, 3, 1, 2}, 0)));
+  }
+
+  @Test
+  void fortify_ShouldMoveHalfOfInteriorToWeakestBorder() {
+    BotMove move = strategy.fortify(snapshot(new int[] {6, 1, 3, 1, 2}, 0));
+
+    assertEquals(new BotMove(0, 1, 3), move);
+  }
+
+  @Test
+  void chooseCardTrade_ShouldPreferSameTypeThenOneOfEach() {
+    int infantry = CardType.INFANTRY.ordinal();
+    int cavalry = CardType.CAVALRY.ordinal();
+    int cannon = CardType.CANNON.ordinal();
+    int wild = CardType.WILD.ordinal();
+
+    assertArrayEquals(
+        new long[] {100, 102, 104},
+        strategy.chooseCardTrade(
+            cards(
+                new long[] {100, 101, 102, 103, 104},
+                new int[] {cavalry, infantry, cavalry, cannon, cavalry})));
+    assertArrayEquals(
+        new long[] {101, 100, 103},
+        strategy.chooseCardTrade(
+            cards(new long[] {100, 101, 102, 103}, new int[] {cavalry, infantry, wild, cannon})));
+    assertArrayEquals(
+        new long[0],
+        strategy.chooseCardTrade(
+            cards(new long[] {100, 101, 102}, new int[] {cavalry, infantry, wild})));
+  }
+
+  private BotSnapshot snapshot(int[] armies, int unallocated) {
+    return BotSnapshot.of(
+        graph, new int[] {0, 0, 0, 1, 2}, armies, unallocated, new long[0], new int[0]);
+  }
+
+  private BotSnapshot cards(long[] cardIds, int[] cardTypes) {
+    return BotSnapshot.of(
+        graph, new int[] {0, 0, 0, 1, 2}, new int[] {1, 1, 1, 1, 1}, 0, cardIds, cardTypes);
+  }
+}
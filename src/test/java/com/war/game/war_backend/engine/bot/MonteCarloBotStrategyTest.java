@@ -0,0 +1,65 @@
+package com.war.game.war_backend.engine.bot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.engine.bot.BotStrategy.BotMove;
+
+class MonteCarloBotStrategyTest {
+
+  // O bot tem 1, vizinho dos inimigos 2 e 3
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(List.of(1L, 2L, 3L), List.of(new long[] {1, 2}, new long[] {1, 3}));
+
+  @Test
+  void chooseAttack_ShouldPickSiegeMostLikelyToSucceed() {
+    MonteCarloBotStrategy strategy = new MonteCarloBotStrategy(1_000, 2_000, 0.6);
+
+    BotMove attack =
+        strategy.chooseAttack(snapshot(new int[] {11, 3, 12}), new SplittableRandom(42));
+
+    assertEquals(new BotMove(0, 1, 3), attack);
+  }
+
+  @Test
+  void chooseAttack_HeuristicScoreButLosingOdds_ShouldHold() {
+    // Arrange - 8 atacantes contra 5: relação 1,6, mas o cerco vence só pouco mais da metade
+    BotSnapshot snapshot = snapshot(new int[] {9, 5, 12});
+    MonteCarloBotStrategy strategy = new MonteCarloBotStrategy(1_000, 2_000, 0.6);
+
+    // Act
+    BotMove attack = strategy.chooseAttack(snapshot, new SplittableRandom(42));
+
+    // Assert - O nível rápido atacaria; o profundo segura
+    assertEquals(new BotMove(0, 1, 3), new HeuristicBotStrategy().chooseAttack(snapshot));
+    assertNull(attack);
+  }
+
+  @Test
+  void chooseAttack_UnfavorableSieges_ShouldStop() {
+    MonteCarloBotStrategy strategy = new MonteCarloBotStrategy(1_000, 2_000, 0.6);
+
+    assertNull(strategy.chooseAttack(snapshot(new int[] {3, 6, 6}), new SplittableRandom(42)));
+  }
+
+  @Test
+  void chooseAttack_BudgetExhausted_ShouldStillDecideWithOneBatch() {
+    // Orçamento zero: um lote por candidato e a decisão sai mesmo assim
+    MonteCarloBotStrategy strategy = new MonteCarloBotStrategy(0, 1_000_000, 0.6);
+
+    BotMove attack =
+        strategy.chooseAttack(snapshot(new int[] {20, 1, 15}), new SplittableRandom(42));
+
+    assertEquals(new BotMove(0, 1, 3), attack);
+  }
+
+  private BotSnapshot snapshot(int[] armies) {
+    return BotSnapshot.of(graph, new int[] {0, 1, 2}, armies, 0, new long[0], new int[0]);
+  }
+}
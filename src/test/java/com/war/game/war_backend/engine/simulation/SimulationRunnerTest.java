@@ -0,0 +1,193 @@
+package com.war.game.war_backend.engine.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import com.war.game.war_backend.engine.ObjectiveRule;
+import com.war.game.war_backend.engine.RulesCatalog;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.engine.bot.BotSnapshot;
+import com.war.game.war_backend.engine.bot.BotStrategy;
+import com.war.game.war_backend.engine.bot.HeuristicBotStrategy;
+
+class SimulationRunnerTest {
+
+  private static final BotStrategy HEURISTIC = new HeuristicBotStrategy();
+
+  private final SimulationMap map = syntheticMap();
+
+  @Test
+  void run_SameSeed_ShouldGiveSameResultRegardlessOfParallelism() {
+    // Arrange
+    List<BotStrategy> bots = List.of(HEURISTIC, HEURISTIC, HEURISTIC, HEURISTIC);
+    ForkJoinPool single = new ForkJoinPool(1);
+    ForkJoinPool parallel = new ForkJoinPool(4);
+
+    try {
+      // Act
+      SimulationReport first = new SimulationRunner(map, single).run(bots, 200, 42L);
+      SimulationReport second = new SimulationRunner(map, parallel).run(bots, 200, 42L);
+
+      // Assert
+      assertEquals(first.wins(), second.wins());
+      assertEquals(first.draws(), second.draws());
+      assertEquals(first.totalTurns(), second.totalTurns());
+    } finally {
+      single.shutdown();
+      parallel.shutdown();
+    }
+  }
+
+  @Test
+  void run_ShouldAccountForEveryGame() {
+    // Act
+    SimulationReport report =
+        new SimulationRunner(map).run(List.of(HEURISTIC, HEURISTIC, HEURISTIC), 300, 7L);
+
+    // Assert
+    int wins = report.wins().stream().mapToInt(Integer::intValue).sum();
+    assertEquals(300, report.games());
+    assertEquals(300, wins + report.draws());
+    assertTrue(report.minTurns() > 0);
+    assertTrue(report.maxTurns() <= SimulationRunner.DEFAULT_MAX_TURNS);
+  }
+
+  @Test
+  void run_HeuristicAgainstRandom_ShouldWinMostGames() {
+    // Act
+    SimulationReport report =
+        new SimulationRunner(map).run(List.of(HEURISTIC, new RandomBotStrategy(0.3, 5L)), 300, 11L);
+
+    // Assert
+    assertTrue(report.winRate(0) > 0.8, report.toString());
+  }
+
+  @Test
+  void play_ShouldKeepTerritoryInvariantsThroughoutTheGame() {
+    // Arrange - Confere o tabuleiro da partida em andamento toda vez que um bot age
+    List<String> violations = new ArrayList<>();
+    SimulatedGame[] current = new SimulatedGame[1];
+    BotStrategy checking =
+        new HeuristicBotStrategy() {
+          @Override
+          public BotMove chooseAttack(BotSnapshot snapshot) {
+            check(current[0], violations);
+            return super.chooseAttack(snapshot);
+          }
+
+          @Override
+          public BotMove fortify(BotSnapshot snapshot) {
+            check(current[0], violations);
+            return super.fortify(snapshot);
+          }
+        };
+    BotStrategy[] bots = {checking, checking, checking, checking, checking};
+
+    for (long seed = 0; seed < 50; seed++) {
+      // Act
+      SimulatedGame game = new SimulatedGame(map, bots, null, seed);
+      current[0] = game;
+      SimulatedGame.Result result = game.play(SimulationRunner.DEFAULT_MAX_TURNS);
+
+      // Assert
+      check(game, violations);
+      if (result.winner() >= 0) {
+        assertEquals(map.territoryCount(), game.territoryCount(result.winner()));
+      }
+    }
+    assertEquals(List.of(), violations);
+  }
+
+  @Test
+  void play_WithObjectives_WinnerShouldHaveCompletedIt() {
+    // Arrange - Objetivos interpretados como no jogo; o assento 3 deve eliminar o azul (assento 0)
+    ObjectiveRule[] objectives = {
+      objective("CONQUER_TERRITORIES", "Conquistar 24 territórios à sua escolha"),
+      objective("CONQUER_CONTINENT", "Conquistar na totalidade a Ásia e a África"),
+      objective(
+          "CONQUER_TERRITORIES", "Conquistar 18 territórios com pelo menos 2 exércitos em cada"),
+      objective("ELIMINATE_PLAYER", "Destruir totalmente os exércitos azuis")
+    };
+    for (ObjectiveRule objective : objectives) {
+      assertFalse(objective instanceof ObjectiveRule.Unrecognized, objective.toString());
+    }
+    assertEquals("blue", SimulatedGame.color(0));
+    BotStrategy[] bots = {HEURISTIC, HEURISTIC, HEURISTIC, HEURISTIC};
+
+    int byObjective = 0;
+    for (long seed = 0; seed < 50; seed++) {
+      // Act
+      SimulatedGame game = new SimulatedGame(map, bots, objectives, seed);
+      SimulatedGame.Result result = game.play(SimulationRunner.DEFAULT_MAX_TURNS);
+
+      // Assert
+      if (result.winner() < 0) continue;
+      int winner = result.winner();
+      boolean eliminatedEveryone = game.territoryCount(winner) == map.territoryCount();
+      assertTrue(eliminatedEveryone || game.isObjectiveComplete(winner), "seed " + seed);
+      if (!eliminatedEveryone) byObjective++;
+    }
+    assertTrue(byObjective > 0);
+  }
+
+  private ObjectiveRule objective(String type, String description) {
+    return ObjectiveRule.parse(type, description, map.graph());
+  }
+
+  private static void check(SimulatedGame game, List<String> violations) {
+    int owned = 0;
+    for (int seat = 0; seat < game.seatCount(); seat++) {
+      owned += game.territoryCount(seat);
+      if (game.isAlive(seat) != game.territoryCount(seat) > 0) {
+        violations.add("assento " + seat + " vivo sem territórios (ou o contrário)");
+      }
+    }
+    if (owned != game.map().territoryCount()) {
+      violations.add("territórios somam " + owned);
+    }
+    for (int t = 0; t < game.map().territoryCount(); t++) {
+      if (game.armies(t) < 1 || game.staticArmies(t) < 0) {
+        violations.add("território " + t + " com " + game.armies(t) + " exércitos");
+      }
+    }
+  }
+
+  // 42 territórios em 6 continentes; cada território faz fronteira com os dois seguintes do
+  // continente, e o último de cada continente com o primeiro do próximo
+  static SimulationMap syntheticMap() {
+    Map<String, Integer> sizes = new LinkedHashMap<>();
+    sizes.put("América do Norte", 9);
+    sizes.put("América do Sul", 4);
+    sizes.put("Europa", 7);
+    sizes.put("África", 6);
+    sizes.put("Ásia", 12);
+    sizes.put("Oceania", 4);
+
+    List<Long> ids = new ArrayList<>();
+    List<long[]> borders = new ArrayList<>();
+    Map<Long, String> continents = new LinkedHashMap<>();
+    long id = 1;
+    for (Map.Entry<String, Integer> continent : sizes.entrySet()) {
+      long first = id;
+      for (int i = 0; i < continent.getValue(); i++, id++) {
+        ids.add(id);
+        continents.put(id, continent.getKey());
+        if (id > first) borders.add(new long[] {id - 1, id});
+        if (id > first + 1) borders.add(new long[] {id - 2, id});
+      }
+      if (first > 1) borders.add(new long[] {first - 1, first});
+    }
+
+    return SimulationMap.of(
+        RulesCatalog.build(TerritoryGraph.build(ids, borders, continents), List.of()));
+  }
+}
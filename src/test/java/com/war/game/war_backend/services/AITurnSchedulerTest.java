@@ -0,0 +1,151 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.model.Game;
+
+@ExtendWith(MockitoExtension.class)
+class AITurnSchedulerTest {
+
+  private static final Long GAME_ID = 1L;
+
+  @Mock private GameService gameService;
+
+  @Mock private GameStateStore gameStateStore;
+
+  private AITurnScheduler aiTurnScheduler;
+
+  @AfterEach
+  void tearDown() {
+    aiTurnScheduler.shutdown();
+  }
+
+  @Test
+  void schedule_WithZeroDelay_ShouldRunBotStepWithoutBlockingCaller() {
+    // Arrange
+    aiTurnScheduler = new AITurnScheduler(gameService, gameStateStore, 0, Runnable::run);
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.empty());
+
+    // Act
+    aiTurnScheduler.schedule(GAME_ID, "bot");
+
+    // Assert
+    verify(gameService, timeout(1000)).executeAIAction(GAME_ID, "bot");
+  }
+
+  @Test
+  void schedule_WithPerGameDelay_ShouldOverrideDefaultDelay() {
+    // Arrange - Padrão de 1 minuto, mas a partida joga sem pausa
+    aiTurnScheduler = new AITurnScheduler(gameService, gameStateStore, 60_000, Runnable::run);
+    GameState state = gameState();
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.of(state));
+    aiTurnScheduler.setStepDelay(GAME_ID, 0);
+
+    // Act
+    aiTurnScheduler.schedule(GAME_ID, "bot");
+
+    // Assert
+    verify(gameService, timeout(1000)).executeAIAction(GAME_ID, "bot");
+  }
+
+  @Test
+  void schedule_WithDefaultDelay_ShouldWaitBeforeRunningBotStep() {
+    // Arrange
+    aiTurnScheduler = new AITurnScheduler(gameService, gameStateStore, 60_000, Runnable::run);
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.empty());
+
+    // Act
+    aiTurnScheduler.schedule(GAME_ID, "bot");
+
+    // Assert
+    verify(gameService, after(300).never()).executeAIAction(GAME_ID, "bot");
+  }
+
+  @Test
+  void schedule_AiExecutorFull_ShouldRetryStepLater() {
+    // Arrange - O executor dos bots recusa a primeira tarefa
+    AtomicInteger attempts = new AtomicInteger();
+    Executor busyOnce =
+        task -> {
+          if (attempts.incrementAndGet() == 1) {
+            throw new RejectedExecutionException("cheio");
+          }
+          task.run();
+        };
+    aiTurnScheduler = new AITurnScheduler(gameService, gameStateStore, 0, busyOnce);
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.empty());
+
+    // Act
+    aiTurnScheduler.schedule(GAME_ID, "bot");
+
+    // Assert - A ação não se perde: roda na nova tentativa
+    verify(gameService, timeout(2000)).executeAIAction(GAME_ID, "bot");
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  void schedule_StepKeepsFailing_ShouldRetryWithBackoffAndThenEndTheBotTurn() {
+    // Arrange - A ação falha sempre (por exemplo, a fila da partida não libera)
+    aiTurnScheduler = new AITurnScheduler(gameService, gameStateStore, 0, Runnable::run);
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.empty());
+    when(gameService.executeAIAction(GAME_ID, "bot"))
+        .thenThrow(new RuntimeException("Partida ocupada"));
+
+    // Act
+    aiTurnScheduler.schedule(GAME_ID, "bot");
+
+    // Assert - A primeira execução e as novas tentativas; depois o turno é encerrado à força
+    verify(gameService, timeout(6000)).startNextTurn(GAME_ID, "bot");
+    verify(gameService, times(1 + AITurnScheduler.MAX_STEP_RETRIES))
+        .executeAIAction(GAME_ID, "bot");
+  }
+
+  @Test
+  void schedule_StepFailsOnce_ShouldRunAgainWithoutEndingTheTurn() {
+    // Arrange
+    aiTurnScheduler = new AITurnScheduler(gameService, gameStateStore, 0, Runnable::run);
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.empty());
+    when(gameService.executeAIAction(GAME_ID, "bot"))
+        .thenThrow(new RuntimeException("Falha transitória"))
+        .thenReturn(new Game());
+
+    // Act
+    aiTurnScheduler.schedule(GAME_ID, "bot");
+
+    // Assert
+    verify(gameService, timeout(2000).times(2)).executeAIAction(GAME_ID, "bot");
+    verify(gameService, after(300).never()).startNextTurn(GAME_ID, "bot");
+  }
+
+  private GameState gameState() {
+    Game game = new Game();
+    game.setId(GAME_ID);
+    game.setStatus("ATTACK");
+    return GameState.hydrate(
+        TerritoryGraph.build(List.of(), List.of()),
+        game,
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of());
+  }
+}
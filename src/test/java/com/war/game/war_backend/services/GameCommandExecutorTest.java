@@ -0,0 +1,218 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+class GameCommandExecutorTest {
+
+  @Mock private GameStateStore gameStateStore;
+
+  @Mock private GameStateWriteBehind gameStateWriteBehind;
+
+  private GameCommandExecutor executor;
+  private final TransactionTemplate transaction =
+      new TransactionTemplate(new SynchronizationOnlyTransactionManager());
+
+  @BeforeEach
+  void setUp() {
+    executor = new GameCommandExecutor(gameStateStore, gameStateWriteBehind, 5_000L);
+  }
+
+  @Test
+  void acquire_TransactionRolledBack_ShouldDiscardStateAndReleaseGame() throws Exception {
+    // Act - O comando alterou a memória e falhou antes do commit
+    assertThrows(
+        IllegalStateException.class,
+        () ->
+            transaction.executeWithoutResult(
+                status -> {
+                  executor.acquire(1L);
+                  throw new IllegalStateException("Falha ao gravar a carta comprada.");
+                }));
+
+    // Assert - O que já estava confirmado é gravado antes de o estado sair da memória
+    InOrder order = inOrder(gameStateWriteBehind, gameStateStore);
+    order.verify(gameStateWriteBehind).flushQueued(1L);
+    order.verify(gameStateStore).evict(1L);
+    assertEquals("ok", acquireFromAnotherThread(1L));
+  }
+
+  @Test
+  void acquire_TransactionCommitted_ShouldKeepStateInMemory() throws Exception {
+    // Act
+    transaction.executeWithoutResult(status -> executor.acquire(1L));
+
+    // Assert
+    verify(gameStateStore, never()).evict(1L);
+    verify(gameStateWriteBehind, never()).flushQueued(1L);
+    assertEquals("ok", acquireFromAnotherThread(1L));
+  }
+
+  @Test
+  void acquire_SameGame_ShouldRunCommandsOneAtATimeInArrivalOrder() throws Exception {
+    // Arrange - O primeiro comando segura a vez da partida
+    List<String> log = new CopyOnWriteArrayList<>();
+    CountDownLatch firstRunning = new CountDownLatch(1);
+    CountDownLatch finishFirst = new CountDownLatch(1);
+    CompletableFuture<Void> first =
+        command(
+            1L,
+            () -> {
+              log.add("primeiro:início");
+              firstRunning.countDown();
+              await(finishFirst);
+              log.add("primeiro:fim");
+            });
+    assertTrue(firstRunning.await(5, TimeUnit.SECONDS));
+
+    // Act - Os seguintes chegam em ordem enquanto a partida está ocupada
+    CompletableFuture<Void> second = command(1L, () -> log.add("segundo"));
+    waitUntilQueued(1L, 1);
+    CompletableFuture<Void> third = command(1L, () -> log.add("terceiro"));
+    waitUntilQueued(1L, 2);
+    finishFirst.countDown();
+    CompletableFuture.allOf(first, second, third).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertEquals(List.of("primeiro:início", "primeiro:fim", "segundo", "terceiro"), log);
+  }
+
+  @Test
+  void acquire_SameTransactionTwice_ShouldNotBlock() throws Exception {
+    // Act - Um comando que chama outro da mesma partida
+    transaction.executeWithoutResult(
+        status -> {
+          executor.acquire(1L);
+          executor.acquire(1L);
+        });
+
+    // Assert - As duas entradas são liberadas no fim da transação
+    assertEquals("ok", acquireFromAnotherThread(1L));
+  }
+
+  @Test
+  void acquire_GameBusyPastTimeout_ShouldFailWithRetryMessage() throws Exception {
+    // Arrange
+    executor = new GameCommandExecutor(gameStateStore, gameStateWriteBehind, 200L);
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    CompletableFuture<Void> busy =
+        command(
+            1L,
+            () -> {
+              running.countDown();
+              await(finish);
+            });
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    // Act & Assert
+    try {
+      assertEquals(
+          "A partida está processando outra ação. Tente novamente.", acquireFromAnotherThread(1L));
+    } finally {
+      finish.countDown();
+      busy.get(5, TimeUnit.SECONDS);
+    }
+    assertEquals("ok", acquireFromAnotherThread(1L));
+  }
+
+  @Test
+  void acquire_DifferentGames_ShouldRunInParallel() throws Exception {
+    // Arrange - A partida 1 está ocupada
+    CountDownLatch running = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    CompletableFuture<Void> busy =
+        command(
+            1L,
+            () -> {
+              running.countDown();
+              await(finish);
+            });
+    assertTrue(running.await(5, TimeUnit.SECONDS));
+
+    // Act & Assert - A partida 2 não espera
+    try {
+      assertEquals("ok", acquireFromAnotherThread(2L));
+    } finally {
+      finish.countDown();
+      busy.get(5, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  void acquire_OutsideTransaction_ShouldFail() {
+    assertThrows(IllegalStateException.class, () -> executor.acquire(1L));
+  }
+
+  // Roda um comando da partida em outra thread, na sua própria transação
+  private CompletableFuture<Void> command(Long gameId, Runnable body) {
+    return CompletableFuture.runAsync(
+        () ->
+            transaction.executeWithoutResult(
+                status -> {
+                  executor.acquire(gameId);
+                  body.run();
+                }));
+  }
+
+  // Espera até {@code waiting} threads estarem na fila da partida
+  @SuppressWarnings("unchecked")
+  private void waitUntilQueued(Long gameId, int waiting) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (System.currentTimeMillis() < deadline) {
+      Object mailbox =
+          ((Map<Long, Object>) ReflectionTestUtils.getField(executor, "mailboxes")).get(gameId);
+      if (mailbox != null
+          && ((ReentrantLock) ReflectionTestUtils.getField(mailbox, "lock")).getQueueLength()
+              == waiting) {
+        return;
+      }
+      Thread.sleep(5);
+    }
+    throw new AssertionError("Comandos não chegaram à fila da partida.");
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  // Tenta a vez da partida em outra thread (o lock é reentrante para a thread do teste)
+  private String acquireFromAnotherThread(Long gameId) throws Exception {
+    return CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                transaction.executeWithoutResult(status -> executor.acquire(gameId));
+                return "ok";
+              } catch (RuntimeException e) {
+                return e.getMessage();
+              }
+            })
+        .get(5, TimeUnit.SECONDS);
+  }
+}
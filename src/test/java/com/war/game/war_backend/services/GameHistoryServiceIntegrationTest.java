@@ -0,0 +1,186 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.war.game.war_backend.config.BaseTestConfiguration;
+import com.war.game.war_backend.controller.dto.response.GameHistoryPageDto;
+import com.war.game.war_backend.controller.dto.response.GameHistoryPageDto.GameSummaryDto;
+import com.war.game.war_backend.controller.dto.response.GameHistoryPageDto.PlayerSummaryDto;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.Player;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.model.enums.GameStatus;
+import com.war.game.war_backend.repository.GameRepository;
+import com.war.game.war_backend.repository.PlayerGameRepository;
+import com.war.game.war_backend.repository.PlayerRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(BaseTestConfiguration.class)
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class GameHistoryServiceIntegrationTest {
+
+  @Autowired private GameHistoryService gameHistoryService;
+
+  @Autowired private PlayerRepository playerRepository;
+  @Autowired private GameRepository gameRepository;
+  @Autowired private PlayerGameRepository playerGameRepository;
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private final LocalDateTime now = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+  private Player alice;
+  private Player bob;
+  private Game oldest;
+  private Game middle;
+  private Game newest;
+
+  @BeforeEach
+  void setUp() {
+    alice = player("alice");
+    bob = player("bob");
+
+    // Três partidas finalizadas e uma em andamento, que não entra no histórico
+    oldest = finishedGame("Antiga", now.minusHours(3), alice, bob);
+    middle = finishedGame("Meio", now.minusHours(2), bob);
+    newest = finishedGame("Nova", now.minusHours(1), alice, bob);
+
+    Game running = game("Em andamento", GameStatus.ATTACK.name(), now);
+    playerGame(running, alice, 1);
+
+    gameRepository.flush();
+    playerGameRepository.flush();
+  }
+
+  @Test
+  void findFinished_ShouldPageFromNewestWithCursor() {
+    // Act
+    GameHistoryPageDto first = gameHistoryService.findFinished(null, 2, null);
+    GameHistoryPageDto second = gameHistoryService.findFinished(first.getNextCursor(), 2, null);
+
+    // Assert
+    assertEquals(List.of(newest.getId(), middle.getId()), ids(first));
+    assertNotNull(first.getNextCursor());
+    assertEquals(List.of(oldest.getId()), ids(second));
+    assertNull(second.getNextCursor());
+  }
+
+  @Test
+  void findFinished_ShouldSummarizeWinnerDurationAndPlayers() {
+    // Act
+    GameSummaryDto summary = gameHistoryService.findFinished(null, 1, null).getGames().get(0);
+
+    // Assert
+    assertEquals("Nova", summary.getName());
+    assertEquals("alice", summary.getWinner().getUsername());
+    assertEquals(30 * 60L, summary.getDurationSeconds());
+    assertEquals(
+        List.of("alice", "bob"),
+        summary.getPlayers().stream().map(PlayerSummaryDto::getUsername).toList());
+  }
+
+  @Test
+  void findFinished_WithPlayer_ShouldReturnOnlyTheirGames() {
+    // Act
+    GameHistoryPageDto page = gameHistoryService.findFinished(null, 10, alice.getId());
+
+    // Assert
+    assertEquals(List.of(newest.getId(), oldest.getId()), ids(page));
+  }
+
+  @Test
+  void findFinished_InvalidCursor_ShouldThrow() {
+    assertThrows(
+        RuntimeException.class, () -> gameHistoryService.findFinished("não-é-cursor", 2, null));
+  }
+
+  @Test
+  void markFinished_ShouldSetFinishedAtOnlyOnce() {
+    // Arrange - Partida finalizada fora da memória, sem passar pelo write-behind
+    Game game = game("Sem cache", GameStatus.FINISHED.name(), now);
+    gameRepository.flush();
+
+    // Act
+    gameRepository.markFinished(game.getId(), now.plusMinutes(10));
+    gameRepository.markFinished(game.getId(), now.plusMinutes(20));
+
+    // Assert - A duração do histórico usa a primeira data gravada
+    assertEquals(
+        Timestamp.valueOf(now.plusMinutes(10)),
+        jdbcTemplate.queryForObject(
+            "SELECT finished_at FROM game WHERE pk_id = ?", Timestamp.class, game.getId()));
+  }
+
+  private static List<Long> ids(GameHistoryPageDto page) {
+    return page.getGames().stream().map(GameSummaryDto::getId).toList();
+  }
+
+  private Game finishedGame(String name, LocalDateTime createdAt, Player... players) {
+    Game game = game(name, GameStatus.FINISHED.name(), createdAt);
+    game.setStartedAt(createdAt);
+
+    PlayerGame winner = null;
+    for (int i = 0; i < players.length; i++) {
+      PlayerGame pg = playerGame(game, players[i], i + 1);
+      if (i == 0) winner = pg;
+    }
+    game.setWinner(winner);
+    game = gameRepository.saveAndFlush(game);
+
+    // finished_at só é gravado pelo write-behind
+    jdbcTemplate.update(
+        "UPDATE game SET finished_at = ? WHERE pk_id = ?",
+        Timestamp.valueOf(createdAt.plusMinutes(30)),
+        game.getId());
+    return game;
+  }
+
+  private Game game(String name, String status, LocalDateTime createdAt) {
+    Game game = new Game();
+    game.setName(name);
+    game.setStatus(status);
+    game.setCreatedAt(createdAt);
+    return gameRepository.save(game);
+  }
+
+  private PlayerGame playerGame(Game game, Player player, int turnOrder) {
+    PlayerGame pg = new PlayerGame();
+    pg.setGame(game);
+    pg.setPlayer(player);
+    pg.setUsername(player.getUsername());
+    pg.setColor(turnOrder == 1 ? "blue" : "red");
+    pg.setTurnOrder(turnOrder);
+    pg.setStillInGame(true);
+    pg.setUnallocatedArmies(0);
+    pg.setConqueredTerritoryThisTurn(false);
+    return playerGameRepository.save(pg);
+  }
+
+  private Player player(String username) {
+    Player player = new Player();
+    player.setUsername(username);
+    player.setPassword("password");
+    player.setEmail(username + "@test.com");
+    player.setRoles(new HashSet<>());
+    return playerRepository.save(player);
+  }
+}
@@ -0,0 +1,111 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.war.game.war_backend.controller.dto.response.ReplayFrameDto;
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameStateChanges;
+import com.war.game.war_backend.engine.GameStateSnapshot;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.repository.GameRepository;
+
+@ExtendWith(MockitoExtension.class)
+class GameReplayServiceTest {
+
+  @Mock private GameRepository gameRepository;
+
+  @Mock private GameEventLog gameEventLog;
+
+  @InjectMocks private GameReplayService gameReplayService;
+
+  private final GameStateSnapshot start =
+      new GameStateSnapshot(
+          7L, 0L, game(1L), List.of(), List.of(new GameStateChanges.TerritoryRow(1L, 1L, 3, 0, 0)));
+
+  // Turno 0: vermelho aloca; turno 1: azul ataca; turno 2: volta para vermelho
+  private final List<GameEvent> events =
+      List.of(
+          event(1L, GameEvent.Type.ALLOCATION, null),
+          event(2L, GameEvent.Type.PHASE_CHANGE, game(2L)),
+          event(3L, GameEvent.Type.ATTACK, null),
+          event(4L, GameEvent.Type.PHASE_CHANGE, game(1L)));
+
+  private final List<ReplayFrameDto> frames = new ArrayList<>();
+
+  private void givenEventLogPagesOfTwo() {
+    when(gameEventLog.nextEvents(eq(7L), anyLong(), anyInt()))
+        .thenAnswer(
+            invocation -> {
+              long afterSeq = invocation.getArgument(1);
+              return events.stream().filter(e -> e.seq() > afterSeq).limit(2).toList();
+            });
+  }
+
+  @Test
+  void stream_FromStart_ShouldSendInitialStateAndEveryEvent() throws IOException {
+    // Arrange
+    givenEventLogPagesOfTwo();
+
+    // Act
+    gameReplayService.stream(start, 0, null, frames::add);
+
+    // Assert
+    assertEquals(
+        List.of("STATE", "EVENT", "EVENT", "EVENT", "EVENT"),
+        frames.stream().map(ReplayFrameDto::getType).toList());
+    assertEquals(List.of(0, 0, 1, 1, 2), frames.stream().map(ReplayFrameDto::getTurn).toList());
+  }
+
+  @Test
+  void stream_SeekToTurn_ShouldSendStateAtTurnStartAndStopAfterLastTurn() throws IOException {
+    // Arrange
+    givenEventLogPagesOfTwo();
+
+    // Act
+    gameReplayService.stream(start, 1, 1, frames::add);
+
+    // Assert - O estado é o do fim do turno 0, antes da troca de jogador
+    assertEquals(3, frames.size());
+    assertEquals("STATE", frames.get(0).getType());
+    assertEquals(1L, frames.get(0).getSeq());
+    assertEquals(1L, frames.get(0).getState().game().turnPlayerId());
+    assertEquals(
+        List.of(2L, 3L), frames.subList(1, 3).stream().map(ReplayFrameDto::getSeq).toList());
+  }
+
+  @Test
+  void start_GameNotFinished_ShouldThrow() {
+    // Arrange
+    Game game = new Game();
+    game.setStatus("ATTACK");
+    when(gameRepository.findById(7L)).thenReturn(Optional.of(game));
+
+    // Act & Assert
+    assertThrows(RuntimeException.class, () -> gameReplayService.start(7L));
+  }
+
+  private static GameStateChanges.GameRow game(Long turnPlayerId) {
+    return new GameStateChanges.GameRow(7L, "ATTACK", turnPlayerId, null, 0);
+  }
+
+  private static GameEvent event(long seq, GameEvent.Type type, GameStateChanges.GameRow game) {
+    return new GameEvent(seq, seq, type, null, Map.of(), game, List.of(), List.of());
+  }
+}
@@ -0,0 +1,223 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.war.game.war_backend.config.BaseTestConfiguration;
+import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
+import com.war.game.war_backend.model.Card;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.Objective;
+import com.war.game.war_backend.model.Player;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.model.Role;
+import com.war.game.war_backend.model.Territory;
+import com.war.game.war_backend.model.enums.GameStatus;
+import com.war.game.war_backend.repository.CardRepository;
+import com.war.game.war_backend.repository.GameRepository;
+import com.war.game.war_backend.repository.GameTerritoryRepository;
+import com.war.game.war_backend.repository.ObjectiveRepository;
+import com.war.game.war_backend.repository.PlayerCardRepository;
+import com.war.game.war_backend.repository.PlayerGameRepository;
+import com.war.game.war_backend.repository.PlayerRepository;
+import com.war.game.war_backend.repository.RoleRepository;
+import com.war.game.war_backend.repository.TerritoryRepository;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(BaseTestConfiguration.class)
+@Transactional
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class GameStateAssemblerIntegrationTest {
+
+  private static final int PLAYER_COUNT = 6;
+  private static final int CARDS_PER_PLAYER = 2;
+
+  @Autowired private GameStateAssembler gameStateAssembler;
+  @Autowired private GameStateStore gameStateStore;
+
+  @Autowired private PlayerRepository playerRepository;
+  @Autowired private RoleRepository roleRepository;
+  @Autowired private GameRepository gameRepository;
+  @Autowired private PlayerGameRepository playerGameRepository;
+  @Autowired private TerritoryRepository territoryRepository;
+  @Autowired private GameTerritoryRepository gameTerritoryRepository;
+  @Autowired private ObjectiveRepository objectiveRepository;
+  @Autowired private CardRepository cardRepository;
+  @Autowired private PlayerCardRepository playerCardRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+  @PersistenceContext private EntityManager entityManager;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+  }
+
+  @Test
+  void assemble_StoredGame_ShouldUseConstantNumberOfStatements() {
+    // Arrange
+    Long gameId = createGame(GameStatus.FINISHED.name());
+
+    // Simula uma requisição nova: nada da partida no contexto de persistência
+    entityManager.flush();
+    entityManager.clear();
+    Game game = gameRepository.findById(gameId).orElseThrow();
+
+    // Act
+    statistics.clear();
+    GameStateResponseDto dto = gameStateAssembler.assemble(game);
+    long statements = statistics.getPrepareStatementCount();
+
+    // Assert
+    assertTrue(
+        statements <= 3, "Montar o estado deve usar no máximo 3 consultas, mas usou " + statements);
+    assertEquals(PLAYER_COUNT, dto.getPlayerGames().size());
+    dto.getPlayerGames()
+        .forEach(
+            pg -> {
+              assertNotNull(pg.getObjective());
+              assertNotNull(pg.getPlayer());
+              assertEquals(CARDS_PER_PLAYER, pg.getPlayerCards().size());
+              pg.getPlayerCards().forEach(pc -> assertNotNull(pc.getCard().getTerritory()));
+            });
+    assertEquals(PLAYER_COUNT, dto.getGameTerritories().size());
+    assertNotNull(dto.getWinner());
+  }
+
+  @Test
+  void assembleAll_StoredGames_ShouldNotGrowWithNumberOfGames() {
+    // Arrange
+    Long firstGameId = createGame(GameStatus.FINISHED.name());
+    Long secondGameId = createGame(GameStatus.FINISHED.name());
+
+    entityManager.flush();
+    entityManager.clear();
+    List<Game> games = gameRepository.findAllById(List.of(firstGameId, secondGameId));
+
+    // Act
+    statistics.clear();
+    List<GameStateResponseDto> dtos = gameStateAssembler.assembleAll(games);
+    long statements = statistics.getPrepareStatementCount();
+
+    // Assert
+    assertTrue(
+        statements <= 3,
+        "Montar o histórico deve usar no máximo 3 consultas, mas usou " + statements);
+    assertEquals(2, dtos.size());
+    dtos.forEach(dto -> assertEquals(PLAYER_COUNT, dto.getPlayerGames().size()));
+  }
+
+  @Test
+  void assemble_LiveGame_ShouldNotQueryTheDatabase() {
+    // Arrange
+    Long gameId = createGame(GameStatus.ATTACK.name());
+
+    entityManager.flush();
+    entityManager.clear();
+    Game liveGame = gameStateStore.get(gameId).orElseThrow().getGame();
+
+    // Act
+    statistics.clear();
+    GameStateResponseDto dto = gameStateAssembler.assemble(liveGame);
+
+    // Assert
+    assertEquals(0, statistics.getPrepareStatementCount());
+    assertEquals(PLAYER_COUNT, dto.getPlayerGames().size());
+    dto.getPlayerGames().forEach(pg -> assertEquals(CARDS_PER_PLAYER, pg.getPlayerCards().size()));
+  }
+
+  // Partida com PLAYER_COUNT jogadores, cada um com objetivo, um território e CARDS_PER_PLAYER
+  // cartas
+  private Long createGame(String status) {
+    Role userRole =
+        roleRepository
+            .findByName("ROLE_USER")
+            .orElseGet(
+                () -> {
+                  Role role = new Role();
+                  role.setName("ROLE_USER");
+                  return roleRepository.save(role);
+                });
+
+    List<Objective> objectives = objectiveRepository.findAll();
+    List<Territory> territories = territoryRepository.findAll();
+    List<Card> cards =
+        cardRepository.findAll().stream().filter(c -> c.getTerritory() != null).toList();
+
+    Game game = new Game();
+    game.setName("Partida " + status);
+    game.setStatus(status);
+    game.setCreatedAt(LocalDateTime.now());
+    game.setCardSetExchangeCount(0);
+    game = gameRepository.save(game);
+
+    long suffix = System.nanoTime();
+    PlayerGame first = null;
+    for (int i = 0; i < PLAYER_COUNT; i++) {
+      Player player = new Player();
+      player.setUsername("p" + i + "_" + suffix);
+      player.setEmail("p" + i + "_" + suffix + "@test.com");
+      player.setPassword("password");
+      player.setRoles(new HashSet<>(List.of(userRole)));
+      player = playerRepository.save(player);
+
+      PlayerGame pg = new PlayerGame();
+      pg.setPlayer(player);
+      pg.setGame(game);
+      pg.setUsername(player.getUsername());
+      pg.setColor("cor" + i);
+      pg.setTurnOrder(i + 1);
+      pg.setStillInGame(true);
+      pg.setObjective(objectives.get(i % objectives.size()));
+      pg = playerGameRepository.save(pg);
+      if (first == null) first = pg;
+
+      GameTerritory gt = new GameTerritory();
+      gt.setGame(game);
+      gt.setTerritory(territories.get(i));
+      gt.setOwner(pg);
+      gt.setStaticArmies(1);
+      gt.setMovedInArmies(0);
+      gameTerritoryRepository.save(gt);
+
+      for (int c = 0; c < CARDS_PER_PLAYER; c++) {
+        PlayerCard pc = new PlayerCard();
+        pc.setPlayerGame(pg);
+        pc.setCard(cards.get(i * CARDS_PER_PLAYER + c));
+        playerCardRepository.save(pc);
+      }
+    }
+
+    game.setTurnPlayer(first);
+    if (GameStatus.FINISHED.name().equals(status)) {
+      game.setWinner(first);
+    }
+    return gameRepository.save(game).getId();
+  }
+}
@@ -0,0 +1,168 @@
+package com.war.game.war_backend.services;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.war.game.war_backend.controller.dto.response.GameStateResponseDto;
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.GameStateFixtures;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerCard;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.repository.GameTerritoryRepository;
+import com.war.game.war_backend.repository.PlayerCardRepository;
+import com.war.game.war_backend.repository.PlayerGameRepository;
+
+@ExtendWith(MockitoExtension.class)
+class GameStateAssemblerTest {
+
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(List.of(1L, 2L), List.of(), Map.of(1L, "A", 2L, "A"));
+
+  @Mock private GameStateStore gameStateStore;
+
+  @Mock private GameStateWriteBehind gameStateWriteBehind;
+
+  @Mock private PlayerGameRepository playerGameRepository;
+
+  @Mock private GameTerritoryRepository gameTerritoryRepository;
+
+  @Mock private PlayerCardRepository playerCardRepository;
+
+  private final TransactionTemplate transaction =
+      new TransactionTemplate(new SynchronizationOnlyTransactionManager());
+  private final AtomicReference<Optional<GameState>> inMemory = new AtomicReference<>();
+  private GameState state;
+  private GameCommandExecutor executor;
+  private GameStateAssembler assembler;
+
+  @BeforeEach
+  void setUp() {
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+    state =
+        GameStateFixtures.state(
+            graph, red, List.of(red, blue), territory(1L, red, 3), territory(2L, blue, 1));
+    inMemory.set(Optional.of(state));
+    when(gameStateStore.find(1L)).thenAnswer(invocation -> inMemory.get());
+
+    executor = new GameCommandExecutor(gameStateStore, gameStateWriteBehind, 5_000L);
+    assembler =
+        new GameStateAssembler(
+            gameStateStore,
+            executor,
+            playerGameRepository,
+            gameTerritoryRepository,
+            playerCardRepository);
+  }
+
+  @Test
+  void assemble_CommandInProgress_ShouldWaitForCommit() throws Exception {
+    // Arrange - Um comando altera a memória e ainda não terminou
+    CountDownLatch changed = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    CompletableFuture<Void> command =
+        CompletableFuture.runAsync(
+            () ->
+                transaction.executeWithoutResult(
+                    status -> {
+                      executor.acquire(1L);
+                      state.findTerritory(1L).orElseThrow().setStaticArmies(9);
+                      changed.countDown();
+                      await(finish);
+                      state.getPlayers().iterator().next().getPlayerCards().add(new PlayerCard());
+                    }));
+    assertTrue(changed.await(5, TimeUnit.SECONDS));
+
+    // Act
+    CompletableFuture<GameStateResponseDto> view =
+        CompletableFuture.supplyAsync(() -> assembler.assemble(state.getGame()));
+
+    // Assert - A leitura espera o comando e vê a ação inteira
+    Thread.sleep(100);
+    assertFalse(view.isDone());
+    finish.countDown();
+    command.get(5, TimeUnit.SECONDS);
+
+    GameStateResponseDto dto = view.get(5, TimeUnit.SECONDS);
+    assertEquals(9, armiesOf(dto, 1L));
+    assertEquals(1, dto.getPlayerGames().get(0).getPlayerCards().size());
+  }
+
+  @Test
+  void assemble_CommandRolledBack_ShouldReadFromDatabase() throws Exception {
+    // Arrange - A ação desfeita tira a partida da memória
+    doAnswer(
+            invocation -> {
+              inMemory.set(Optional.empty());
+              return null;
+            })
+        .when(gameStateStore)
+        .evict(1L);
+    GameTerritory stored = territory(1L, null, 3);
+    stored.setGame(state.getGame());
+    when(gameTerritoryRepository.findByGameIdInWithTerritory(List.of(1L)))
+        .thenReturn(List.of(stored));
+
+    CountDownLatch changed = new CountDownLatch(1);
+    CountDownLatch finish = new CountDownLatch(1);
+    CompletableFuture<Void> command =
+        CompletableFuture.runAsync(
+            () ->
+                transaction.executeWithoutResult(
+                    status -> {
+                      executor.acquire(1L);
+                      state.findTerritory(1L).orElseThrow().setStaticArmies(9);
+                      changed.countDown();
+                      await(finish);
+                      status.setRollbackOnly();
+                    }));
+    assertTrue(changed.await(5, TimeUnit.SECONDS));
+
+    // Act
+    CompletableFuture<GameStateResponseDto> view =
+        CompletableFuture.supplyAsync(() -> assembler.assemble(state.getGame()));
+    finish.countDown();
+    command.get(5, TimeUnit.SECONDS);
+
+    // Assert - Nada da ação desfeita aparece
+    assertEquals(3, armiesOf(view.get(5, TimeUnit.SECONDS), 1L));
+  }
+
+  private static int armiesOf(GameStateResponseDto dto, Long territoryId) {
+    return dto.getGameTerritories().stream()
+        .filter(gt -> gt.getId().equals(territoryId))
+        .findFirst()
+        .orElseThrow()
+        .getStaticArmies();
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,60 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.util.MimeTypeUtils;
+
+import com.war.game.war_backend.model.Game;
+
+@ExtendWith(MockitoExtension.class)
+class GameStateBroadcasterTest {
+
+  @Mock private SimpMessagingTemplate messagingTemplate;
+
+  @Mock private GameStateAssembler gameStateAssembler;
+
+  @Mock private GameStateViewCache gameStateViewCache;
+
+  @InjectMocks private GameStateBroadcaster gameStateBroadcaster;
+
+  @Test
+  void publishState_GameInMemory_ShouldSendCachedJsonWithoutRebuilding() {
+    // Arrange
+    Game game = new Game();
+    game.setId(7L);
+    byte[] json = "{\"id\":7}".getBytes();
+    when(gameStateViewCache.view(7L))
+        .thenReturn(Optional.of(new GameStateViewCache.View("W/\"7-1-3\"", json)));
+
+    // Act
+    gameStateBroadcaster.publishState(game);
+
+    // Assert - O broker recebe os mesmos bytes do cache, marcados como JSON
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Message<byte[]>> sent = ArgumentCaptor.forClass(Message.class);
+    verify(messagingTemplate).send(eq("/topic/game/7/state"), sent.capture());
+
+    assertSame(json, sent.getValue().getPayload());
+    assertEquals(
+        MimeTypeUtils.APPLICATION_JSON,
+        sent.getValue().getHeaders().get(MessageHeaders.CONTENT_TYPE));
+    verify(gameStateAssembler, never()).assemble(any());
+  }
+}
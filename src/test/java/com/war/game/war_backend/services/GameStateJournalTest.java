@@ -0,0 +1,183 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.war.game.war_backend.engine.GameEvent;
+import com.war.game.war_backend.engine.GameStateChanges;
+import com.war.game.war_backend.engine.GameStateSnapshot;
+
+class GameStateJournalTest {
+
+  @TempDir Path directory;
+
+  @Test
+  void readAll_ShouldKeepLatestVersionOfEachRow() {
+    // Arrange
+    GameStateJournal journal = new GameStateJournal(directory.toString());
+    journal.append(changes(7L, "ATTACK", territory(1L, 10L, 3), territory(2L, 11L, 1)));
+    journal.append(changes(7L, "MOVEMENT", territory(1L, 11L, 2)));
+
+    // Act
+    List<GameStateChanges> recovered = journal.readAll();
+
+    // Assert
+    assertEquals(1, recovered.size());
+    GameStateChanges batch = recovered.get(0);
+    assertEquals(7L, batch.gameId());
+    assertEquals("MOVEMENT", batch.game().status());
+    assertNull(batch.game().winnerId());
+    assertEquals(List.of(territory(1L, 11L, 2), territory(2L, 11L, 1)), batch.territories());
+    assertEquals(List.of(player(5L)), batch.players());
+  }
+
+  @Test
+  void readAll_ShouldKeepTheLatestDeck() {
+    // Arrange - O segundo lote compra uma carta; o terceiro não leva baralho
+    GameStateJournal journal = new GameStateJournal(directory.toString());
+    GameStateChanges.DeckRow drawn =
+        new GameStateChanges.DeckRow(List.of(3L, 1L, 2L), 1, List.of(9L, 8L));
+    journal.append(withDeck(new GameStateChanges.DeckRow(List.of(3L, 1L, 2L), 0, List.of())));
+    journal.append(withDeck(drawn));
+    journal.append(changes(7L, "MOVEMENT"));
+
+    // Act
+    GameStateChanges batch = journal.readAll().get(0);
+
+    // Assert - A linha sem baralho mantém o último baralho gravado
+    assertEquals("MOVEMENT", batch.game().status());
+    assertEquals(drawn, batch.game().deck());
+    assertEquals(
+        drawn,
+        GameStateJournal.decode(7L, GameStateJournal.encode(withDeck(drawn)).get(0)).game().deck());
+  }
+
+  @Test
+  void readAll_WithTruncatedLastLine_ShouldIgnoreIt() throws IOException {
+    // Arrange - Queda no meio da escrita da segunda linha
+    GameStateJournal journal = new GameStateJournal(directory.toString());
+    journal.append(changes(7L, "ATTACK", territory(1L, 10L, 3)));
+    Files.writeString(
+        directory.resolve("game-7.journal"),
+        "T|1|10|1",
+        StandardCharsets.UTF_8,
+        StandardOpenOption.APPEND);
+
+    // Act
+    GameStateChanges batch = journal.readAll().get(0);
+
+    // Assert
+    assertEquals(List.of(territory(1L, 10L, 3)), batch.territories());
+  }
+
+  @Test
+  void discardUpTo_WithAppendAfterMark_ShouldKeepJournal() {
+    // Arrange
+    GameStateJournal journal = new GameStateJournal(directory.toString());
+    journal.append(changes(7L, "ATTACK", territory(1L, 10L, 3)));
+    long mark = journal.position(7L);
+    journal.append(changes(7L, "ATTACK", territory(1L, 10L, 2)));
+
+    // Act
+    journal.discardUpTo(7L, mark);
+
+    // Assert
+    assertTrue(Files.exists(directory.resolve("game-7.journal")));
+    journal.discardUpTo(7L, journal.position(7L));
+    assertTrue(journal.readAll().isEmpty());
+  }
+
+  @Test
+  void readAll_ShouldKeepEventsInOrderAndLatestSnapshot() {
+    // Arrange
+    GameStateJournal journal = new GameStateJournal(directory.toString());
+    GameEvent attack =
+        new GameEvent(
+            3L,
+            1000L,
+            GameEvent.Type.ATTACK,
+            5L,
+            Map.of("attackerDice", List.of(6, 4)),
+            null,
+            List.of(),
+            List.of(territory(1L, 10L, 2)));
+    GameEvent move =
+        new GameEvent(4L, 1001L, GameEvent.Type.MOVE, 5L, Map.of(), null, List.of(), List.of());
+    GameStateSnapshot snapshot =
+        new GameStateSnapshot(7L, 4L, null, List.of(player(5L)), List.of(territory(1L, 10L, 2)));
+    journal.append(new GameStateChanges(7L, null, List.of(), List.of(), List.of(attack), null));
+    journal.append(new GameStateChanges(7L, null, List.of(), List.of(), List.of(move), snapshot));
+
+    // Act
+    GameStateChanges batch = journal.readAll().get(0);
+
+    // Assert
+    assertEquals(List.of(attack, move), batch.events());
+    assertEquals(snapshot, batch.snapshot());
+  }
+
+  @Test
+  void append_ConcurrentGames_ShouldKeepEveryRecordInOrder() throws InterruptedException {
+    // Arrange - Quatro partidas escrevendo ao mesmo tempo, cada uma na sua thread
+    GameStateJournal journal = new GameStateJournal(directory.toString());
+    List<Thread> writers = new ArrayList<>();
+    for (long gameId = 1; gameId <= 4; gameId++) {
+      long id = gameId;
+      writers.add(
+          new Thread(
+              () -> {
+                for (int armies = 1; armies <= 200; armies++) {
+                  journal.append(changes(id, "ATTACK", territory(id, id, armies)));
+                }
+              }));
+    }
+
+    // Act
+    writers.forEach(Thread::start);
+    for (Thread writer : writers) {
+      writer.join();
+    }
+
+    // Assert - Nenhuma linha perdida ou cortada: vale a última de cada partida
+    List<GameStateChanges> recovered = journal.readAll();
+    assertEquals(4, recovered.size());
+    for (GameStateChanges batch : recovered) {
+      assertEquals(List.of(territory(batch.gameId(), batch.gameId(), 200)), batch.territories());
+    }
+  }
+
+  private static GameStateChanges changes(
+      Long gameId, String status, GameStateChanges.TerritoryRow... territories) {
+    return new GameStateChanges(
+        gameId,
+        new GameStateChanges.GameRow(gameId, status, 5L, null, 0),
+        List.of(player(5L)),
+        List.of(territories));
+  }
+
+  private static GameStateChanges withDeck(GameStateChanges.DeckRow deck) {
+    return new GameStateChanges(
+        7L, new GameStateChanges.GameRow(7L, "ATTACK", 5L, null, 0, deck), List.of(), List.of());
+  }
+
+  private static GameStateChanges.PlayerRow player(Long id) {
+    return new GameStateChanges.PlayerRow(id, 0, true, true);
+  }
+
+  private static GameStateChanges.TerritoryRow territory(Long id, Long ownerId, int armies) {
+    return new GameStateChanges.TerritoryRow(id, ownerId, armies, 0, 0);
+  }
+}
@@ -0,0 +1,106 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.Player;
+import com.war.game.war_backend.model.PlayerGame;
+
+@ExtendWith(MockitoExtension.class)
+class GameStateViewCacheTest {
+
+  private static final Long GAME_ID = 7L;
+
+  @Mock private GameStateStore gameStateStore;
+
+  @Mock private GameStateAssembler gameStateAssembler;
+
+  @Test
+  void view_SameVersion_ShouldReuseTheSerializationUntilTheStateIsEvicted() {
+    // Arrange
+    GameStateViewCache cache =
+        new GameStateViewCache(gameStateStore, gameStateAssembler, new ObjectMapper());
+    cache.registerEviction();
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<Consumer<Long>> listener = ArgumentCaptor.forClass(Consumer.class);
+    verify(gameStateStore).addEvictionListener(listener.capture());
+
+    GameState state = gameState();
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.of(state));
+
+    // Act
+    GameStateViewCache.View first = cache.view(GAME_ID).orElseThrow();
+    GameStateViewCache.View second = cache.view(GAME_ID).orElseThrow();
+    listener.getValue().accept(GAME_ID);
+    GameStateViewCache.View afterEvict = cache.view(GAME_ID).orElseThrow();
+
+    // Assert - A mesma versão é montada uma vez; o evict descarta a serialização guardada
+    assertSame(first, second);
+    assertNotSame(first, afterEvict);
+    verify(gameStateAssembler, times(2)).assemble(any());
+  }
+
+  @Test
+  void findCurrentEtagForMember_ShouldMatchOnlyPlayersStillInThatGame() {
+    // Arrange - O cabeçalho traz a ETag atual da partida 7 e a de outra partida
+    GameStateViewCache cache =
+        new GameStateViewCache(gameStateStore, gameStateAssembler, new ObjectMapper());
+    GameState state = gameState();
+    when(gameStateStore.find(GAME_ID)).thenReturn(Optional.of(state));
+    String etag = GameStateViewCache.etagOf(state);
+    String ifNoneMatch = etag + ", W/\"8-1-0\"";
+
+    // Act + Assert - Só o jogador da partida 7 ainda em jogo recebe a ETag
+    assertEquals(Optional.of(etag), cache.findCurrentEtagForMember(GAME_ID, ifNoneMatch, "red"));
+    assertEquals(Optional.empty(), cache.findCurrentEtagForMember(GAME_ID, ifNoneMatch, "blue"));
+    assertEquals(
+        Optional.empty(), cache.findCurrentEtagForMember(GAME_ID, ifNoneMatch, "outsider"));
+    assertEquals(Optional.empty(), cache.findCurrentEtagForMember(GAME_ID, "W/\"7-0-0\"", "red"));
+  }
+
+  // Vermelho ainda está na partida; azul já saiu
+  private GameState gameState() {
+    Game game = new Game();
+    game.setId(GAME_ID);
+    game.setStatus("ATTACK");
+    return GameState.hydrate(
+        TerritoryGraph.build(List.of(), List.of()),
+        game,
+        List.of(playerGame(1L, "red", true), playerGame(2L, "blue", false)),
+        List.of(),
+        List.of(),
+        List.of());
+  }
+
+  private static PlayerGame playerGame(Long id, String username, boolean stillInGame) {
+    Player player = new Player();
+    player.setId(id);
+    player.setUsername(username);
+
+    PlayerGame pg = new PlayerGame();
+    pg.setId(id);
+    pg.setTurnOrder(id.intValue());
+    pg.setPlayer(player);
+    pg.setStillInGame(stillInGame);
+    return pg;
+  }
+}
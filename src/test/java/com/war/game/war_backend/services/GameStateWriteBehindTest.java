@@ -0,0 +1,265 @@
+package com.war.game.war_backend.services;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import jakarta.persistence.EntityManager;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.GameStateChanges;
+import com.war.game.war_backend.engine.GameStateFixtures;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.model.GameTerritory;
+import com.war.game.war_backend.model.PlayerGame;
+
+@ExtendWith(MockitoExtension.class)
+class GameStateWriteBehindTest {
+
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(List.of(1L, 2L), List.of(), Map.of(1L, "A", 2L, "A"));
+
+  @TempDir Path directory;
+
+  @Mock private JdbcTemplate jdbcTemplate;
+
+  @Mock private GameEventLog gameEventLog;
+
+  @Mock private PlatformTransactionManager transactionManager;
+
+  @Mock private EntityManager entityManager;
+
+  private GameStateJournal journal;
+  private GameStateWriteBehind writeBehind;
+
+  @BeforeEach
+  void setUp() {
+    journal = new GameStateJournal(directory.toString());
+    // Atraso longo: nos testes a gravação só acontece pelo flushNow
+    writeBehind =
+        new GameStateWriteBehind(jdbcTemplate, journal, gameEventLog, transactionManager, 60_000L);
+    ReflectionTestUtils.setField(writeBehind, "entityManager", entityManager);
+  }
+
+  @AfterEach
+  void tearDown() {
+    writeBehind.shutdown();
+  }
+
+  @Test
+  void markDirty_TransactionCommitted_ShouldQueueAndJournalTheChanges() {
+    // Arrange
+    GameState state = state();
+
+    // Act
+    inTransaction(() -> reinforce(state, 1L, 5), TransactionSynchronization.STATUS_COMMITTED);
+
+    // Assert
+    assertFalse(state.hasPendingChanges());
+    assertTrue(journal.position(1L) > 0);
+  }
+
+  @Test
+  void markDirty_TransactionRolledBack_ShouldNotQueueOrJournal() {
+    // Arrange
+    GameState state = state();
+
+    // Act
+    inTransaction(() -> reinforce(state, 1L, 5), TransactionSynchronization.STATUS_ROLLED_BACK);
+    writeBehind.flushNow(emptyState());
+
+    // Assert - Nada do comando desfeito vai para o journal nem para o banco
+    assertEquals(0L, journal.position(1L));
+    verify(jdbcTemplate, never())
+        .batchUpdate(
+            anyString(),
+            any(List.class),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+  }
+
+  @Test
+  void flushNow_SeveralCommittedCommands_ShouldWriteOneBatchWithLatestRows() {
+    // Arrange - Três ações confirmadas na mesma partida antes da gravação
+    GameState state = state();
+    inTransaction(() -> reinforce(state, 1L, 5), TransactionSynchronization.STATUS_COMMITTED);
+    inTransaction(() -> reinforce(state, 2L, 4), TransactionSynchronization.STATUS_COMMITTED);
+    inTransaction(() -> reinforce(state, 1L, 7), TransactionSynchronization.STATUS_COMMITTED);
+
+    // Act
+    writeBehind.flushNow(state);
+
+    // Assert - Um único UPDATE em lote, com a versão mais recente de cada território
+    assertEquals(
+        List.of(
+            new GameStateChanges.TerritoryRow(1L, 1L, 7, 0, 0),
+            new GameStateChanges.TerritoryRow(2L, 2L, 4, 0, 0)),
+        writtenTerritories());
+    verify(transactionManager).getTransaction(any());
+    assertEquals(0L, journal.position(1L));
+  }
+
+  @Test
+  void flushNow_ChangesNotYetQueued_ShouldWriteThemImmediately() {
+    // Arrange - Fim de jogo: alteração feita fora de transação, sem esperar o atraso
+    GameState state = state();
+    GameTerritory territory = state.findTerritory(2L).orElseThrow();
+    territory.setStaticArmies(9);
+    state.markTerritoryDirty(territory);
+
+    // Act
+    writeBehind.flushNow(state);
+
+    // Assert
+    assertEquals(List.of(new GameStateChanges.TerritoryRow(2L, 2L, 9, 0, 0)), writtenTerritories());
+    assertFalse(state.hasPendingChanges());
+  }
+
+  @Test
+  void flushQueued_AfterFailedFlush_ShouldRetryTheSameBatchAndKeepTheJournal() {
+    // Arrange
+    GameState state = state();
+    when(jdbcTemplate.batchUpdate(
+            startsWith("UPDATE game_territory"),
+            any(Collection.class),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class)))
+        .thenThrow(new DataAccessResourceFailureException("Banco indisponível"))
+        .thenReturn(new int[0][]);
+    inTransaction(() -> reinforce(state, 1L, 5), TransactionSynchronization.STATUS_COMMITTED);
+
+    // Act & Assert - A falha devolve o lote para a fila e o journal continua lá
+    writeBehind.flushQueued(1L);
+    assertTrue(journal.position(1L) > 0);
+
+    // Uma ação chega antes da nova tentativa: as duas vão juntas
+    inTransaction(() -> reinforce(state, 2L, 4), TransactionSynchronization.STATUS_COMMITTED);
+    writeBehind.flushQueued(1L);
+
+    List<Collection<?>> attempts = territoryBatches();
+    assertEquals(List.of(new GameStateChanges.TerritoryRow(1L, 1L, 5, 0, 0)), attempts.get(0));
+    assertEquals(
+        List.of(
+            new GameStateChanges.TerritoryRow(1L, 1L, 5, 0, 0),
+            new GameStateChanges.TerritoryRow(2L, 2L, 4, 0, 0)),
+        attempts.get(1));
+    assertEquals(0L, journal.position(1L));
+  }
+
+  @Test
+  void recoverJournal_ShouldApplyLeftoverBatchesAndDeleteThem() {
+    // Arrange - Journal que sobrou de uma execução que caiu antes da gravação
+    journal.append(
+        new GameStateChanges(
+            7L,
+            null,
+            List.of(new GameStateChanges.PlayerRow(5L, 3, false, true)),
+            List.of(new GameStateChanges.TerritoryRow(2L, 5L, 6, 0, 0))));
+    journal.append(
+        new GameStateChanges(
+            7L, null, List.of(), List.of(new GameStateChanges.TerritoryRow(2L, 5L, 8, 0, 0))));
+    when(gameEventLog.withoutRecorded(any(GameStateChanges.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    // Act
+    writeBehind.recoverJournal();
+
+    // Assert
+    assertEquals(List.of(new GameStateChanges.TerritoryRow(2L, 5L, 8, 0, 0)), writtenTerritories());
+    verify(jdbcTemplate)
+        .batchUpdate(
+            startsWith("UPDATE player_game"),
+            eq(List.of(new GameStateChanges.PlayerRow(5L, 3, false, true))),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    assertTrue(journal.readAll().isEmpty());
+  }
+
+  // Simula a transação de uma ação: o comando roda e as sincronizações recebem o desfecho
+  private void inTransaction(Runnable command, int status) {
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      command.run();
+      List<TransactionSynchronization> synchronizations =
+          TransactionSynchronizationManager.getSynchronizations();
+      if (status == TransactionSynchronization.STATUS_COMMITTED) {
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+      }
+      synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  // Linhas de território de cada UPDATE em lote, na ordem das gravações
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private List<Collection<?>> territoryBatches() {
+    ArgumentCaptor<Collection> rows = ArgumentCaptor.forClass(Collection.class);
+    verify(jdbcTemplate, atLeastOnce())
+        .batchUpdate(
+            startsWith("UPDATE game_territory"),
+            rows.capture(),
+            anyInt(),
+            any(ParameterizedPreparedStatementSetter.class));
+    return (List) rows.getAllValues();
+  }
+
+  private Collection<?> writtenTerritories() {
+    List<Collection<?>> batches = territoryBatches();
+    assertEquals(1, batches.size());
+    return batches.get(0);
+  }
+
+  private void reinforce(GameState state, Long territoryId, int armies) {
+    GameTerritory territory = state.findTerritory(territoryId).orElseThrow();
+    territory.setStaticArmies(armies);
+    state.markTerritoryDirty(territory);
+    writeBehind.markDirty(state);
+  }
+
+  private GameState state() {
+    PlayerGame red = player(1L, 1);
+    PlayerGame blue = player(2L, 2);
+    return GameStateFixtures.state(
+        graph, red, List.of(red, blue), territory(1L, red, 3), territory(2L, blue, 1));
+  }
+
+  // Mesma partida, sem alterações pendentes
+  private GameState emptyState() {
+    GameState state = state();
+    state.drainChanges();
+    return state;
+  }
+}
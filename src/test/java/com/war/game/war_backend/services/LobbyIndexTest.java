@@ -0,0 +1,95 @@
+package com.war.game.war_backend.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.war.game.war_backend.controller.dto.response.LobbyListDiffDto;
+import com.war.game.war_backend.controller.dto.response.LobbyListResponseDto;
+import com.war.game.war_backend.model.Game;
+import com.war.game.war_backend.model.PlayerGame;
+import com.war.game.war_backend.repository.GameRepository;
+
+@ExtendWith(MockitoExtension.class)
+class LobbyIndexTest {
+
+  @Mock private GameRepository gameRepository;
+
+  @Mock private SimpMessagingTemplate messagingTemplate;
+
+  private LobbyIndex lobbyIndex;
+
+  @AfterEach
+  void tearDown() {
+    lobbyIndex.shutdown();
+  }
+
+  @Test
+  void update_WithinInterval_ShouldSendOneDiffWithLatestValues() {
+    // Arrange - Um lobby já existente no banco
+    Game existing = lobby(1L, 1);
+    when(gameRepository.findByStatusWithPlayers("LOBBY")).thenReturn(List.of(existing));
+    lobbyIndex = new LobbyIndex(gameRepository, messagingTemplate, 50);
+
+    // Act - Dois jogadores entram no lobby 2 e o lobby 1 é excluído, tudo no mesmo intervalo
+    lobbyIndex.update(lobby(2L, 1));
+    lobbyIndex.update(lobby(2L, 2));
+    lobbyIndex.remove(1L);
+
+    // Assert
+    ArgumentCaptor<LobbyListDiffDto> diff = ArgumentCaptor.forClass(LobbyListDiffDto.class);
+    verify(messagingTemplate, timeout(2000).times(1))
+        .convertAndSend(eq("/topic/lobbies/list"), diff.capture());
+
+    assertEquals(1L, diff.getValue().getVersion());
+    assertFalse(diff.getValue().isFull());
+    assertEquals(
+        List.of(new LobbyListResponseDto(2L, "Lobby 2", "LOBBY", 2)),
+        diff.getValue().getUpserted());
+    assertEquals(List.of(1L), diff.getValue().getRemoved());
+    assertEquals(List.of(2L), lobbyIndex.list().stream().map(LobbyListResponseDto::getId).toList());
+  }
+
+  @Test
+  void snapshot_ShouldReturnWholeListWithCurrentVersion() {
+    // Arrange
+    when(gameRepository.findByStatusWithPlayers("LOBBY"))
+        .thenReturn(List.of(lobby(3L, 1), lobby(1L, 2)));
+    lobbyIndex = new LobbyIndex(gameRepository, messagingTemplate, 0);
+    lobbyIndex.remove(3L);
+
+    // Act
+    LobbyListDiffDto snapshot = lobbyIndex.snapshot();
+
+    // Assert
+    assertEquals(1L, snapshot.getVersion());
+    assertEquals(
+        List.of(new LobbyListResponseDto(1L, "Lobby 1", "LOBBY", 2)), snapshot.getUpserted());
+  }
+
+  private static Game lobby(Long id, int players) {
+    Game game = new Game();
+    game.setId(id);
+    game.setName("Lobby " + id);
+    game.setStatus("LOBBY");
+    for (int i = 0; i < players; i++) {
+      PlayerGame pg = new PlayerGame();
+      pg.setId(id * 10 + i);
+      game.getPlayerGames().add(pg);
+    }
+    return game;
+  }
+}
@@ -0,0 +1,23 @@
+package com.war.game.war_backend.services;
+
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+/** Transações sem recurso algum: só o ciclo de sincronizações do Spring (commit e rollback). */
+final class SynchronizationOnlyTransactionManager extends AbstractPlatformTransactionManager {
+
+  @Override
+  protected Object doGetTransaction() {
+    return new Object();
+  }
+
+  @Override
+  protected void doBegin(Object transaction, TransactionDefinition definition) {}
+
+  @Override
+  protected void doCommit(DefaultTransactionStatus status) {}
+
+  @Override
+  protected void doRollback(DefaultTransactionStatus status) {}
+}
@@ -0,0 +1,126 @@
+package com.war.game.war_backend.services;
+
+import static com.war.game.war_backend.engine.GameStateFixtures.player;
+import static com.war.game.war_backend.engine.GameStateFixtures.state;
+import static com.war.game.war_backend.engine.GameStateFixtures.territory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.war.game.war_backend.engine.GameState;
+import com.war.game.war_backend.engine.RulesCatalog;
+import com.war.game.war_backend.engine.TerritoryGraph;
+import com.war.game.war_backend.events.GameOverEvent;
+import com.war.game.war_backend.model.Objective;
+import com.war.game.war_backend.model.PlayerGame;
+
+@ExtendWith(MockitoExtension.class)
+class WinConditionServiceTest {
+
+  // Europa = {1, 2}, África = {3}
+  private final TerritoryGraph graph =
+      TerritoryGraph.build(
+          List.of(1L, 2L, 3L), List.of(), Map.of(1L, "Europa", 2L, "Europa", 3L, "África"));
+
+  private final Objective conquerEurope =
+      new Objective(1L, "Conquistar a Europa", "CONQUER_CONTINENT");
+  private final Objective conquerAfrica =
+      new Objective(2L, "Conquistar a África", "CONQUER_CONTINENT");
+
+  @Mock private ApplicationEventPublisher eventPublisher;
+
+  @Mock private RulesCatalogService rulesCatalogService;
+
+  private WinConditionService winConditionService;
+
+  @BeforeEach
+  void setUp() {
+    when(rulesCatalogService.getCatalog())
+        .thenReturn(RulesCatalog.build(graph, List.of(conquerEurope, conquerAfrica)));
+    winConditionService = new WinConditionService(eventPublisher, rulesCatalogService);
+  }
+
+  @Test
+  void checkWinConditions_ActingAndOtherPlayerComplete_ShouldPreferActingPlayer() {
+    // Arrange - Azul já tem a Europa quando vermelho termina uma ação
+    PlayerGame red = player(1L, 1, conquerAfrica);
+    PlayerGame blue = player(2L, 2, conquerEurope);
+    GameState state =
+        state(
+            graph,
+            List.of(red, blue),
+            territory(1L, blue, 1),
+            territory(2L, blue, 1),
+            territory(3L, blue, 1));
+    state.findTerritory(3L).orElseThrow().setOwner(state.getPlayer(red.getId()));
+    state.markTerritoryDirty(state.findTerritory(3L).orElseThrow());
+
+    // Act
+    boolean finished = winConditionService.checkWinConditions(state, state.getPlayer(1L));
+
+    // Assert - Vermelho também cumpriu o seu; quem agiu tem a preferência
+    assertTrue(finished);
+    ArgumentCaptor<GameOverEvent> event = ArgumentCaptor.forClass(GameOverEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(1L, event.getValue().getWinner().getId());
+  }
+
+  @Test
+  void checkWinConditions_DefenderHoldsCompletedObjective_ShouldWinOnAttackerAction() {
+    // Arrange
+    PlayerGame red = player(1L, 1, conquerAfrica);
+    PlayerGame blue = player(2L, 2, conquerEurope);
+    GameState state =
+        state(
+            graph,
+            List.of(red, blue),
+            territory(1L, blue, 1),
+            territory(2L, blue, 1),
+            territory(3L, blue, 1));
+
+    // Act
+    boolean finished = winConditionService.checkWinConditions(state, state.getPlayer(1L));
+
+    // Assert
+    assertTrue(finished);
+    ArgumentCaptor<GameOverEvent> event = ArgumentCaptor.forClass(GameOverEvent.class);
+    verify(eventPublisher).publishEvent(event.capture());
+    assertEquals(2L, event.getValue().getWinner().getId());
+  }
+
+  @Test
+  void checkWinConditions_NoObjectiveCompleted_ShouldNotFinish() {
+    // Arrange
+    PlayerGame red = player(1L, 1, conquerAfrica);
+    PlayerGame blue = player(2L, 2, conquerEurope);
+    GameState state =
+        state(
+            graph,
+            List.of(red, blue),
+            territory(1L, red, 1),
+            territory(2L, blue, 1),
+            territory(3L, blue, 1));
+
+    // Act
+    boolean finished = winConditionService.checkWinConditions(state, state.getPlayer(1L));
+
+    // Assert
+    assertFalse(finished);
+    verify(eventPublisher, never()).publishEvent(any(GameOverEvent.class));
+  }
+}